@@ -0,0 +1,53 @@
+package com.bticketing.main.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+
+// 대기열 서버(app-queue)에 입장 세션 종료를 알려 비워진 자리를 다음 대기자에게 넘긴다
+// 세션 종료 API 는 내부 서비스만 호출할 수 있으므로 app-queue 와 같은 공유 비밀값을 헤더에 담아 보낸다
+@Component
+public class QueueSessionClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueSessionClient.class);
+    private static final String INTERNAL_SECRET_HEADER = "X-Queue-Internal-Secret";
+
+    private final RestTemplate restTemplate;
+    private final String releaseUrl;
+    private final String internalSecret;
+
+    public QueueSessionClient(RestTemplateBuilder restTemplateBuilder,
+                              @Value("${queue.session-release-url:http://localhost:8081/queue/sessions/release}") String releaseUrl,
+                              @Value("${queue.internal-secret:}") String internalSecret) {
+        // 결제 처리를 지연시키지 않도록 짧은 타임아웃 사용 (실패해도 세션 TTL 이 지나면 자리가 반환된다)
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(300))
+                .setReadTimeout(Duration.ofMillis(500))
+                .build();
+        this.releaseUrl = releaseUrl;
+        this.internalSecret = internalSecret;
+    }
+
+    public void release(int scheduleId, String queueToken) {
+        String url = UriComponentsBuilder.fromHttpUrl(releaseUrl)
+                .queryParam("scheduleId", scheduleId)
+                .queryParam("userToken", queueToken)
+                .toUriString();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(INTERNAL_SECRET_HEADER, internalSecret);
+        try {
+            restTemplate.postForObject(url, new HttpEntity<>(headers), Boolean.class);
+        } catch (RestClientException e) {
+            logger.warn("대기열 입장 세션 종료 알림에 실패했습니다: scheduleId={}, {}", scheduleId, e.getMessage());
+        }
+    }
+}
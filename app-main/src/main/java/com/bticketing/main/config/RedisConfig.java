@@ -1,6 +1,8 @@
 package com.bticketing.main.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -8,11 +10,30 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+import java.util.Set;
+
 @Configuration
 public class RedisConfig {
 
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return jsonTemplate(connectionFactory);
+    }
+
+    // 좌석 상태 표시용 읽기 전용 복제 노드 연결 (노드 목록이 비어 있으면 모든 조회를 주 노드로 보낸다)
+    @Bean
+    public RedisReadRouting redisReadRouting(RedisProperties redisProperties,
+                                             RedisTemplate<String, Object> redisTemplate,
+                                             @Value("${redis.replica.nodes:}") List<String> replicaNodes,
+                                             @Value("${redis.replica.reads:SEAT_STATUS_DISPLAY}")
+                                             Set<RedisReadRouting.ReadClass> replicaReads) {
+        return RedisReadRouting.connect(redisProperties.getHost(), redisProperties.getPort(), replicaNodes,
+                replicaReads, redisTemplate);
+    }
+
+    // 복제 노드 연결도 같은 직렬화를 쓰도록 템플릿 생성을 공유한다
+    static RedisTemplate<String, Object> jsonTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -24,4 +45,3 @@ public class RedisConfig {
         return template;
     }
 }
-
@@ -0,0 +1,78 @@
+package com.bticketing.main.config;
+
+import io.lettuce.core.ReadFrom;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+// 조회 종류별 Redis 연결 선택 (redis.replica.reads 에 지정한 조회만 읽기 전용 복제 노드, 나머지 조회와 모든 쓰기는 주 노드)
+// 좌석 선점처럼 최신 상태가 필요한 조회는 항상 주 노드에서 한다
+public class RedisReadRouting implements DisposableBean {
+
+    // 복제 지연만큼 늦게 보여도 되는 조회 종류
+    public enum ReadClass {
+        SEAT_STATUS_DISPLAY // 좌석 현황 화면 표시
+    }
+
+    private final RedisTemplate<String, Object> primaryTemplate;
+    private final LettuceConnectionFactory replicaConnectionFactory;
+    private final RedisTemplate<String, Object> replicaTemplate;
+    private final Set<ReadClass> replicaReads;
+
+    private RedisReadRouting(RedisTemplate<String, Object> primaryTemplate,
+                             LettuceConnectionFactory replicaConnectionFactory, Set<ReadClass> replicaReads) {
+        this.primaryTemplate = primaryTemplate;
+        this.replicaConnectionFactory = replicaConnectionFactory;
+        this.replicaReads = replicaReads;
+        if (replicaConnectionFactory == null) {
+            this.replicaTemplate = primaryTemplate;
+            return;
+        }
+        this.replicaTemplate = RedisConfig.jsonTemplate(replicaConnectionFactory);
+        this.replicaTemplate.afterPropertiesSet();
+    }
+
+    // 주 노드와 "host:port" 형식의 복제 노드 목록으로 연결 생성 (복제 노드가 없으면 모든 조회를 주 노드로 보낸다)
+    // 복제 노드가 모두 내려가면 주 노드에서 읽는다 (REPLICA_PREFERRED)
+    public static RedisReadRouting connect(String primaryHost, int primaryPort, List<String> replicaNodes,
+                                           Set<ReadClass> replicaReads, RedisTemplate<String, Object> primaryTemplate) {
+        if (replicaNodes.isEmpty()) {
+            return new RedisReadRouting(primaryTemplate, null, Set.of());
+        }
+        RedisStaticMasterReplicaConfiguration configuration =
+                new RedisStaticMasterReplicaConfiguration(primaryHost, primaryPort);
+        for (String node : replicaNodes) {
+            int separator = node.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Redis 복제 노드 주소는 host:port 형식이어야 합니다: " + node);
+            }
+            configuration.addNode(node.substring(0, separator), Integer.parseInt(node.substring(separator + 1)));
+        }
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.REPLICA_PREFERRED)
+                .build();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        return new RedisReadRouting(primaryTemplate, connectionFactory, Set.copyOf(replicaReads));
+    }
+
+    public boolean readsFromReplica(ReadClass readClass) {
+        return replicaConnectionFactory != null && replicaReads.contains(readClass);
+    }
+
+    public RedisTemplate<String, Object> template(ReadClass readClass) {
+        return readsFromReplica(readClass) ? replicaTemplate : primaryTemplate;
+    }
+
+    @Override
+    public void destroy() {
+        if (replicaConnectionFactory != null) {
+            replicaConnectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bticketing.main.controller;
+
+import com.bticketing.main.dto.CapacityDto;
+import com.bticketing.main.service.CapacityMonitor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class CapacityController {
+
+    private final CapacityMonitor capacityMonitor;
+
+    public CapacityController(CapacityMonitor capacityMonitor) {
+        this.capacityMonitor = capacityMonitor;
+    }
+
+    // 대기열 서버가 입장 인원을 조절할 때 사용하는 수용 여력 조회 API (DB 조회 없음, 모든 인스턴스가 공유하는 Redis 지표를 읽는다)
+    @GetMapping("/capacity")
+    public ResponseEntity<CapacityDto> getCapacity() {
+        return ResponseEntity.ok(capacityMonitor.snapshot());
+    }
+}
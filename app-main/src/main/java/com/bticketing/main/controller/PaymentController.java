@@ -21,15 +21,17 @@ public class PaymentController {
     @PostMapping
     public ResponseEntity<String> requestPayment(@RequestBody PaymentRequestDto requestDto) {
         String requestId = UUID.randomUUID().toString();
-        paymentService.processPaymentAsync(requestId, requestDto.getReservationId(), requestDto.getAmount());
+        paymentService.processPaymentAsync(requestId, requestDto.getReservationId(), requestDto.getAmount(),
+                requestDto.getQueueToken());
         return ResponseEntity.ok(requestId);
     }
 
     @PostMapping("/{requestId}/complete")
-    public ResponseEntity<String> completePayment(@PathVariable String requestId, int reservationId, double amount) {
+    public ResponseEntity<String> completePayment(@PathVariable String requestId, int reservationId, double amount,
+                                                  @RequestParam(required = false) String queueToken) {
         try {
             // 실제 결제 완료 처리
-            paymentService.processPayment(requestId, reservationId, amount);
+            paymentService.processPayment(requestId, reservationId, amount, queueToken);
             return ResponseEntity.ok("결제 완료");
         } catch (Exception e) {
             return ResponseEntity.status(500).body("결제 완료 처리 중 오류: " + e.getMessage());
@@ -1,5 +1,6 @@
 package com.bticketing.main.controller;
 
+import com.bticketing.main.dto.SeatBatchRequestDto;
 import com.bticketing.main.dto.SeatDto;
 import com.bticketing.main.service.SeatService;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +20,17 @@ public class SeatSelectionController {
     }
 
     @PostMapping("/select")
-    public CompletableFuture<ResponseEntity<SeatDto>> selectSeat(@RequestParam int scheduleId, @RequestParam int seatId) {
+    public CompletableFuture<ResponseEntity<SeatDto>> selectSeat(@RequestParam int scheduleId, @RequestParam int seatId,
+                                                                 @RequestParam(required = false) String holderId) {
         // 단순히 서비스 호출 결과를 반환
-        return seatService.selectSeat(scheduleId, seatId)
+        return seatService.selectSeat(scheduleId, seatId, holderId)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    // 여러 좌석을 모두 선점하거나 하나도 선점하지 않는다 (충돌 시 409 와 충돌한 좌석 목록)
+    @PostMapping("/select-batch")
+    public CompletableFuture<ResponseEntity<List<SeatDto>>> selectSeats(@RequestBody SeatBatchRequestDto requestDto) {
+        return seatService.selectSeats(requestDto.getScheduleId(), requestDto.getSeatIds(), requestDto.getHolderId())
                 .thenApply(ResponseEntity::ok);
     }
 
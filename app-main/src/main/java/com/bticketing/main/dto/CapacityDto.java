@@ -0,0 +1,14 @@
+package com.bticketing.main.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacityDto {
+    private long activeHolds;           // 최근 선점 TTL 안에 선점된 좌석 수
+    private long maxActiveHolds;        // 동시에 감당 가능한 최대 선점 수
+    private double selectLatencyMillis; // 좌석 선택 지연 (지수 이동 평균)
+}
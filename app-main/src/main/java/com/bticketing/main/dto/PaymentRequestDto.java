@@ -10,5 +10,6 @@ import lombok.NoArgsConstructor;
 public class PaymentRequestDto {
     private int reservationId;
     private double amount;
+    private String queueToken; // 대기열 입장 토큰 (결제 완료 시 입장 세션 종료에 사용, 없으면 세션 TTL 로 반환)
 
 }
@@ -0,0 +1,16 @@
+package com.bticketing.main.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBatchRequestDto {
+    private int scheduleId;
+    private List<Integer> seatIds;
+    private String holderId; // 선점자 식별자 (대기열 입장 토큰 등, 없으면 선점자를 기록하지 않는다)
+}
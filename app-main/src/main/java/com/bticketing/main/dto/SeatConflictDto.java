@@ -0,0 +1,15 @@
+package com.bticketing.main.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatConflictDto {
+    private String message;
+    private List<Integer> conflictSeatIds; // 이미 선점/판매되어 일괄 선점을 막은 좌석
+}
@@ -1,5 +1,6 @@
 package com.bticketing.main.exception;
 
+import com.bticketing.main.dto.SeatConflictDto;
 import com.bticketing.main.dto.SeatDto;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +19,9 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Object> handleCompletionException(CompletionException ex) {
         Throwable cause = ex.getCause(); // CompletionException 내부의 원인 예외를 가져옴
 
-        if (cause instanceof SeatAlreadyReservedException) {
+        if (cause instanceof SeatsConflictException) {
+            return handleSeatsConflictException((SeatsConflictException) cause);
+        } else if (cause instanceof SeatAlreadyReservedException) {
             return handleSeatAlreadyReservedException((SeatAlreadyReservedException) cause);
         } else if (cause instanceof SeatAllReservedException) {
             return handleSeatAllReservedException((SeatAllReservedException) cause);
@@ -40,6 +43,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse); // 409 Conflict
     }
 
+    /**
+     * 일괄 선점 요청에 이미 예약된 좌석이 포함된 경우 처리 (충돌한 좌석 목록을 함께 반환)
+     */
+    @ExceptionHandler(SeatsConflictException.class)
+    public ResponseEntity<Object> handleSeatsConflictException(SeatsConflictException ex) {
+        SeatConflictDto errorResponse = new SeatConflictDto(ex.getMessage(), ex.getSeatIds());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse); // 409 Conflict
+    }
+
     /**
      * 자동 좌석 할당이 불가능한 경우 처리
      */
@@ -0,0 +1,18 @@
+package com.bticketing.main.exception;
+
+import java.util.List;
+
+// 일괄 선점 요청에 이미 선점/판매된 좌석이 포함된 경우 (어떤 좌석도 선점되지 않는다)
+public class SeatsConflictException extends RuntimeException {
+
+    private final List<Integer> seatIds;
+
+    public SeatsConflictException(String message, List<Integer> seatIds) {
+        super(message);
+        this.seatIds = seatIds;
+    }
+
+    public List<Integer> getSeatIds() {
+        return seatIds;
+    }
+}
@@ -28,9 +28,10 @@ public class PaymentEventListener {
         String requestId = parts[0].split("=")[1];
         int reservationId = Integer.parseInt(parts[1].split("=")[1]);
         double amount = Double.parseDouble(parts[2].split("=")[1]);
+        String queueToken = parts.length > 3 ? parts[3].split("=", 2)[1] : null;
 
         try {
-            Payment payment = paymentService.processPayment(requestId, reservationId, amount);
+            Payment payment = paymentService.processPayment(requestId, reservationId, amount, queueToken);
             logger.info("Payment processed successfully for requestId={}", requestId);
 
             //결과 완료 메시지 발행
@@ -0,0 +1,56 @@
+package com.bticketing.main.repository.redis;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 수용 여력 지표 (모든 app-main 인스턴스가 공유)
+// 선점 좌석 수는 초 단위 버킷 키(capacity:holds:{초})에 더하고, 좌석 선택 지연은 전체 인스턴스의 이동 평균 하나로 둔다
+@Repository
+public class CapacityRedisRepository {
+
+    private static final String HOLDS_KEY_PREFIX = "capacity:holds:";
+    private static final String SELECT_LATENCY_KEY = "capacity:select-latency";
+
+    private static final RedisScript<Long> RECORD_SELECT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/record_select.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public CapacityRedisRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 선점 수와 지연을 스크립트 한 번으로 기록 (latencyMillis 가 음수면 선점 수만 기록)
+    public void recordSelect(long epochSecond, int heldSeats, double latencyMillis, double smoothing,
+                             long ttlSeconds) {
+        redisTemplate.execute(RECORD_SELECT_SCRIPT, List.of(HOLDS_KEY_PREFIX + epochSecond, SELECT_LATENCY_KEY),
+                String.valueOf(heldSeats), String.valueOf(latencyMillis), String.valueOf(smoothing),
+                String.valueOf(ttlSeconds));
+    }
+
+    // fromSecond 부터 toSecond 까지 버킷 합 (MGET 한 번)
+    public long sumHolds(long fromSecond, long toSecond) {
+        List<String> keys = new ArrayList<>();
+        for (long second = fromSecond; second <= toSecond; second++) {
+            keys.add(HOLDS_KEY_PREFIX + second);
+        }
+        List<String> counts = redisTemplate.opsForValue().multiGet(keys);
+        if (counts == null) {
+            return 0;
+        }
+        return counts.stream()
+                .filter(count -> count != null)
+                .mapToLong(Long::parseLong)
+                .sum();
+    }
+
+    public double getSelectLatencyMillis() {
+        String latency = redisTemplate.opsForValue().get(SELECT_LATENCY_KEY);
+        return latency != null ? Double.parseDouble(latency) : 0;
+    }
+}
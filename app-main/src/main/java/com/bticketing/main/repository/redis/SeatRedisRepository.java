@@ -1,25 +1,63 @@
 package com.bticketing.main.repository.redis;
+import com.bticketing.main.config.RedisReadRouting;
 import com.bticketing.main.service.SeatService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 
 @Repository
 public class SeatRedisRepository {
 
+    // EVALSHA 로 실행되며, 스크립트 캐시에 없으면 EVAL 로 자동 등록된다
+    private static final RedisScript<Long> CLAIM_SEAT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/claim_seat.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SEATS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/claim_seats.lua"), List.class);
+
+    private static final RedisScript<Long> UPDATE_HELD_SEAT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/update_held_seat.lua"), Long.class);
+
+    // 좌석 선점 결과 (MISSING 은 Redis 에 좌석 상태가 없어 DB 에서 채운 뒤 다시 시도해야 함을 뜻한다)
+    public enum SeatClaim {
+        CLAIMED, CONFLICT, MISSING
+    }
+
+    // 일괄 선점 결과 (CONFLICT, MISSING 이면 해당 좌석의 요청 목록 내 위치를 함께 돌려준다)
+    public static class SeatBatchClaim {
+        private final SeatClaim claim;
+        private final List<Integer> seatIndexes;
+
+        public SeatBatchClaim(SeatClaim claim, List<Integer> seatIndexes) {
+            this.claim = claim;
+            this.seatIndexes = seatIndexes;
+        }
+
+        public SeatClaim getClaim() {
+            return claim;
+        }
+
+        public List<Integer> getSeatIndexes() {
+            return seatIndexes;
+        }
+    }
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisReadRouting readRouting;
 
-    public SeatRedisRepository(RedisTemplate<String, Object> redisTemplate) {
+    public SeatRedisRepository(RedisTemplate<String, Object> redisTemplate, RedisReadRouting readRouting) {
         this.redisTemplate = redisTemplate;
+        this.readRouting = readRouting;
     }
 
     public boolean acquireLock(String key, String value, long ttlInSeconds) {
@@ -35,63 +73,77 @@ public class SeatRedisRepository {
     }
 
 
-    public String getSeatStatus(String key) {
-        // Redis에서 좌석 상태 가져오기
-        return (String) redisTemplate.opsForValue().get(key);
+    // AVAILABLE 인 좌석만 선점 상태로 바꾸고 선점자를 함께 기록한다 (확인과 변경 사이에 다른 요청이 끼어들 수 없다)
+    // holderId 가 null 이면 선점자를 기록하지 않는다
+    public SeatClaim claimSeat(String seatKey, String holderKey, String availableStatus, String reservedStatus,
+                               String holderId, long ttlInSeconds) {
+        List<String> keys = holderId != null ? List.of(seatKey, holderKey) : List.of(seatKey);
+        Long result = redisTemplate.execute(CLAIM_SEAT_SCRIPT, keys,
+                availableStatus, reservedStatus, holderId != null ? holderId : "", ttlInSeconds);
+        if (result == null || result < 0) {
+            return SeatClaim.MISSING;
+        }
+        return result == 1 ? SeatClaim.CLAIMED : SeatClaim.CONFLICT;
     }
 
 
-    public void setSeatStatus(String key, String value, long ttlInSeconds) {
-        // Redis에 좌석 상태 저장
-        redisTemplate.opsForValue().set(key, value, ttlInSeconds, TimeUnit.SECONDS);
+    // 모든 좌석이 AVAILABLE 일 때만 한꺼번에 선점한다 (하나라도 선점할 수 없으면 어떤 좌석도 바꾸지 않는다)
+    // holderKeys 는 seatKeys 와 같은 순서로 전달한다 (holderId 가 null 이면 선점자를 기록하지 않는다)
+    @SuppressWarnings("unchecked")
+    public SeatBatchClaim claimSeats(List<String> seatKeys, List<String> holderKeys, String availableStatus,
+                                     String reservedStatus, String holderId, long ttlInSeconds) {
+        List<String> keys = new ArrayList<>(seatKeys);
+        if (holderId != null) {
+            keys.addAll(holderKeys);
+        }
+        List<Long> result = redisTemplate.execute(CLAIM_SEATS_SCRIPT, keys,
+                availableStatus, reservedStatus, holderId != null ? holderId : "", ttlInSeconds, seatKeys.size());
+        if (result == null || result.isEmpty()) {
+            return new SeatBatchClaim(SeatClaim.MISSING, Collections.emptyList());
+        }
+
+        long code = result.get(0);
+        if (code == 1) {
+            return new SeatBatchClaim(SeatClaim.CLAIMED, Collections.emptyList());
+        }
+        List<Integer> seatIndexes = result.subList(1, result.size()).stream()
+                .map(position -> position.intValue() - 1)
+                .toList();
+        return new SeatBatchClaim(code == 0 ? SeatClaim.CONFLICT : SeatClaim.MISSING, seatIndexes);
     }
 
-    // 비동기 락 획득
-    public CompletableFuture<Boolean> acquireLockAsync(String key, String value, long ttlInSeconds) {
-        return CompletableFuture.supplyAsync(() -> {
-            Boolean success = redisTemplate.opsForValue().setIfAbsent(key, value, ttlInSeconds, TimeUnit.SECONDS);
-            return Boolean.TRUE.equals(success);
-        });
+
+    // 결제 확정, 선점 해제처럼 선점을 끝내는 상태 변경 (선점자가 기록된 좌석은 같은 선점자만 바꿀 수 있다)
+    // holderId 가 null 이면 선점자가 기록되지 않은 좌석만 바꾼다
+    public boolean updateHeldSeat(String seatKey, String holderKey, String status, String holderId) {
+        Long result = redisTemplate.execute(UPDATE_HELD_SEAT_SCRIPT, List.of(seatKey, holderKey),
+                status, holderId != null ? holderId : "");
+        return result != null && result == 1;
     }
 
-    // 비동기 락 해제
-    public CompletableFuture<Void> releaseLockAsync(String key) {
-        return CompletableFuture.runAsync(() -> redisTemplate.delete(key));
+
+    public String getSeatStatus(String key) {
+        // Redis에서 좌석 상태 가져오기
+        return (String) redisTemplate.opsForValue().get(key);
     }
 
-    // 비동기 락 획득 및 작업 실행
-    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, long ttlInSeconds, Supplier<CompletableFuture<T>> action) {
-        return acquireLockAsync(lockKey, "LOCKED", ttlInSeconds)
-                .thenCompose(acquired -> {
-                    if (!acquired) {
-                        // 락을 못 잡으면 에러를 반환
-                        return CompletableFuture.failedFuture(new RuntimeException("다른 작업이 진행 중입니다. 잠시 후 다시 시도해주세요."));
-                    }
-                    // 락을 잡았으면 작업을 실행
-                    return action.get()
-                            .handle((result, ex) -> {
-                                // 작업이 끝나면 락 해제
-                                releaseLockAsync(lockKey);
-
-                                // 에러가 발생하면 다시 던져준다
-                                if (ex != null) {
-                                    throw new RuntimeException(ex);
-                                }
-                                // 작업 결과 반환
-                                return result;
-                            });
-                });
+
+    public void setSeatStatus(String key, String value, long ttlInSeconds) {
+        // Redis에 좌석 상태 저장
+        redisTemplate.opsForValue().set(key, value, ttlInSeconds, TimeUnit.SECONDS);
     }
 
     public Map<String, String> getAllReservedSeats(int scheduleId) {
+        // 화면 표시용 조회이므로 설정에 따라 복제 노드에서 읽는다
+        RedisTemplate<String, Object> displayTemplate = readRouting.template(RedisReadRouting.ReadClass.SEAT_STATUS_DISPLAY);
         String keyPattern = "seat:" + scheduleId + ":*";
-        Set<String> keys = redisTemplate.keys(keyPattern); // Redis에서 해당 패턴에 맞는 모든 키 조회
+        Set<String> keys = displayTemplate.keys(keyPattern); // Redis에서 해당 패턴에 맞는 모든 키 조회
         if (keys == null || keys.isEmpty()) {
             return Collections.emptyMap();
         }
 
         // 모든 키의 상태를 조회하여 Map으로 반환
-        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        List<Object> values = displayTemplate.opsForValue().multiGet(keys);
         Map<String, String> result = new HashMap<>();
         int index = 0;
         for (String key : keys) {
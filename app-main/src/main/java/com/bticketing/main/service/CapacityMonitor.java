@@ -0,0 +1,62 @@
+package com.bticketing.main.service;
+
+import com.bticketing.main.dto.CapacityDto;
+import com.bticketing.main.repository.redis.CapacityRedisRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 대기열 서버(app-queue)의 입장 속도 조절에 쓰이는 수용 여력 지표
+// 모든 app-main 인스턴스가 같은 Redis 키에 기록하므로, 어느 인스턴스에 조회해도 전체 인스턴스의 합과 평균이 나온다
+// 좌석 선점 수는 선점 TTL(300초) 동안의 초 단위 버킷 합으로 근사한다 (선점 해제는 TTL 만료로 반영)
+@Component
+public class CapacityMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityMonitor.class);
+
+    private static final int HOLD_WINDOW_SECONDS = 300; // 좌석 선점 TTL 과 동일
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final CapacityRedisRepository capacityRedisRepository;
+    private final long maxActiveHolds;
+
+    public CapacityMonitor(CapacityRedisRepository capacityRedisRepository,
+                           @Value("${capacity.max-active-holds:2000}") long maxActiveHolds) {
+        this.capacityRedisRepository = capacityRedisRepository;
+        this.maxActiveHolds = maxActiveHolds;
+    }
+
+    // 좌석 선택 한 번의 지연과 선점 좌석 수 (실패한 선택이면 0) 를 Redis 호출 한 번으로 기록
+    public void recordSelect(long elapsedNanos, int heldSeats) {
+        record(heldSeats, elapsedNanos / 1_000_000.0);
+    }
+
+    // 지연을 재지 않는 경로(자동 배정)의 선점 좌석 수 기록
+    public void recordHolds(int seatCount) {
+        record(seatCount, -1);
+    }
+
+    public long getActiveHolds() {
+        long nowSecond = System.currentTimeMillis() / 1000;
+        return capacityRedisRepository.sumHolds(nowSecond - HOLD_WINDOW_SECONDS + 1, nowSecond);
+    }
+
+    public double getSelectLatencyMillis() {
+        return capacityRedisRepository.getSelectLatencyMillis();
+    }
+
+    public CapacityDto snapshot() {
+        return new CapacityDto(getActiveHolds(), maxActiveHolds, getSelectLatencyMillis());
+    }
+
+    // 지표 기록 실패가 좌석 선택 결과를 바꾸지 않도록 예외는 로그만 남긴다
+    private void record(int heldSeats, double latencyMillis) {
+        try {
+            capacityRedisRepository.recordSelect(System.currentTimeMillis() / 1000, heldSeats, latencyMillis,
+                    LATENCY_SMOOTHING, HOLD_WINDOW_SECONDS + 1);
+        } catch (Exception e) {
+            logger.warn("수용 여력 지표를 기록하지 못했습니다: {}", e.getMessage());
+        }
+    }
+}
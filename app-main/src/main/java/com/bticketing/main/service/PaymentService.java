@@ -1,6 +1,8 @@
 package com.bticketing.main.service;
 
+import com.bticketing.main.client.QueueSessionClient;
 import com.bticketing.main.entity.Payment;
+import com.bticketing.main.exception.SeatAlreadyReservedException;
 import com.bticketing.main.kafka.producer.PaymentEventProducer;
 import com.bticketing.main.repository.payment.PaymentRepository;
 import com.bticketing.main.repository.redis.PaymentRedisRepository;
@@ -11,6 +13,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 
@@ -24,20 +28,27 @@ public class PaymentService {
     private final SeatRedisRepository redisRepository;
     private final PaymentEventProducer eventProducer;
     private final PaymentRedisRepository paymentRedisRepository;
+    private final QueueSessionClient queueSessionClient;
 
     public PaymentService(PaymentRepository paymentRepository,
                           SeatReservationRepository seatReservationRepository,
                           SeatRedisRepository redisRepository,
                           PaymentEventProducer eventProducer,
-                          PaymentRedisRepository paymentRedisRepository) {
+                          PaymentRedisRepository paymentRedisRepository,
+                          QueueSessionClient queueSessionClient) {
         this.paymentRepository = paymentRepository;
         this.seatReservationRepository = seatReservationRepository;
         this.redisRepository = redisRepository;
         this.eventProducer = eventProducer;
         this.paymentRedisRepository = paymentRedisRepository;
+        this.queueSessionClient = queueSessionClient;
     }
 
     public void processPaymentAsync(String requestId, int reservationId, double amount) {
+        processPaymentAsync(requestId, reservationId, amount, null);
+    }
+
+    public void processPaymentAsync(String requestId, int reservationId, double amount, String queueToken) {
         paymentRedisRepository.savePaymentStatus(requestId, "PENDING");
         paymentRedisRepository.savePaymentMessage(requestId, "결제 요청 중...");
 
@@ -45,18 +56,28 @@ public class PaymentService {
 
         // Kafka 이벤트 발행
         String message = String.format("requestId=%s,reservationId=%d,amount=%.2f", requestId, reservationId, amount);
+        if (queueToken != null) {
+            message += ",queueToken=" + queueToken;
+        }
         eventProducer.sendPaymentRequestedEvent(message);
     }
 
 
-    @Transactional
     public Payment processPayment(String requestId, int reservationId, double amount) {
+        return processPayment(requestId, reservationId, amount, null);
+    }
+
+    // 결제가 커밋되면 대기열 입장 세션을 종료해 다음 대기자가 바로 입장할 수 있게 한다
+    @Transactional
+    public Payment processPayment(String requestId, int reservationId, double amount, String queueToken) {
         Payment payment = createPayment(reservationId, amount);
         Payment savedPayment = paymentRepository.save(payment);
 
         try {
             updatePaymentStatus(savedPayment, "COMPLETED");
-            updateSeatStatus(reservationId, "COMPLETE");
+            if (!updateSeatStatus(reservationId, "COMPLETE", queueToken)) {
+                throw new SeatAlreadyReservedException("다른 사용자가 선점한 좌석입니다.");
+            }
 
             String completionMessage = String.format("결제 완료: ReservationId=%d, 금액=%.2f", reservationId, amount);
             paymentRedisRepository.savePaymentStatus(requestId, "COMPLETED");
@@ -64,13 +85,14 @@ public class PaymentService {
 
         } catch (Exception e) {
             updatePaymentStatus(savedPayment, "FAILED");
-            revertSeatStatusToAvailable(reservationId);
+            revertSeatStatusToAvailable(reservationId, queueToken);
 
             paymentRedisRepository.savePaymentStatus(requestId, "FAILED");
             paymentRedisRepository.savePaymentMessage(requestId, "결제 실패: " + e.getMessage());
 
             throw new RuntimeException("결제 처리 중 오류가 발생했습니다.");
         }
+        releaseQueueSession(reservationId, queueToken);
         return savedPayment;
     }
 
@@ -88,18 +110,47 @@ public class PaymentService {
         paymentRepository.save(payment);
     }
 
-    private void updateSeatStatus(int reservationId, String status) {
-        seatReservationRepository.findById(reservationId).ifPresent(reservation -> {
+    // 선점자가 기록된 좌석은 같은 선점자(대기열 입장 토큰)일 때만 상태를 바꾼다 (바꾸지 못하면 false)
+    private boolean updateSeatStatus(int reservationId, String status, String holderId) {
+        return seatReservationRepository.findById(reservationId).map(reservation -> {
+            int scheduleId = reservation.getScheduleId();
+            int seatId = reservation.getSeat().getSeatId();
+            String redisKey = String.format("seat:%d:%d", scheduleId, seatId);
+            String holderKey = String.format("seatHolder:%d:%d", scheduleId, seatId);
+            if (!redisRepository.updateHeldSeat(redisKey, holderKey, status, holderId)) {
+                logger.warn("다른 선점자의 좌석이라 상태를 바꾸지 않았습니다: reservationId={}, status={}", reservationId, status);
+                return false;
+            }
+
             reservation.setStatus(status);
             seatReservationRepository.save(reservation);
+            return true;
+        }).orElse(true);
+    }
 
-            String redisKey = String.format("seat:%d:%d", reservation.getScheduleId(), reservation.getSeat().getSeatId());
-            redisRepository.setSeatStatus(redisKey, status);
+    private void releaseQueueSession(int reservationId, String queueToken) {
+        if (queueToken == null || queueToken.isBlank()) {
+            return;
+        }
+        seatReservationRepository.findById(reservationId).ifPresent(reservation -> {
+            int scheduleId = reservation.getScheduleId();
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                queueSessionClient.release(scheduleId, queueToken);
+                return;
+            }
+            // 대기열 서버 호출은 커밋 이후에 한다 (DB 커넥션을 잡은 채 기다리지 않고, 롤백된 결제로 세션을 반납하지 않는다)
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queueSessionClient.release(scheduleId, queueToken);
+                }
+            });
         });
     }
 
-    private void revertSeatStatusToAvailable(int reservationId) {
-        updateSeatStatus(reservationId, "AVAILABLE");
+    // 선점 TTL 이 지나 다른 사용자가 선점한 좌석은 되돌리지 않는다
+    private void revertSeatStatusToAvailable(int reservationId, String holderId) {
+        updateSeatStatus(reservationId, "AVAILABLE", holderId);
     }
 
     private Payment createPayment(int reservationId, double amount) {
@@ -3,6 +3,8 @@ package com.bticketing.main.service;
 import com.bticketing.main.dto.SeatDto;
 import com.bticketing.main.entity.Seat;
 import com.bticketing.main.exception.SeatAlreadyReservedException;
+import com.bticketing.main.exception.SeatsConflictException;
+import com.bticketing.main.exception.SeatsNotAvailableException;
 import com.bticketing.main.repository.redis.SeatRedisRepository;
 import com.bticketing.main.repository.seat.SeatRepository;
 import org.slf4j.Logger;
@@ -24,54 +26,124 @@ public class SeatService {
     private final SeatRepository seatRepository;
     private final SeatTransactionManager transactionManager;
     private final Executor threadPoolTaskExecutor;
+    private final CapacityMonitor capacityMonitor;
 
     private static final int SEAT_RESERVATION_TTL = 300; // 예약 TTL (초)
+    private static final int MAX_BATCH_SEATS = 6; // 일괄 선점 최대 좌석 수 (스크립트가 한 번에 확인하는 키 수 제한)
 
     public SeatService(SeatRedisRepository redisRepository,
                        SeatRepository seatRepository,
                        SeatTransactionManager transactionManager,
-                       @Qualifier("threadPoolTaskExecutor") Executor threadPoolTaskExecutor) {
+                       @Qualifier("threadPoolTaskExecutor") Executor threadPoolTaskExecutor,
+                       CapacityMonitor capacityMonitor) {
         this.redisRepository = redisRepository;
         this.seatRepository = seatRepository;
         this.transactionManager = transactionManager;
         this.threadPoolTaskExecutor = threadPoolTaskExecutor;
+        this.capacityMonitor = capacityMonitor;
     }
 
     public CompletableFuture<SeatDto> selectSeat(int scheduleId, int seatId) {
-        String lockKey = generateLockKey(scheduleId, seatId);
-        String seatKey = generateSeatKey(scheduleId, seatId);
-
-        return CompletableFuture.supplyAsync(() -> redisRepository.getSeatStatus(seatKey), threadPoolTaskExecutor)
-                .thenCompose(redisStatus -> {
-                    if (redisStatus == null) {
-                        return CompletableFuture.supplyAsync(() ->
-                                transactionManager.fetchAndSyncSeatStatus(scheduleId, seatId), threadPoolTaskExecutor);
-                    } else {
-                        return CompletableFuture.completedFuture(redisStatus);
-                    }
-                })
-                .thenApply(status -> {
-                    // 상태가 "RESERVED"인 경우 예외 발생
-                    if ("RESERVED".equals(status)|| "COMPLETE".equals(status)) {
-                        throw new SeatAlreadyReservedException("이미 예약된 좌석입니다.");
-                    }
-                    return status; // "AVAILABLE" 등의 상태
-                })
-                .thenCompose(status -> {
-                    // 락을 얻어야 하는 부분만 비동기로 처리
-                    return redisRepository.executeWithLockAsync(lockKey, SEAT_RESERVATION_TTL, () ->
-                            CompletableFuture.supplyAsync(() -> {
-                                String currentStatus = redisRepository.getSeatStatus(seatKey);
-                                if ("RESERVED".equals(currentStatus)|| "COMPLETE".equals(currentStatus)) {
-                                    throw new SeatAlreadyReservedException("이미 예약된 좌석입니다.");
-                                }
-                                Seat seat = seatRepository.findById(seatId)
-                                        .orElseThrow(() -> new RuntimeException("좌석 정보를 찾을 수 없습니다. seatId=" + seatId));
-
-                                transactionManager.updateSeatStatuses(scheduleId, List.of(seat), "RESERVED");
-                                logger.debug("좌석 상태 업데이트 완료: scheduleId={}, seatId={}, 상태=RESERVED", scheduleId, seatId);
-                                return new SeatDto(seat.getSeatId(), "RESERVED");
-                            }, threadPoolTaskExecutor));
+        return selectSeat(scheduleId, seatId, null);
+    }
+
+    // holderId 는 선점자 식별자 (대기열 입장 토큰 등, 결제 확정과 선점 해제는 같은 선점자만 할 수 있다)
+    // 없으면 선점자를 기록하지 않으며, 그 좌석은 선점자 확인 없이 결제된다
+    public CompletableFuture<SeatDto> selectSeat(int scheduleId, int seatId, String holderId) {
+        long startTime = System.nanoTime();
+        String holder = holderId == null || holderId.isBlank() ? null : holderId;
+        return CompletableFuture.supplyAsync(() -> reserveSeat(scheduleId, seatId, holder), threadPoolTaskExecutor)
+                .whenComplete((seatDto, ex) -> {
+                    // 대기열 서버의 입장 속도 조절을 위한 수용 여력 지표 기록
+                    capacityMonitor.recordSelect(System.nanoTime() - startTime, ex == null ? 1 : 0);
+                });
+    }
+
+    // 상태 확인과 선점을 Redis 스크립트 한 번으로 처리하고, DB 기록은 응답 이후로 미룬다
+    // Redis 에 좌석 상태가 없을 때만 DB 에서 상태를 채운 뒤 한 번 더 시도한다
+    private SeatDto reserveSeat(int scheduleId, int seatId, String holderId) {
+        SeatRedisRepository.SeatClaim claim = claimSeat(scheduleId, seatId, holderId);
+        if (claim == SeatRedisRepository.SeatClaim.MISSING) {
+            transactionManager.fetchAndSyncSeatStatus(scheduleId, seatId);
+            claim = claimSeat(scheduleId, seatId, holderId);
+        }
+        if (claim == SeatRedisRepository.SeatClaim.CONFLICT) {
+            throw new SeatAlreadyReservedException("이미 예약된 좌석입니다.");
+        }
+        if (claim == SeatRedisRepository.SeatClaim.MISSING) {
+            throw new RuntimeException("좌석 상태를 확인할 수 없습니다. seatId=" + seatId);
+        }
+
+        persistSeatStatusesAsync(scheduleId, List.of(seatId), "RESERVED");
+        logger.debug("좌석 선점 완료: scheduleId={}, seatId={}, 상태=RESERVED", scheduleId, seatId);
+        return new SeatDto(seatId, "RESERVED");
+    }
+
+    private SeatRedisRepository.SeatClaim claimSeat(int scheduleId, int seatId, String holderId) {
+        return redisRepository.claimSeat(generateSeatKey(scheduleId, seatId), generateHolderKey(scheduleId, seatId),
+                "AVAILABLE", "RESERVED", holderId, SEAT_RESERVATION_TTL);
+    }
+
+    // 여러 좌석을 한 번의 Redis 스크립트로 모두 선점하거나 하나도 선점하지 않는다 (일부만 선점된 좌석이 남지 않는다)
+    public CompletableFuture<List<SeatDto>> selectSeats(int scheduleId, List<Integer> seatIds, String holderId) {
+        long startTime = System.nanoTime();
+        String holder = holderId == null || holderId.isBlank() ? null : holderId;
+        return CompletableFuture.supplyAsync(() -> reserveSeats(scheduleId, seatIds, holder), threadPoolTaskExecutor)
+                .whenComplete((seatDtos, ex) -> {
+                    // 대기열 서버의 입장 속도 조절을 위한 수용 여력 지표 기록
+                    capacityMonitor.recordSelect(System.nanoTime() - startTime, ex == null ? seatDtos.size() : 0);
+                });
+    }
+
+    // Redis 에 상태가 없는 좌석만 DB 에서 채운 뒤 한 번 더 시도한다
+    private List<SeatDto> reserveSeats(int scheduleId, List<Integer> seatIds, String holderId) {
+        List<Integer> requestedSeatIds = seatIds == null ? List.of() : seatIds.stream().distinct().toList();
+        if (requestedSeatIds.isEmpty() || requestedSeatIds.size() > MAX_BATCH_SEATS) {
+            throw new SeatsNotAvailableException("한 번에 선점할 수 있는 좌석은 1~" + MAX_BATCH_SEATS + "개입니다.");
+        }
+
+        SeatRedisRepository.SeatBatchClaim claim = claimSeats(scheduleId, requestedSeatIds, holderId);
+        if (claim.getClaim() == SeatRedisRepository.SeatClaim.MISSING) {
+            for (int seatId : toSeatIds(requestedSeatIds, claim.getSeatIndexes())) {
+                transactionManager.fetchAndSyncSeatStatus(scheduleId, seatId);
+            }
+            claim = claimSeats(scheduleId, requestedSeatIds, holderId);
+        }
+        if (claim.getClaim() == SeatRedisRepository.SeatClaim.CONFLICT) {
+            throw new SeatsConflictException("이미 예약된 좌석이 포함되어 있습니다.",
+                    toSeatIds(requestedSeatIds, claim.getSeatIndexes()));
+        }
+        if (claim.getClaim() == SeatRedisRepository.SeatClaim.MISSING) {
+            throw new RuntimeException("좌석 상태를 확인할 수 없습니다. seatIds="
+                    + toSeatIds(requestedSeatIds, claim.getSeatIndexes()));
+        }
+
+        persistSeatStatusesAsync(scheduleId, requestedSeatIds, "RESERVED");
+        logger.debug("좌석 일괄 선점 완료: scheduleId={}, seatIds={}, 상태=RESERVED", scheduleId, requestedSeatIds);
+        return requestedSeatIds.stream()
+                .map(seatId -> new SeatDto(seatId, "RESERVED"))
+                .toList();
+    }
+
+    private SeatRedisRepository.SeatBatchClaim claimSeats(int scheduleId, List<Integer> seatIds, String holderId) {
+        List<String> seatKeys = seatIds.stream().map(seatId -> generateSeatKey(scheduleId, seatId)).toList();
+        List<String> holderKeys = seatIds.stream().map(seatId -> generateHolderKey(scheduleId, seatId)).toList();
+        return redisRepository.claimSeats(seatKeys, holderKeys, "AVAILABLE", "RESERVED", holderId,
+                SEAT_RESERVATION_TTL);
+    }
+
+    private List<Integer> toSeatIds(List<Integer> seatIds, List<Integer> seatIndexes) {
+        return seatIndexes.stream().map(seatIds::get).toList();
+    }
+
+    // 좌석 선점의 기준은 Redis 이므로 DB 기록 실패는 로그로 남긴다 (Redis 에 상태가 없을 때 DB 에서 다시 채워진다)
+    private void persistSeatStatusesAsync(int scheduleId, List<Integer> seatIds, String status) {
+        CompletableFuture.runAsync(() -> transactionManager.saveSeatStatuses(scheduleId, seatIds, status),
+                        threadPoolTaskExecutor)
+                .exceptionally(ex -> {
+                    logger.warn("좌석 상태 DB 기록에 실패했습니다: scheduleId={}, seatIds={}, 상태={}, {}",
+                            scheduleId, seatIds, status, ex.getMessage());
+                    return null;
                 });
     }
 
@@ -90,7 +162,11 @@ public class SeatService {
             }
 
             return transactionManager.findAndAssignAvailableSeats(scheduleId, numSeats);
-        }, threadPoolTaskExecutor);
+        }, threadPoolTaskExecutor).whenComplete((seatDtos, ex) -> {
+            if (ex == null) {
+                capacityMonitor.recordHolds(seatDtos.size());
+            }
+        });
     }
 
     public CompletableFuture<List<SeatDto>> getSeatsStatus(int scheduleId) {
@@ -101,12 +177,13 @@ public class SeatService {
     // Private Helper Methods
     // -------------------------------
 
-    private String generateLockKey(int scheduleId, int seatId) {
+    private String generateSeatKey(int scheduleId, int seatId) {
         return String.format("seat:%d:%d", scheduleId, seatId);
     }
 
-    private String generateSeatKey(int scheduleId, int seatId) {
-        return String.format("seat:%d:%d", scheduleId, seatId);
+    // 좌석 상태 키 패턴(seat:{scheduleId}:*) 조회에 섞이지 않도록 다른 prefix 를 쓴다
+    private String generateHolderKey(int scheduleId, int seatId) {
+        return String.format("seatHolder:%d:%d", scheduleId, seatId);
     }
 
     private List<SeatDto> convertToSeatDtos(List<Seat> seats) {
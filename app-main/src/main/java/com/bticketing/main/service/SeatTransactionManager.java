@@ -51,6 +51,22 @@ public class SeatTransactionManager {
         }
     }
 
+    //Redis에 이미 반영된 좌석 상태를 DB에만 기록 (좌석 선점 응답 이후에 실행)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveSeatStatuses(int scheduleId, List<Integer> seatIds, String status) {
+        for (int seatId : seatIds) {
+            SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
+                    .orElseGet(() -> {
+                        Seat seat = seatRepository.findById(seatId)
+                                .orElseThrow(() -> new RuntimeException("좌석 정보를 찾을 수 없습니다. seatId=" + seatId));
+                        return new SeatReservation(seat, scheduleId, status);
+                    });
+
+            reservation.setStatus(status);
+            seatReservationRepository.save(reservation);
+        }
+    }
+
     //DB와 Redis의 좌석 상태를 동기화
     //[확인사항] 트랜잭션의 실패를 대비한 재시도 로직 추가 검토
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -0,0 +1,19 @@
+-- 좌석 선점: 상태 확인(AVAILABLE)과 선점 상태, 선점자 저장을 한 번의 호출로 처리
+-- KEYS[1] = 좌석 상태 키, KEYS[2] = 선점자 키 (선점자를 밝히지 않은 선점이면 없음)
+-- ARGV[1] = 선점 가능 상태, ARGV[2] = 선점 상태, ARGV[3] = 선점자, ARGV[4] = 선점 TTL(초)
+-- 상태 값과 선점자는 좌석 상태 조회와 같은 JSON 직렬화 값으로 전달된다
+-- 반환값 = 1 선점 성공, 0 이미 선점/판매된 좌석, -1 Redis 에 좌석 상태 없음 (DB 동기화 후 다시 시도)
+
+local status = redis.call('GET', KEYS[1])
+if not status then
+    return -1
+end
+if status ~= ARGV[1] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[4])
+if KEYS[2] then
+    redis.call('SET', KEYS[2], ARGV[3], 'EX', ARGV[4])
+end
+return 1
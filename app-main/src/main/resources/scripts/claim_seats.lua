@@ -0,0 +1,34 @@
+-- 여러 좌석 일괄 선점: 모든 좌석이 선점 가능(AVAILABLE)할 때만 한꺼번에 선점하고, 하나라도 아니면 아무것도 바꾸지 않는다
+-- KEYS[1..N] = 좌석 상태 키, KEYS[N+1..2N] = 선점자 키 (좌석 상태 키와 같은 순서, 선점자를 밝히지 않은 선점이면 없음)
+-- ARGV[1] = 선점 가능 상태, ARGV[2] = 선점 상태, ARGV[3] = 선점자, ARGV[4] = 선점 TTL(초), ARGV[5] = 좌석 수 N
+-- 상태 값과 선점자는 좌석 상태 조회와 같은 JSON 직렬화 값으로 전달된다
+-- 반환값 = { 1 } 모두 선점, { 0, 좌석 위치... } 이미 선점/판매된 좌석이 있음,
+--          { -1, 좌석 위치... } Redis 에 상태가 없는 좌석이 있음 (DB 동기화 후 다시 시도, 위치는 1부터)
+
+local count = tonumber(ARGV[5])
+local conflicts = { 0 }
+local missing = { -1 }
+
+for i = 1, count do
+    local status = redis.call('GET', KEYS[i])
+    if not status then
+        missing[#missing + 1] = i
+    elseif status ~= ARGV[1] then
+        conflicts[#conflicts + 1] = i
+    end
+end
+
+if #conflicts > 1 then
+    return conflicts
+end
+if #missing > 1 then
+    return missing
+end
+
+for i = 1, count do
+    redis.call('SET', KEYS[i], ARGV[2], 'EX', ARGV[4])
+    if KEYS[count + i] then
+        redis.call('SET', KEYS[count + i], ARGV[3], 'EX', ARGV[4])
+    end
+end
+return { 1 }
@@ -0,0 +1,20 @@
+-- 좌석 선택 한 번의 수용 여력 지표 기록 (모든 app-main 인스턴스가 같은 키에 기록하므로 대기열 서버가 전체 값을 본다)
+-- KEYS[1] = 이번 초의 선점 좌석 수 버킷, KEYS[2] = 좌석 선택 지연 이동 평균(ms)
+-- ARGV[1] = 선점한 좌석 수 (실패한 선택이면 0), ARGV[2] = 이번 선택 지연(ms, 음수면 기록하지 않음), ARGV[3] = 이동 평균 가중치
+-- ARGV[4] = 키 TTL(초, 선점 TTL 동안 기록이 없으면 지표가 사라진다)
+
+if tonumber(ARGV[1]) > 0 then
+    redis.call('INCRBY', KEYS[1], ARGV[1])
+    redis.call('EXPIRE', KEYS[1], ARGV[4])
+end
+
+local latency = tonumber(ARGV[2])
+if latency < 0 then
+    return 1
+end
+local current = tonumber(redis.call('GET', KEYS[2]) or '0')
+if current ~= 0 then
+    latency = current + tonumber(ARGV[3]) * (latency - current)
+end
+redis.call('SET', KEYS[2], tostring(latency), 'EX', ARGV[4])
+return 1
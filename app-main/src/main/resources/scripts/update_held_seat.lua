@@ -0,0 +1,15 @@
+-- 선점 좌석의 결제 확정/선점 해제: 선점자가 기록된 좌석은 같은 선점자일 때만 상태를 바꾸고 선점자 기록을 지운다
+-- 선점자 기록이 없으면(선점자를 밝히지 않은 선점, 선점 TTL 만료) 확인 없이 바꾼다
+-- KEYS[1] = 좌석 상태 키, KEYS[2] = 선점자 키
+-- ARGV[1] = 바꿀 상태, ARGV[2] = 요청한 선점자 (없으면 빈 문자열)
+-- 상태 값과 선점자는 좌석 상태 조회와 같은 JSON 직렬화 값으로 전달된다
+-- 반환값 = 1 변경, 0 다른 선점자가 선점한 좌석 (아무것도 바꾸지 않음)
+
+local holder = redis.call('GET', KEYS[2])
+if holder and holder ~= ARGV[2] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[1])
+redis.call('DEL', KEYS[2])
+return 1
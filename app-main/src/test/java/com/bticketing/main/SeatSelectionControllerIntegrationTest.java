@@ -15,8 +15,10 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -68,10 +70,12 @@ class SeatSelectionControllerIntegrationTest {
         String redisStatus = redisRepository.getSeatStatus("seat:" + scheduleId + ":" + seatId);
         assertThat(redisStatus).isEqualTo("RESERVED");
 
-        // DB에 RESERVED 상태로 저장되었는지 확인
-        SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
-                .orElseThrow(() -> new AssertionError("DB에 예약 정보가 존재하지 않습니다."));
-        assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        // DB에 RESERVED 상태로 저장되었는지 확인 (DB 기록은 선점 응답 이후에 실행된다)
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
+                    .orElseThrow(() -> new AssertionError("DB에 예약 정보가 존재하지 않습니다."));
+            assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        });
 
         // 응답 검증
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -98,10 +102,12 @@ class SeatSelectionControllerIntegrationTest {
         String redisStatus = redisRepository.getSeatStatus("seat:" + scheduleId + ":" + seatId);
         assertThat(redisStatus).isEqualTo("RESERVED");
 
-        // DB에 RESERVED 상태로 업데이트되었는지 확인
-        SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
-                .orElseThrow(() -> new AssertionError("DB에 예약 정보가 존재하지 않습니다."));
-        assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        // DB에 RESERVED 상태로 업데이트되었는지 확인 (DB 기록은 선점 응답 이후에 실행된다)
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
+                    .orElseThrow(() -> new AssertionError("DB에 예약 정보가 존재하지 않습니다."));
+            assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        });
 
         // 응답 검증
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
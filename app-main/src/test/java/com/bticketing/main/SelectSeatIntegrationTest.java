@@ -1,5 +1,7 @@
 package com.bticketing.main;
 
+import com.bticketing.main.dto.SeatBatchRequestDto;
+import com.bticketing.main.dto.SeatConflictDto;
 import com.bticketing.main.dto.SeatDto;
 import com.bticketing.main.entity.Seat;
 import com.bticketing.main.entity.SeatReservation;
@@ -16,11 +18,18 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -76,10 +85,12 @@ public class SelectSeatIntegrationTest {
         String redisStatus = redisRepository.getSeatStatus("seat:" + scheduleId + ":" + seatId);
         assertThat(redisStatus).isEqualTo("RESERVED");
 
-        // DB 상태 확인
-        SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
-                .orElseThrow(() -> new AssertionError("DB에 예약 정보가 생성되지 않았습니다."));
-        assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        // DB 상태 확인 (DB 기록은 선점 응답 이후에 실행된다)
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
+                    .orElseThrow(() -> new AssertionError("DB에 예약 정보가 생성되지 않았습니다."));
+            assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        });
 
         // 응답 확인
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -106,10 +117,12 @@ public class SelectSeatIntegrationTest {
         String redisStatus = redisRepository.getSeatStatus("seat:" + scheduleId + ":" + seatId);
         assertThat(redisStatus).isEqualTo("RESERVED");
 
-        // DB에 RESERVED 상태로 업데이트되었는지 확인
-        SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
-                .orElseThrow(() -> new AssertionError("DB에 예약 정보가 존재하지 않습니다."));
-        assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        // DB에 RESERVED 상태로 업데이트되었는지 확인 (DB 기록은 선점 응답 이후에 실행된다)
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            SeatReservation reservation = seatReservationRepository.findBySeatAndSchedule(seatId, scheduleId)
+                    .orElseThrow(() -> new AssertionError("DB에 예약 정보가 존재하지 않습니다."));
+            assertThat(reservation.getStatus()).isEqualTo("RESERVED");
+        });
 
         // 응답 검증
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -157,4 +170,79 @@ public class SelectSeatIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
         assertThat(response.getBody()).contains("이미 예약된 좌석입니다.");
     }
+
+    @Test
+    void testSelectSeat_ConcurrentRequestsHoldOnlyOnce() throws Exception {
+        // Scenario 5: 같은 좌석에 동시에 선점 요청이 들어오는 경우 한 명만 선점한다
+        int scheduleId = 1;
+        int seatId = 5;
+        int requests = 20;
+        redisRepository.setSeatStatus("seat:" + scheduleId + ":" + seatId, "AVAILABLE", 300);
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<HttpStatusCode>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            String url = baseUrl + "/select?scheduleId=" + scheduleId + "&seatId=" + seatId + "&holderId=holder-" + i;
+            results.add(executor.submit(() -> {
+                try {
+                    return restTemplate.postForEntity(url, null, SeatDto.class).getStatusCode();
+                } catch (HttpClientErrorException e) {
+                    return e.getStatusCode();
+                }
+            }));
+        }
+        int held = 0;
+        int conflicts = 0;
+        for (Future<HttpStatusCode> result : results) {
+            HttpStatusCode status = result.get(10, TimeUnit.SECONDS);
+            if (HttpStatus.OK.equals(status)) {
+                held++;
+            } else if (HttpStatus.CONFLICT.equals(status)) {
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(held).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(requests - 1);
+        assertThat(redisRepository.getSeatStatus("seat:" + scheduleId + ":" + seatId)).isEqualTo("RESERVED");
+        // 선점자는 좌석 상태 키와 다른 키에 같은 TTL 로 기록된다
+        assertThat(redisRepository.getSeatStatus("seatHolder:" + scheduleId + ":" + seatId)).startsWith("holder-");
+    }
+
+    @Test
+    void testSelectSeats_HoldsAllSeats() {
+        // Scenario 6: 일괄 선점 요청의 좌석이 모두 선점 가능한 경우
+        int scheduleId = 1;
+        redisRepository.setSeatStatus("seat:" + scheduleId + ":6", "AVAILABLE", 300);
+        redisRepository.setSeatStatus("seat:" + scheduleId + ":7", "AVAILABLE", 300);
+
+        ResponseEntity<SeatDto[]> response = restTemplate.postForEntity(baseUrl + "/select-batch",
+                new SeatBatchRequestDto(scheduleId, List.of(6, 7), "holder-1"), SeatDto[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(SeatDto::getSeatId).containsExactly(6, 7);
+        assertThat(redisRepository.getSeatStatus("seat:" + scheduleId + ":6")).isEqualTo("RESERVED");
+        assertThat(redisRepository.getSeatStatus("seat:" + scheduleId + ":7")).isEqualTo("RESERVED");
+    }
+
+    @Test
+    void testSelectSeats_ConflictHoldsNothing() {
+        // Scenario 7: 일괄 선점 요청에 이미 선점된 좌석이 있으면 어떤 좌석도 선점하지 않고 충돌한 좌석을 알려준다
+        int scheduleId = 1;
+        redisRepository.setSeatStatus("seat:" + scheduleId + ":6", "AVAILABLE", 300);
+        redisRepository.setSeatStatus("seat:" + scheduleId + ":7", "RESERVED", 300);
+        redisRepository.setSeatStatus("seat:" + scheduleId + ":8", "AVAILABLE", 300);
+
+        HttpClientErrorException conflict = Assertions.assertThrows(HttpClientErrorException.class,
+                () -> restTemplate.postForEntity(baseUrl + "/select-batch",
+                        new SeatBatchRequestDto(scheduleId, List.of(6, 7, 8), "holder-1"), String.class));
+
+        assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        SeatConflictDto body = conflict.getResponseBodyAs(SeatConflictDto.class);
+        assertThat(body.getConflictSeatIds()).containsExactly(7);
+        assertThat(redisRepository.getSeatStatus("seat:" + scheduleId + ":6")).isEqualTo("AVAILABLE");
+        assertThat(redisRepository.getSeatStatus("seat:" + scheduleId + ":8")).isEqualTo("AVAILABLE");
+        assertThat(redisRepository.getSeatStatus("seatHolder:" + scheduleId + ":6")).isNull();
+    }
 }
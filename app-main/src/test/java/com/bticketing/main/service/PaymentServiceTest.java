@@ -1,5 +1,6 @@
 package com.bticketing.main.service;
 
+import com.bticketing.main.client.QueueSessionClient;
 import com.bticketing.main.entity.Payment;
 import com.bticketing.main.entity.Seat;
 import com.bticketing.main.entity.SeatReservation;
@@ -18,6 +19,8 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -44,6 +47,9 @@ class PaymentServiceTest {
     @Mock
     private PaymentRedisRepository paymentRedisRepository; // PaymentRedisRepository로 변경
 
+    @Mock
+    private QueueSessionClient queueSessionClient;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -115,4 +121,75 @@ class PaymentServiceTest {
         verify(paymentRedisRepository).savePaymentStatus("payment:status:" + requestId, "FAILED");
         verify(paymentRedisRepository).savePaymentStatus("payment:message:" + requestId, "결제 실패: Test Exception");
     }
+
+    @Test
+    void processPayment_releasesQueueSession_test() {
+        // 테스트 목표: 결제가 완료되면 예약한 회차의 대기열 입장 세션 종료를 알리는지 확인
+        // Given
+        Payment payment = new Payment();
+        SeatReservation reservation = new SeatReservation();
+        reservation.setScheduleId(7);
+        reservation.setSeat(new Seat());
+
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(seatReservationRepository.findById(1)).thenReturn(Optional.of(reservation));
+        when(redisRepository.updateHeldSeat("seat:7:0", "seatHolder:7:0", "COMPLETE", "queueToken")).thenReturn(true);
+
+        // When
+        paymentService.processPayment("testRequestId", 1, 100.0, "queueToken");
+
+        // Then
+        verify(queueSessionClient).release(7, "queueToken");
+    }
+
+    @Test
+    void processPayment_releasesQueueSessionAfterCommit_test() {
+        // 테스트 목표: 트랜잭션 안에서는 커밋된 뒤에야 대기열 입장 세션 종료를 알리는지 확인
+        // Given
+        Payment payment = new Payment();
+        SeatReservation reservation = new SeatReservation();
+        reservation.setScheduleId(7);
+        reservation.setSeat(new Seat());
+
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(seatReservationRepository.findById(1)).thenReturn(Optional.of(reservation));
+        when(redisRepository.updateHeldSeat("seat:7:0", "seatHolder:7:0", "COMPLETE", "queueToken")).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            paymentService.processPayment("testRequestId", 1, 100.0, "queueToken");
+
+            // Then
+            verify(queueSessionClient, never()).release(anyInt(), anyString());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(queueSessionClient).release(7, "queueToken");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void processPayment_rejectsSeatHeldByAnotherHolder_test() {
+        // 테스트 목표: 다른 선점자가 선점한 좌석이면 결제를 확정하지 않고, 그 좌석을 되돌리지도 않는지 확인
+        // Given
+        Payment payment = new Payment();
+        SeatReservation reservation = new SeatReservation();
+        reservation.setScheduleId(7);
+        reservation.setSeat(new Seat());
+
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+        when(seatReservationRepository.findById(1)).thenReturn(Optional.of(reservation));
+        when(redisRepository.updateHeldSeat(eq("seat:7:0"), eq("seatHolder:7:0"), anyString(), eq("otherToken")))
+                .thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class,
+                () -> paymentService.processPayment("testRequestId", 1, 100.0, "otherToken"));
+
+        verify(redisRepository).updateHeldSeat("seat:7:0", "seatHolder:7:0", "AVAILABLE", "otherToken");
+        verify(seatReservationRepository, never()).save(any(SeatReservation.class));
+        verify(paymentRedisRepository).savePaymentStatus("testRequestId", "FAILED");
+        verify(queueSessionClient, never()).release(anyInt(), anyString());
+    }
 }
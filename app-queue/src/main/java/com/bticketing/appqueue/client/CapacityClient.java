@@ -0,0 +1,40 @@
+package com.bticketing.appqueue.client;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.CapacitySignal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Component
+public class CapacityClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String capacityUrl;
+
+    public CapacityClient(RestTemplateBuilder restTemplateBuilder, QueueProperties queueProperties) {
+        // 입장 주기를 넘기지 않도록 짧은 타임아웃 사용
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(300))
+                .setReadTimeout(Duration.ofMillis(500))
+                .build();
+        this.capacityUrl = queueProperties.getAdmission().getCapacityUrl();
+    }
+
+    // app-main 수용 여력 조회 (실패하면 null)
+    public CapacitySignal fetchCapacity() {
+        try {
+            return restTemplate.getForObject(capacityUrl, CapacitySignal.class);
+        } catch (RestClientException e) {
+            logger.warn("app-main 수용 여력 조회에 실패했습니다: {}", e.getMessage());
+            return null;
+        }
+    }
+}
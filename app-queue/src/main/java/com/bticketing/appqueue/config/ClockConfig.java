@@ -0,0 +1,17 @@
+package com.bticketing.appqueue.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+// 만료 시각, 생존 신호, 입장 처리 속도 계산에 쓰는 시계
+// 운영에서는 시스템 시계이고, 대기열 시뮬레이터(queue-simulator)는 같은 구성 요소에 가상 시계를 넣어 실행한다
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,219 @@
+package com.bticketing.appqueue.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "queue")
+public class QueueProperties {
+
+    // 대기열 저장 구조
+    // list: group-N 리스트, sorted-set: 진입 순번을 score 로 하는 sorted set
+    // watermark: 순번을 서명 토큰에 담고 입장 워터마크만 올리는 방식 (사용자별 키 없음)
+    // sharded: 여러 Redis 노드에 sorted set 대기열을 나누어 두고 도착 시각 순으로 합쳐 입장 처리
+    private Backend backend = Backend.LIST;
+
+    // 대기열 저장소
+    // redis: backend 설정에 따른 Redis 저장 구조, memory: 단일 노드용 JVM 내 엔진 (backend 가 watermark 가 아니면 backend 무시)
+    private Store store = Store.REDIS;
+
+    private Admission admission = new Admission();
+
+    private Push push = new Push();
+
+    private Watermark watermark = new Watermark();
+
+    private NearCache nearCache = new NearCache();
+
+    private Sharding sharding = new Sharding();
+
+    private Heartbeat heartbeat = new Heartbeat();
+
+    private Memory memory = new Memory();
+
+    private Lease lease = new Lease();
+
+    private Poll poll = new Poll();
+
+    private Lottery lottery = new Lottery();
+
+    private Replica replica = new Replica();
+
+    private Reclaim reclaim = new Reclaim();
+
+    private Internal internal = new Internal();
+
+    public enum Backend {
+        LIST,
+        SORTED_SET,
+        WATERMARK,
+        SHARDED
+    }
+
+    public enum Store {
+        REDIS,
+        MEMORY
+    }
+
+    // 읽기 전용 복제 노드로 보낼 수 있는 조회 종류 (복제 지연만큼 늦게 보여도 되는 상태 조회)
+    // readiness: 입장 가능 여부 (입장 직후 잠깐 늦게 보이면 다음 조회에서 입장한다)
+    // rank: 대기 순위, 대기 인원 (화면 표시용)
+    public enum ReadClass {
+        READINESS,
+        RANK
+    }
+
+    public boolean isSortedSet() {
+        return backend == Backend.SORTED_SET;
+    }
+
+    public boolean isWatermark() {
+        return backend == Backend.WATERMARK;
+    }
+
+    public boolean isSharded() {
+        return backend == Backend.SHARDED;
+    }
+
+    public boolean isInMemory() {
+        return store == Store.MEMORY;
+    }
+
+    // Redis 그룹 리스트 방식만 대기 순위를 관리하지 않는다
+    public boolean hasWaitingRanks() {
+        return backend != Backend.LIST || isInMemory();
+    }
+
+    // 스케줄러 기반 입장 처리 설정
+    @Getter
+    @Setter
+    public static class Admission {
+        private boolean enabled = true;
+        private long intervalMs = 1000;                                   // 입장 처리 주기
+        private String capacityUrl = "http://localhost:8080/capacity";  // app-main 수용 여력 조회 API
+        private int fallbackBatchSize = 120;                              // 수용 여력 신호가 없을 때 주기당 입장 인원
+        private int maxBatchSize = 2000;                                  // 주기당 최대 입장 인원
+        private double proportionalGain = 0.1;                            // 여유 좌석 선점 수에 대한 비례 이득
+        private double integralGain = 0.02;                               // 누적 오차에 대한 적분 이득
+        private double targetSelectLatencyMs = 200;                       // 좌석 선택 지연 목표치 (초과 시 입장 인원 축소)
+        private int maxActiveSessions = 0;                                // 회차별 동시 입장 세션 수 상한 (0 이면 제한 없음, watermark 백엔드는 지원하지 않음)
+    }
+
+    // SSE 기반 대기 상태 전송 설정
+    @Getter
+    @Setter
+    public static class Push {
+        private long emitterTimeoutMs = 30 * 60 * 1000L; // 연결 유지 시간 (만료 시 클라이언트가 재연결)
+        private boolean positionUpdates = true;           // 주기적 대기 순서 전송 여부 (sorted set 백엔드 전용)
+        private long positionIntervalMs = 10000;          // 대기 순서 전송 주기
+    }
+
+    // 워터마크 입장 방식 설정
+    @Getter
+    @Setter
+    public static class Watermark {
+        private String tokenSecret;           // 토큰 서명 키 (기본값 없음, watermark 백엔드면 없을 때 기동 실패)
+        private long refreshIntervalMs = 500; // 노드 로컬 워터마크 갱신 주기
+    }
+
+    // 내부 서비스, 운영 전용 API 설정 (세션 종료, 판매 시작/종료)
+    @Getter
+    @Setter
+    public static class Internal {
+        private String secret = ""; // 요청 헤더 X-Queue-Internal-Secret 로 확인할 공유 비밀값 (비어 있으면 내부 API 를 모두 거부)
+    }
+
+    // 노드 로컬 캐시 설정 (입장 여부, 현재 그룹 번호)
+    @Getter
+    @Setter
+    public static class NearCache {
+        private long maxEntries = 500_000;     // 캐시에 보관할 최대 토큰 수
+        private long readinessTtlMs = 3000;    // pub/sub 메시지를 놓쳤을 때 허용하는 최대 지연
+        private long currentGroupTtlMs = 1000; // 현재 그룹 번호를 Redis 에서 다시 읽는 주기
+    }
+
+    // sharded 백엔드 설정
+    @Getter
+    @Setter
+    public static class Sharding {
+        private List<String> nodes = new ArrayList<>(); // 샤드 Redis 노드 목록 (host:port)
+    }
+
+    // 대기 중 이탈 감지 설정 (상태 조회, SSE 연결을 생존 신호로 사용)
+    @Getter
+    @Setter
+    public static class Heartbeat {
+        private boolean enabled = true;
+        private long flushIntervalMs = 2000;  // 노드에 모인 신호를 Redis 에 기록하는 주기
+        private long staleAfterMs = 30000;    // 마지막 신호 이후 이 시간이 지나면 입장 처리 시 제거
+    }
+
+    // 상태 조회 주기 권장 설정 (Retry-After)
+    @Getter
+    @Setter
+    public static class Poll {
+        private long minIntervalMs = 1000;          // 입장이 가까운 사용자의 조회 주기
+        private long maxIntervalMs = 20000;         // 최대 권장 지연 (생존 신호 이탈 기준의 2/3 를 넘지 않음)
+        private double waitFraction = 0.5;          // 예상 대기 시간 중 기다리게 할 비율
+        private double jitter = 0.2;                // 권장 지연을 최대 이 비율만큼 무작위로 줄인다
+        private long rateTimeConstantMs = 10000;    // 입장 처리 속도 이동 평균의 시간 상수
+    }
+
+    // 회차별 입장 처리 리스 설정 (한 회차의 입장 처리는 리스를 가진 노드 하나만 수행)
+    @Getter
+    @Setter
+    public static class Lease {
+        private long ttlMs = 5000; // 리스 보유 노드가 멈췄을 때 다른 노드가 이어받기까지 걸리는 최대 시간
+        private String nodeId;     // 노드 식별자 (비어 있으면 호스트 이름과 임의 값으로 생성)
+    }
+
+    // 추첨 방식 회차 설정 (판매 시작 전 진입은 순번 없이 모아 두었다가 시작 시각에 무작위 순번을 배정)
+    // 순번을 토큰에 담는 watermark, 도착 시각으로 줄을 세우는 sharded 백엔드에서는 사용하지 않는다
+    @Getter
+    @Setter
+    public static class Lottery {
+        private List<Window> windows = new ArrayList<>(); // 추첨 방식으로 여는 회차와 판매 시작 시각
+        private long pollSpreadMs = 10000;                // 추첨 대기자의 시작 직후 조회를 이 시간 동안 고르게 흩는다
+        private int drawBatchSize = 5000;                 // 추첨 호출 한 번에 순번을 배정할 최대 인원 (Redis 를 오래 막지 않도록)
+    }
+
+    @Getter
+    @Setter
+    public static class Window {
+        private int scheduleId;
+        private OffsetDateTime opensAt;
+    }
+
+    // 읽기 전용 복제 노드 설정 (sharded 백엔드의 샤드 노드에는 적용하지 않는다)
+    @Getter
+    @Setter
+    public static class Replica {
+        private List<String> nodes = new ArrayList<>();                                     // 복제 노드 목록 (host:port)
+        private Set<ReadClass> reads = EnumSet.of(ReadClass.READINESS, ReadClass.RANK);  // 복제 노드에서 읽을 조회 종류
+    }
+
+    // 판매가 끝난 회차의 키 회수 설정
+    @Getter
+    @Setter
+    public static class Reclaim {
+        private boolean enabled = true;
+        private long intervalMs = 5000;      // 회수 주기
+        private int batchSize = 1000;        // 회차당 주기마다 지울 최대 키 수 (Redis 를 막는 시간을 제한)
+        private int memorySampleSize = 100;  // 메모리 사용량 조회 시 사용자별 키 표본 수
+    }
+
+    // JVM 내 저장소 설정 (store 가 memory 일 때만 사용)
+    @Getter
+    @Setter
+    public static class Memory {
+        private int ringCapacity = 1 << 20; // 회차별로 동시에 대기할 수 있는 최대 인원 (2의 거듭제곱으로 올림)
+    }
+}
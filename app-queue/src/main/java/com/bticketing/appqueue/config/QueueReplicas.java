@@ -0,0 +1,97 @@
+package com.bticketing.appqueue.config;
+
+import io.lettuce.core.ReadFrom;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+// 읽기 전용 복제 노드로 보낼 조회 (queue.replica.reads 에 지정한 조회 종류만, 나머지 조회와 모든 쓰기는 주 노드)
+// 복제 지연만큼 늦게 보여도 되는 상태 조회만 지정한다 (진입, 입장 처리, 리스처럼 일관성이 필요한 호출은 항상 주 노드)
+public class QueueReplicas implements DisposableBean {
+
+    private final RedisTemplate<String, Object> primaryTemplate;
+    private final StringRedisTemplate primaryStringTemplate;
+    private final LettuceConnectionFactory replicaConnectionFactory;
+    private final RedisTemplate<String, Object> replicaTemplate;
+    private final StringRedisTemplate replicaStringTemplate;
+    private final ReactiveStringRedisTemplate replicaReactiveTemplate;
+    private final Set<QueueProperties.ReadClass> replicaReads;
+
+    private QueueReplicas(RedisTemplate<String, Object> primaryTemplate, StringRedisTemplate primaryStringTemplate,
+                          LettuceConnectionFactory replicaConnectionFactory, Set<QueueProperties.ReadClass> replicaReads) {
+        this.primaryTemplate = primaryTemplate;
+        this.primaryStringTemplate = primaryStringTemplate;
+        this.replicaConnectionFactory = replicaConnectionFactory;
+        this.replicaReads = replicaReads;
+        if (replicaConnectionFactory == null) {
+            this.replicaTemplate = primaryTemplate;
+            this.replicaStringTemplate = primaryStringTemplate;
+            this.replicaReactiveTemplate = null;
+            return;
+        }
+        this.replicaTemplate = RedisConfig.jsonTemplate(replicaConnectionFactory);
+        this.replicaStringTemplate = new StringRedisTemplate(replicaConnectionFactory);
+        this.replicaReactiveTemplate = new ReactiveStringRedisTemplate(replicaConnectionFactory);
+    }
+
+    // 주 노드와 "host:port" 형식의 복제 노드 목록으로 연결 생성 (복제 노드가 없으면 모든 조회를 주 노드로 보낸다)
+    // 복제 노드가 모두 내려가면 주 노드에서 읽는다 (REPLICA_PREFERRED)
+    public static QueueReplicas connect(String primaryHost, int primaryPort, QueueProperties.Replica replica,
+                                        RedisTemplate<String, Object> primaryTemplate,
+                                        StringRedisTemplate primaryStringTemplate) {
+        List<String> nodes = replica.getNodes();
+        if (nodes.isEmpty()) {
+            return new QueueReplicas(primaryTemplate, primaryStringTemplate, null, Set.of());
+        }
+        RedisStaticMasterReplicaConfiguration configuration =
+                new RedisStaticMasterReplicaConfiguration(primaryHost, primaryPort);
+        for (String node : nodes) {
+            int separator = node.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("대기열 복제 노드 주소는 host:port 형식이어야 합니다: " + node);
+            }
+            configuration.addNode(node.substring(0, separator), Integer.parseInt(node.substring(separator + 1)));
+        }
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.REPLICA_PREFERRED)
+                .build();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        return new QueueReplicas(primaryTemplate, primaryStringTemplate, connectionFactory,
+                Set.copyOf(replica.getReads()));
+    }
+
+    public boolean readsFromReplica(QueueProperties.ReadClass readClass) {
+        return replicaConnectionFactory != null && replicaReads.contains(readClass);
+    }
+
+    // JSON 직렬화 조회용 (QueueRepository)
+    public RedisTemplate<String, Object> template(QueueProperties.ReadClass readClass) {
+        return readsFromReplica(readClass) ? replicaTemplate : primaryTemplate;
+    }
+
+    // 문자열 조회용 (sorted set 대기열)
+    public StringRedisTemplate stringTemplate(QueueProperties.ReadClass readClass) {
+        return readsFromReplica(readClass) ? replicaStringTemplate : primaryStringTemplate;
+    }
+
+    // 논블로킹 문자열 조회용 (reactive 프로필의 상태 조회, 주 노드 템플릿은 호출하는 쪽이 넘긴다)
+    public ReactiveStringRedisTemplate reactiveStringTemplate(QueueProperties.ReadClass readClass,
+                                                              ReactiveStringRedisTemplate primaryTemplate) {
+        return readsFromReplica(readClass) ? replicaReactiveTemplate : primaryTemplate;
+    }
+
+    @Override
+    public void destroy() {
+        if (replicaConnectionFactory != null) {
+            replicaConnectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bticketing.appqueue.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// sharded 백엔드가 사용하는 Redis 노드 목록 (노드마다 별도 연결)
+public class QueueShards implements DisposableBean {
+
+    private final List<LettuceConnectionFactory> connectionFactories;
+    private final List<StringRedisTemplate> templates;
+
+    private QueueShards(List<LettuceConnectionFactory> connectionFactories) {
+        this.connectionFactories = connectionFactories;
+        this.templates = connectionFactories.stream()
+                .map(StringRedisTemplate::new)
+                .toList();
+    }
+
+    // "host:port" 형식의 노드 목록으로 연결 생성 (연결은 처음 사용할 때 맺어진다)
+    public static QueueShards connect(List<String> nodes) {
+        List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+        for (String node : nodes) {
+            int separator = node.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("대기열 샤드 주소는 host:port 형식이어야 합니다: " + node);
+            }
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                    node.substring(0, separator), Integer.parseInt(node.substring(separator + 1))));
+            connectionFactory.afterPropertiesSet();
+            connectionFactories.add(connectionFactory);
+        }
+        return new QueueShards(connectionFactories);
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public StringRedisTemplate get(int shard) {
+        return templates.get(shard);
+    }
+
+    @Override
+    public void destroy() {
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bticketing.appqueue.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.scheduler.Schedulers;
+
+// reactive 프로필에서 Mono 를 돌려주지 않는 컨트롤러 메서드(세션 반납, 판매 시작/종료, 운영 조회)는
+// 블로킹 Redis 호출을 하므로 이벤트 루프 대신 boundedElastic 스케줄러에서 실행한다
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(new TaskExecutorAdapter(task -> Schedulers.boundedElastic().schedule(task)));
+    }
+}
@@ -1,23 +1,50 @@
 package com.bticketing.appqueue.config;
 
+import com.bticketing.appqueue.service.AdmissionPublisher;
+import com.bticketing.appqueue.service.DrainRateTracker;
+import com.bticketing.appqueue.service.QueueNearCache;
+import com.bticketing.appqueue.service.QueueNotificationService;
+import com.bticketing.appqueue.service.SaleLifecycle;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
+    private static final String PRIMARY_HOST = "redis-queue";
+    private static final int PRIMARY_PORT = 6379;
+
+    // 같은 연결로 블로킹 템플릿과 reactive 템플릿을 모두 만든다
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory("redis-queue", 6379);
+    public LettuceConnectionFactory redisConnectionFactory() {
+        return new LettuceConnectionFactory(PRIMARY_HOST, PRIMARY_PORT);
     }
 
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return jsonTemplate(connectionFactory);
+    }
+
+    // reactive 프로필의 진입, 상태 조회용 (요청 스레드를 붙잡지 않고 응답이 오면 이어서 처리한다)
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    // 복제 노드 연결과 벤치마크도 같은 직렬화를 쓰도록 템플릿 생성을 공유한다
+    public static RedisTemplate<String, Object> jsonTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -30,4 +57,41 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    // 상태 조회용 읽기 전용 복제 노드 연결 (노드 목록이 비어 있으면 모든 조회를 주 노드로 보낸다)
+    @Bean
+    public QueueReplicas queueReplicas(QueueProperties queueProperties, RedisTemplate<String, Object> redisTemplate,
+                                       StringRedisTemplate stringRedisTemplate) {
+        return QueueReplicas.connect(PRIMARY_HOST, PRIMARY_PORT, queueProperties.getReplica(),
+                redisTemplate, stringRedisTemplate);
+    }
+
+    // sharded 백엔드의 샤드 노드 연결 (다른 백엔드에서는 노드 목록이 비어 있어 연결하지 않는다)
+    @Bean
+    public QueueShards queueShards(QueueProperties queueProperties) {
+        return QueueShards.connect(queueProperties.isSharded() ? queueProperties.getSharding().getNodes() : List.of());
+    }
+
+    // 다른 노드에서 발생한 입장 처리 결과와 그룹 전환을 이 노드의 SSE 구독자와 로컬 캐시, 입장 속도 추적에 전달
+    // 판매 시작/종료는 이 노드의 회차 로컬 상태를 버리도록 전달
+    @Bean
+    public RedisMessageListenerContainer admissionListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    QueueNotificationService queueNotificationService,
+                                                                    QueueNearCache queueNearCache,
+                                                                    DrainRateTracker drainRateTracker,
+                                                                    SaleLifecycle saleLifecycle) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(queueNotificationService, List.of(
+                new ChannelTopic(AdmissionPublisher.ADMISSION_CHANNEL),
+                new ChannelTopic(AdmissionPublisher.WATERMARK_CHANNEL)));
+        container.addMessageListener(queueNearCache, List.of(
+                new ChannelTopic(AdmissionPublisher.ADMISSION_CHANNEL),
+                new ChannelTopic(AdmissionPublisher.CURRENT_GROUP_CHANNEL)));
+        container.addMessageListener(drainRateTracker, List.of(
+                new ChannelTopic(AdmissionPublisher.ADMISSION_CHANNEL),
+                new ChannelTopic(AdmissionPublisher.WATERMARK_CHANNEL)));
+        container.addMessageListener(saleLifecycle, new ChannelTopic(AdmissionPublisher.SALE_CHANNEL));
+        return container;
+    }
 }
@@ -0,0 +1,113 @@
+package com.bticketing.appqueue.controller;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.BacklogStats;
+import com.bticketing.appqueue.dto.EntryStats;
+import com.bticketing.appqueue.dto.EvictionStats;
+import com.bticketing.appqueue.dto.MemoryStats;
+import com.bticketing.appqueue.dto.NearCacheStats;
+import com.bticketing.appqueue.service.QueueService;
+import com.bticketing.appqueue.service.SaleLifecycle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// 세션 반납, 판매 시작/종료, 운영 조회 API (서블릿, reactive 스택 모두 제공)
+// reactive 스택에서는 ReactiveWebConfig 가 이 블로킹 메서드들을 이벤트 루프 밖에서 실행한다
+@RestController
+public class QueueAdminController {
+
+    static final String INTERNAL_SECRET_HEADER = "X-Queue-Internal-Secret";
+
+    private final QueueService queueService;
+    private final SaleLifecycle saleLifecycle;
+    private final QueueProperties queueProperties;
+
+    public QueueAdminController(QueueService queueService, SaleLifecycle saleLifecycle,
+                                QueueProperties queueProperties) {
+        this.queueService = queueService;
+        this.saleLifecycle = saleLifecycle;
+        this.queueProperties = queueProperties;
+    }
+
+    // 입장 세션 종료 API: app-main 이 결제 완료 시 호출하며, 비워진 자리는 바로 다음 대기자에게 넘어간다
+    // 다른 사용자의 세션을 끊을 수 있으므로 공유 비밀값을 가진 내부 서비스만 호출할 수 있다 (아니면 403)
+    @PostMapping("/queue/sessions/release")
+    public ResponseEntity<Boolean> releaseSession(@RequestHeader(value = INTERNAL_SECRET_HEADER, required = false) String secret,
+                                                  @RequestParam int scheduleId, @RequestParam String userToken) {
+        if (!isInternalCaller(secret)) {
+            return ResponseEntity.status(403).body(false);
+        }
+        return ResponseEntity.ok(queueService.releaseSession(scheduleId, userToken));
+    }
+
+    // 회차 판매 시작 API: 닫았던 회차면 이전 판매의 카운터와 대기열을 초기화한다 (이전 판매의 키 회수 중이면 409)
+    // 판매 시작/종료는 운영 작업이므로 세션 종료 API 와 같은 공유 비밀값을 요구한다 (아니면 403)
+    @PostMapping("/queue/events/open")
+    public ResponseEntity<Boolean> openSale(@RequestHeader(value = INTERNAL_SECRET_HEADER, required = false) String secret,
+                                            @RequestParam int scheduleId) {
+        if (!isInternalCaller(secret)) {
+            return ResponseEntity.status(403).body(false);
+        }
+        if (!saleLifecycle.open(scheduleId)) {
+            return ResponseEntity.status(409).body(false);
+        }
+        return ResponseEntity.ok(true);
+    }
+
+    // 회차 판매 종료 API: 이후 진입은 받지 않고 회차 키는 백그라운드에서 회수한다
+    @PostMapping("/queue/events/close")
+    public ResponseEntity<Boolean> closeSale(@RequestHeader(value = INTERNAL_SECRET_HEADER, required = false) String secret,
+                                             @RequestParam int scheduleId) {
+        if (!isInternalCaller(secret)) {
+            return ResponseEntity.status(403).body(false);
+        }
+        saleLifecycle.close(scheduleId);
+        return ResponseEntity.ok(true);
+    }
+
+    // 노드 로컬 캐시 적중률 조회 (Redis 조회 감소 효과 확인용)
+    @GetMapping("/queue/cache/stats")
+    public ResponseEntity<NearCacheStats> getNearCacheStats() {
+        return ResponseEntity.ok(queueService.getNearCacheStats());
+    }
+
+    // 중복 진입(새로고침, 여러 탭) 비율 조회
+    @GetMapping("/queue/stats/entries")
+    public ResponseEntity<EntryStats> getEntryStats() {
+        return ResponseEntity.ok(queueService.getEntryStats());
+    }
+
+    // 회차별 대기 인원, 입장 처리 속도, 예상 소진 시간 조회 (app-main 증설 판단에도 사용)
+    @GetMapping("/queue/stats/backlog")
+    public ResponseEntity<BacklogStats> getBacklogStats() {
+        return ResponseEntity.ok(queueService.getBacklogStats());
+    }
+
+    // 회차별 Redis 메모리 사용량 조회 (열려 있는 회차와 키를 회수 중인 회차)
+    @GetMapping("/queue/stats/memory")
+    public ResponseEntity<MemoryStats> getMemoryStats() {
+        return ResponseEntity.ok(saleLifecycle.getMemoryStats());
+    }
+
+    // 입장 처리 인원 대비 이탈(생존 신호 끊김)로 제거된 인원 조회
+    @GetMapping("/queue/stats/evictions")
+    public ResponseEntity<EvictionStats> getEvictionStats() {
+        return ResponseEntity.ok(queueService.getEvictionStats());
+    }
+
+    // 설정된 비밀값이 없으면 모두 거부하고, 비교 시간으로 값을 추측할 수 없도록 고정 시간 비교를 한다
+    private boolean isInternalCaller(String secret) {
+        String expected = queueProperties.getInternal().getSecret();
+        if (expected == null || expected.isBlank() || secret == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,39 +1,74 @@
 package com.bticketing.appqueue.controller;
 
+import com.bticketing.appqueue.dto.QueueStatus;
+import com.bticketing.appqueue.service.PollIntervalAdvisor;
+import com.bticketing.appqueue.service.QueueNotificationService;
 import com.bticketing.appqueue.service.QueueService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+// 사용자 진입, 상태 조회, SSE 구독 API (서블릿 스택, reactive 프로필에서는 ReactiveQueueController 가 진입과 상태 조회를 맡는다)
 @RestController
+@Profile("!reactive")
 public class QueueController {
 
     private final QueueService queueService;
+    private final QueueNotificationService queueNotificationService;
+    private final PollIntervalAdvisor pollIntervalAdvisor;
 
-    public QueueController(QueueService queueService) {
+    public QueueController(QueueService queueService, QueueNotificationService queueNotificationService,
+                           PollIntervalAdvisor pollIntervalAdvisor) {
         this.queueService = queueService;
+        this.queueNotificationService = queueNotificationService;
+        this.pollIntervalAdvisor = pollIntervalAdvisor;
     }
 
     // 사용자 대기열 진입 API
     @GetMapping("/queue")
-    public ResponseEntity<String> enterQueue(@RequestParam(required = false) String userToken) {
+    public ResponseEntity<String> enterQueue(@RequestParam int scheduleId,
+                                             @RequestParam(required = false) String userToken) {
         try {
-            String response = queueService.handleUserEntry(userToken);
+            String response = queueService.handleUserEntry(scheduleId, userToken);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error entering queue: " + e.getMessage());
         }
     }
 
-    // Polling API: 사용자 리다이렉트 여부 확인
+    // Polling API: 사용자 리다이렉트 여부와 대기 순서 확인
     @GetMapping("/queue/status")
-    public ResponseEntity<String> checkQueueStatus(@RequestParam String userToken) {
+    public ResponseEntity<Object> checkQueueStatus(@RequestParam int scheduleId, @RequestParam String userToken) {
         try {
-            boolean readyToRedirect = queueService.isUserReadyToRedirect(userToken);
-            return readyToRedirect ? ResponseEntity.ok("/seats/sections") : ResponseEntity.ok("inQueue");
+            return statusResponse(scheduleId, queueService.getQueueStatus(scheduleId, userToken), pollIntervalAdvisor);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error checking queue status: " + e.getMessage());
         }
     }
+
+    // 대기 중이면 다음 조회까지 권장 지연을 Retry-After 헤더(초)와 본문(ms)으로 함께 내려준다 (reactive 상태 조회와 공유)
+    static ResponseEntity<Object> statusResponse(int scheduleId, QueueStatus status,
+                                                 PollIntervalAdvisor pollIntervalAdvisor) {
+        if (!status.isInQueue() && !status.isInPool()) {
+            return ResponseEntity.ok(status);
+        }
+        long retryAfterMs = status.isInPool()
+                ? pollIntervalAdvisor.nextPoolPollDelayMillis(scheduleId)
+                : pollIntervalAdvisor.nextPollDelayMillis(scheduleId, status.getAhead());
+        status.setRetryAfterMs(retryAfterMs);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMs + 999) / 1000)))
+                .body(status);
+    }
+
+    // Push API: 입장 시 한 번 알림 (sorted set 백엔드는 대기 순서도 주기적으로 전송)
+    @GetMapping(value = "/queue/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeQueueStatus(@RequestParam int scheduleId, @RequestParam String userToken) {
+        return queueNotificationService.subscribe(scheduleId, userToken);
+    }
 }
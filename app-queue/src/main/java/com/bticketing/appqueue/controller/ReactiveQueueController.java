@@ -0,0 +1,45 @@
+package com.bticketing.appqueue.controller;
+
+import com.bticketing.appqueue.service.PollIntervalAdvisor;
+import com.bticketing.appqueue.service.QueueService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+// 사용자 진입, 상태 조회 API (reactive 프로필)
+// 응답 형식과 Retry-After 헤더는 QueueController 와 같고, 연결마다 스레드를 잡지 않아 대기 중인 연결 수가 스레드 수에 묶이지 않는다
+@RestController
+@Profile("reactive")
+public class ReactiveQueueController {
+
+    private final QueueService queueService;
+    private final PollIntervalAdvisor pollIntervalAdvisor;
+
+    public ReactiveQueueController(QueueService queueService, PollIntervalAdvisor pollIntervalAdvisor) {
+        this.queueService = queueService;
+        this.pollIntervalAdvisor = pollIntervalAdvisor;
+    }
+
+    // 사용자 대기열 진입 API
+    @GetMapping("/queue")
+    public Mono<ResponseEntity<String>> enterQueue(@RequestParam int scheduleId,
+                                                   @RequestParam(required = false) String userToken) {
+        return queueService.handleUserEntryReactive(scheduleId, userToken)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(
+                        ResponseEntity.status(500).body("Error entering queue: " + e.getMessage())));
+    }
+
+    // Polling API: 사용자 리다이렉트 여부와 대기 순서 확인
+    @GetMapping("/queue/status")
+    public Mono<ResponseEntity<Object>> checkQueueStatus(@RequestParam int scheduleId,
+                                                         @RequestParam String userToken) {
+        return queueService.getQueueStatusReactive(scheduleId, userToken)
+                .map(status -> QueueController.statusResponse(scheduleId, status, pollIntervalAdvisor))
+                .onErrorResume(e -> Mono.just(
+                        ResponseEntity.status(500).body("Error checking queue status: " + e.getMessage())));
+    }
+}
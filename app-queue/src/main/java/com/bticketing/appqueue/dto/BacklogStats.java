@@ -0,0 +1,18 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 입장 처리 대기 현황 (app-main 증설 시점 판단에도 사용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacklogStats {
+    private long waiting;             // 전체 회차 대기 인원
+    private double admittedPerSecond; // 전체 회차 입장 처리 속도 (app-main 으로 들어오는 인원)
+    private Long drainEtaSeconds;     // 가장 늦게 비워지는 회차의 예상 시간
+    private List<EventBacklog> events;
+}
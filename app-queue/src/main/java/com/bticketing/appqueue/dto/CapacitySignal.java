@@ -0,0 +1,15 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// app-main 이 보고하는 수용 여력 (/capacity 응답)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacitySignal {
+    private long activeHolds;           // 현재 선점 중인 좌석 수
+    private long maxActiveHolds;        // 동시에 감당 가능한 최대 선점 수
+    private double selectLatencyMillis; // 최근 좌석 선택 지연 (지수 이동 평균)
+}
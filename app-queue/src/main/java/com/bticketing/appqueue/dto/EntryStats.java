@@ -0,0 +1,14 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryStats {
+    private long entries;           // 이 노드가 처리한 대기열 진입 요청 수
+    private long duplicateEntries;  // 이미 진입한 토큰의 재진입 요청 수 (새 순번을 발급하지 않음)
+    private double duplicateRatio;
+}
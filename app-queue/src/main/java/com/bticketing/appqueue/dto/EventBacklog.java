@@ -0,0 +1,15 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventBacklog {
+    private int scheduleId;
+    private long waiting;             // 대기 중인 인원
+    private double admittedPerSecond; // 최근 입장 처리 속도 (명/초, 이동 평균)
+    private Long drainEtaSeconds;     // 현재 속도로 대기열을 모두 입장시키는 데 걸리는 시간 (속도를 모르면 null)
+}
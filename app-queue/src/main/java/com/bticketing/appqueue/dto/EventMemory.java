@@ -0,0 +1,15 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventMemory {
+    private int scheduleId;
+    private boolean closed;  // 판매를 닫은 회차인지 (키 회수 중이거나 회수를 마쳤다)
+    private long keys;       // 회차 키 수 (사용자별 준비 상태 키는 표본으로 추정)
+    private Long bytes;      // Redis 메모리 사용량 (MEMORY USAGE 합, JVM 내 저장소는 null)
+}
@@ -0,0 +1,14 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvictionStats {
+    private long admitted;        // 이 노드가 대기열에서 입장 처리한 사용자 수
+    private long evicted;         // 생존 신호가 끊겨 입장 대신 제거한 사용자 수
+    private double evictedRatio;  // 입장 인원 대비 제거 인원
+}
@@ -0,0 +1,16 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupDrain {
+    private List<String> userTokens;  // 입장 처리된 토큰 (대기 순서대로)
+    private int admissionGroup;       // 처리 후 입장 처리 중인 그룹 번호
+    private int evicted;              // 생존 신호가 끊겨 입장시키지 않고 제거한 토큰 수
+}
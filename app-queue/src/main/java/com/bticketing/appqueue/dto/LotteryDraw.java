@@ -0,0 +1,16 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LotteryDraw {
+    private int drawn;                     // 이번 호출에서 순번을 배정한 인원 (이미 추첨한 회차면 0)
+    private boolean complete;              // 추첨 대상과 추첨 중 진입자에게 모두 순번을 배정했는지
+    private List<String> immediateTokens;  // 순번이 즉시 입장 범위에 들어 바로 입장한 토큰
+}
@@ -0,0 +1,16 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 회차별 대기열 메모리 사용량 (열려 있는 회차와 키를 회수 중인 회차)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemoryStats {
+    private Long bytes;  // 전체 회차 합 (알 수 없으면 null)
+    private List<EventMemory> events;
+}
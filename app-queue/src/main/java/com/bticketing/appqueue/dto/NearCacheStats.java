@@ -0,0 +1,17 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearCacheStats {
+    private long readinessHits;       // Redis 조회 없이 처리된 입장 여부 확인 수
+    private long readinessMisses;     // Redis 조회가 필요했던 입장 여부 확인 수
+    private double readinessHitRatio;
+    private long readinessSize;       // 캐시에 보관 중인 토큰 수
+    private long currentGroupHits;
+    private long currentGroupMisses;
+}
@@ -0,0 +1,25 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueEntry {
+    private String userToken;
+    private long sequence;      // 대기열 진입 순번
+    private int group;          // 배정된 그룹 번호 (sorted set 백엔드는 그룹을 사용하지 않으므로 0)
+    private long position;      // 대기 순서 (1부터 시작, 알 수 없으면 0)
+    private boolean immediate;  // 대기 없이 즉시 입장 여부
+    private boolean duplicate;  // 이미 진입한 토큰의 재진입 여부 (순번을 새로 발급하지 않음)
+
+    public static QueueEntry immediate(String userToken, long sequence) {
+        return immediate(userToken, sequence, false);
+    }
+
+    public static QueueEntry immediate(String userToken, long sequence, boolean duplicate) {
+        return new QueueEntry(userToken, sequence, 0, 0, true, duplicate);
+    }
+}
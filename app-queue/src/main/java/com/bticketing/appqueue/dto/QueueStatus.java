@@ -0,0 +1,49 @@
+package com.bticketing.appqueue.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QueueStatus {
+    public static final String IN_QUEUE = "inQueue";
+    public static final String IN_POOL = "inPool";
+    public static final String REDIRECT_URL = "/seats/sections";
+
+    private String status;  // "inQueue", 추첨 대기 "inPool" 또는 리다이렉트 URL("/seats/sections")
+    private Long position;  // 대기 순서 (1부터 시작, 알 수 없으면 null)
+    private Long ahead;     // 내 앞에 남은 인원 수
+    private Long etaSeconds;   // 예상 대기 시간 (입장 처리 속도를 아직 모르면 null)
+    private Long retryAfterMs; // 다음 상태 조회까지 권장 지연 (polling 응답에만 포함)
+
+    public static QueueStatus ready() {
+        return new QueueStatus(REDIRECT_URL, null, null, null, null);
+    }
+
+    public static QueueStatus inQueue(Long rank) {
+        if (rank == null) {
+            return new QueueStatus(IN_QUEUE, null, null, null, null);
+        }
+        return new QueueStatus(IN_QUEUE, rank + 1, rank, null, null);
+    }
+
+    // 추첨 방식 회차의 판매 시작 전 진입자 (추첨 전이라 순번이 없다)
+    public static QueueStatus inPool() {
+        return new QueueStatus(IN_POOL, null, null, null, null);
+    }
+
+    @JsonIgnore
+    public boolean isInQueue() {
+        return IN_QUEUE.equals(status);
+    }
+
+    @JsonIgnore
+    public boolean isInPool() {
+        return IN_POOL.equals(status);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bticketing.appqueue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReclaimStep {
+    private int reclaimedKeys;  // 이번에 지운 키 수
+    private boolean done;       // 회차의 키를 모두 회수했는지 (판매 종료 표시도 지워져 다시 열 수 있다)
+}
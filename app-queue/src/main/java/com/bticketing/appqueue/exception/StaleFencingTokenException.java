@@ -0,0 +1,9 @@
+package com.bticketing.appqueue.exception;
+
+// 입장 처리 리스를 다른 노드가 가져간 뒤 이전 펜싱 토큰으로 입장 처리를 시도한 경우
+public class StaleFencingTokenException extends RuntimeException {
+
+    public StaleFencingTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bticketing.appqueue.repository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 입장 처리된 사용자의 세션 (토큰 -> 만료 시각(ms) sorted set)
+// 결제 완료나 이탈로 세션이 끝나면 제거되고, 남은 세션은 만료 시각이 지나면 다음 여유 확인 때 정리된다
+@Repository
+public class ActiveSessionRepository {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> AVAILABLE_SESSIONS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/available_sessions.lua"), List.class);
+    private static final RedisScript<Long> RELEASE_SESSION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_session.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public ActiveSessionRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 만료된 세션을 정리한 뒤 최대 세션 수까지 남은 인원 (Redis 호출 1회)
+    @SuppressWarnings("unchecked")
+    public int availableSessions(String activeKey, int maxActiveSessions, long nowMillis) {
+        List<Long> result = redisTemplate.execute(AVAILABLE_SESSIONS_SCRIPT,
+                List.of(activeKey),
+                String.valueOf(nowMillis),
+                String.valueOf(maxActiveSessions));
+
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("입장 세션 확인 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        return result.get(0).intValue();
+    }
+
+    // 입장 처리된 토큰을 만료 시각과 함께 등록 (ZADD 1회)
+    public void register(String activeKey, List<String> userTokens, long expiresAtMillis) {
+        if (userTokens.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> sessions = userTokens.stream()
+                .map(userToken -> ZSetOperations.TypedTuple.of(userToken, (double) expiresAtMillis))
+                .collect(Collectors.toSet());
+        redisTemplate.opsForZSet().add(activeKey, sessions);
+    }
+
+    // 세션만 종료 (준비 상태가 다른 노드에 있는 sharded 백엔드용, 세션이 있었으면 true)
+    public boolean release(String activeKey, String userToken) {
+        Long removed = redisTemplate.opsForZSet().remove(activeKey, userToken);
+        return removed != null && removed > 0;
+    }
+
+    // 세션 종료와 준비 상태 삭제를 한 번에 처리 (세션이 있었으면 true, Redis 호출 1회)
+    public boolean release(String activeKey, String readyKey, String userToken) {
+        Long removed = redisTemplate.execute(RELEASE_SESSION_SCRIPT, List.of(activeKey, readyKey), userToken);
+        return removed != null && removed > 0;
+    }
+}
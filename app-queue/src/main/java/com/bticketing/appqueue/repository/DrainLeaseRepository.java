@@ -0,0 +1,43 @@
+package com.bticketing.appqueue.repository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+// 회차별 입장 처리 리스와 펜싱 토큰 (한 회차의 입장 처리는 리스를 가진 노드 하나만 수행)
+@Repository
+public class DrainLeaseRepository {
+
+    private static final RedisScript<Long> ACQUIRE_LEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/acquire_lease.lua"), Long.class);
+
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_lease.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public DrainLeaseRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 리스를 획득하거나 갱신하고 펜싱 토큰을 반환 (다른 노드가 보유 중이면 0)
+    public long acquire(String leaseKey, String fenceKey, String nodeId, Duration leaseTtl) {
+        Long fencingToken = redisTemplate.execute(ACQUIRE_LEASE_SCRIPT, List.of(leaseKey, fenceKey),
+                nodeId, String.valueOf(leaseTtl.toMillis()));
+        return fencingToken != null ? fencingToken : 0L;
+    }
+
+    public boolean release(String leaseKey, String nodeId) {
+        Long released = redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), nodeId);
+        return released != null && released == 1;
+    }
+
+    public long getFencingToken(String fenceKey) {
+        String fencingToken = redisTemplate.opsForValue().get(fenceKey);
+        return fencingToken != null ? Long.parseLong(fencingToken) : 0L;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.dto.ReclaimStep;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import com.bticketing.appqueue.util.QueueKeys;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 회차 판매 시작/종료와 판매가 끝난 회차의 키 회수, 회차별 메모리 사용량 조회
+@Repository
+public class EventLifecycleRepository {
+
+    private static final RedisScript<Long> OPEN_EVENT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/open_event.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECLAIM_EVENT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/reclaim_event.lua"), List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MEMORY_USAGE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/memory_usage.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public EventLifecycleRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 이전 판매의 키를 초기화했거나 닫은 적이 없으면 true, 키 회수 중이면 false
+    public boolean open(QueueKeys keys) {
+        List<String> scriptKeys = new ArrayList<>(List.of(keys.closed(), keys.admissionGroup(), keys.currentGroup(),
+                keys.saleEpoch()));
+        scriptKeys.addAll(keys.stateKeys());
+        Long opened = redisTemplate.execute(OPEN_EVENT_SCRIPT, scriptKeys, keys.groupPrefix());
+        return opened != null && opened == 1;
+    }
+
+    // 판매 종료 표시를 먼저 남기고 회수 대상에 넣는다 (표시가 회수 중이어야 회수 스크립트가 키를 지운다)
+    public void close(QueueKeys keys, long nowMillis) {
+        redisTemplate.opsForValue().set(keys.closed(), String.valueOf(nowMillis));
+        redisTemplate.opsForSet().add(QueueKeys.CLOSED_EVENTS_KEY, String.valueOf(keys.getScheduleId()));
+        redisTemplate.opsForSet().remove(QueueKeys.ACTIVE_EVENTS_KEY, String.valueOf(keys.getScheduleId()));
+    }
+
+    public Set<Integer> getClosedEvents() {
+        Set<String> members = redisTemplate.opsForSet().members(QueueKeys.CLOSED_EVENTS_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(Integer::valueOf).collect(Collectors.toSet());
+    }
+
+    public void removeClosedEvent(int scheduleId) {
+        redisTemplate.opsForSet().remove(QueueKeys.CLOSED_EVENTS_KEY, String.valueOf(scheduleId));
+    }
+
+    public boolean isClosed(QueueKeys keys) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(keys.closed()));
+    }
+
+    // 회차 키를 최대 batchSize 개 회수 (펜싱 토큰은 입장 처리 리스와 같다)
+    @SuppressWarnings("unchecked")
+    public ReclaimStep reclaim(QueueKeys keys, int batchSize, long fencingToken) {
+        List<String> scriptKeys = new ArrayList<>(List.of(keys.closed(), keys.drainFence(), keys.entries(),
+                keys.admissionGroup(), keys.currentGroup()));
+        scriptKeys.addAll(keys.stateKeys());
+        List<Long> result = redisTemplate.execute(RECLAIM_EVENT_SCRIPT, scriptKeys,
+                String.valueOf(batchSize),
+                keys.groupPrefix(),
+                keys.groupLockPrefix(),
+                keys.readyPrefix(),
+                String.valueOf(fencingToken));
+
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("키 회수 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        long reclaimed = result.get(0);
+        if (reclaimed == -1) {
+            throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+        }
+        if (reclaimed == -2) {
+            // 이전 호출에서 회수를 마쳤거나 그 사이 다시 열었다 (회수 대상 목록에서 빼기 전에 멈췄던 경우)
+            return new ReclaimStep(0, true);
+        }
+        return new ReclaimStep((int) reclaimed, result.get(1) == 1);
+    }
+
+    // 키마다 MEMORY USAGE (스크립트 한 번, 없는 키는 null)
+    // 같은 회차 키만 넘긴다
+    @SuppressWarnings("unchecked")
+    public List<Long> memoryUsage(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Long> usages = redisTemplate.execute(MEMORY_USAGE_SCRIPT, keys);
+        if (usages == null) {
+            return List.of();
+        }
+        return usages.stream()
+                .map(usage -> usage >= 0 ? usage : null)
+                .toList();
+    }
+
+    public String getValue(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    public long getHashSize(String key) {
+        Long size = redisTemplate.opsForHash().size(key);
+        return size != null ? size : 0L;
+    }
+
+    // hash 앞부분에서 최대 count 개 필드 (메모리 사용량 표본용)
+    public List<String> sampleFields(String key, int count) {
+        List<String> fields = new ArrayList<>(count);
+        try (Cursor<Map.Entry<Object, Object>> cursor =
+                     redisTemplate.opsForHash().scan(key, ScanOptions.scanOptions().count(count).build())) {
+            while (cursor.hasNext() && fields.size() < count) {
+                fields.add(String.valueOf(cursor.next().getKey()));
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,31 @@
+package com.bticketing.appqueue.repository;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 대기 중인 사용자의 마지막 생존 신호 (토큰 -> 시각(ms) hash)
+// 입장 처리 스크립트가 같은 hash 를 읽어 신호가 끊긴 토큰을 입장 대신 제거한다
+@Repository
+public class HeartbeatRepository {
+
+    private final StringRedisTemplate redisTemplate;
+
+    public HeartbeatRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 모아 둔 신호를 HSET 한 번으로 기록 (토큰당 O(1))
+    public void recordHeartbeats(String heartbeatsKey, Collection<String> userTokens, long nowMillis) {
+        if (userTokens.isEmpty()) {
+            return;
+        }
+        String lastSeen = String.valueOf(nowMillis);
+        Map<String, String> heartbeats = userTokens.stream()
+                .collect(Collectors.toMap(userToken -> userToken, userToken -> lastSeen, (a, b) -> a));
+        redisTemplate.opsForHash().putAll(heartbeatsKey, heartbeats);
+    }
+}
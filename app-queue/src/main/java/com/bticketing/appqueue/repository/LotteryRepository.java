@@ -0,0 +1,99 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// 추첨 방식 회차의 판매 시작 전 진입자 set 과 추첨 (순번 배정)
+// 추첨은 대기열 구조마다 스크립트로 처리하되, 한 번의 호출은 최대 batchSize 명만 처리하고 진행 위치를 Redis 에 남긴다
+// 진입자가 많아도 스크립트 하나가 Redis 를 오래 막지 않으며, 호출 사이에 다른 요청이 처리된다
+@Repository
+public class LotteryRepository {
+
+    private static final RedisScript<Long> ENTER_POOL_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/enter_pool.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAW_LIST_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/draw_lottery_list.lua"), List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAW_ZSET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/draw_lottery_zset.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public LotteryRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 추첨 대상에 넣었으면 true, 이미 추첨이 끝났으면 false (추첨 중이면 추첨 중 진입자로 넣는다)
+    public boolean enterPool(String poolKey, String drawnKey, String drawingKey, String lateKey, String userToken) {
+        Long added = redisTemplate.execute(ENTER_POOL_SCRIPT, List.of(poolKey, drawnKey, drawingKey, lateKey),
+                userToken);
+        return added != null && added == 1;
+    }
+
+    public boolean isDrawn(String drawnKey) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(drawnKey));
+    }
+
+    // 그룹 리스트 대기열로 추첨
+    @SuppressWarnings("unchecked")
+    public LotteryDraw drawIntoGroups(String poolKey, String drawnKey, String sizeKey, String currentGroupKey,
+                                      String entriesKey, String fenceKey, String drawingKey, String orderKey,
+                                      String lateKey, String groupPrefix, String readyPrefix,
+                                      long seed, int maxQueueSize, int groupSize, Duration readyTtl,
+                                      int batchSize, long fencingToken) {
+        List<Object> result = redisTemplate.execute(DRAW_LIST_SCRIPT,
+                List.of(poolKey, drawnKey, sizeKey, currentGroupKey, entriesKey, fenceKey,
+                        drawingKey, orderKey, lateKey),
+                String.valueOf(seed),
+                String.valueOf(maxQueueSize),
+                String.valueOf(groupSize),
+                String.valueOf(readyTtl.toSeconds()),
+                groupPrefix,
+                readyPrefix,
+                String.valueOf(fencingToken),
+                String.valueOf(batchSize));
+        return toDraw(result, fencingToken);
+    }
+
+    // sorted set 대기열로 추첨
+    @SuppressWarnings("unchecked")
+    public LotteryDraw drawIntoSortedSet(String poolKey, String drawnKey, String sizeKey, String queueKey,
+                                         String entriesKey, String fenceKey, String drawingKey, String orderKey,
+                                         String lateKey, String readyPrefix, long seed, int maxQueueSize,
+                                         Duration readyTtl, int batchSize, long fencingToken) {
+        List<Object> result = redisTemplate.execute(DRAW_ZSET_SCRIPT,
+                List.of(poolKey, drawnKey, sizeKey, queueKey, entriesKey, fenceKey, drawingKey, orderKey, lateKey),
+                String.valueOf(seed),
+                String.valueOf(maxQueueSize),
+                String.valueOf(readyTtl.toSeconds()),
+                readyPrefix,
+                String.valueOf(fencingToken),
+                String.valueOf(batchSize));
+        return toDraw(result, fencingToken);
+    }
+
+    private static LotteryDraw toDraw(List<Object> result, long fencingToken) {
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("추첨 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        long drawn = (Long) result.get(0);
+        if (drawn < 0) {
+            throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+        }
+        boolean complete = (Long) result.get(1) == 1;
+        List<String> immediateTokens = new ArrayList<>(result.size() - 2);
+        result.subList(2, result.size()).forEach(userToken -> immediateTokens.add(String.valueOf(userToken)));
+        return new LotteryDraw((int) drawn, complete, immediateTokens);
+    }
+}
@@ -1,18 +1,39 @@
 package com.bticketing.appqueue.repository;
 
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.config.QueueReplicas;
+import com.bticketing.appqueue.dto.GroupDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public class QueueRepository {
 
+    // EVALSHA 로 실행되며, 스크립트 캐시에 없으면 EVAL 로 자동 등록된다
+    // 논블로킹 진입(ReactiveQueueRepository)도 같은 스크립트를 쓴다
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> ENTER_QUEUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/enter_queue.lua"), List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_GROUPS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/drain_groups.lua"), List.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final QueueReplicas queueReplicas;
 
-    public QueueRepository(RedisTemplate<String, Object> redisTemplate) {
+    public QueueRepository(RedisTemplate<String, Object> redisTemplate, QueueReplicas queueReplicas) {
         this.redisTemplate = redisTemplate;
+        this.queueReplicas = queueReplicas;
     }
 
 
@@ -21,6 +42,12 @@ public class QueueRepository {
     }
 
 
+    // 복제 지연을 허용하는 조회 (설정에 따라 읽기 전용 복제 노드에서 읽는다)
+    public Object getValue(String key, QueueProperties.ReadClass readClass) {
+        return queueReplicas.template(readClass).opsForValue().get(key);
+    }
+
+
     public void setValue(String key, Object value) {
         redisTemplate.opsForValue().set(key, value);
     }
@@ -46,19 +73,14 @@ public class QueueRepository {
     }
 
 
-    public List<String> popMultipleFromList(String key, int count) {
-
-        List<Object> results = redisTemplate.opsForList().range(key, 0, count - 1);
+    public void addToSet(String key, Object value) {
+        redisTemplate.opsForSet().add(key, value);
+    }
 
-        if (results != null && !results.isEmpty()) {
-            List<String> stringResults = results.stream()
-                    .map(String::valueOf)
-                    .toList();
 
-            redisTemplate.opsForList().trim(key, count, -1);
-            return stringResults;
-        }
-        return List.of();
+    public Set<Object> getSetMembers(String key) {
+        Set<Object> members = redisTemplate.opsForSet().members(key);
+        return members != null ? members : Set.of();
     }
 
 
@@ -72,8 +94,63 @@ public class QueueRepository {
         redisTemplate.delete(key);
     }
 
+    // 중복 확인 + 순번 발급 + 그룹 배정 + 그룹 전환을 한 번의 왕복으로 처리 (락 없음, 준비 상태는 즉시 입장만 저장)
+    @SuppressWarnings("unchecked")
+    public QueueEntry enterQueue(String sizeKey, String currentGroupKey, String entriesKey, String groupKeyPrefix,
+                                 String readyKeyPrefix, String userToken, int maxQueueSize, int groupSize,
+                                 Duration readyTtl) {
+        List<Long> result = redisTemplate.execute(ENTER_QUEUE_SCRIPT, RedisSerializer.string(), null,
+                List.of(sizeKey, currentGroupKey, entriesKey),
+                userToken,
+                String.valueOf(maxQueueSize),
+                String.valueOf(groupSize),
+                String.valueOf(readyTtl.toSeconds()),
+                groupKeyPrefix,
+                readyKeyPrefix);
+        return toEntry(userToken, result);
+    }
 
+    // 진입 스크립트 결과 { 순번, 그룹(즉시 입장이면 0), 중복 여부 } 를 해석
+    static QueueEntry toEntry(String userToken, List<Long> result) {
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("대기열 진입 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        long sequence = result.get(0);
+        int group = result.get(1).intValue();
+        boolean duplicate = result.get(2) == 1;
+        return group == 0
+                ? QueueEntry.immediate(userToken, sequence, duplicate)
+                : new QueueEntry(userToken, sequence, group, 0, false, duplicate);
+    }
 
-
-
+    // 그룹 꺼내기 + 준비 상태 저장 + 입장 처리 그룹 이동을 한 번의 왕복으로 처리 (락 없음)
+    // 스크립트는 Redis 에서 원자적으로 실행되므로 여러 노드가 동시에 호출해도 같은 사용자를 중복 입장시키거나 누락하지 않는다
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GroupDrain drainGroups(String admissionGroupKey, String currentGroupKey, String heartbeatsKey,
+                                  String entriesKey, String fenceKey, String groupKeyPrefix, String readyKeyPrefix,
+                                  int count, Duration readyTtl, long staleBeforeMillis, long fencingToken) {
+        // 입장한 토큰은 문자열로 돌려받는다 (결과 직렬화를 지정하지 않으면 byte[] 로 반환된다)
+        List<Object> result = redisTemplate.execute(DRAIN_GROUPS_SCRIPT, RedisSerializer.string(),
+                (RedisSerializer) RedisSerializer.string(),
+                List.of(admissionGroupKey, currentGroupKey, heartbeatsKey, entriesKey, fenceKey),
+                String.valueOf(count),
+                String.valueOf(readyTtl.toSeconds()),
+                groupKeyPrefix,
+                readyKeyPrefix,
+                String.valueOf(staleBeforeMillis),
+                String.valueOf(fencingToken));
+
+        if (result != null && result.size() == 1 && (Long) result.get(0) == -1) {
+            throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+        }
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("대기열 입장 처리 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        int admissionGroup = ((Long) result.get(0)).intValue();
+        int evicted = ((Long) result.get(1)).intValue();
+        List<String> userTokens = result.subList(2, result.size()).stream()
+                .map(String.class::cast)
+                .toList();
+        return new GroupDrain(userTokens, admissionGroup, evicted);
+    }
 }
@@ -0,0 +1,74 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.config.QueueReplicas;
+import com.bticketing.appqueue.dto.QueueEntry;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+// 진입과 상태 조회를 논블로킹 클라이언트로 처리하는 저장소 (reactive 프로필의 진입, 상태 조회 API 용)
+// 그룹 리스트, sorted set 대기열의 Lua 스크립트와 키 구조는 블로킹 저장소와 같다
+@Repository
+public class ReactiveQueueRepository {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveStringRedisTemplate readinessTemplate;
+    private final ReactiveStringRedisTemplate rankTemplate;
+
+    public ReactiveQueueRepository(ReactiveStringRedisTemplate reactiveStringRedisTemplate, QueueReplicas queueReplicas) {
+        this.redisTemplate = reactiveStringRedisTemplate;
+        this.readinessTemplate = queueReplicas.reactiveStringTemplate(QueueProperties.ReadClass.READINESS,
+                reactiveStringRedisTemplate);
+        this.rankTemplate = queueReplicas.reactiveStringTemplate(QueueProperties.ReadClass.RANK,
+                reactiveStringRedisTemplate);
+    }
+
+    // 그룹 리스트 대기열 진입 (QueueRepository.enterQueue 와 같은 스크립트)
+    // 스크립트가 돌려준 배열은 원소 하나씩 발행되므로 모아서 해석한다
+    public Mono<QueueEntry> enterQueue(String sizeKey, String currentGroupKey, String entriesKey, String groupKeyPrefix,
+                                       String readyKeyPrefix, String userToken, int maxQueueSize, int groupSize,
+                                       Duration readyTtl) {
+        return redisTemplate.execute(QueueRepository.ENTER_QUEUE_SCRIPT,
+                        List.of(sizeKey, currentGroupKey, entriesKey),
+                        List.of(userToken,
+                                String.valueOf(maxQueueSize),
+                                String.valueOf(groupSize),
+                                String.valueOf(readyTtl.toSeconds()),
+                                groupKeyPrefix,
+                                readyKeyPrefix))
+                .cast(Long.class)
+                .collectList()
+                .map(result -> QueueRepository.toEntry(userToken, result));
+    }
+
+    // sorted set 대기열 진입 (SortedSetQueueRepository.enterQueue 와 같은 스크립트)
+    public Mono<QueueEntry> enterSortedSetQueue(String sizeKey, String queueKey, String entriesKey,
+                                                String readyKeyPrefix, String userToken, int maxQueueSize,
+                                                Duration readyTtl) {
+        return redisTemplate.execute(SortedSetQueueRepository.ENTER_QUEUE_SCRIPT,
+                        List.of(sizeKey, queueKey, entriesKey),
+                        List.of(userToken,
+                                String.valueOf(maxQueueSize),
+                                String.valueOf(readyTtl.toSeconds()),
+                                readyKeyPrefix))
+                .cast(Long.class)
+                .collectList()
+                .map(result -> SortedSetQueueRepository.toEntry(userToken, result));
+    }
+
+    // 준비 상태 키는 스크립트가 문자열 'true' 로 저장한다 (설정에 따라 복제 노드에서 읽는다)
+    public Mono<Boolean> isReady(String readyKey) {
+        return readinessTemplate.opsForValue().get(readyKey)
+                .map("true"::equals)
+                .defaultIfEmpty(false);
+    }
+
+    // 대기 순위 (0부터 시작, 대기열에 없으면 빈 Mono)
+    public Mono<Long> getRank(String queueKey, String userToken) {
+        return rankTemplate.opsForZSet().rank(queueKey, userToken);
+    }
+}
@@ -0,0 +1,239 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.config.QueueShards;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.util.QueueKeys;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 여러 Redis 노드에 나누어 둔 sorted set 대기열 (토큰 해시로 샤드를 고르고 도착 시각을 score 로 사용)
+// 진입은 샤드 하나만 사용하므로 샤드 수에 비례해 처리량이 늘고,
+// 입장 처리는 각 샤드의 앞부분을 도착 시각 순으로 합쳐 전체 도착 순서를 근사한다
+@Repository
+public class ShardedQueueRepository {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ENTER_QUEUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/enter_queue_shard.lua"), List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADMIT_MEMBERS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/admit_members.lua"), List.class);
+
+    private final QueueShards shards;
+    // 같은 노드에서 같은 마이크로초에 도착한 사용자도 순서가 유지되도록 증가만 하는 도착 시각
+    private final AtomicLong lastArrivalMicros = new AtomicLong();
+
+    public ShardedQueueRepository(QueueShards shards) {
+        this.shards = shards;
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    // 재진입해도 같은 샤드로 가도록 토큰 해시로 샤드를 정한다
+    public int shardOf(String userToken) {
+        return Math.floorMod(userToken.hashCode(), shards.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    public QueueEntry enterQueue(QueueKeys keys, String userToken, int maxQueueSize, Duration readyTtl) {
+        int immediatePerShard = (maxQueueSize - 1) / shards.size();
+        List<Long> result = shards.get(shardOf(userToken)).execute(ENTER_QUEUE_SCRIPT,
+                List.of(keys.size(), keys.waiting(), keys.entries()),
+                userToken,
+                String.valueOf(immediatePerShard),
+                String.valueOf(readyTtl.toSeconds()),
+                keys.readyPrefix(),
+                String.valueOf(nextArrivalMicros()));
+
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("샤드 대기열 진입 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        long sequence = result.get(0);
+        boolean duplicate = result.get(2) == 1;
+        return result.get(1) == 1
+                ? QueueEntry.immediate(userToken, sequence, duplicate)
+                : new QueueEntry(userToken, sequence, 0, 0, false, duplicate);
+    }
+
+    // 각 샤드에서 앞의 count 명씩 읽어 도착 시각 순으로 합친 뒤 앞의 count 명을 입장 처리
+    // 샤드 수를 K 라 하면 입장 인원과 무관하게 Redis 호출은 2K 회
+    // 생존 신호가 끊긴 토큰은 제거만 하며, 그만큼 비는 자리는 다음 주기에 채운다 (호출 수를 늘리지 않기 위함)
+    @SuppressWarnings("unchecked")
+    public QueueDrain drainFront(QueueKeys keys, int count, Duration readyTtl, long staleBeforeMillis) {
+        List<ShardMember> candidates = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Set<ZSetOperations.TypedTuple<String>> head =
+                    shards.get(shard).opsForZSet().rangeWithScores(keys.waiting(), 0, count - 1);
+            if (head == null) {
+                continue;
+            }
+            for (ZSetOperations.TypedTuple<String> member : head) {
+                candidates.add(new ShardMember(shard, member.getValue(), member.getScore()));
+            }
+        }
+        // 안정 정렬이므로 도착 시각이 같으면 샤드 번호, 샤드 안 순서대로 남는다 (getRanks 의 순서와 같다)
+        candidates.sort(Comparator.comparingDouble(ShardMember::score));
+        List<ShardMember> selected = candidates.subList(0, Math.min(count, candidates.size()));
+
+        List<List<String>> selectedByShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            selectedByShard.add(new ArrayList<>());
+        }
+        for (ShardMember member : selected) {
+            selectedByShard.get(member.shard()).add(member.userToken());
+        }
+
+        List<String> admitted = new ArrayList<>();
+        int evicted = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            List<String> userTokens = selectedByShard.get(shard);
+            if (userTokens.isEmpty()) {
+                continue;
+            }
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(readyTtl.toSeconds()));
+            args.add(keys.readyPrefix());
+            args.add(String.valueOf(staleBeforeMillis));
+            args.addAll(userTokens);
+            List<Object> result = shards.get(shard).execute(ADMIT_MEMBERS_SCRIPT,
+                    List.of(keys.waiting(), keys.heartbeats(), keys.entries()), args.toArray());
+            if (result == null || result.isEmpty()) {
+                continue;
+            }
+            evicted += ((Long) result.get(0)).intValue();
+            result.subList(1, result.size()).forEach(userToken -> admitted.add(String.valueOf(userToken)));
+        }
+        return new QueueDrain(admitted, evicted);
+    }
+
+    // 생존 신호 기록: 토큰이 속한 샤드마다 HSET 한 번
+    public void recordHeartbeats(QueueKeys keys, Collection<String> userTokens, long nowMillis) {
+        String lastSeen = String.valueOf(nowMillis);
+        Map<Integer, Map<String, String>> heartbeatsByShard = userTokens.stream()
+                .collect(Collectors.groupingBy(this::shardOf,
+                        Collectors.toMap(userToken -> userToken, userToken -> lastSeen, (a, b) -> a)));
+        heartbeatsByShard.forEach((shard, heartbeats) ->
+                shards.get(shard).opsForHash().putAll(keys.heartbeats(), heartbeats));
+    }
+
+    public boolean isReady(QueueKeys keys, String userToken) {
+        return "true".equals(shards.get(shardOf(userToken)).opsForValue().get(keys.readyPrefix() + userToken));
+    }
+
+    // 입장 세션 종료 시 토큰이 속한 샤드의 준비 상태 삭제
+    public void clearReady(QueueKeys keys, String userToken) {
+        shards.get(shardOf(userToken)).delete(keys.readyPrefix() + userToken);
+    }
+
+    // 전체 샤드에서 먼저 도착한 사용자 수 (0부터 시작, 대기열에 없으면 null)
+    public Long getRank(QueueKeys keys, String userToken) {
+        return getRanks(keys, List.of(userToken)).get(0);
+    }
+
+    public long getSize(QueueKeys keys) {
+        long size = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Long count = shards.get(shard).opsForZSet().zCard(keys.waiting());
+            size += count != null ? count : 0;
+        }
+        return size;
+    }
+
+    // 여러 토큰의 전체 순위 (결과 순서는 토큰 순서와 같다)
+    // 전체 순서는 (도착 시각, 샤드 번호, 샤드 안 순서) 로 drainFront 가 합치는 순서와 같다
+    // 1) 토큰이 속한 샤드마다 파이프라인 한 번으로 score 와 샤드 안 순위를 읽고
+    // 2) 샤드마다 파이프라인 한 번으로 다른 샤드 토큰보다 앞선 인원을 센다
+    // 조회 토큰 수와 무관하게 샤드 수를 K 라 하면 Redis 호출은 최대 2K 회
+    public List<Long> getRanks(QueueKeys keys, List<String> userTokens) {
+        int[] shardOfToken = userTokens.stream().mapToInt(this::shardOf).toArray();
+        double[] scores = new double[userTokens.size()];
+        Long[] ranks = new Long[userTokens.size()];
+
+        Map<Integer, List<Integer>> indexesByShard = IntStream.range(0, userTokens.size()).boxed()
+                .collect(Collectors.groupingBy(index -> shardOfToken[index]));
+        indexesByShard.forEach((shard, indexes) -> {
+            List<Object> results = shards.get(shard).executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (int index : indexes) {
+                    stringConnection.zScore(keys.waiting(), userTokens.get(index));
+                    stringConnection.zRank(keys.waiting(), userTokens.get(index));
+                }
+                return null;
+            });
+            for (int i = 0; i < indexes.size(); i++) {
+                Double score = (Double) results.get(2 * i);
+                Long rank = (Long) results.get(2 * i + 1);
+                if (score != null && rank != null) {
+                    scores[indexes.get(i)] = score;
+                    ranks[indexes.get(i)] = rank;
+                }
+            }
+        });
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int current = shard;
+            List<Integer> others = IntStream.range(0, userTokens.size())
+                    .filter(index -> ranks[index] != null && shardOfToken[index] != current)
+                    .boxed()
+                    .toList();
+            if (others.isEmpty()) {
+                continue;
+            }
+            List<Object> counts = shards.get(shard).executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (int index : others) {
+                    // 도착 시각이 같으면 샤드 번호가 작은 쪽이 앞선다 (같은 시각을 두 샤드에서 모두 세지 않도록)
+                    // score 는 정수 마이크로초이므로 score - 1 까지가 score 미만이다
+                    double max = current < shardOfToken[index] ? scores[index] : scores[index] - 1;
+                    stringConnection.zCount(keys.waiting(), Double.NEGATIVE_INFINITY, max);
+                }
+                return null;
+            });
+            for (int i = 0; i < others.size(); i++) {
+                Long count = (Long) counts.get(i);
+                ranks[others.get(i)] += count != null ? count : 0;
+            }
+        }
+        return Arrays.asList(ranks);
+    }
+
+    // 판매가 끝난 회차의 샤드 키 삭제 (토큰별 준비 상태 키는 TTL 로 사라진다)
+    public long unlinkEventKeys(QueueKeys keys) {
+        List<String> eventKeys = List.of(keys.size(), keys.waiting(), keys.entries(), keys.heartbeats());
+        long unlinked = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Long count = shards.get(shard).unlink(eventKeys);
+            unlinked += count != null ? count : 0;
+        }
+        return unlinked;
+    }
+
+    private long nextArrivalMicros() {
+        long nowMicros = System.currentTimeMillis() * 1000;
+        return lastArrivalMicros.accumulateAndGet(nowMicros, (last, now) -> Math.max(last + 1, now));
+    }
+
+    private record ShardMember(int shard, String userToken, double score) {
+    }
+}
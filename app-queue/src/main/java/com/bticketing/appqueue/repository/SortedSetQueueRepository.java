@@ -0,0 +1,114 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.config.QueueReplicas;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+// 진입 순번을 score 로 사용하는 sorted set 기반 대기열 (ZRANK 로 O(log n) 순위 조회)
+@Repository
+public class SortedSetQueueRepository {
+
+    // 논블로킹 진입(ReactiveQueueRepository)도 같은 스크립트를 쓴다
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> ENTER_QUEUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/enter_queue_zset.lua"), List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_QUEUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/drain_queue_zset.lua"), List.class);
+
+    // 토큰은 JSON 직렬화 없이 문자열 그대로 member 로 저장한다
+    private final StringRedisTemplate redisTemplate;
+    private final QueueReplicas queueReplicas;
+
+    public SortedSetQueueRepository(StringRedisTemplate redisTemplate, QueueReplicas queueReplicas) {
+        this.redisTemplate = redisTemplate;
+        this.queueReplicas = queueReplicas;
+    }
+
+    @SuppressWarnings("unchecked")
+    public QueueEntry enterQueue(String sizeKey, String queueKey, String entriesKey, String readyKeyPrefix,
+                                 String userToken, int maxQueueSize, Duration readyTtl) {
+        List<Long> result = redisTemplate.execute(ENTER_QUEUE_SCRIPT,
+                List.of(sizeKey, queueKey, entriesKey),
+                userToken,
+                String.valueOf(maxQueueSize),
+                String.valueOf(readyTtl.toSeconds()),
+                readyKeyPrefix);
+        return toEntry(userToken, result);
+    }
+
+    // 진입 스크립트 결과 { 순번, 순위(즉시 입장이면 -1), 중복 여부 } 를 해석
+    static QueueEntry toEntry(String userToken, List<Long> result) {
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("대기열 진입 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        long sequence = result.get(0);
+        long rank = result.get(1);
+        boolean duplicate = result.get(2) == 1;
+        return rank < 0
+                ? QueueEntry.immediate(userToken, sequence, duplicate)
+                : new QueueEntry(userToken, sequence, 0, rank + 1, false, duplicate);
+    }
+
+    // 대기 순위 조회 (0부터 시작, 대기열에 없으면 null, 순위와 대기 인원은 설정에 따라 복제 노드에서 읽는다)
+    public Long getRank(String queueKey, String userToken) {
+        return queueReplicas.stringTemplate(QueueProperties.ReadClass.RANK).opsForZSet().rank(queueKey, userToken);
+    }
+
+    // 여러 토큰의 순위를 파이프라인 한 번으로 조회 (결과 순서는 토큰 순서와 같다)
+    public List<Long> getRanks(String queueKey, List<String> userTokens) {
+        StringRedisTemplate rankTemplate = queueReplicas.stringTemplate(QueueProperties.ReadClass.RANK);
+        List<Object> results = rankTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String userToken : userTokens) {
+                stringConnection.zRank(queueKey, userToken);
+            }
+            return null;
+        });
+        return results.stream()
+                .map(rank -> (Long) rank)
+                .toList();
+    }
+
+    public Long getSize(String queueKey) {
+        return queueReplicas.stringTemplate(QueueProperties.ReadClass.RANK).opsForZSet().zCard(queueKey);
+    }
+
+    // 순번이 가장 앞선 사용자부터 count 명을 꺼내고 준비 상태까지 저장 (ZPOPMIN + SET 을 한 번의 왕복으로 처리)
+    // 생존 신호가 staleBeforeMillis 보다 오래된 토큰은 제거만 하고 다음 사용자로 채운다
+    @SuppressWarnings("unchecked")
+    public QueueDrain drainFront(String queueKey, String heartbeatsKey, String entriesKey, String fenceKey,
+                                 String readyKeyPrefix, int count, Duration readyTtl, long staleBeforeMillis,
+                                 long fencingToken) {
+        List<Object> result = redisTemplate.execute(DRAIN_QUEUE_SCRIPT,
+                List.of(queueKey, heartbeatsKey, entriesKey, fenceKey),
+                String.valueOf(count),
+                String.valueOf(readyTtl.toSeconds()),
+                readyKeyPrefix,
+                String.valueOf(staleBeforeMillis),
+                String.valueOf(fencingToken));
+
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("대기열 입장 처리 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        if ((Long) result.get(0) == -1) {
+            throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+        }
+        List<String> userTokens = result.subList(1, result.size()).stream()
+                .map(String::valueOf)
+                .toList();
+        return new QueueDrain(userTokens, ((Long) result.get(0)).intValue());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 순번 카운터와 입장 워터마크 두 개의 키만 사용하는 대기열 (사용자 수와 무관하게 O(1) 메모리)
+@Repository
+public class WatermarkRepository {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADVANCE_WATERMARK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/advance_watermark.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ISSUE_SEQUENCE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/issue_sequence.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public WatermarkRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 순번을 발급하고 { 순번, 판매 회차 번호 } 를 반환 (Redis 호출 1회)
+    @SuppressWarnings("unchecked")
+    public List<Long> nextSequence(String sequenceKey, String epochKey) {
+        List<Long> result = redisTemplate.execute(ISSUE_SEQUENCE_SCRIPT, List.of(sequenceKey, epochKey));
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("대기열 순번 발급에 실패했습니다.");
+        }
+        return result;
+    }
+
+    public long getEpoch(String epochKey) {
+        String epoch = redisTemplate.opsForValue().get(epochKey);
+        return epoch != null ? Long.parseLong(epoch) : 0L;
+    }
+
+    public long getIssuedSequence(String sequenceKey) {
+        String sequence = redisTemplate.opsForValue().get(sequenceKey);
+        return sequence != null ? Long.parseLong(sequence) : 0L;
+    }
+
+    public long getWatermark(String watermarkKey) {
+        String watermark = redisTemplate.opsForValue().get(watermarkKey);
+        return watermark != null ? Long.parseLong(watermark) : 0L;
+    }
+
+    // 워터마크를 최대 count 만큼 올리고 { 새 워터마크, 실제 입장 인원 } 을 반환
+    @SuppressWarnings("unchecked")
+    public List<Long> advanceWatermark(String sequenceKey, String watermarkKey, String fenceKey, long minWatermark,
+                                       int count, long fencingToken) {
+        List<Long> result = redisTemplate.execute(ADVANCE_WATERMARK_SCRIPT,
+                List.of(sequenceKey, watermarkKey, fenceKey),
+                String.valueOf(minWatermark),
+                String.valueOf(count),
+                String.valueOf(fencingToken));
+
+        if (result != null && result.size() == 1 && result.get(0) == -1) {
+            throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+        }
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("워터마크 입장 처리 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        return result;
+    }
+}
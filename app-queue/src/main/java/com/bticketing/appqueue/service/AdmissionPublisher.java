@@ -0,0 +1,60 @@
+package com.bticketing.appqueue.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 입장 처리 결과(입장한 사용자 토큰 또는 입장 워터마크)와 그룹 전환, 판매 시작/종료를 모든 대기열 노드에 전파 (Redis pub/sub)
+// 메시지 본문의 첫 줄은 회차 번호, 나머지는 토큰 목록 또는 워터마크/그룹 번호, 판매 상태
+@Component
+public class AdmissionPublisher {
+
+    public static final String ADMISSION_CHANNEL = "queue:admitted";
+    public static final String WATERMARK_CHANNEL = "queue:watermark";
+    public static final String CURRENT_GROUP_CHANNEL = "queue:current-group";
+    public static final String SALE_CHANNEL = "queue:sale";
+    public static final String SALE_OPENED = "opened";
+    public static final String SALE_CLOSED = "closed";
+    public static final String TOKEN_DELIMITER = "\n";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public AdmissionPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 배치 단위로 한 번만 발행한다
+    public void publishAdmitted(int scheduleId, List<String> userTokens) {
+        if (userTokens.isEmpty()) {
+            return;
+        }
+        redisTemplate.convertAndSend(ADMISSION_CHANNEL, message(scheduleId, String.join(TOKEN_DELIMITER, userTokens)));
+    }
+
+    // 워터마크 방식은 토큰 목록 대신 새 워터마크 값 하나만 발행한다
+    public void publishWatermark(int scheduleId, long watermark) {
+        redisTemplate.convertAndSend(WATERMARK_CHANNEL, message(scheduleId, String.valueOf(watermark)));
+    }
+
+    public void publishCurrentGroup(int scheduleId, int currentGroup) {
+        redisTemplate.convertAndSend(CURRENT_GROUP_CHANNEL, message(scheduleId, String.valueOf(currentGroup)));
+    }
+
+    // 각 노드가 회차의 로컬 상태(워터마크, 그룹 번호, 입장 속도 등)를 버리도록 알린다
+    public void publishSale(int scheduleId, String saleState) {
+        redisTemplate.convertAndSend(SALE_CHANNEL, message(scheduleId, saleState));
+    }
+
+    public static String message(int scheduleId, String payload) {
+        return scheduleId + TOKEN_DELIMITER + payload;
+    }
+
+    static int scheduleIdOf(String body) {
+        return Integer.parseInt(body.substring(0, body.indexOf(TOKEN_DELIMITER)));
+    }
+
+    static String payloadOf(String body) {
+        return body.substring(body.indexOf(TOKEN_DELIMITER) + 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.CapacitySignal;
+
+// app-main 의 수용 여력을 목표로 주기당 입장 인원을 정하는 PI 제어기
+// 오차 = 최대 선점 수 - 현재 선점 수, 좌석 선택 지연이 목표를 넘으면 그 비율만큼 입장 인원을 줄인다
+public class AdmissionRateController {
+
+    private final QueueProperties.Admission admission;
+    private double integral;
+
+    public AdmissionRateController(QueueProperties.Admission admission) {
+        this.admission = admission;
+    }
+
+    public synchronized int nextBatchSize(CapacitySignal signal) {
+        if (signal == null) {
+            return admission.getFallbackBatchSize();
+        }
+
+        double error = signal.getMaxActiveHolds() - signal.getActiveHolds();
+        integral = clamp(integral + admission.getIntegralGain() * error);
+
+        // 이미 수용 한도에 도달했으면 선점이 풀릴 때까지 입장시키지 않는다
+        if (error <= 0) {
+            return 0;
+        }
+
+        double batch = admission.getProportionalGain() * error + integral;
+        double targetLatency = admission.getTargetSelectLatencyMs();
+        if (signal.getSelectLatencyMillis() > targetLatency) {
+            batch *= targetLatency / signal.getSelectLatencyMillis();
+        }
+        return (int) Math.round(clamp(batch));
+    }
+
+    private double clamp(double value) {
+        return Math.max(0, Math.min(admission.getMaxBatchSize(), value));
+    }
+}
@@ -0,0 +1,130 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.client.CapacityClient;
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.CapacitySignal;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 일정 주기로 app-main 수용 여력을 확인하고 그만큼 열려 있는 모든 회차의 대기열에서 입장 처리
+// app-main 은 모든 회차가 함께 사용하므로 주기당 입장 인원은 하나의 제어기로 정하고, 회차끼리 공평하게 나눈다
+// 노드가 여러 대면 회차마다 입장 처리 리스를 가진 노드 하나만 그 회차를 입장 처리한다
+@Component
+@ConditionalOnProperty(prefix = "queue.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionScheduler.class);
+
+    private final QueueService queueService;
+    private final CapacityClient capacityClient;
+    private final DrainLeases drainLeases;
+    private final AdmissionRateController rateController;
+    private int rotation;
+
+    public AdmissionScheduler(QueueService queueService, CapacityClient capacityClient, DrainLeases drainLeases,
+                              QueueProperties queueProperties) {
+        this.queueService = queueService;
+        this.capacityClient = capacityClient;
+        this.drainLeases = drainLeases;
+        this.rateController = new AdmissionRateController(queueProperties.getAdmission());
+    }
+
+    @Scheduled(fixedDelayString = "${queue.admission.interval-ms:1000}")
+    public void admit() {
+        CapacitySignal signal = capacityClient.fetchCapacity();
+        int batchSize = rateController.nextBatchSize(signal);
+
+        try {
+            // 리스 갱신과 추첨은 app-main 수용 한도와 무관하게 주기마다 한다
+            Map<Integer, Long> fencingTokens = acquireLeases();
+            drawLotteries(fencingTokens);
+            if (batchSize == 0) {
+                logger.debug("app-main 수용 한도에 도달하여 이번 주기에는 입장 처리하지 않습니다.");
+                return;
+            }
+            int admitted = admitFairly(fencingTokens, batchSize);
+            logger.debug("입장 처리 완료: 회차 {}개, 목표 {}명, 실제 {}명", fencingTokens.size(), batchSize, admitted);
+        } catch (Exception e) {
+            logger.error("입장 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 이 노드가 리스를 가진 회차와 펜싱 토큰 (리스는 주기마다 갱신한다)
+    private Map<Integer, Long> acquireLeases() {
+        Map<Integer, Long> fencingTokens = new HashMap<>();
+        for (int scheduleId : queueService.getActiveEvents()) {
+            long fencingToken = drainLeases.acquire(scheduleId);
+            if (fencingToken > 0) {
+                fencingTokens.put(scheduleId, fencingToken);
+            }
+        }
+        return fencingTokens;
+    }
+
+    // 판매 시작 시각이 지난 추첨 방식 회차의 순번 배정 (입장 처리와 같이 리스를 가진 노드만 한다)
+    private void drawLotteries(Map<Integer, Long> fencingTokens) {
+        fencingTokens.forEach((scheduleId, fencingToken) -> {
+            try {
+                queueService.drawLotteryIfDue(scheduleId, fencingToken);
+            } catch (StaleFencingTokenException e) {
+                drainLeases.revoke(scheduleId, fencingToken);
+            } catch (Exception e) {
+                logger.error("회차 {} 추첨 중 오류가 발생했습니다.", scheduleId, e);
+            }
+        });
+    }
+
+    // 입장 인원을 회차 수로 나누어 배정하고, 대기자가 몫보다 적은 회차에서 남은 인원은 나머지 회차에 다시 나눈다 (max-min 공평 배분)
+    // 몫이 나누어떨어지지 않을 때 같은 회차가 계속 유리하지 않도록 시작 회차를 주기마다 바꾼다
+    int admitFairly(Map<Integer, Long> fencingTokens, int batchSize) {
+        List<Integer> events = new ArrayList<>(fencingTokens.keySet());
+        Collections.sort(events);
+        if (!events.isEmpty()) {
+            Collections.rotate(events, -(rotation++ % events.size()));
+        }
+
+        int remaining = batchSize;
+        List<Integer> pending = events;
+        while (remaining > 0 && !pending.isEmpty()) {
+            int share = Math.max(1, remaining / pending.size());
+            List<Integer> saturated = new ArrayList<>();
+            for (int scheduleId : pending) {
+                if (remaining == 0) {
+                    break;
+                }
+                int quota = Math.min(share, remaining);
+                int admitted = admit(scheduleId, quota, fencingTokens.get(scheduleId));
+                remaining -= admitted;
+                // 몫을 다 채운 회차만 다음 배분에 참여한다 (대기자가 더 남아 있을 수 있음)
+                if (admitted == quota) {
+                    saturated.add(scheduleId);
+                }
+            }
+            pending = saturated;
+        }
+        return batchSize - remaining;
+    }
+
+    private int admit(int scheduleId, int quota, long fencingToken) {
+        try {
+            return queueService.processQueueGroup(scheduleId, quota, fencingToken);
+        } catch (StaleFencingTokenException e) {
+            // 리스가 만료되어 다른 노드가 이어받았다 (이 노드가 멈춰 있던 동안)
+            drainLeases.revoke(scheduleId, fencingToken);
+            return 0;
+        } catch (Exception e) {
+            logger.error("회차 {} 입장 처리 중 오류가 발생했습니다.", scheduleId, e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.store.QueueStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 회차별 입장 처리 리스 (노드 여러 대가 같은 회차를 동시에 입장 처리하지 않도록 리스를 가진 노드 하나만 수행)
+// 리스 보유 노드가 멈추면 TTL 이 지난 뒤 다른 노드가 새 펜싱 토큰으로 이어받고,
+// 멈췄던 노드가 이전 토큰으로 보내는 입장 처리는 저장소가 거부한다
+@Component
+public class DrainLeases {
+
+    private static final Logger logger = LoggerFactory.getLogger(DrainLeases.class);
+
+    // 이 노드가 보유한 리스 (회차 -> 펜싱 토큰)
+    private final Map<Integer, Long> held = new ConcurrentHashMap<>();
+
+    private final QueueStore queueStore;
+    private final QueueProperties queueProperties;
+    private final String nodeId;
+
+    public DrainLeases(QueueStore queueStore, QueueProperties queueProperties) {
+        this.queueStore = queueStore;
+        this.queueProperties = queueProperties;
+        String configured = queueProperties.getLease().getNodeId();
+        this.nodeId = StringUtils.hasText(configured) ? configured : defaultNodeId();
+    }
+
+    // 입장 처리 주기마다 호출해 리스를 획득하거나 갱신하고 펜싱 토큰을 반환 (0 이면 다른 노드가 입장 처리)
+    public long acquire(int scheduleId) {
+        long fencingToken;
+        try {
+            fencingToken = queueStore.acquireDrainLease(scheduleId, nodeId,
+                    Duration.ofMillis(queueProperties.getLease().getTtlMs()));
+        } catch (Exception e) {
+            // 리스를 갱신하지 못했으면 보유 여부를 알 수 없으므로 입장 처리하지 않는다
+            logger.warn("회차 {} 입장 처리 리스 갱신에 실패했습니다: {}", scheduleId, e.getMessage());
+            held.remove(scheduleId);
+            return 0L;
+        }
+
+        if (fencingToken > 0) {
+            Long previous = held.put(scheduleId, fencingToken);
+            if (previous == null || previous != fencingToken) {
+                logger.info("회차 {} 입장 처리 리스를 획득했습니다. (노드: {}, 펜싱 토큰: {})", scheduleId, nodeId, fencingToken);
+            }
+        } else if (held.remove(scheduleId) != null) {
+            logger.info("회차 {} 입장 처리 리스를 다른 노드가 가져갔습니다. (노드: {})", scheduleId, nodeId);
+        }
+        return fencingToken;
+    }
+
+    // 리스를 갱신하지 않고 이 노드가 마지막으로 받은 펜싱 토큰 (보유하지 않으면 0)
+    // 이미 만료되었을 수 있지만 그 경우 저장소가 입장 처리를 거부한다
+    public long heldToken(int scheduleId) {
+        return held.getOrDefault(scheduleId, 0L);
+    }
+
+    // 펜싱 토큰으로 입장 처리가 거부되면 리스를 잃은 것으로 본다
+    public void revoke(int scheduleId, long fencingToken) {
+        if (held.remove(scheduleId, fencingToken)) {
+            logger.warn("회차 {} 입장 처리 리스를 잃었습니다. (펜싱 토큰: {})", scheduleId, fencingToken);
+        }
+    }
+
+    // 종료 시 리스를 반납해 TTL 을 기다리지 않고 다른 노드가 바로 이어받도록 한다
+    @PreDestroy
+    public void releaseAll() {
+        for (Integer scheduleId : held.keySet()) {
+            try {
+                queueStore.releaseDrainLease(scheduleId, nodeId);
+            } catch (Exception e) {
+                logger.warn("회차 {} 입장 처리 리스 반납에 실패했습니다: {}", scheduleId, e.getMessage());
+            }
+        }
+        held.clear();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        // 같은 호스트에서 여러 인스턴스가 떠도 구분되도록 임의 값을 붙인다
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
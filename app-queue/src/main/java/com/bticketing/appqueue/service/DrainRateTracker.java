@@ -0,0 +1,113 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 회차별 입장 처리 속도(명/초)를 지수 가중 이동 평균으로 추적
+// 입장 처리는 리스를 가진 노드 하나만 하므로, 모든 노드가 받는 입장 처리 pub/sub 메시지로 갱신한다
+// 갱신은 입장 처리마다 한 번(주기당 한 번)이고, 조회는 락 없이 스냅샷만 읽는다
+@Component
+public class DrainRateTracker implements MessageListener {
+
+    private final Map<Integer, AtomicReference<Sample>> rates = new ConcurrentHashMap<>();
+    private final double timeConstantMillis;
+    private final long idleGraceMillis;
+    private final Clock clock;
+
+    public DrainRateTracker(QueueProperties queueProperties, Clock clock) {
+        this.clock = clock;
+        this.timeConstantMillis = queueProperties.getPoll().getRateTimeConstantMs();
+        // 입장 처리 주기 사이의 간격은 멈춘 것으로 보지 않는다
+        this.idleGraceMillis = 2 * queueProperties.getAdmission().getIntervalMs();
+    }
+
+    // 입장 처리 한 번의 입장 인원 반영
+    public void recordAdmitted(int scheduleId, long admitted, long nowMillis) {
+        sample(scheduleId).updateAndGet(sample -> sample.next(admitted, nowMillis, timeConstantMillis));
+    }
+
+    // 워터마크 방식은 워터마크 증가분을 입장 인원으로 본다 (노드가 처음 본 워터마크는 기준값으로만 사용)
+    public void recordWatermark(int scheduleId, long watermark, long nowMillis) {
+        sample(scheduleId).updateAndGet(sample -> sample.lastWatermark < 0
+                ? sample.withWatermark(watermark)
+                : sample.next(Math.max(0, watermark - sample.lastWatermark), nowMillis, timeConstantMillis)
+                        .withWatermark(Math.max(watermark, sample.lastWatermark)));
+    }
+
+    // 현재 시각 기준 최근 입장 처리 속도 (명/초, 측정값이 없으면 0)
+    public double admittedPerSecond(int scheduleId) {
+        return admittedPerSecond(scheduleId, clock.millis());
+    }
+
+    // 최근 입장 처리 속도 (명/초, 측정값이 없으면 0)
+    // 입장 처리가 멈춘 동안은 입장 인원 0 이 계속 들어온 것처럼 감쇠시킨다
+    public double admittedPerSecond(int scheduleId, long nowMillis) {
+        AtomicReference<Sample> reference = rates.get(scheduleId);
+        if (reference == null) {
+            return 0;
+        }
+        Sample sample = reference.get();
+        long idleMillis = nowMillis - sample.lastDrainAtMillis - idleGraceMillis;
+        if (idleMillis <= 0) {
+            return sample.ratePerSecond;
+        }
+        return sample.ratePerSecond * Math.exp(-idleMillis / timeConstantMillis);
+    }
+
+    // 판매가 끝나거나 다시 열린 회차의 이전 측정값을 버린다
+    public void forget(int scheduleId) {
+        rates.remove(scheduleId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int scheduleId = AdmissionPublisher.scheduleIdOf(body);
+        String payload = AdmissionPublisher.payloadOf(body);
+        long now = clock.millis();
+
+        if (AdmissionPublisher.WATERMARK_CHANNEL.equals(channel)) {
+            recordWatermark(scheduleId, Long.parseLong(payload), now);
+        } else if (AdmissionPublisher.ADMISSION_CHANNEL.equals(channel)) {
+            recordAdmitted(scheduleId, payload.split(AdmissionPublisher.TOKEN_DELIMITER).length, now);
+        }
+    }
+
+    private AtomicReference<Sample> sample(int scheduleId) {
+        return rates.computeIfAbsent(scheduleId, id -> new AtomicReference<>(Sample.EMPTY));
+    }
+
+    // lastDrainAtMillis 가 0 이면 아직 입장 처리를 보지 못한 상태
+    private record Sample(double ratePerSecond, long lastDrainAtMillis, long lastWatermark) {
+
+        private static final Sample EMPTY = new Sample(0, 0, -1);
+
+        // 간격이 불규칙하므로 가중치를 간격에 맞춰 정한다 (간격이 길수록 새 측정값 비중이 커진다)
+        private Sample next(long admitted, long nowMillis, double timeConstantMillis) {
+            if (lastDrainAtMillis == 0) {
+                // 첫 입장 처리는 간격을 알 수 없으므로 시각만 기록한다
+                return new Sample(ratePerSecond, nowMillis, lastWatermark);
+            }
+            long elapsedMillis = Math.max(1, nowMillis - lastDrainAtMillis);
+            double observed = admitted * 1000.0 / elapsedMillis;
+            if (ratePerSecond == 0) {
+                return new Sample(observed, nowMillis, lastWatermark);
+            }
+            double alpha = 1 - Math.exp(-elapsedMillis / timeConstantMillis);
+            return new Sample(ratePerSecond + alpha * (observed - ratePerSecond), nowMillis, lastWatermark);
+        }
+
+        private Sample withWatermark(long watermark) {
+            return new Sample(ratePerSecond, lastDrainAtMillis, watermark);
+        }
+    }
+}
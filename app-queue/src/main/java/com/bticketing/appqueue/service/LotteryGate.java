@@ -0,0 +1,94 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.store.QueueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 추첨 방식 회차의 판매 시작 전 진입 관리
+// 판매 시작 시각에 몰리는 진입을 앞당겨 분산시키기 위해, 시작 전 진입은 도착 순서와 무관하게 추첨 대상에만 넣고
+// 시작 시각 이후 리스를 가진 노드가 한 번에 무작위 순번을 배정한다 (일찍 온다고 유리하지 않으므로 시작 직전 몰림이 줄어든다)
+// 추첨 완료 여부는 저장소에 남기고 노드에는 완료된 회차만 기억하여, 추첨이 끝난 뒤의 진입은 추가 조회 없이 일반 진입으로 처리한다
+@Component
+public class LotteryGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(LotteryGate.class);
+
+    private final QueueStore queueStore;
+    private final Map<Integer, Long> opensAtMillis = new ConcurrentHashMap<>();
+    private final Set<Integer> drawnEvents = ConcurrentHashMap.newKeySet();
+    private final Random seeds = new SecureRandom();
+
+    public LotteryGate(QueueStore queueStore, QueueProperties queueProperties) {
+        this.queueStore = queueStore;
+        if (queueProperties.getLottery().getWindows().isEmpty()) {
+            return;
+        }
+        if (queueProperties.isWatermark() || queueProperties.isSharded()) {
+            logger.warn("{} 백엔드는 추첨 방식을 지원하지 않아 추첨 회차 설정을 무시합니다.", queueProperties.getBackend());
+            return;
+        }
+        for (QueueProperties.Window window : queueProperties.getLottery().getWindows()) {
+            opensAtMillis.put(window.getScheduleId(), window.getOpensAt().toInstant().toEpochMilli());
+        }
+    }
+
+    // 진입을 추첨 대상으로 받아야 하는 회차 (판매 시작 시각이 지났어도 추첨 전이면 추첨 대상에 넣어 추첨 순번보다 앞서지 않게 한다)
+    public boolean isPooling(int scheduleId) {
+        return opensAtMillis.containsKey(scheduleId) && !drawnEvents.contains(scheduleId);
+    }
+
+    // 추첨 대상에 넣었으면 true, 그 사이 추첨이 끝났으면 false (호출한 쪽이 일반 진입으로 처리)
+    public boolean enterPool(int scheduleId, String userToken) {
+        if (queueStore.enterPool(scheduleId, userToken)) {
+            return true;
+        }
+        drawnEvents.add(scheduleId);
+        return false;
+    }
+
+    // 상태 조회 시 아직 추첨을 기다리는 회차인지 (판매 시작 전에는 저장소를 조회하지 않는다)
+    public boolean isAwaitingDraw(int scheduleId, long nowMillis) {
+        if (!isPooling(scheduleId)) {
+            return false;
+        }
+        if (nowMillis < opensAtMillis.get(scheduleId)) {
+            return true;
+        }
+        if (queueStore.isLotteryDrawn(scheduleId)) {
+            drawnEvents.add(scheduleId);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isDrawDue(int scheduleId, long nowMillis) {
+        return isPooling(scheduleId) && nowMillis >= opensAtMillis.get(scheduleId);
+    }
+
+    public void markDrawn(int scheduleId) {
+        drawnEvents.add(scheduleId);
+    }
+
+    // 판매를 다시 열면 추첨도 다시 한다 (저장소의 추첨 완료 표시는 판매 시작 시 지워진다)
+    public void forget(int scheduleId) {
+        drawnEvents.remove(scheduleId);
+    }
+
+    // 판매 시작 시각 (추첨 방식 회차가 아니면 null)
+    public Long opensAtMillis(int scheduleId) {
+        return opensAtMillis.get(scheduleId);
+    }
+
+    // 배정 결과를 재현할 수 있도록 추첨 완료 표시에 함께 남긴다 (Lua 난수 seed 로 쓰므로 int 범위의 양수)
+    public long newSeed() {
+        return seeds.nextInt(Integer.MAX_VALUE) + 1L;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 대기 중인 사용자에게 다음 상태 조회까지 기다릴 시간을 권장
+// 앞에 남은 인원과 입장 처리 속도로 예상 대기 시간을 구하고 그 일부만큼 기다리게 하여,
+// 뒤쪽 사용자는 드물게, 입장이 가까운 사용자는 최소 주기로 조회하도록 한다
+// 같은 시각에 진입한 사용자들의 조회가 한꺼번에 몰리지 않도록 지연을 무작위로 조금씩 줄인다
+@Component
+public class PollIntervalAdvisor {
+
+    private final DrainRateTracker drainRateTracker;
+    private final LotteryGate lotteryGate;
+    private final QueueProperties.Poll poll;
+    private final long poolSpreadMillis;
+    private final long maxIntervalMillis;
+    private final double fallbackRatePerSecond;
+    private final Clock clock;
+
+    public PollIntervalAdvisor(DrainRateTracker drainRateTracker, LotteryGate lotteryGate,
+                               QueueProperties queueProperties, Clock clock) {
+        this.drainRateTracker = drainRateTracker;
+        this.clock = clock;
+        this.lotteryGate = lotteryGate;
+        this.poll = queueProperties.getPoll();
+        this.poolSpreadMillis = queueProperties.getLottery().getPollSpreadMs();
+        this.maxIntervalMillis = maxIntervalMillis(queueProperties);
+        QueueProperties.Admission admission = queueProperties.getAdmission();
+        this.fallbackRatePerSecond = admission.getFallbackBatchSize() * 1000.0 / admission.getIntervalMs();
+    }
+
+    // 권장 지연(ms), ahead 는 앞에 남은 인원 (순위를 알 수 없으면 null)
+    public long nextPollDelayMillis(int scheduleId, Long ahead) {
+        return nextPollDelayMillis(scheduleId, ahead, ThreadLocalRandom.current().nextDouble());
+    }
+
+    // random 은 [0, 1) 난수 (시뮬레이터는 seed 를 고정한 난수를 넘겨 결과를 재현한다)
+    public long nextPollDelayMillis(int scheduleId, Long ahead, double random) {
+        double delayMillis = poll.getMinIntervalMs();
+        if (ahead != null) {
+            // 입장 처리 속도를 아직 모르면 입장 처리 설정으로 추정한다
+            double ratePerSecond = drainRateTracker.admittedPerSecond(scheduleId);
+            if (ratePerSecond <= 0) {
+                ratePerSecond = fallbackRatePerSecond;
+            }
+            double expectedWaitMillis = ahead * 1000.0 / ratePerSecond;
+            delayMillis = Math.max(delayMillis, Math.min(maxIntervalMillis, expectedWaitMillis * poll.getWaitFraction()));
+        }
+        // 지연을 줄이는 방향으로만 흔들어 입장 확인이 늦어지거나 생존 신호 기준을 넘지 않게 한다
+        return Math.round(delayMillis * (1 - poll.getJitter() * random));
+    }
+
+    // 추첨 대기자의 권장 지연(ms): 판매 시작 전에는 최대 지연 간격으로 생존 신호만 보내게 하고,
+    // 시작 시각 직후의 조회는 poolSpreadMs 동안 고르게 흩어 추첨 직후 한꺼번에 몰리지 않게 한다
+    public long nextPoolPollDelayMillis(int scheduleId) {
+        return nextPoolPollDelayMillis(scheduleId, clock.millis(), ThreadLocalRandom.current().nextDouble());
+    }
+
+    public long nextPoolPollDelayMillis(int scheduleId, long nowMillis, double random) {
+        Long opensAtMillis = lotteryGate.opensAtMillis(scheduleId);
+        long untilOpenMillis = opensAtMillis != null ? Math.max(0, opensAtMillis - nowMillis) : 0L;
+        if (untilOpenMillis > maxIntervalMillis) {
+            return Math.round(maxIntervalMillis * (1 - poll.getJitter() * random));
+        }
+        return Math.max(poll.getMinIntervalMs(), untilOpenMillis + Math.round(poolSpreadMillis * random));
+    }
+
+    // 조회가 생존 신호를 겸하므로 권장 지연이 이탈 판단 기준을 넘지 않게 한다
+    private static long maxIntervalMillis(QueueProperties queueProperties) {
+        long maxIntervalMillis = queueProperties.getPoll().getMaxIntervalMs();
+        QueueProperties.Heartbeat heartbeat = queueProperties.getHeartbeat();
+        if (heartbeat.isEnabled() && !queueProperties.isWatermark()) {
+            maxIntervalMillis = Math.min(maxIntervalMillis, heartbeat.getStaleAfterMs() * 2 / 3);
+        }
+        return Math.max(maxIntervalMillis, queueProperties.getPoll().getMinIntervalMs());
+    }
+}
@@ -0,0 +1,78 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.store.QueueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 대기 중인 사용자의 생존 신호 수집
+// 상태 조회와 SSE 연결을 신호로 사용하며, 조회 경로에서는 노드 메모리에만 기록하고 (Redis 호출 없음)
+// 주기마다 회차별로 모아 저장소에 한 번에 반영한다 (Redis 저장소는 HSET 한 번)
+@Component
+public class QueueHeartbeats {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueHeartbeats.class);
+
+    // 마지막 반영 이후 신호를 보낸 토큰 (회차 -> 토큰)
+    private final Map<Integer, Set<String>> pending = new ConcurrentHashMap<>();
+
+    private final QueueStore queueStore;
+    private final QueueProperties queueProperties;
+    private final Clock clock;
+
+    public QueueHeartbeats(QueueStore queueStore, QueueProperties queueProperties, Clock clock) {
+        this.queueStore = queueStore;
+        this.queueProperties = queueProperties;
+        this.clock = clock;
+    }
+
+    // 워터마크 방식은 순번으로만 입장시키므로 신호를 모으지 않는다
+    public void record(int scheduleId, String userToken) {
+        if (!isEnabled()) {
+            return;
+        }
+        pending.computeIfAbsent(scheduleId, id -> ConcurrentHashMap.newKeySet()).add(userToken);
+    }
+
+    // 입장 처리 시 이 시각보다 마지막 신호가 오래된 토큰은 이탈로 본다 (0 이면 확인하지 않음)
+    public long staleBeforeMillis() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        return clock.millis() - queueProperties.getHeartbeat().getStaleAfterMs();
+    }
+
+    @Scheduled(fixedDelayString = "${queue.heartbeat.flush-interval-ms:2000}")
+    public void flush() {
+        long now = clock.millis();
+        for (Integer scheduleId : pending.keySet()) {
+            // 꺼낸 뒤 들어온 신호는 새 set 에 쌓여 다음 주기에 반영된다
+            Set<String> userTokens = pending.remove(scheduleId);
+            if (userTokens == null || userTokens.isEmpty()) {
+                continue;
+            }
+            try {
+                queueStore.recordHeartbeats(scheduleId, userTokens, now);
+            } catch (Exception e) {
+                logger.warn("회차 {}의 생존 신호 {}건 기록에 실패했습니다: {}", scheduleId, userTokens.size(), e.getMessage());
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.values().stream()
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    private boolean isEnabled() {
+        return queueProperties.getHeartbeat().isEnabled() && !queueProperties.isWatermark();
+    }
+}
@@ -0,0 +1,159 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.dto.BacklogStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 대기열 단계별 지연, 락 경합, 진입/입장 처리 건수 지표 (/actuator/prometheus 로 수집)
+// 최대 부하에서도 켜 둘 수 있도록 요청 경로의 기록은 할당 없이 한다:
+// 태그 조합마다 미리 만든 지표를 enum 순서로 배열에서 꺼내고 (조회 시 Tags 객체를 만들지 않음),
+// 시간은 System.nanoTime() 차이를 long 으로 넘긴다 (Timer.Sample, 람다 캡처 없음)
+@Component
+public class QueueMetrics {
+
+    // 진입, 상태 조회, 입장 처리의 단계 (그룹 락 방식 진입은 Redis 명령 단위로 나눈다)
+    public enum Stage {
+        ENTER("enter"),          // 진입 스크립트 (중복 확인, 순번 발급, 대기열 추가)
+        INCR("incr"),            // 그룹 락 방식: 순번 INCR
+        LOCK("lock"),            // 그룹 락 방식: 락 획득 (재시도 대기 포함)
+        LLEN("llen"),            // 그룹 락 방식: 그룹 크기 확인
+        RPUSH("rpush"),          // 그룹 락 방식: 그룹에 추가
+        SET_READY("set-ready"),  // 그룹 락 방식: 준비 상태 SET
+        STATUS("status"),        // 상태 조회
+        DRAIN("drain");          // 회차 한 번의 입장 처리
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum EntryResult {
+        IMMEDIATE("immediate"),
+        QUEUED("queued"),
+        POOLED("pooled"),
+        CLOSED("closed"),
+        ERROR("error");
+
+        private final String tag;
+
+        EntryResult(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+    private final Counter[] entryCounters = new Counter[EntryResult.values().length];
+    private final Counter duplicateEntries;
+    private final Counter lockAttempts;
+    private final Counter lockFailures;
+    private final DistributionSummary lockRetries;
+    private final DistributionSummary drainBatch;
+    private final Counter evicted;
+    private final MultiGauge backlogWaiting;
+    private final MultiGauge backlogAdmittedRate;
+
+    public QueueMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("queue.stage")
+                    .description("대기열 단계별 처리 시간")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(50_000))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(registry);
+        }
+        for (EntryResult result : EntryResult.values()) {
+            entryCounters[result.ordinal()] = Counter.builder("queue.entries")
+                    .description("진입 요청 수 (초당 진입 수는 rate 로 계산)")
+                    .tag("result", result.tag)
+                    .register(registry);
+        }
+        this.duplicateEntries = Counter.builder("queue.entries.duplicate")
+                .description("이미 진입한 토큰의 재진입 수")
+                .register(registry);
+        // 그룹 번호는 판매마다 수천 개까지 늘어나므로 태그로 나누지 않는다 (그룹별 실패는 로그에 남는다)
+        this.lockAttempts = Counter.builder("queue.lock.attempts")
+                .description("그룹 락 획득 시도 수")
+                .register(registry);
+        this.lockFailures = Counter.builder("queue.lock.failures")
+                .description("재시도 끝에 그룹 락을 얻지 못한 진입 수")
+                .register(registry);
+        this.lockRetries = DistributionSummary.builder("queue.lock.retries")
+                .description("진입 한 번의 그룹 락 재시도 횟수")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(10.0)
+                .register(registry);
+        this.drainBatch = DistributionSummary.builder("queue.drain.batch")
+                .description("입장 처리 한 번의 입장 인원")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(10_000.0)
+                .register(registry);
+        this.evicted = Counter.builder("queue.drain.evicted")
+                .description("생존 신호가 끊겨 대기열에서 제거된 인원")
+                .register(registry);
+        this.backlogWaiting = MultiGauge.builder("queue.backlog.waiting")
+                .description("회차별 대기 인원")
+                .register(registry);
+        this.backlogAdmittedRate = MultiGauge.builder("queue.backlog.admitted.rate")
+                .description("회차별 입장 처리 속도 (명/초)")
+                .register(registry);
+    }
+
+    // startNanos 는 System.nanoTime() 으로 잰 단계 시작 시각
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEntry(EntryResult result) {
+        entryCounters[result.ordinal()].increment();
+    }
+
+    public void recordDuplicateEntry() {
+        duplicateEntries.increment();
+    }
+
+    public void recordLockAttempt() {
+        lockAttempts.increment();
+    }
+
+    // 진입 한 번의 락 획득 결과 (retries 는 첫 시도를 뺀 재시도 횟수)
+    public void recordLockResult(boolean acquired, int retries) {
+        lockRetries.record(retries);
+        if (!acquired) {
+            lockFailures.increment();
+        }
+    }
+
+    public void recordDrain(int admitted, int evictedCount, long startNanos) {
+        recordStage(Stage.DRAIN, startNanos);
+        drainBatch.record(admitted);
+        if (evictedCount > 0) {
+            evicted.increment(evictedCount);
+        }
+    }
+
+    // 대기 인원은 저장소를 조회해야 하므로 요청 경로가 아니라 주기적으로 갱신한다 (회차가 닫히면 지표에서도 빠진다)
+    public void updateBacklog(BacklogStats stats) {
+        backlogWaiting.register(stats.getEvents().stream()
+                .<MultiGauge.Row<?>>map(event -> MultiGauge.Row.of(eventTags(event.getScheduleId()), event.getWaiting()))
+                .toList(), true);
+        backlogAdmittedRate.register(stats.getEvents().stream()
+                .<MultiGauge.Row<?>>map(event -> MultiGauge.Row.of(eventTags(event.getScheduleId()),
+                        event.getAdmittedPerSecond()))
+                .toList(), true);
+    }
+
+    private static Tags eventTags(int scheduleId) {
+        return Tags.of("scheduleId", String.valueOf(scheduleId));
+    }
+}
@@ -0,0 +1,133 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.NearCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 회차별 입장 여부와 현재 그룹 번호를 노드 로컬에 보관하여 polling 마다 발생하던 Redis 조회를 줄인다
+// 입장 처리와 그룹 전환은 Redis pub/sub 으로 모든 노드에 전파되어 캐시가 즉시 갱신되고,
+// 메시지를 놓치더라도 TTL 이 지나면 Redis 에서 다시 읽는다
+@Component
+public class QueueNearCache implements MessageListener {
+
+    private final Cache<String, Boolean> readiness;
+    private final long currentGroupTtlNanos;
+
+    // 회차 -> 현재 그룹 번호
+    private final Map<Integer, CachedGroup> currentGroups = new ConcurrentHashMap<>();
+    private final LongAdder currentGroupHits = new LongAdder();
+    private final LongAdder currentGroupMisses = new LongAdder();
+
+    public QueueNearCache(QueueProperties queueProperties) {
+        QueueProperties.NearCache nearCache = queueProperties.getNearCache();
+        this.readiness = Caffeine.newBuilder()
+                .maximumSize(nearCache.getMaxEntries())
+                .expireAfterWrite(Duration.ofMillis(nearCache.getReadinessTtlMs()))
+                .recordStats()
+                .build();
+        this.currentGroupTtlNanos = Duration.ofMillis(nearCache.getCurrentGroupTtlMs()).toNanos();
+    }
+
+    // 캐시에 없으면 null
+    public Boolean getReadiness(int scheduleId, String userToken) {
+        return readiness.getIfPresent(readinessKey(scheduleId, userToken));
+    }
+
+    public void putReadiness(int scheduleId, String userToken, boolean ready) {
+        readiness.put(readinessKey(scheduleId, userToken), ready);
+    }
+
+    public void markAdmitted(int scheduleId, List<String> userTokens) {
+        for (String userToken : userTokens) {
+            readiness.put(readinessKey(scheduleId, userToken), Boolean.TRUE);
+        }
+    }
+
+    // TTL 안에 Redis 에서 읽었거나 전파받은 값이 있으면 반환, 없으면 null
+    public Integer getCurrentGroup(int scheduleId) {
+        CachedGroup cachedGroup = currentGroups.get(scheduleId);
+        if (cachedGroup != null && System.nanoTime() - cachedGroup.loadedAt.get() < currentGroupTtlNanos) {
+            currentGroupHits.increment();
+            return cachedGroup.group.get();
+        }
+        currentGroupMisses.increment();
+        return null;
+    }
+
+    // Redis 에서 읽은 값 반영 (그룹 번호는 증가만 하므로 더 큰 값을 유지)
+    public int refreshCurrentGroup(int scheduleId, int group) {
+        CachedGroup cachedGroup = cachedGroup(scheduleId);
+        int updated = cachedGroup.group.accumulateAndGet(group, Math::max);
+        cachedGroup.loadedAt.set(System.nanoTime());
+        return updated;
+    }
+
+    // 이 노드가 더 큰 그룹 번호를 처음 알게 되었으면 true (다른 노드에 전파할 필요가 있음)
+    public boolean advanceCurrentGroup(int scheduleId, int group) {
+        CachedGroup cachedGroup = cachedGroup(scheduleId);
+        int previous = cachedGroup.group.getAndAccumulate(group, Math::max);
+        cachedGroup.loadedAt.set(System.nanoTime());
+        return group > previous;
+    }
+
+    // 판매를 다시 열면 그룹 번호가 1부터 다시 시작하므로 증가만 하던 캐시를 버린다
+    public void forgetCurrentGroup(int scheduleId) {
+        currentGroups.remove(scheduleId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int scheduleId = AdmissionPublisher.scheduleIdOf(body);
+        String payload = AdmissionPublisher.payloadOf(body);
+
+        if (AdmissionPublisher.CURRENT_GROUP_CHANNEL.equals(channel)) {
+            advanceCurrentGroup(scheduleId, Integer.parseInt(payload));
+        } else if (AdmissionPublisher.ADMISSION_CHANNEL.equals(channel)) {
+            markAdmitted(scheduleId, List.of(payload.split(AdmissionPublisher.TOKEN_DELIMITER)));
+        }
+    }
+
+    private CachedGroup cachedGroup(int scheduleId) {
+        return currentGroups.computeIfAbsent(scheduleId, id -> new CachedGroup(System.nanoTime() - currentGroupTtlNanos));
+    }
+
+    private static String readinessKey(int scheduleId, String userToken) {
+        return scheduleId + ":" + userToken;
+    }
+
+    public NearCacheStats stats() {
+        CacheStats readinessStats = readiness.stats();
+        return new NearCacheStats(
+                readinessStats.hitCount(),
+                readinessStats.missCount(),
+                readinessStats.hitRate(),
+                readiness.estimatedSize(),
+                currentGroupHits.sum(),
+                currentGroupMisses.sum());
+    }
+
+    private static class CachedGroup {
+        private final AtomicInteger group = new AtomicInteger(1);
+        private final AtomicLong loadedAt;
+
+        private CachedGroup(long loadedAt) {
+            this.loadedAt = new AtomicLong(loadedAt);
+        }
+    }
+}
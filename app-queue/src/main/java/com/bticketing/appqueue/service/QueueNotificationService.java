@@ -0,0 +1,153 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.QueueStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 대기 중인 사용자에게 입장 알림을 SSE 로 전달 (polling 대체)
+// SseEmitter 는 비동기 요청으로 처리되므로 연결당 스레드를 점유하지 않는다
+@Service
+public class QueueNotificationService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueNotificationService.class);
+
+    private static final String ADMITTED_EVENT = "admitted";
+    private static final String POSITION_EVENT = "position";
+
+    // 이 노드에 연결된 구독자만 보관 (회차 -> 토큰 -> emitter)
+    private final Map<Integer, Map<String, SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    private final QueueService queueService;
+    private final QueueProperties queueProperties;
+    private final QueueHeartbeats queueHeartbeats;
+
+    public QueueNotificationService(QueueService queueService, QueueProperties queueProperties,
+                                    QueueHeartbeats queueHeartbeats) {
+        this.queueService = queueService;
+        this.queueProperties = queueProperties;
+        this.queueHeartbeats = queueHeartbeats;
+    }
+
+    public SseEmitter subscribe(int scheduleId, String userToken) {
+        Map<String, SseEmitter> eventEmitters = emitters.computeIfAbsent(scheduleId, id -> new ConcurrentHashMap<>());
+        SseEmitter emitter = new SseEmitter(queueProperties.getPush().getEmitterTimeoutMs());
+        SseEmitter previous = eventEmitters.put(userToken, emitter);
+        if (previous != null) {
+            previous.complete();
+        }
+
+        emitter.onCompletion(() -> eventEmitters.remove(userToken, emitter));
+        emitter.onTimeout(() -> eventEmitters.remove(userToken, emitter));
+        emitter.onError(e -> eventEmitters.remove(userToken, emitter));
+
+        // 구독 등록 이후에 상태를 확인해야 그 사이에 발생한 입장 알림을 놓치지 않는다
+        QueueStatus status = queueService.getQueueStatus(scheduleId, userToken);
+        if (QueueStatus.REDIRECT_URL.equals(status.getStatus())) {
+            notifyAdmitted(scheduleId, userToken);
+        } else {
+            send(eventEmitters, userToken, emitter, POSITION_EVENT, status);
+        }
+        return emitter;
+    }
+
+    // 다른 노드를 포함한 모든 노드의 입장 처리 결과 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int scheduleId = AdmissionPublisher.scheduleIdOf(body);
+        String payload = AdmissionPublisher.payloadOf(body);
+
+        if (AdmissionPublisher.WATERMARK_CHANNEL.equals(channel)) {
+            onWatermarkAdvanced(scheduleId, Long.parseLong(payload));
+            return;
+        }
+        for (String userToken : payload.split(AdmissionPublisher.TOKEN_DELIMITER)) {
+            notifyAdmitted(scheduleId, userToken);
+        }
+    }
+
+    // 워터마크 방식: 로컬 워터마크를 갱신하고 순번이 워터마크 이하인 구독자에게 알림 (Redis 조회 없음)
+    private void onWatermarkAdvanced(int scheduleId, long watermark) {
+        queueService.updateAdmittedWatermark(scheduleId, watermark);
+        for (String userToken : emitters.getOrDefault(scheduleId, Map.of()).keySet()) {
+            if (queueService.isUserReadyToRedirect(scheduleId, userToken)) {
+                notifyAdmitted(scheduleId, userToken);
+            }
+        }
+    }
+
+    // 입장 알림은 한 번만 보내고 연결을 종료한다
+    private void notifyAdmitted(int scheduleId, String userToken) {
+        Map<String, SseEmitter> eventEmitters = emitters.get(scheduleId);
+        SseEmitter emitter = eventEmitters != null ? eventEmitters.remove(userToken) : null;
+        if (emitter == null) {
+            return;
+        }
+        send(eventEmitters, userToken, emitter, ADMITTED_EVENT, QueueStatus.ready());
+        emitter.complete();
+    }
+
+    // 주기적으로 대기 순서 전송 (상태 조회 지표와 생존 신호는 남기지 않는다, 생존 신호는 recordSubscriberHeartbeats 가 기록)
+    // 워터마크 방식은 토큰만으로 순서를 계산하고, sorted set 방식은 회차마다 한 번의 파이프라인으로 순위를 조회한다
+    // sharded 방식은 샤드별 도착 시각으로 순위를 계산한다
+    @Scheduled(fixedDelayString = "${queue.push.position-interval-ms:10000}")
+    public void pushPositions() {
+        if (!queueProperties.getPush().isPositionUpdates() || !queueProperties.hasWaitingRanks()) {
+            return;
+        }
+        emitters.forEach((scheduleId, eventEmitters) -> {
+            if (!eventEmitters.isEmpty()) {
+                pushPositions(scheduleId, eventEmitters);
+            }
+        });
+    }
+
+    private void pushPositions(int scheduleId, Map<String, SseEmitter> eventEmitters) {
+        List<String> userTokens = new ArrayList<>(eventEmitters.keySet());
+        List<Long> ranks = queueService.getWaitingRanks(scheduleId, userTokens);
+        for (int i = 0; i < userTokens.size(); i++) {
+            SseEmitter emitter = eventEmitters.get(userTokens.get(i));
+            if (emitter != null && ranks.get(i) != null) {
+                send(eventEmitters, userTokens.get(i), emitter, POSITION_EVENT,
+                        queueService.waitingStatus(scheduleId, ranks.get(i)));
+            }
+        }
+    }
+
+    // SSE 연결이 열려 있는 구독자는 상태 조회 없이도 대기 중인 것으로 본다 (노드 메모리에만 기록)
+    @Scheduled(fixedDelayString = "${queue.heartbeat.flush-interval-ms:2000}")
+    public void recordSubscriberHeartbeats() {
+        emitters.forEach((scheduleId, eventEmitters) ->
+                eventEmitters.keySet().forEach(userToken -> queueHeartbeats.record(scheduleId, userToken)));
+    }
+
+    public int getSubscriberCount() {
+        return emitters.values().stream()
+                .mapToInt(Map::size)
+                .sum();
+    }
+
+    private void send(Map<String, SseEmitter> eventEmitters, String userToken, SseEmitter emitter,
+                      String eventName, QueueStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(status));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("사용자 {}에게 {} 이벤트 전송에 실패했습니다: {}", userToken, eventName, e.getMessage());
+            eventEmitters.remove(userToken, emitter);
+        }
+    }
+}
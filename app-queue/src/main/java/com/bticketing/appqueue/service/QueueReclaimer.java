@@ -0,0 +1,63 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.ReclaimStep;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import com.bticketing.appqueue.store.QueueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 판매가 끝난 회차의 키를 주기마다 batch-size 개씩 회수 (남은 그룹 리스트, 토큰별 준비 상태 키, 회차 상태 키)
+// 대기 인원이 많은 회차를 한 번에 지우면 Redis 가 그동안 다른 요청을 처리하지 못하므로 나누어 지우고, 메모리 해제는 UNLINK 로 넘긴다
+// 노드가 여러 대면 입장 처리와 같은 회차 리스를 가진 노드 하나만 회수한다
+@Component
+@ConditionalOnProperty(prefix = "queue.reclaim", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueueReclaimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueReclaimer.class);
+
+    private final QueueStore queueStore;
+    private final DrainLeases drainLeases;
+    private final int batchSize;
+
+    public QueueReclaimer(QueueStore queueStore, DrainLeases drainLeases, QueueProperties queueProperties) {
+        this.queueStore = queueStore;
+        this.drainLeases = drainLeases;
+        this.batchSize = queueProperties.getReclaim().getBatchSize();
+    }
+
+    @Scheduled(fixedDelayString = "${queue.reclaim.interval-ms:5000}")
+    public void reclaim() {
+        try {
+            for (int scheduleId : queueStore.getClosedEvents()) {
+                reclaim(scheduleId);
+            }
+        } catch (Exception e) {
+            logger.error("회차 키 회수 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    private void reclaim(int scheduleId) {
+        long fencingToken = drainLeases.acquire(scheduleId);
+        if (fencingToken == 0) {
+            return;
+        }
+        try {
+            ReclaimStep step = queueStore.reclaim(scheduleId, batchSize, fencingToken);
+            if (step.isDone()) {
+                // 회수 마지막 단계에서 리스도 함께 지웠다
+                drainLeases.revoke(scheduleId, fencingToken);
+                logger.info("회차 {}의 키 회수를 마쳤습니다. (마지막 단계에서 {}개 삭제)", scheduleId, step.getReclaimedKeys());
+            } else {
+                logger.debug("회차 {}의 키 {}개를 회수했습니다.", scheduleId, step.getReclaimedKeys());
+            }
+        } catch (StaleFencingTokenException e) {
+            drainLeases.revoke(scheduleId, fencingToken);
+        } catch (Exception e) {
+            logger.error("회차 {} 키 회수 중 오류가 발생했습니다.", scheduleId, e);
+        }
+    }
+}
@@ -1,117 +1,549 @@
 package com.bticketing.appqueue.service;
 
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.BacklogStats;
+import com.bticketing.appqueue.dto.EntryStats;
+import com.bticketing.appqueue.dto.EventBacklog;
+import com.bticketing.appqueue.dto.EvictionStats;
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.dto.NearCacheStats;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.dto.QueueStatus;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
 import com.bticketing.appqueue.repository.QueueRepository;
+import com.bticketing.appqueue.repository.WatermarkRepository;
+import com.bticketing.appqueue.store.QueueStore;
+import com.bticketing.appqueue.util.QueueKeys;
+import com.bticketing.appqueue.util.QueueTokenSigner;
 import com.bticketing.appqueue.util.TokenUtil;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+// 공연 회차(scheduleId)별로 분리된 대기열 (회차마다 카운터, 그룹, 입장 상태를 따로 둔다)
+// 저장 구조는 QueueStore 가 맡고, 이 서비스는 입장 인원, TTL, 캐시, 알림 같은 정책을 맡는다
 @Service
 public class QueueService {
 
     private static final Logger logger = LoggerFactory.getLogger(QueueService.class);
 
-    private static final String QUEUE_KEY = "userQueue";
-    private static final String GROUP_KEY_PREFIX = "group-";
-    private static final String USER_READY_KEY_PREFIX = "userReady-";
-    private static final String CURRENT_GROUP_KEY = "currentGroup";
-
     private static final int MAX_QUEUE_SIZE = 1000;
     private static final int GROUP_SIZE = 120;
-    private final AtomicInteger cachedCurrentGroup = new AtomicInteger(1);
+    private static final Duration USER_READY_TTL = Duration.ofMinutes(10);
+    private static final long MIN_WATERMARK = MAX_QUEUE_SIZE - 1; // 순번 1~999 는 즉시 입장
+
+    // 회차별 노드 로컬 워터마크
+    private final Map<Integer, AtomicLong> cachedWatermarks = new ConcurrentHashMap<>();
+    // 회차별 노드 로컬 판매 회차 번호 (워터마크 토큰 검증용)
+    private final Map<Integer, AtomicLong> cachedEpochs = new ConcurrentHashMap<>();
+    // 이 노드가 입장 처리 대상 목록에 등록한 회차 (회차당 한 번만 SADD 한다)
+    private final Set<Integer> registeredEvents = ConcurrentHashMap.newKeySet();
+    // 판매를 닫은 회차 (등록할 때 한 번 확인하고, 이후에는 판매 시작/종료 알림으로 갱신)
+    private final Set<Integer> closedEvents = ConcurrentHashMap.newKeySet();
+    // 진입 요청 수와 그중 중복 진입 수 (노드 로컬)
+    private final LongAdder entryCount = new LongAdder();
+    private final LongAdder duplicateEntryCount = new LongAdder();
+    // 대기열에서 입장 처리한 인원과 생존 신호가 끊겨 제거한 인원 (노드 로컬)
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
 
+    private final QueueStore queueStore;
+    // 그룹 락 방식 진입(비교용)에서만 사용
     private final QueueRepository queueRepository;
+    private final WatermarkRepository watermarkRepository;
+    private final QueueTokenSigner queueTokenSigner;
+    private final QueueProperties queueProperties;
+    private final AdmissionPublisher admissionPublisher;
+    private final QueueNearCache queueNearCache;
+    private final QueueHeartbeats queueHeartbeats;
+    private final DrainLeases drainLeases;
+    private final WaitTimeEstimator waitTimeEstimator;
+    private final LotteryGate lotteryGate;
+    private final QueueMetrics queueMetrics;
+    private final Clock clock;
 
-    public QueueService(QueueRepository queueRepository) {
+    public QueueService(QueueStore queueStore,
+                        QueueRepository queueRepository,
+                        WatermarkRepository watermarkRepository,
+                        QueueTokenSigner queueTokenSigner,
+                        QueueProperties queueProperties,
+                        AdmissionPublisher admissionPublisher,
+                        QueueNearCache queueNearCache,
+                        QueueHeartbeats queueHeartbeats,
+                        DrainLeases drainLeases,
+                        WaitTimeEstimator waitTimeEstimator,
+                        LotteryGate lotteryGate,
+                        QueueMetrics queueMetrics,
+                        Clock clock) {
+        this.queueStore = queueStore;
         this.queueRepository = queueRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.queueTokenSigner = queueTokenSigner;
+        this.queueProperties = queueProperties;
+        this.admissionPublisher = admissionPublisher;
+        this.queueNearCache = queueNearCache;
+        this.queueHeartbeats = queueHeartbeats;
+        this.drainLeases = drainLeases;
+        this.waitTimeEstimator = waitTimeEstimator;
+        this.lotteryGate = lotteryGate;
+        this.queueMetrics = queueMetrics;
+        this.clock = clock;
+        // 워터마크 방식은 사용자별 키가 없어 입장 세션을 추적할 수 없다 (워터마크는 수용 여력 신호로만 올린다)
+        if (queueProperties.isWatermark() && queueProperties.getAdmission().getMaxActiveSessions() > 0) {
+            logger.warn("{} 백엔드는 입장 세션 수 제한을 지원하지 않아 max-active-sessions 설정을 무시합니다.",
+                    queueProperties.getBackend());
+        }
     }
 
-    // 현재 그룹 조회
-    protected int getCurrentGroup() {
-        int currentGroup = cachedCurrentGroup.get();
-        Integer redisGroup = (Integer) queueRepository.getValue(CURRENT_GROUP_KEY);
-        if (redisGroup != null && redisGroup > currentGroup) {
-            cachedCurrentGroup.set(redisGroup);
-            return redisGroup;
+    // 현재 그룹 조회 (로컬 캐시가 유효하면 Redis 를 조회하지 않는다)
+    protected int getCurrentGroup(int scheduleId) {
+        Integer cachedGroup = queueNearCache.getCurrentGroup(scheduleId);
+        if (cachedGroup != null) {
+            return cachedGroup;
         }
-        return currentGroup;
+        Integer redisGroup = (Integer) queueRepository.getValue(QueueKeys.of(scheduleId).currentGroup());
+        return queueNearCache.refreshCurrentGroup(scheduleId, redisGroup != null ? redisGroup : 1);
     }
 
     // 현재 그룹 업데이트
-    protected void updateCurrentGroup(int newGroup) {
+    protected void updateCurrentGroup(int scheduleId, int newGroup) {
         try {
-            queueRepository.setValue(CURRENT_GROUP_KEY, newGroup);
-            cachedCurrentGroup.set(newGroup);
-            logger.info("현재 그룹 번호가 {}로 업데이트 되었습니다.", newGroup);
+            queueRepository.setValue(QueueKeys.of(scheduleId).currentGroup(), newGroup);
+            onCurrentGroupObserved(scheduleId, newGroup);
+            logger.info("회차 {}의 현재 그룹 번호가 {}로 업데이트 되었습니다.", scheduleId, newGroup);
         } catch (Exception e) {
-            logger.error("현재 그룹 번호 업데이트 실패", e);
+            logger.error("회차 {}의 현재 그룹 번호 업데이트 실패", scheduleId, e);
+        }
+    }
+
+    // 사용자 진입 처리 (Redis 저장소는 Lua 스크립트로 중복 확인과 순번 발급부터 그룹 전환까지 한 번의 호출로 처리)
+    // 이미 진입한 토큰으로 다시 요청하면 새로 줄을 세우지 않고 기존 순서를 그대로 사용한다
+    public String handleUserEntry(int scheduleId, String userToken) {
+        if (userToken == null || userToken.isBlank()) {
+            userToken = TokenUtil.generateUserToken();
+        }
+        if (!registerEvent(scheduleId)) {
+            return closedResponse();
+        }
+
+        // 추첨 방식 회차는 추첨 전까지 순번 없이 추첨 대상에만 넣는다 (추첨 전에 떠난 사용자는 입장 처리 시 생존 신호로 걸러진다)
+        if (lotteryGate.isPooling(scheduleId) && lotteryGate.enterPool(scheduleId, userToken)) {
+            return pooledResponse(scheduleId, userToken);
+        }
+
+        long start = System.nanoTime();
+        QueueEntry entry;
+        try {
+            entry = enterQueue(scheduleId, userToken);
+        } catch (RuntimeException e) {
+            queueMetrics.recordEntry(QueueMetrics.EntryResult.ERROR);
+            throw e;
+        }
+        queueMetrics.recordStage(QueueMetrics.Stage.ENTER, start);
+        if (entry.isImmediate() && !entry.isDuplicate()) {
+            registerSessions(scheduleId, List.of(entry.getUserToken()));
+        }
+        return entryResponse(scheduleId, entry);
+    }
+
+    // 논블로킹 진입 (reactive 프로필): 저장소 응답을 기다리는 동안 요청 스레드를 붙잡지 않는다
+    // 회차 등록 확인(노드마다 회차당 한 번), 추첨 대상 등록, 워터마크 순번 발급, 즉시 입장 세션 등록처럼
+    // 논블로킹 경로가 없는 호출만 boundedElastic 스케줄러에서 처리한다
+    public Mono<String> handleUserEntryReactive(int scheduleId, String userToken) {
+        String token = userToken == null || userToken.isBlank() ? TokenUtil.generateUserToken() : userToken;
+        return registerEventReactive(scheduleId).flatMap(open -> {
+            if (!open) {
+                return Mono.just(closedResponse());
+            }
+            if (!lotteryGate.isPooling(scheduleId)) {
+                return enterQueueReactive(scheduleId, token);
+            }
+            return blocking(() -> lotteryGate.enterPool(scheduleId, token))
+                    .flatMap(pooled -> pooled
+                            ? Mono.just(pooledResponse(scheduleId, token))
+                            : enterQueueReactive(scheduleId, token));
+        });
+    }
+
+    private Mono<String> enterQueueReactive(int scheduleId, String userToken) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<QueueEntry> entry = queueProperties.isWatermark()
+                    ? blocking(() -> enterWatermarkQueue(scheduleId, userToken))
+                    : queueStore.enterReactive(scheduleId, userToken, MAX_QUEUE_SIZE, GROUP_SIZE, USER_READY_TTL)
+                            .doOnNext(entered -> onEnteredGroupReactive(scheduleId, entered));
+            return entry
+                    .doOnError(e -> queueMetrics.recordEntry(QueueMetrics.EntryResult.ERROR))
+                    .doOnNext(entered -> queueMetrics.recordStage(QueueMetrics.Stage.ENTER, start))
+                    .flatMap(entered -> entered.isImmediate() && !entered.isDuplicate()
+                            ? blocking(() -> {
+                                registerSessions(scheduleId, List.of(entered.getUserToken()));
+                                return entered;
+                            })
+                            : Mono.just(entered))
+                    .map(entered -> entryResponse(scheduleId, entered));
+        });
+    }
+
+    // 그룹 전환 알림은 응답을 기다리지 않고 boundedElastic 스케줄러에서 발행한다
+    private void onEnteredGroupReactive(int scheduleId, QueueEntry entry) {
+        if (!entry.isImmediate() && !entry.isDuplicate() && entry.getGroup() > 0
+                && queueNearCache.advanceCurrentGroup(scheduleId, entry.getGroup())) {
+            Schedulers.boundedElastic().schedule(() -> admissionPublisher.publishCurrentGroup(scheduleId, entry.getGroup()));
+        }
+    }
+
+    private Mono<Boolean> registerEventReactive(int scheduleId) {
+        if (registeredEvents.contains(scheduleId)) {
+            return Mono.just(!closedEvents.contains(scheduleId));
+        }
+        return blocking(() -> registerEvent(scheduleId));
+    }
+
+    // 논블로킹 경로가 없는 저장소 호출은 이벤트 루프를 막지 않도록 boundedElastic 스케줄러로 넘긴다
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private String closedResponse() {
+        queueMetrics.recordEntry(QueueMetrics.EntryResult.CLOSED);
+        return "saleClosed";
+    }
+
+    private String pooledResponse(int scheduleId, String userToken) {
+        entryCount.increment();
+        queueMetrics.recordEntry(QueueMetrics.EntryResult.POOLED);
+        queueHeartbeats.record(scheduleId, userToken);
+        return "addedToPool?userToken=" + userToken;
+    }
+
+    // 진입 결과에 따른 응답 (즉시 입장 세션 등록은 호출한 쪽이 먼저 한다)
+    private String entryResponse(int scheduleId, QueueEntry entry) {
+        entryCount.increment();
+        if (entry.isDuplicate()) {
+            duplicateEntryCount.increment();
+            queueMetrics.recordDuplicateEntry();
+        }
+        if (entry.isImmediate()) {
+            queueNearCache.putReadiness(scheduleId, entry.getUserToken(), true);
+            queueMetrics.recordEntry(QueueMetrics.EntryResult.IMMEDIATE);
+            return "/seats/sections";
+        }
+        queueHeartbeats.record(scheduleId, entry.getUserToken());
+        queueMetrics.recordEntry(QueueMetrics.EntryResult.QUEUED);
+        return "addedToQueue?userToken=" + entry.getUserToken();
+    }
+
+    // 회차를 입장 처리 대상 목록에 등록 (노드마다 회차당 한 번만 저장소를 호출한다)
+    // 판매를 닫은 회차면 등록하지 않고 false (닫힌 뒤의 진입이 회수 중인 키를 다시 만들지 않도록)
+    private boolean registerEvent(int scheduleId) {
+        if (registeredEvents.add(scheduleId)) {
+            if (queueStore.isClosed(scheduleId)) {
+                closedEvents.add(scheduleId);
+            } else {
+                queueStore.registerEvent(scheduleId);
+            }
         }
+        return !closedEvents.contains(scheduleId);
     }
 
-    // 사용자 진입 처리
-    public String handleUserEntry(String userToken) {
+    // 판매를 다시 열면 이전 판매의 노드 로컬 상태를 버린다 (워터마크는 증가만 하므로 초기화된 카운터보다 앞서 있다)
+    // 판매 회차 번호도 버려 다음 토큰 검증 때 올라간 값을 다시 읽는다
+    public void onSaleOpened(int scheduleId) {
+        cachedWatermarks.remove(scheduleId);
+        cachedEpochs.remove(scheduleId);
+        closedEvents.remove(scheduleId);
+        registeredEvents.remove(scheduleId);
+    }
+
+    public void onSaleClosed(int scheduleId) {
+        closedEvents.add(scheduleId);
+    }
+
+    // 입장 처리 대상 회차 목록
+    public Set<Integer> getActiveEvents() {
+        return queueStore.getActiveEvents();
+    }
+
+    // 이 노드가 새 그룹 번호를 처음 알게 되면 다른 노드의 캐시에도 전파
+    private void onCurrentGroupObserved(int scheduleId, int group) {
+        if (queueNearCache.advanceCurrentGroup(scheduleId, group)) {
+            admissionPublisher.publishCurrentGroup(scheduleId, group);
+        }
+    }
+
+    private QueueEntry enterQueue(int scheduleId, String userToken) {
+        if (queueProperties.isWatermark()) {
+            return enterWatermarkQueue(scheduleId, userToken);
+        }
+        QueueEntry entry = queueStore.enter(scheduleId, userToken, MAX_QUEUE_SIZE, GROUP_SIZE, USER_READY_TTL);
+        // 그룹 리스트 방식만 그룹 번호를 배정한다
+        if (!entry.isImmediate() && !entry.isDuplicate() && entry.getGroup() > 0) {
+            onCurrentGroupObserved(scheduleId, entry.getGroup());
+        }
+        return entry;
+    }
+
+    // 워터마크 방식 진입: 순번 하나만 발급하고 순번을 서명 토큰에 담는다 (INCR 1회, 사용자별 키 없음)
+    // 이미 유효한 토큰을 가진 사용자는 순번을 새로 발급하지 않고 기존 순번을 유지한다 (토큰 자체로 중복 확인)
+    private QueueEntry enterWatermarkQueue(int scheduleId, String userToken) {
+        long sequence = verifyWatermarkToken(scheduleId, userToken);
+        boolean duplicate = sequence >= 0;
+        if (!duplicate) {
+            QueueKeys keys = QueueKeys.of(scheduleId);
+            List<Long> issued = watermarkRepository.nextSequence(keys.size(), keys.saleEpoch());
+            sequence = issued.get(0);
+            long epoch = issued.get(1);
+            updateSaleEpoch(scheduleId, epoch);
+            userToken = queueTokenSigner.sign(scheduleId, epoch, sequence);
+        }
+
+        long watermark = getCachedWatermark(scheduleId);
+        if (sequence <= watermark) {
+            return QueueEntry.immediate(userToken, sequence, duplicate);
+        }
+        return new QueueEntry(userToken, sequence, 0, sequence - watermark, false, duplicate);
+    }
+
+    // 사용자 진입 처리 (그룹 락 기반 기존 방식, 부하 테스트 비교용으로 유지)
+    // 어느 명령에서 시간이 걸리는지 비교할 수 있도록 Redis 명령마다 단계 시간을 기록한다
+    public String handleUserEntryWithLock(int scheduleId, String userToken) {
         if (userToken == null || userToken.isBlank()) {
             userToken = TokenUtil.generateUserToken();
         }
+        if (!registerEvent(scheduleId)) {
+            queueMetrics.recordEntry(QueueMetrics.EntryResult.CLOSED);
+            return "saleClosed";
+        }
+        QueueKeys keys = QueueKeys.of(scheduleId);
 
-        Long queueSize = queueRepository.incrementValue(QUEUE_KEY + "-size");
+        long start = System.nanoTime();
+        Long queueSize = queueRepository.incrementValue(keys.size());
+        queueMetrics.recordStage(QueueMetrics.Stage.INCR, start);
         if (queueSize != null && queueSize < MAX_QUEUE_SIZE) {
-            queueRepository.setValueWithTTL(USER_READY_KEY_PREFIX + userToken, true, Duration.ofMinutes(10));
+            start = System.nanoTime();
+            queueRepository.setValueWithTTL(keys.readyPrefix() + userToken, true, Duration.ofMinutes(10));
+            queueMetrics.recordStage(QueueMetrics.Stage.SET_READY, start);
+            queueMetrics.recordEntry(QueueMetrics.EntryResult.IMMEDIATE);
             return "/seats/sections";
         }
 
-        int currentGroup = getCurrentGroup();
-        if (!acquireLockWithSharding("lock:group", currentGroup, Duration.ofSeconds(5))) {
-            logger.warn("그룹 {}에 사용자 추가를 위한 락 획득에 실패했습니다.", currentGroup);
+        int currentGroup = getCurrentGroup(scheduleId);
+        start = System.nanoTime();
+        boolean locked = acquireLockWithSharding(keys.groupLockPrefix(), currentGroup, Duration.ofSeconds(5));
+        queueMetrics.recordStage(QueueMetrics.Stage.LOCK, start);
+        if (!locked) {
+            logger.warn("회차 {} 그룹 {}에 사용자 추가를 위한 락 획득에 실패했습니다.", scheduleId, currentGroup);
+            queueMetrics.recordEntry(QueueMetrics.EntryResult.ERROR);
             return "error";
         }
 
         try {
-            String groupKey = GROUP_KEY_PREFIX + currentGroup;
-            if (queueRepository.getListLength(groupKey) >= GROUP_SIZE) {
-                updateCurrentGroup(currentGroup + 1);
-                groupKey = GROUP_KEY_PREFIX + (currentGroup + 1);
+            String groupKey = keys.groupPrefix() + currentGroup;
+            start = System.nanoTime();
+            long groupLength = queueRepository.getListLength(groupKey);
+            queueMetrics.recordStage(QueueMetrics.Stage.LLEN, start);
+            if (groupLength >= GROUP_SIZE) {
+                updateCurrentGroup(scheduleId, currentGroup + 1);
+                groupKey = keys.groupPrefix() + (currentGroup + 1);
             }
 
+            start = System.nanoTime();
             queueRepository.pushToList(groupKey, userToken);
-            queueRepository.setValueWithTTL(USER_READY_KEY_PREFIX + userToken, true, Duration.ofMinutes(10));
+            queueMetrics.recordStage(QueueMetrics.Stage.RPUSH, start);
             logger.info("사용자 {}가 {} 그룹에 추가되었습니다.", userToken, groupKey);
         } finally {
-            queueRepository.releaseLock("lock:group-" + currentGroup);
+            queueRepository.releaseLock(keys.groupLockPrefix() + "-" + currentGroup);
         }
 
+        queueMetrics.recordEntry(QueueMetrics.EntryResult.QUEUED);
         return "addedToQueue?userToken=" + userToken;
     }
 
-    // 대기열 그룹 처리
-    public void processQueueGroup() {
-        int currentGroup = getCurrentGroup();
-        String lockKey = "lock:processQueueGroup-" + currentGroup;
+    // 대기열 그룹 처리 (한 그룹 분량을 입장 처리)
+    public void processQueueGroup(int scheduleId) {
+        processQueueGroup(scheduleId, GROUP_SIZE);
+    }
+
+    // 리스 확인 없이 입장 처리 (단일 노드, 수동 실행용)
+    public int processQueueGroup(int scheduleId, int batchSize) {
+        return processQueueGroup(scheduleId, batchSize, 0L);
+    }
+
+    // 회차 대기열 앞에서부터 최대 batchSize 명을 입장 처리하고 실제 입장 인원을 반환
+    // 입장 세션 상한이 있으면 결제 완료, 세션 만료로 비어 있는 자리만큼만 입장시킨다
+    // fencingToken 이 현재 리스의 토큰과 다르면 (리스를 잃은 노드) 저장소가 거부하고 StaleFencingTokenException
+    public int processQueueGroup(int scheduleId, int batchSize, long fencingToken) {
+        if (queueProperties.isWatermark()) {
+            return advanceWatermark(scheduleId, batchSize, fencingToken);
+        }
+        int admissible = admissibleSessions(scheduleId, batchSize);
+        if (admissible == 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+
+        // 생존 신호가 끊긴 토큰은 저장소가 제거하고 다음 사용자로 자리를 채운다
+        QueueDrain drain = queueStore.drain(scheduleId, admissible, USER_READY_TTL, queueHeartbeats.staleBeforeMillis(),
+                fencingToken);
+        List<String> userTokens = drain.getUserTokens();
+        queueMetrics.recordDrain(userTokens.size(), drain.getEvicted(), start);
+        admittedCount.add(userTokens.size());
+        evictedCount.add(drain.getEvicted());
+        if (!userTokens.isEmpty() || drain.getEvicted() > 0) {
+            logger.info("회차 {} 대기열에서 {}명이 입장 처리되고 {}명이 제거되었습니다.",
+                    scheduleId, userTokens.size(), drain.getEvicted());
+        }
+        registerSessions(scheduleId, userTokens);
+        admissionPublisher.publishAdmitted(scheduleId, userTokens);
+        return userTokens.size();
+    }
 
-        if (!acquireLockWithSharding(lockKey, currentGroup, Duration.ofSeconds(5))) {
-            logger.warn("그룹 {}의 대기열 처리를 위한 락 획득에 실패했습니다.", currentGroup);
+    // 판매 시작 시각이 지난 추첨 방식 회차의 추첨 대상에게 무작위 순번을 배정하고 배정 인원을 반환 (리스 보유 노드가 호출)
+    // 저장소 호출 한 번은 draw-batch-size 명까지만 배정하므로 추첨이 끝날 때까지 이어서 호출한다
+    // 호출 사이에 다른 요청이 처리되고, 도중에 실패하면 다음 주기에 남은 위치부터 이어간다 (seed 는 첫 호출의 값을 유지)
+    // 즉시 입장 범위에 든 사용자는 진입과 같이 세션 등록과 입장 알림을 한다
+    public int drawLotteryIfDue(int scheduleId, long fencingToken) {
+        if (!lotteryGate.isDrawDue(scheduleId, clock.millis())) {
+            return 0;
+        }
+        int batchSize = queueProperties.getLottery().getDrawBatchSize();
+        long seed = lotteryGate.newSeed();
+        int drawn = 0;
+        int immediate = 0;
+        LotteryDraw draw;
+        do {
+            draw = queueStore.drawLottery(scheduleId, seed, MAX_QUEUE_SIZE, GROUP_SIZE, USER_READY_TTL, batchSize,
+                    fencingToken);
+            List<String> immediateTokens = draw.getImmediateTokens();
+            registerSessions(scheduleId, immediateTokens);
+            admissionPublisher.publishAdmitted(scheduleId, immediateTokens);
+            drawn += draw.getDrawn();
+            immediate += immediateTokens.size();
+        } while (!draw.isComplete());
+        lotteryGate.markDrawn(scheduleId);
+        logger.info("회차 {} 추첨으로 {}명에게 순번을 배정했습니다. (즉시 입장: {}명)", scheduleId, drawn, immediate);
+        return drawn;
+    }
+
+    // 입장 세션 상한까지 남은 자리 수 (상한이 없으면 batchSize 그대로)
+    private int admissibleSessions(int scheduleId, int batchSize) {
+        int maxActiveSessions = queueProperties.getAdmission().getMaxActiveSessions();
+        if (maxActiveSessions <= 0) {
+            return batchSize;
+        }
+        int available = queueStore.availableSessions(scheduleId, maxActiveSessions, clock.millis());
+        return Math.min(batchSize, available);
+    }
+
+    // 입장 처리된 사용자를 세션으로 등록 (준비 상태와 같은 TTL 이 지나면 자리를 돌려받는다)
+    private void registerSessions(int scheduleId, List<String> userTokens) {
+        if (queueProperties.isWatermark() || queueProperties.getAdmission().getMaxActiveSessions() <= 0
+                || userTokens.isEmpty()) {
             return;
         }
+        queueStore.registerSessions(scheduleId, userTokens, clock.millis() + USER_READY_TTL.toMillis());
+    }
 
-        try {
-            String groupKey = GROUP_KEY_PREFIX + currentGroup;
-            List<String> userTokens = queueRepository.popMultipleFromList(groupKey, GROUP_SIZE);
-            if (userTokens.isEmpty()) {
-                logger.warn("그룹 {}에서 사용자 토큰을 찾을 수 없습니다.", currentGroup);
-                return;
+    // 결제 완료나 이탈로 끝난 세션의 자리를 바로 다음 대기자에게 넘긴다
+    public boolean releaseSession(int scheduleId, String userToken) {
+        if (queueProperties.isWatermark() || queueProperties.getAdmission().getMaxActiveSessions() <= 0) {
+            return false;
+        }
+        if (!queueStore.releaseSession(scheduleId, userToken)) {
+            return false;
+        }
+        // 이 노드의 캐시도 바로 내리고, 다른 노드의 캐시는 TTL 이 지나면 Redis 에서 다시 읽는다
+        queueNearCache.putReadiness(scheduleId, userToken, false);
+        logger.debug("회차 {} 사용자 {}의 입장 세션이 종료되었습니다.", scheduleId, userToken);
+        // 이 노드가 회차의 입장 처리 리스를 가지고 있을 때만 바로 채우고, 아니면 리스 보유 노드의 다음 주기에 채운다
+        long fencingToken = drainLeases.heldToken(scheduleId);
+        if (fencingToken > 0) {
+            try {
+                processQueueGroup(scheduleId, 1, fencingToken);
+            } catch (StaleFencingTokenException e) {
+                drainLeases.revoke(scheduleId, fencingToken);
             }
+        }
+        return true;
+    }
+
+    // 워터마크 입장 처리: 워터마크 하나만 올리면 되므로 입장 인원과 무관하게 Redis 호출 1회
+    // JVM 내 저장소를 쓰면 리스도 JVM 안에 있으므로 Redis 의 펜싱 토큰은 확인하지 않는다
+    private int advanceWatermark(int scheduleId, int batchSize, long fencingToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        long start = System.nanoTime();
+        List<Long> result = watermarkRepository.advanceWatermark(keys.size(), keys.admittedWatermark(),
+                keys.drainFence(), MIN_WATERMARK, batchSize, queueProperties.isInMemory() ? 0L : fencingToken);
+        long watermark = result.get(0);
+        int admitted = result.get(1).intValue();
+        queueMetrics.recordDrain(admitted, 0, start);
+        admittedCount.add(admitted);
+
+        updateAdmittedWatermark(scheduleId, watermark);
+        if (admitted > 0) {
+            admissionPublisher.publishWatermark(scheduleId, watermark);
+            logger.info("회차 {}의 입장 워터마크가 {}로 이동하여 {}명이 입장 처리되었습니다.", scheduleId, watermark, admitted);
+        }
+        return admitted;
+    }
+
+    // 노드 로컬 워터마크 갱신 (워터마크는 증가만 하므로 오래된 값은 입장을 늦출 뿐 잘못 허용하지 않는다)
+    public void updateAdmittedWatermark(int scheduleId, long watermark) {
+        cachedWatermarks.computeIfAbsent(scheduleId, id -> new AtomicLong(MIN_WATERMARK))
+                .accumulateAndGet(watermark, Math::max);
+    }
+
+    private long getCachedWatermark(int scheduleId) {
+        AtomicLong watermark = cachedWatermarks.get(scheduleId);
+        return watermark != null ? watermark.get() : MIN_WATERMARK;
+    }
+
+    // 판매 회차 번호는 판매를 다시 열 때만 증가하므로 증가 방향으로만 반영한다
+    private void updateSaleEpoch(int scheduleId, long epoch) {
+        cachedEpochs.computeIfAbsent(scheduleId, id -> new AtomicLong(epoch))
+                .accumulateAndGet(epoch, Math::max);
+    }
 
-            // 사용자 데이터를 Redis에 저장
-            for (String token : userTokens) {
-                queueRepository.setValueWithTTL(USER_READY_KEY_PREFIX + token, true, Duration.ofMinutes(10));
+    // 노드가 회차를 처음 볼 때만 Redis 에서 읽고, 이후에는 워터마크 갱신 주기와 판매 시작 알림으로 갱신된다
+    private long getCachedEpoch(int scheduleId) {
+        return cachedEpochs.computeIfAbsent(scheduleId,
+                id -> new AtomicLong(watermarkRepository.getEpoch(QueueKeys.of(id).saleEpoch()))).get();
+    }
+
+    // 현재 판매에서 발급한 토큰이면 순번, 아니면 -1
+    private long verifyWatermarkToken(int scheduleId, String userToken) {
+        return queueTokenSigner.verify(scheduleId, getCachedEpoch(scheduleId), userToken);
+    }
+
+    // pub/sub 메시지를 놓친 경우를 대비해 주기적으로 Redis 의 워터마크와 판매 회차 번호를 반영
+    @Scheduled(fixedDelayString = "${queue.watermark.refresh-interval-ms:500}")
+    public void refreshAdmittedWatermark() {
+        if (!queueProperties.isWatermark()) {
+            return;
+        }
+        try {
+            for (int scheduleId : getActiveEvents()) {
+                QueueKeys keys = QueueKeys.of(scheduleId);
+                updateAdmittedWatermark(scheduleId, watermarkRepository.getWatermark(keys.admittedWatermark()));
+                updateSaleEpoch(scheduleId, watermarkRepository.getEpoch(keys.saleEpoch()));
             }
-            updateCurrentGroup(currentGroup + 1);
-        } finally {
-            queueRepository.releaseLock(lockKey);
+        } catch (Exception e) {
+            logger.warn("입장 워터마크 갱신에 실패했습니다: {}", e.getMessage());
         }
     }
 
@@ -122,7 +554,9 @@ public class QueueService {
         int baseDelay = 50;
 
         for (int i = 0; i < maxRetries; i++) {
+            queueMetrics.recordLockAttempt();
             if (queueRepository.acquireLock(lockKey, lockDuration)) {
+                queueMetrics.recordLockResult(true, i);
                 return true;
             }
             try {
@@ -133,14 +567,173 @@ public class QueueService {
             }
         }
         logger.warn("그룹 {}에 대해 {}회 재시도 후 락 획득에 실패했습니다.", groupId, maxRetries);
+        queueMetrics.recordLockResult(false, maxRetries - 1);
         return false;
     }
 
     // 사용자 리다이렉트 상태 확인
-    public boolean isUserReadyToRedirect(String userToken) {
-        Boolean isReady = (Boolean) queueRepository.getValue(USER_READY_KEY_PREFIX + userToken);
-        return Boolean.TRUE.equals(isReady);
+    public boolean isUserReadyToRedirect(int scheduleId, String userToken) {
+        if (queueProperties.isWatermark()) {
+            // Redis 조회 없이 토큰의 순번과 노드 로컬 워터마크만 비교
+            long sequence = verifyWatermarkToken(scheduleId, userToken);
+            return sequence > 0 && sequence <= getCachedWatermark(scheduleId);
+        }
+        Boolean cached = queueNearCache.getReadiness(scheduleId, userToken);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean ready = queueStore.isReady(scheduleId, userToken);
+        queueNearCache.putReadiness(scheduleId, userToken, ready);
+        return ready;
     }
-}
 
+    private Mono<Boolean> isUserReadyToRedirectReactive(int scheduleId, String userToken) {
+        if (queueProperties.isWatermark()) {
+            return Mono.just(isUserReadyToRedirect(scheduleId, userToken));
+        }
+        Boolean cached = queueNearCache.getReadiness(scheduleId, userToken);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return queueStore.isReadyReactive(scheduleId, userToken)
+                .doOnNext(ready -> queueNearCache.putReadiness(scheduleId, userToken, ready));
+    }
+
+    public NearCacheStats getNearCacheStats() {
+        return queueNearCache.stats();
+    }
 
+    public EntryStats getEntryStats() {
+        long entries = entryCount.sum();
+        long duplicates = duplicateEntryCount.sum();
+        return new EntryStats(entries, duplicates, entries == 0 ? 0 : (double) duplicates / entries);
+    }
+
+    // 입장 인원 대비 생존 신호가 끊겨 제거된 인원 (입장 슬롯이 이탈자에게 낭비되지 않는지 확인용)
+    public EvictionStats getEvictionStats() {
+        long admitted = admittedCount.sum();
+        long evicted = evictedCount.sum();
+        return new EvictionStats(admitted, evicted, admitted == 0 ? 0 : (double) evicted / admitted);
+    }
+
+    // 사용자 대기 상태 조회 (sorted set 백엔드는 대기 순서와 앞에 남은 인원 수를 함께 반환)
+    // 대기 중인 사용자의 상태 조회는 생존 신호를 겸한다 (노드 메모리에만 기록하므로 Redis 호출이 늘지 않는다)
+    // 순위를 알면 노드 로컬 입장 처리 속도로 예상 대기 시간도 함께 반환한다
+    public QueueStatus getQueueStatus(int scheduleId, String userToken) {
+        long start = System.nanoTime();
+        try {
+            return queueStatus(scheduleId, userToken);
+        } finally {
+            queueMetrics.recordStage(QueueMetrics.Stage.STATUS, start);
+        }
+    }
+
+    private QueueStatus queueStatus(int scheduleId, String userToken) {
+        if (isUserReadyToRedirect(scheduleId, userToken)) {
+            return QueueStatus.ready();
+        }
+        queueHeartbeats.record(scheduleId, userToken);
+        if (lotteryGate.isAwaitingDraw(scheduleId, clock.millis())) {
+            return QueueStatus.inPool();
+        }
+        if (queueProperties.isWatermark()) {
+            return waitingStatus(scheduleId, watermarkRank(scheduleId, userToken));
+        }
+        return waitingStatus(scheduleId, queueStore.getRank(scheduleId, userToken));
+    }
+
+    // 논블로킹 상태 조회 (reactive 프로필, 판단 순서는 getQueueStatus 와 같다)
+    // 추첨 방식 회차의 판매 시작 후 추첨 여부 확인만 boundedElastic 스케줄러에서 처리한다
+    public Mono<QueueStatus> getQueueStatusReactive(int scheduleId, String userToken) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return queueStatusReactive(scheduleId, userToken)
+                    .doFinally(signal -> queueMetrics.recordStage(QueueMetrics.Stage.STATUS, start));
+        });
+    }
+
+    private Mono<QueueStatus> queueStatusReactive(int scheduleId, String userToken) {
+        return isUserReadyToRedirectReactive(scheduleId, userToken).flatMap(ready -> {
+            if (ready) {
+                return Mono.just(QueueStatus.ready());
+            }
+            queueHeartbeats.record(scheduleId, userToken);
+            Mono<Boolean> awaitingDraw = lotteryGate.isPooling(scheduleId)
+                    ? blocking(() -> lotteryGate.isAwaitingDraw(scheduleId, clock.millis()))
+                    : Mono.just(false);
+            return awaitingDraw.flatMap(awaiting -> {
+                if (awaiting) {
+                    return Mono.just(QueueStatus.inPool());
+                }
+                if (queueProperties.isWatermark()) {
+                    return Mono.just(waitingStatus(scheduleId, watermarkRank(scheduleId, userToken)));
+                }
+                return queueStore.getRankReactive(scheduleId, userToken)
+                        .map(rank -> waitingStatus(scheduleId, rank))
+                        .switchIfEmpty(Mono.fromSupplier(() -> waitingStatus(scheduleId, null)));
+            });
+        });
+    }
+
+    // 워터마크 방식은 토큰의 순번과 노드 로컬 워터마크로 앞에 남은 인원을 계산한다 (유효하지 않은 토큰이면 null)
+    private Long watermarkRank(int scheduleId, String userToken) {
+        long sequence = verifyWatermarkToken(scheduleId, userToken);
+        return sequence > 0 ? sequence - getCachedWatermark(scheduleId) - 1 : null;
+    }
+
+    // 대기 중 상태 (앞에 남은 인원 rank 와 예상 대기 시간)
+    public QueueStatus waitingStatus(int scheduleId, Long rank) {
+        QueueStatus status = QueueStatus.inQueue(rank);
+        status.setEtaSeconds(waitTimeEstimator.etaSeconds(scheduleId, rank));
+        return status;
+    }
+
+    // 회차별 대기 인원과 입장 처리 속도, 예상 소진 시간 (운영 대시보드, app-main 증설 판단용)
+    public BacklogStats getBacklogStats() {
+        List<EventBacklog> events = getActiveEvents().stream()
+                .sorted()
+                .map(scheduleId -> waitTimeEstimator.backlog(scheduleId, getWaitingCount(scheduleId)))
+                .toList();
+        long waiting = events.stream().mapToLong(EventBacklog::getWaiting).sum();
+        double admittedPerSecond = events.stream().mapToDouble(EventBacklog::getAdmittedPerSecond).sum();
+        // 한 회차라도 예상 시간을 모르면 전체도 알 수 없다
+        Long drainEtaSeconds = events.stream().anyMatch(event -> event.getDrainEtaSeconds() == null)
+                ? null
+                : events.stream().mapToLong(EventBacklog::getDrainEtaSeconds).max().orElse(0L);
+        return new BacklogStats(waiting, admittedPerSecond, drainEtaSeconds, events);
+    }
+
+    // 회차별 대기 인원 지표 갱신 (scrape 요청마다 저장소를 조회하지 않도록 주기적으로 한다)
+    @Scheduled(fixedDelayString = "${queue.metrics.backlog-refresh-ms:15000}")
+    public void refreshBacklogMetrics() {
+        try {
+            queueMetrics.updateBacklog(getBacklogStats());
+        } catch (Exception e) {
+            logger.warn("대기 인원 지표 갱신에 실패했습니다: {}", e.getMessage());
+        }
+    }
+
+    private long getWaitingCount(int scheduleId) {
+        if (queueProperties.isWatermark()) {
+            QueueKeys keys = QueueKeys.of(scheduleId);
+            long issued = watermarkRepository.getIssuedSequence(keys.size());
+            return Math.max(0, issued - Math.max(MIN_WATERMARK, watermarkRepository.getWatermark(keys.admittedWatermark())));
+        }
+        return queueStore.getWaitingCount(scheduleId, GROUP_SIZE);
+    }
+
+    // 여러 사용자의 대기 순위를 한 번에 조회 (순위를 관리하는 저장 구조 전용, 대기열에 없으면 null)
+    public List<Long> getWaitingRanks(int scheduleId, List<String> userTokens) {
+        if (queueProperties.isWatermark()) {
+            // 토큰의 순번과 노드 로컬 워터마크로 계산한다 (저장소 조회 없음, 이미 입장했거나 유효하지 않은 토큰은 null)
+            return userTokens.stream()
+                    .map(userToken -> {
+                        Long rank = watermarkRank(scheduleId, userToken);
+                        return rank != null && rank >= 0 ? rank : null;
+                    })
+                    .toList();
+        }
+        return queueStore.getRanks(scheduleId, userTokens);
+    }
+}
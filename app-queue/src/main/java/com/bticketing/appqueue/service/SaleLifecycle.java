@@ -0,0 +1,105 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.EventMemory;
+import com.bticketing.appqueue.dto.MemoryStats;
+import com.bticketing.appqueue.store.QueueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 회차 판매 시작/종료
+// 종료하면 입장 처리 대상에서 빠지고 QueueReclaimer 가 회차 키를 조금씩 회수하며, 회수가 끝난 회차는 카운터를 초기화하고 다시 열 수 있다
+// 노드 로컬 상태(워터마크, 그룹 번호, 추첨 완료, 입장 속도)는 pub/sub 으로 모든 노드에서 함께 버린다
+@Component
+public class SaleLifecycle implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaleLifecycle.class);
+
+    private final QueueStore queueStore;
+    private final QueueService queueService;
+    private final LotteryGate lotteryGate;
+    private final QueueNearCache queueNearCache;
+    private final DrainRateTracker drainRateTracker;
+    private final AdmissionPublisher admissionPublisher;
+    private final QueueProperties queueProperties;
+
+    public SaleLifecycle(QueueStore queueStore, QueueService queueService, LotteryGate lotteryGate,
+                         QueueNearCache queueNearCache, DrainRateTracker drainRateTracker,
+                         AdmissionPublisher admissionPublisher, QueueProperties queueProperties) {
+        this.queueStore = queueStore;
+        this.queueService = queueService;
+        this.lotteryGate = lotteryGate;
+        this.queueNearCache = queueNearCache;
+        this.drainRateTracker = drainRateTracker;
+        this.admissionPublisher = admissionPublisher;
+        this.queueProperties = queueProperties;
+    }
+
+    // 판매 시작 (이전 판매의 키 회수가 끝나지 않았으면 false)
+    public boolean open(int scheduleId) {
+        if (!queueStore.openEvent(scheduleId)) {
+            logger.warn("회차 {}의 이전 판매 키를 회수 중이어서 판매를 시작하지 않았습니다.", scheduleId);
+            return false;
+        }
+        // 알림을 받기 전에도 이 노드는 바로 반영한다 (같은 알림을 다시 받아도 결과는 같다)
+        onSaleOpened(scheduleId);
+        admissionPublisher.publishSale(scheduleId, AdmissionPublisher.SALE_OPENED);
+        logger.info("회차 {} 판매를 시작했습니다.", scheduleId);
+        return true;
+    }
+
+    public void close(int scheduleId) {
+        queueStore.closeEvent(scheduleId);
+        onSaleClosed(scheduleId);
+        admissionPublisher.publishSale(scheduleId, AdmissionPublisher.SALE_CLOSED);
+        logger.info("회차 {} 판매를 종료했습니다. 회차 키는 순차적으로 회수됩니다.", scheduleId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int scheduleId = AdmissionPublisher.scheduleIdOf(body);
+        String saleState = AdmissionPublisher.payloadOf(body);
+
+        if (AdmissionPublisher.SALE_OPENED.equals(saleState)) {
+            onSaleOpened(scheduleId);
+        } else if (AdmissionPublisher.SALE_CLOSED.equals(saleState)) {
+            onSaleClosed(scheduleId);
+        }
+    }
+
+    private void onSaleOpened(int scheduleId) {
+        queueService.onSaleOpened(scheduleId);
+        lotteryGate.forget(scheduleId);
+        queueNearCache.forgetCurrentGroup(scheduleId);
+        drainRateTracker.forget(scheduleId);
+    }
+
+    private void onSaleClosed(int scheduleId) {
+        queueService.onSaleClosed(scheduleId);
+        drainRateTracker.forget(scheduleId);
+    }
+
+    // 열려 있는 회차와 키를 회수 중인 회차의 메모리 사용량 (운영 조회용, 회차마다 저장소 호출이 여러 번 발생)
+    public MemoryStats getMemoryStats() {
+        Set<Integer> scheduleIds = new TreeSet<>(queueStore.getActiveEvents());
+        scheduleIds.addAll(queueStore.getClosedEvents());
+        int sampleSize = queueProperties.getReclaim().getMemorySampleSize();
+        List<EventMemory> events = scheduleIds.stream()
+                .map(scheduleId -> queueStore.getMemoryUsage(scheduleId, sampleSize))
+                .toList();
+        // 한 회차라도 바이트 수를 모르면 전체도 알 수 없다
+        Long bytes = events.stream().anyMatch(event -> event.getBytes() == null)
+                ? null
+                : events.stream().mapToLong(EventMemory::getBytes).sum();
+        return new MemoryStats(bytes, events);
+    }
+}
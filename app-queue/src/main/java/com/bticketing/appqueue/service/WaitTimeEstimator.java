@@ -0,0 +1,43 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.dto.EventBacklog;
+import org.springframework.stereotype.Component;
+
+// 대기 순서와 입장 처리 속도(이동 평균)로 예상 대기 시간 계산
+// 속도는 입장 처리마다 한 번 갱신되므로 조회마다 대기열을 훑지 않고 나눗셈 한 번으로 구한다
+@Component
+public class WaitTimeEstimator {
+
+    // 이보다 느리면 입장 처리가 멈춘 것으로 보고 예상 시간을 내지 않는다
+    private static final double MIN_ADMITTED_PER_SECOND = 0.1;
+
+    private final DrainRateTracker drainRateTracker;
+
+    public WaitTimeEstimator(DrainRateTracker drainRateTracker) {
+        this.drainRateTracker = drainRateTracker;
+    }
+
+    // 앞에 ahead 명이 남은 사용자의 예상 대기 시간(초), 순위나 속도를 모르면 null
+    public Long etaSeconds(int scheduleId, Long ahead) {
+        if (ahead == null) {
+            return null;
+        }
+        // 본인까지 입장해야 하므로 ahead + 1 명
+        return secondsToAdmit(ahead + 1, drainRateTracker.admittedPerSecond(scheduleId));
+    }
+
+    public EventBacklog backlog(int scheduleId, long waiting) {
+        double admittedPerSecond = drainRateTracker.admittedPerSecond(scheduleId);
+        return new EventBacklog(scheduleId, waiting, admittedPerSecond, secondsToAdmit(waiting, admittedPerSecond));
+    }
+
+    private static Long secondsToAdmit(long count, double admittedPerSecond) {
+        if (count == 0) {
+            return 0L;
+        }
+        if (admittedPerSecond < MIN_ADMITTED_PER_SECOND) {
+            return null;
+        }
+        return (long) Math.ceil(count / admittedPerSecond);
+    }
+}
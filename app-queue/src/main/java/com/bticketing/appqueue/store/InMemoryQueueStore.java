@@ -0,0 +1,513 @@
+package com.bticketing.appqueue.store;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.EventMemory;
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.dto.ReclaimStep;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// 단일 노드용 JVM 내 대기열 저장소 (Redis 호출 없음, 노드를 재시작하면 대기열이 사라진다)
+// 순번을 인덱스로 쓰는 배열 링에 토큰을 두므로 진입은 CAS 한 번과 배열 쓰기, 순위는 순번 차이로 O(1) 계산한다
+// 진입은 락 없이 처리하고, 입장 처리는 주기마다 한 번이므로 회차 단위로 직렬화한다
+@Component
+@ConditionalOnProperty(prefix = "queue", name = "store", havingValue = "memory")
+public class InMemoryQueueStore implements QueueStore {
+
+    private final Map<Integer, EventQueue> events = new ConcurrentHashMap<>();
+    private final Set<Integer> activeEvents = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, DrainLease> leases = new ConcurrentHashMap<>();
+    private final Map<Integer, LotteryPool> pools = new ConcurrentHashMap<>();
+    // 판매를 닫은 회차 -> 상태 회수를 마쳤는지
+    private final Map<Integer, Boolean> closedEvents = new ConcurrentHashMap<>();
+    private final int ringCapacity;
+    // 준비 상태, 리스 만료 시각 계산용 (시뮬레이터는 가상 시계를 넣는다)
+    private final Clock clock;
+
+    @Autowired
+    public InMemoryQueueStore(QueueProperties queueProperties, Clock clock) {
+        this(queueProperties.getMemory().getRingCapacity(), clock);
+    }
+
+    public InMemoryQueueStore(int ringCapacity) {
+        this(ringCapacity, Clock.systemUTC());
+    }
+
+    public InMemoryQueueStore(int ringCapacity, Clock clock) {
+        // 링 인덱스를 비트 연산으로 구하도록 2의 거듭제곱으로 올린다
+        this.ringCapacity = Integer.highestOneBit(Math.max(2, ringCapacity - 1)) << 1;
+        this.clock = clock;
+    }
+
+    @Override
+    public void registerEvent(int scheduleId) {
+        activeEvents.add(scheduleId);
+    }
+
+    @Override
+    public Set<Integer> getActiveEvents() {
+        return Set.copyOf(activeEvents);
+    }
+
+    @Override
+    public boolean openEvent(int scheduleId) {
+        Boolean reclaimed = closedEvents.get(scheduleId);
+        if (reclaimed != null && !reclaimed) {
+            return false;
+        }
+        if (reclaimed != null) {
+            // 회수 뒤 종료 전의 요청이 남긴 상태까지 지운다
+            events.remove(scheduleId);
+            pools.remove(scheduleId);
+            closedEvents.remove(scheduleId);
+        }
+        activeEvents.add(scheduleId);
+        return true;
+    }
+
+    @Override
+    public void closeEvent(int scheduleId) {
+        closedEvents.put(scheduleId, false);
+        activeEvents.remove(scheduleId);
+    }
+
+    @Override
+    public boolean isClosed(int scheduleId) {
+        return closedEvents.containsKey(scheduleId);
+    }
+
+    @Override
+    public Set<Integer> getClosedEvents() {
+        return closedEvents.entrySet().stream()
+                .filter(closed -> !closed.getValue())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    // JVM 내 상태는 참조만 끊으면 GC 가 회수하므로 batchSize 와 무관하게 한 번에 끝낸다
+    @Override
+    public ReclaimStep reclaim(int scheduleId, int batchSize, long fencingToken) {
+        checkFencingToken(scheduleId, fencingToken);
+        if (!closedEvents.replace(scheduleId, false, true)) {
+            return new ReclaimStep(0, true);
+        }
+        EventQueue queue = events.remove(scheduleId);
+        pools.remove(scheduleId);
+        // Redis 저장소와 같이 리스는 풀고 펜싱 토큰은 남긴다
+        leases.computeIfPresent(scheduleId, (id, current) -> new DrainLease(current.nodeId(), 0L, current.fencingToken()));
+        return new ReclaimStep(queue != null ? queue.entries.size() : 0, true);
+    }
+
+    // Redis 메모리를 쓰지 않으므로 바이트 수는 알 수 없고 보관 중인 토큰 기록 수만 센다
+    @Override
+    public EventMemory getMemoryUsage(int scheduleId, int sampleSize) {
+        EventQueue queue = events.get(scheduleId);
+        LotteryPool pool = pools.get(scheduleId);
+        long records = (queue != null ? queue.recordCount() : 0) + (pool != null ? pool.userTokens.size() + pool.late.size() : 0);
+        return new EventMemory(scheduleId, isClosed(scheduleId), records, null);
+    }
+
+    @Override
+    public QueueEntry enter(int scheduleId, String userToken, int maxQueueSize, int groupSize, Duration readyTtl) {
+        EventQueue queue = events.computeIfAbsent(scheduleId, id -> new EventQueue(ringCapacity, maxQueueSize));
+        Long existing = queue.entries.get(userToken);
+        if (existing != null) {
+            return queue.existingEntry(userToken, existing);
+        }
+
+        long[] issued = new long[1];
+        long sequence = queue.entries.computeIfAbsent(userToken, token -> issued[0] = queue.nextSequence(maxQueueSize));
+        if (issued[0] == 0) {
+            // 같은 토큰의 동시 진입 중 다른 요청이 먼저 순번을 받았다
+            return queue.existingEntry(userToken, sequence);
+        }
+
+        if (sequence < maxQueueSize) {
+            queue.readyUntil.put(userToken, clock.millis() + readyTtl.toMillis());
+            return QueueEntry.immediate(userToken, sequence);
+        }
+        queue.ring.set(queue.index(sequence), userToken);
+        return new QueueEntry(userToken, sequence, 0, sequence - queue.head.get() + 1, false, false);
+    }
+
+    @Override
+    public boolean enterPool(int scheduleId, String userToken) {
+        LotteryPool pool = pools.computeIfAbsent(scheduleId, id -> new LotteryPool());
+        // 추첨 상태를 바꿀 때는 쓰기 락을 잡으므로, 읽기 락 안에서 확인한 상태대로 넣은 토큰은 추첨에서 빠지지 않는다
+        pool.lock.readLock().lock();
+        try {
+            if (pool.drawn) {
+                return false;
+            }
+            if (pool.order != null) {
+                // 추첨 중이면 추첨 대상을 모두 배정한 뒤 도착 순서대로 배정한다
+                pool.late.add(userToken);
+            } else {
+                pool.userTokens.add(userToken);
+            }
+            return true;
+        } finally {
+            pool.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isLotteryDrawn(int scheduleId) {
+        LotteryPool pool = pools.get(scheduleId);
+        return pool != null && pool.drawn;
+    }
+
+    // Redis 저장소와 같이 첫 호출에서 추첨 순서를 정하고, 호출마다 batchSize 명까지 이어서 배정한다
+    @Override
+    public LotteryDraw drawLottery(int scheduleId, long seed, int maxQueueSize, int groupSize, Duration readyTtl,
+                                   int batchSize, long fencingToken) {
+        checkFencingToken(scheduleId, fencingToken);
+        LotteryPool pool = pools.computeIfAbsent(scheduleId, id -> new LotteryPool());
+        if (pool.drawn) {
+            return new LotteryDraw(0, true, List.of());
+        }
+        if (pool.order == null) {
+            List<String> userTokens;
+            pool.lock.writeLock().lock();
+            try {
+                userTokens = new ArrayList<>(pool.userTokens);
+                pool.userTokens.clear();
+                pool.order = drawOrder(userTokens, seed);
+            } finally {
+                pool.lock.writeLock().unlock();
+            }
+        }
+
+        LotteryDraw draw = new LotteryDraw(0, false, new ArrayList<>());
+        while (draw.getDrawn() < batchSize && pool.cursor < pool.order.size()) {
+            assignDrawn(scheduleId, pool.order.get(pool.cursor++), maxQueueSize, groupSize, readyTtl, draw);
+        }
+        if (pool.cursor < pool.order.size()) {
+            return draw;
+        }
+        String userToken;
+        while (draw.getDrawn() < batchSize && (userToken = pool.late.poll()) != null) {
+            assignDrawn(scheduleId, userToken, maxQueueSize, groupSize, readyTtl, draw);
+        }
+        pool.lock.writeLock().lock();
+        try {
+            if (pool.late.isEmpty()) {
+                pool.drawn = true;
+                pool.order = null;
+                draw.setComplete(true);
+            }
+        } finally {
+            pool.lock.writeLock().unlock();
+        }
+        return draw;
+    }
+
+    private void assignDrawn(int scheduleId, String userToken, int maxQueueSize, int groupSize, Duration readyTtl,
+                             LotteryDraw draw) {
+        QueueEntry entry = enter(scheduleId, userToken, maxQueueSize, groupSize, readyTtl);
+        if (entry.isDuplicate()) {
+            // 추첨 전에 일반 진입으로 이미 줄을 섰거나 추첨 중에 다시 진입했다
+            return;
+        }
+        draw.setDrawn(draw.getDrawn() + 1);
+        if (entry.isImmediate()) {
+            draw.getImmediateTokens().add(userToken);
+        }
+    }
+
+    // Redis 스크립트와 같은 점수(sha1(seed:토큰) 앞 13자리 16진수)와 같은 동점 처리(토큰 순)로 정렬해
+    // 같은 진입자와 seed 면 저장소와 무관하게 같은 순서가 나온다
+    private static List<String> drawOrder(Collection<String> userTokens, long seed) {
+        MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Map<String, Long> scores = new HashMap<>();
+        for (String userToken : userTokens) {
+            byte[] digest = sha1.digest((seed + ":" + userToken).getBytes(StandardCharsets.UTF_8));
+            long score = 0;
+            for (int i = 0; i < 6; i++) {
+                score = (score << 8) | (digest[i] & 0xff);
+            }
+            scores.put(userToken, (score << 4) | ((digest[6] & 0xff) >>> 4));
+        }
+        List<String> order = new ArrayList<>(userTokens);
+        order.sort(Comparator.<String, Long>comparing(scores::get).thenComparing(Comparator.naturalOrder()));
+        return order;
+    }
+
+    @Override
+    public QueueDrain drain(int scheduleId, int count, Duration readyTtl, long staleBeforeMillis, long fencingToken) {
+        checkFencingToken(scheduleId, fencingToken);
+        EventQueue queue = events.get(scheduleId);
+        if (queue == null) {
+            return new QueueDrain(List.of(), 0);
+        }
+        return queue.drain(count, clock.millis() + readyTtl.toMillis(), staleBeforeMillis);
+    }
+
+    // 단일 노드 전용이므로 리스는 같은 JVM 의 스케줄러끼리만 경쟁한다 (Redis 저장소와 같은 규칙으로 토큰을 발급)
+    @Override
+    public long acquireDrainLease(int scheduleId, String nodeId, Duration leaseTtl) {
+        long now = clock.millis();
+        DrainLease lease = leases.compute(scheduleId, (id, current) -> {
+            if (current != null && current.expiresAtMillis() > now && !current.nodeId().equals(nodeId)) {
+                return current;
+            }
+            boolean renewal = current != null && current.expiresAtMillis() > now;
+            long fencingToken = current == null ? 1 : renewal ? current.fencingToken() : current.fencingToken() + 1;
+            return new DrainLease(nodeId, now + leaseTtl.toMillis(), fencingToken);
+        });
+        return lease.nodeId().equals(nodeId) ? lease.fencingToken() : 0L;
+    }
+
+    @Override
+    public void releaseDrainLease(int scheduleId, String nodeId) {
+        // 펜싱 토큰은 유지하고 만료 시각만 당겨, 다음 획득 시 토큰이 올라가도록 한다
+        leases.computeIfPresent(scheduleId, (id, current) -> current.nodeId().equals(nodeId)
+                ? new DrainLease(nodeId, 0L, current.fencingToken())
+                : current);
+    }
+
+    @Override
+    public boolean isReady(int scheduleId, String userToken) {
+        EventQueue queue = events.get(scheduleId);
+        if (queue == null) {
+            return false;
+        }
+        Long readyUntil = queue.readyUntil.get(userToken);
+        if (readyUntil == null) {
+            return false;
+        }
+        if (readyUntil < clock.millis()) {
+            queue.readyUntil.remove(userToken, readyUntil);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Long getRank(int scheduleId, String userToken) {
+        EventQueue queue = events.get(scheduleId);
+        return queue != null ? queue.rankOf(userToken) : null;
+    }
+
+    // JVM 내 저장소는 I/O 가 없으므로 호출한 스레드(이벤트 루프)에서 바로 처리한다
+    @Override
+    public Mono<QueueEntry> enterReactive(int scheduleId, String userToken, int maxQueueSize, int groupSize,
+                                          Duration readyTtl) {
+        return Mono.fromCallable(() -> enter(scheduleId, userToken, maxQueueSize, groupSize, readyTtl));
+    }
+
+    @Override
+    public Mono<Boolean> isReadyReactive(int scheduleId, String userToken) {
+        return Mono.fromCallable(() -> isReady(scheduleId, userToken));
+    }
+
+    @Override
+    public Mono<Long> getRankReactive(int scheduleId, String userToken) {
+        return Mono.fromCallable(() -> getRank(scheduleId, userToken));
+    }
+
+    @Override
+    public List<Long> getRanks(int scheduleId, List<String> userTokens) {
+        EventQueue queue = events.get(scheduleId);
+        List<Long> ranks = new ArrayList<>(userTokens.size());
+        for (String userToken : userTokens) {
+            ranks.add(queue != null ? queue.rankOf(userToken) : null);
+        }
+        return ranks;
+    }
+
+    @Override
+    public long getWaitingCount(int scheduleId, int groupSize) {
+        EventQueue queue = events.get(scheduleId);
+        return queue != null ? Math.max(0, queue.sequence.get() - queue.head.get() + 1) : 0L;
+    }
+
+    @Override
+    public void recordHeartbeats(int scheduleId, Collection<String> userTokens, long nowMillis) {
+        EventQueue queue = events.get(scheduleId);
+        if (queue == null) {
+            return;
+        }
+        for (String userToken : userTokens) {
+            queue.heartbeats.put(userToken, nowMillis);
+        }
+    }
+
+    @Override
+    public int availableSessions(int scheduleId, int maxActiveSessions, long nowMillis) {
+        EventQueue queue = events.get(scheduleId);
+        if (queue == null) {
+            return maxActiveSessions;
+        }
+        queue.sessions.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        return Math.max(0, maxActiveSessions - queue.sessions.size());
+    }
+
+    @Override
+    public void registerSessions(int scheduleId, List<String> userTokens, long expiresAtMillis) {
+        EventQueue queue = events.get(scheduleId);
+        if (queue == null) {
+            return;
+        }
+        for (String userToken : userTokens) {
+            queue.sessions.put(userToken, expiresAtMillis);
+        }
+    }
+
+    @Override
+    public boolean releaseSession(int scheduleId, String userToken) {
+        EventQueue queue = events.get(scheduleId);
+        if (queue == null || queue.sessions.remove(userToken) == null) {
+            return false;
+        }
+        queue.readyUntil.remove(userToken);
+        return true;
+    }
+
+    private void checkFencingToken(int scheduleId, long fencingToken) {
+        if (fencingToken > 0) {
+            DrainLease lease = leases.get(scheduleId);
+            if (lease == null || lease.fencingToken() != fencingToken) {
+                throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+            }
+        }
+    }
+
+    private record DrainLease(String nodeId, long expiresAtMillis, long fencingToken) {
+    }
+
+    // 추첨 방식 회차의 판매 시작 전 진입자 (진입끼리는 읽기 락으로 동시에, 추첨 상태 변경은 쓰기 락으로)
+    // 추첨 순서와 진행 위치는 리스를 가진 호출자 하나만 읽고 쓴다
+    private static final class LotteryPool {
+
+        private final Set<String> userTokens = ConcurrentHashMap.newKeySet();
+        // 추첨 중 진입자 (도착 순서)
+        private final Queue<String> late = new ConcurrentLinkedQueue<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // 추첨 순서 (추첨 중에만 존재)와 다음에 배정할 위치
+        private volatile List<String> order;
+        private int cursor;
+        private volatile boolean drawn;
+    }
+
+    // 회차 하나의 대기열
+    // sequence 는 마지막으로 발급한 순번, head 는 다음에 입장 처리할 순번이며 head 이상 sequence 이하가 대기 중이다
+    private static final class EventQueue {
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicLong head;
+        private final AtomicReferenceArray<String> ring;
+        private final int mask;
+
+        private final Map<String, Long> entries = new ConcurrentHashMap<>();     // 토큰 -> 순번 (중복 진입 확인)
+        private final Map<String, Long> readyUntil = new ConcurrentHashMap<>();  // 토큰 -> 준비 상태 만료 시각(ms)
+        private final Map<String, Long> heartbeats = new ConcurrentHashMap<>();  // 토큰 -> 마지막 생존 신호 시각(ms)
+        private final Map<String, Long> sessions = new ConcurrentHashMap<>();    // 토큰 -> 입장 세션 만료 시각(ms)
+
+        private EventQueue(int ringCapacity, int maxQueueSize) {
+            this.ring = new AtomicReferenceArray<>(ringCapacity);
+            this.mask = ringCapacity - 1;
+            // 즉시 입장하는 순번은 링에 넣지 않으므로 첫 대기 순번부터 시작
+            this.head = new AtomicLong(maxQueueSize);
+        }
+
+        private int index(long sequence) {
+            return (int) (sequence & mask);
+        }
+
+        // 링이 가득 차면 순번을 발급하지 않는다 (head 는 증가만 하므로 이 확인을 통과한 순번의 칸은 비어 있다)
+        private long nextSequence(int maxQueueSize) {
+            while (true) {
+                long current = sequence.get();
+                long next = current + 1;
+                if (next >= maxQueueSize && next - head.get() >= ring.length()) {
+                    throw new IllegalStateException("대기열이 가득 찼습니다.");
+                }
+                if (sequence.compareAndSet(current, next)) {
+                    return next;
+                }
+            }
+        }
+
+        private QueueEntry existingEntry(String userToken, long sequence) {
+            long head = this.head.get();
+            if (sequence < head) {
+                return QueueEntry.immediate(userToken, sequence, true);
+            }
+            return new QueueEntry(userToken, sequence, 0, sequence - head + 1, false, true);
+        }
+
+        private long recordCount() {
+            return entries.size() + readyUntil.size() + heartbeats.size() + sessions.size();
+        }
+
+        private Long rankOf(String userToken) {
+            Long sequence = entries.get(userToken);
+            if (sequence == null) {
+                return null;
+            }
+            long head = this.head.get();
+            return sequence < head ? null : sequence - head;
+        }
+
+        private synchronized QueueDrain drain(int count, long readyUntilMillis, long staleBeforeMillis) {
+            List<String> admitted = new ArrayList<>();
+            int evicted = 0;
+
+            long next = head.get();
+            while (admitted.size() < count && next <= sequence.get()) {
+                int index = index(next);
+                String userToken = ring.get(index);
+                if (userToken == null) {
+                    // 순번은 발급됐지만 아직 링에 기록되지 않았다 (다음 주기에 이어서 처리)
+                    break;
+                }
+                // 칸을 비운 뒤 head 를 올려야 새 진입이 아직 읽지 않은 칸을 덮어쓰지 않는다
+                ring.set(index, null);
+                head.set(++next);
+
+                Long lastSeen = heartbeats.remove(userToken);
+                if (staleBeforeMillis > 0 && lastSeen != null && lastSeen < staleBeforeMillis) {
+                    // 다시 접속하면 새로 줄을 설 수 있도록 진입 기록을 지운다
+                    entries.remove(userToken);
+                    evicted++;
+                    continue;
+                }
+                readyUntil.put(userToken, readyUntilMillis);
+                admitted.add(userToken);
+            }
+            return new QueueDrain(admitted, evicted);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bticketing.appqueue.store;
+
+import com.bticketing.appqueue.dto.EventMemory;
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.dto.ReclaimStep;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// 대기열 저장소 (진입, 대기 순위, 입장 처리, 입장 여부, 입장 세션 수)
+// 입장 인원, TTL 같은 정책은 QueueService 가 정하고 저장소는 저장 구조만 책임진다
+// queue.store 로 Redis(기본) 또는 단일 노드용 JVM 내 엔진을 선택한다
+// reactive 프로필의 진입, 상태 조회는 Mono 를 돌려주는 메서드를 쓴다
+// 기본 구현은 블로킹 호출을 boundedElastic 스케줄러로 넘기므로, 논블로킹 클라이언트가 있는 저장 구조만 재정의한다
+public interface QueueStore {
+
+    // 입장 처리 대상 회차 등록
+    void registerEvent(int scheduleId);
+
+    Set<Integer> getActiveEvents();
+
+    // 판매 시작: 닫았던 회차면 이전 판매의 카운터와 대기열을 초기화하고 입장 처리 대상으로 등록
+    // 판매 종료 후 키 회수가 끝나지 않았으면 false (닫은 적이 없는 회차는 초기화 없이 등록만 한다)
+    boolean openEvent(int scheduleId);
+
+    // 판매 종료: 입장 처리 대상에서 빼고 키 회수 대상으로 표시
+    void closeEvent(int scheduleId);
+
+    // 판매를 닫은 뒤 다시 열지 않은 회차 (키 회수가 끝났어도 true)
+    boolean isClosed(int scheduleId);
+
+    // 판매가 끝나 키를 회수 중인 회차
+    Set<Integer> getClosedEvents();
+
+    // 판매가 끝난 회차의 키를 최대 batchSize 개 회수하고, 다 지웠으면 회수 대상에서 뺀다
+    // fencingToken 규칙은 drain 과 같다 (회수도 리스를 가진 노드 하나만 한다)
+    ReclaimStep reclaim(int scheduleId, int batchSize, long fencingToken);
+
+    // 회차가 차지하는 메모리 (사용자별 키는 sampleSize 개 표본으로 추정)
+    EventMemory getMemoryUsage(int scheduleId, int sampleSize);
+
+    // 중복 확인 후 순번 발급, 순번이 maxQueueSize 보다 작으면 즉시 입장
+    QueueEntry enter(int scheduleId, String userToken, int maxQueueSize, int groupSize, Duration readyTtl);
+
+    // 추첨 방식 회차의 판매 시작 전 진입 (순번 없이 추첨 대상에만 넣는다, 이미 추첨이 끝났으면 false)
+    // 추첨이 진행 중이면 추첨 대상을 모두 배정한 뒤 도착 순서대로 배정되도록 따로 줄 세운다
+    boolean enterPool(int scheduleId, String userToken);
+
+    // 추첨이 끝났는지 (추첨 중 진입자까지 모두 배정했는지)
+    boolean isLotteryDrawn(int scheduleId);
+
+    // 추첨 대상을 seed 로 섞은 순서대로 최대 batchSize 명에게 순번을 배정하고 진행 위치를 남긴다
+    // complete 가 될 때까지 다시 호출하며, seed 는 첫 호출의 값만 쓴다 (이후 처리는 enter 와 같고, 이미 추첨한 회차면 0명)
+    // fencingToken 규칙은 drain 과 같다
+    LotteryDraw drawLottery(int scheduleId, long seed, int maxQueueSize, int groupSize, Duration readyTtl,
+                            int batchSize, long fencingToken);
+
+    // 앞에서부터 최대 count 명을 입장 처리 (생존 신호가 staleBeforeMillis 보다 오래된 토큰은 제거, 0 이면 확인하지 않음)
+    // fencingToken 이 현재 리스의 펜싱 토큰과 다르면 아무것도 쓰지 않고 StaleFencingTokenException (0 이면 확인하지 않음)
+    QueueDrain drain(int scheduleId, int count, Duration readyTtl, long staleBeforeMillis, long fencingToken);
+
+    // 회차 입장 처리 리스를 획득하거나 갱신하고 펜싱 토큰을 반환 (다른 노드가 보유 중이면 0)
+    long acquireDrainLease(int scheduleId, String nodeId, Duration leaseTtl);
+
+    void releaseDrainLease(int scheduleId, String nodeId);
+
+    boolean isReady(int scheduleId, String userToken);
+
+    // 앞에 대기 중인 인원 수 (대기열에 없거나 순위를 알 수 없는 저장 구조면 null)
+    Long getRank(int scheduleId, String userToken);
+
+    default Mono<QueueEntry> enterReactive(int scheduleId, String userToken, int maxQueueSize, int groupSize,
+                                           Duration readyTtl) {
+        return Mono.fromCallable(() -> enter(scheduleId, userToken, maxQueueSize, groupSize, readyTtl))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    default Mono<Boolean> isReadyReactive(int scheduleId, String userToken) {
+        return Mono.fromCallable(() -> isReady(scheduleId, userToken))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 순위를 모르면 빈 Mono
+    default Mono<Long> getRankReactive(int scheduleId, String userToken) {
+        return Mono.fromCallable(() -> getRank(scheduleId, userToken))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 결과 순서는 토큰 순서와 같다
+    List<Long> getRanks(int scheduleId, List<String> userTokens);
+
+    // 대기 중인 인원 수 (운영 조회용, 대기 요청 경로에서는 호출하지 않는다)
+    long getWaitingCount(int scheduleId, int groupSize);
+
+    void recordHeartbeats(int scheduleId, Collection<String> userTokens, long nowMillis);
+
+    // 만료된 입장 세션을 정리한 뒤 maxActiveSessions 까지 남은 자리 수
+    int availableSessions(int scheduleId, int maxActiveSessions, long nowMillis);
+
+    void registerSessions(int scheduleId, List<String> userTokens, long expiresAtMillis);
+
+    // 세션과 준비 상태를 함께 지운다 (세션이 있었으면 true)
+    boolean releaseSession(int scheduleId, String userToken);
+}
@@ -0,0 +1,400 @@
+package com.bticketing.appqueue.store;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.EventMemory;
+import com.bticketing.appqueue.dto.GroupDrain;
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.dto.ReclaimStep;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import com.bticketing.appqueue.repository.ActiveSessionRepository;
+import com.bticketing.appqueue.repository.DrainLeaseRepository;
+import com.bticketing.appqueue.repository.EventLifecycleRepository;
+import com.bticketing.appqueue.repository.HeartbeatRepository;
+import com.bticketing.appqueue.repository.LotteryRepository;
+import com.bticketing.appqueue.repository.QueueRepository;
+import com.bticketing.appqueue.repository.ReactiveQueueRepository;
+import com.bticketing.appqueue.repository.ShardedQueueRepository;
+import com.bticketing.appqueue.repository.SortedSetQueueRepository;
+import com.bticketing.appqueue.util.QueueKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Redis 대기열 저장소 (queue.backend 에 따라 그룹 리스트, sorted set, 샤드 sorted set 중 하나를 사용)
+// 워터마크 방식은 순번을 토큰에 담으므로 이 저장소를 거치지 않는다
+@Component
+@ConditionalOnProperty(prefix = "queue", name = "store", havingValue = "redis", matchIfMissing = true)
+public class RedisQueueStore implements QueueStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisQueueStore.class);
+
+    private final QueueRepository queueRepository;
+    private final SortedSetQueueRepository sortedSetQueueRepository;
+    private final ShardedQueueRepository shardedQueueRepository;
+    private final HeartbeatRepository heartbeatRepository;
+    private final ActiveSessionRepository activeSessionRepository;
+    private final DrainLeaseRepository drainLeaseRepository;
+    private final LotteryRepository lotteryRepository;
+    private final EventLifecycleRepository eventLifecycleRepository;
+    private final ReactiveQueueRepository reactiveQueueRepository;
+    private final QueueProperties queueProperties;
+
+    public RedisQueueStore(QueueRepository queueRepository,
+                           SortedSetQueueRepository sortedSetQueueRepository,
+                           ShardedQueueRepository shardedQueueRepository,
+                           HeartbeatRepository heartbeatRepository,
+                           ActiveSessionRepository activeSessionRepository,
+                           DrainLeaseRepository drainLeaseRepository,
+                           LotteryRepository lotteryRepository,
+                           EventLifecycleRepository eventLifecycleRepository,
+                           ReactiveQueueRepository reactiveQueueRepository,
+                           QueueProperties queueProperties) {
+        this.queueRepository = queueRepository;
+        this.sortedSetQueueRepository = sortedSetQueueRepository;
+        this.shardedQueueRepository = shardedQueueRepository;
+        this.heartbeatRepository = heartbeatRepository;
+        this.activeSessionRepository = activeSessionRepository;
+        this.drainLeaseRepository = drainLeaseRepository;
+        this.lotteryRepository = lotteryRepository;
+        this.eventLifecycleRepository = eventLifecycleRepository;
+        this.reactiveQueueRepository = reactiveQueueRepository;
+        this.queueProperties = queueProperties;
+    }
+
+    @Override
+    public void registerEvent(int scheduleId) {
+        queueRepository.addToSet(QueueKeys.ACTIVE_EVENTS_KEY, scheduleId);
+    }
+
+    @Override
+    public Set<Integer> getActiveEvents() {
+        return queueRepository.getSetMembers(QueueKeys.ACTIVE_EVENTS_KEY).stream()
+                .map(member -> ((Number) member).intValue())
+                .collect(Collectors.toSet());
+    }
+
+    // 카운터 초기화는 스크립트 한 번으로 처리해 진입과 섞여도 일부만 초기화된 상태가 보이지 않는다
+    @Override
+    public boolean openEvent(int scheduleId) {
+        if (!eventLifecycleRepository.open(QueueKeys.of(scheduleId))) {
+            return false;
+        }
+        registerEvent(scheduleId);
+        return true;
+    }
+
+    @Override
+    public void closeEvent(int scheduleId) {
+        eventLifecycleRepository.close(QueueKeys.of(scheduleId), System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean isClosed(int scheduleId) {
+        return eventLifecycleRepository.isClosed(QueueKeys.of(scheduleId));
+    }
+
+    @Override
+    public Set<Integer> getClosedEvents() {
+        return eventLifecycleRepository.getClosedEvents();
+    }
+
+    // 그룹 리스트, 토큰별 준비 상태 키, 회차 상태 키 순서로 batchSize 개씩 UNLINK (샤드 키는 마지막에 한 번에 지운다)
+    @Override
+    public ReclaimStep reclaim(int scheduleId, int batchSize, long fencingToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        ReclaimStep step = eventLifecycleRepository.reclaim(keys, batchSize, fencingToken);
+        if (step.isDone()) {
+            if (queueProperties.isSharded()) {
+                step.setReclaimedKeys(step.getReclaimedKeys() + (int) shardedQueueRepository.unlinkEventKeys(keys));
+            }
+            eventLifecycleRepository.removeClosedEvent(scheduleId);
+        }
+        return step;
+    }
+
+    // 회차 상태 키와 남은 그룹 리스트는 모두 재고, 토큰별 준비 상태 키는 진입 기록에서 표본을 뽑아 전체 진입자 수로 늘린다
+    // 샤드 노드의 키는 포함하지 않는다
+    @Override
+    public EventMemory getMemoryUsage(int scheduleId, int sampleSize) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        List<String> structuralKeys = new ArrayList<>(keys.stateKeys());
+        structuralKeys.add(keys.closed());
+        if (!queueProperties.isSortedSet() && !queueProperties.isSharded() && !queueProperties.isWatermark()) {
+            int currentGroup = groupOf(eventLifecycleRepository.getValue(keys.currentGroup()));
+            for (int group = groupOf(eventLifecycleRepository.getValue(keys.admissionGroup())); group <= currentGroup; group++) {
+                structuralKeys.add(keys.groupPrefix() + group);
+            }
+        }
+
+        long keyCount = 0;
+        long bytes = 0;
+        for (Long usage : eventLifecycleRepository.memoryUsage(structuralKeys)) {
+            if (usage != null) {
+                keyCount++;
+                bytes += usage;
+            }
+        }
+
+        List<String> sample = eventLifecycleRepository.sampleFields(keys.entries(), sampleSize);
+        if (!sample.isEmpty()) {
+            long entrants = eventLifecycleRepository.getHashSize(keys.entries());
+            int present = 0;
+            long sampleBytes = 0;
+            for (Long usage : eventLifecycleRepository.memoryUsage(
+                    sample.stream().map(userToken -> keys.readyPrefix() + userToken).toList())) {
+                if (usage != null) {
+                    present++;
+                    sampleBytes += usage;
+                }
+            }
+            // 준비 상태 키는 TTL 로 사라지므로 표본 중 남아 있는 비율만큼만 센다
+            keyCount += entrants * present / sample.size();
+            bytes += entrants * sampleBytes / sample.size();
+        }
+        return new EventMemory(scheduleId, isClosed(scheduleId), keyCount, bytes);
+    }
+
+    // 진입은 백엔드마다 Lua 스크립트 한 번 (중복 확인, 순번 발급, 대기열 추가를 함께 처리)
+    @Override
+    public QueueEntry enter(int scheduleId, String userToken, int maxQueueSize, int groupSize, Duration readyTtl) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            QueueEntry entry = shardedQueueRepository.enterQueue(keys, userToken, maxQueueSize, readyTtl);
+            logger.debug("사용자 {}가 회차 {} 대기열 샤드 {}에 추가되었습니다.",
+                    userToken, scheduleId, shardedQueueRepository.shardOf(userToken));
+            return entry;
+        }
+        if (queueProperties.isSortedSet()) {
+            QueueEntry entry = sortedSetQueueRepository.enterQueue(keys.size(), keys.waiting(), keys.entries(),
+                    keys.readyPrefix(), userToken, maxQueueSize, readyTtl);
+            logger.debug("사용자 {}가 회차 {} 대기열 {}번째에 추가되었습니다. (순번: {})",
+                    userToken, scheduleId, entry.getPosition(), entry.getSequence());
+            return entry;
+        }
+
+        QueueEntry entry = queueRepository.enterQueue(keys.size(), keys.currentGroup(), keys.entries(),
+                keys.groupPrefix(), keys.readyPrefix(), userToken, maxQueueSize, groupSize, readyTtl);
+        if (!entry.isImmediate() && !entry.isDuplicate()) {
+            logger.debug("사용자 {}가 {}{} 그룹에 추가되었습니다. (순번: {})",
+                    userToken, keys.groupPrefix(), entry.getGroup(), entry.getSequence());
+        }
+        return entry;
+    }
+
+    @Override
+    public boolean enterPool(int scheduleId, String userToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        return lotteryRepository.enterPool(keys.lotteryPool(), keys.lotteryDrawn(), keys.lotteryDrawing(),
+                keys.lotteryLate(), userToken);
+    }
+
+    @Override
+    public boolean isLotteryDrawn(int scheduleId) {
+        return lotteryRepository.isDrawn(QueueKeys.of(scheduleId).lotteryDrawn());
+    }
+
+    // 추첨도 호출마다 스크립트 한 번 (섞기와 순번 배정을 Redis 안에서 처리하므로 진입자 수만큼 왕복하지 않는다)
+    // 한 번에 batchSize 명까지만 처리하고 진행 위치는 추첨 진행 상태 키에 남긴다
+    // 샤드 방식은 순번 대신 도착 시각으로 줄을 세우므로 추첨을 지원하지 않는다
+    @Override
+    public LotteryDraw drawLottery(int scheduleId, long seed, int maxQueueSize, int groupSize, Duration readyTtl,
+                                   int batchSize, long fencingToken) {
+        if (queueProperties.isSharded()) {
+            throw new IllegalStateException("샤드 대기열은 추첨 방식을 지원하지 않습니다.");
+        }
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSortedSet()) {
+            return lotteryRepository.drawIntoSortedSet(keys.lotteryPool(), keys.lotteryDrawn(), keys.size(),
+                    keys.waiting(), keys.entries(), keys.drainFence(), keys.lotteryDrawing(), keys.lotteryOrder(),
+                    keys.lotteryLate(), keys.readyPrefix(), seed, maxQueueSize, readyTtl, batchSize, fencingToken);
+        }
+        return lotteryRepository.drawIntoGroups(keys.lotteryPool(), keys.lotteryDrawn(), keys.size(),
+                keys.currentGroup(), keys.entries(), keys.drainFence(), keys.lotteryDrawing(), keys.lotteryOrder(),
+                keys.lotteryLate(), keys.groupPrefix(), keys.readyPrefix(),
+                seed, maxQueueSize, groupSize, readyTtl, batchSize, fencingToken);
+    }
+
+    // 입장 처리도 백엔드마다 스크립트 한 번 (샤드 방식은 샤드 수 K 에 대해 2K 회)
+    // 펜싱 토큰은 같은 스크립트 안에서 확인하므로 리스를 잃은 노드의 늦은 호출은 아무것도 쓰지 못한다
+    @Override
+    public QueueDrain drain(int scheduleId, int count, Duration readyTtl, long staleBeforeMillis, long fencingToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            // 샤드 노드에는 펜싱 토큰이 없으므로 병합 전에 리스 노드에서 확인한다 (같은 토큰이 두 번 입장하는 것은 ZREM 이 막는다)
+            if (fencingToken > 0 && drainLeaseRepository.getFencingToken(keys.drainFence()) != fencingToken) {
+                throw new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다. (펜싱 토큰: " + fencingToken + ")");
+            }
+            return shardedQueueRepository.drainFront(keys, count, readyTtl, staleBeforeMillis);
+        }
+        if (queueProperties.isSortedSet()) {
+            return sortedSetQueueRepository.drainFront(keys.waiting(), keys.heartbeats(), keys.entries(),
+                    keys.drainFence(), keys.readyPrefix(), count, readyTtl, staleBeforeMillis, fencingToken);
+        }
+
+        GroupDrain drain = queueRepository.drainGroups(keys.admissionGroup(), keys.currentGroup(),
+                keys.heartbeats(), keys.entries(), keys.drainFence(), keys.groupPrefix(), keys.readyPrefix(),
+                count, readyTtl, staleBeforeMillis, fencingToken);
+        logger.debug("회차 {}의 입장 처리 그룹: {}", scheduleId, drain.getAdmissionGroup());
+        return new QueueDrain(drain.getUserTokens(), drain.getEvicted());
+    }
+
+    @Override
+    public long acquireDrainLease(int scheduleId, String nodeId, Duration leaseTtl) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        return drainLeaseRepository.acquire(keys.drainLease(), keys.drainFence(), nodeId, leaseTtl);
+    }
+
+    @Override
+    public void releaseDrainLease(int scheduleId, String nodeId) {
+        drainLeaseRepository.release(QueueKeys.of(scheduleId).drainLease(), nodeId);
+    }
+
+    @Override
+    public boolean isReady(int scheduleId, String userToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            return shardedQueueRepository.isReady(keys, userToken);
+        }
+        return Boolean.TRUE.equals(queueRepository.getValue(keys.readyPrefix() + userToken,
+                QueueProperties.ReadClass.READINESS));
+    }
+
+    // 그룹 리스트 방식은 순위를 따로 관리하지 않는다
+    @Override
+    public Long getRank(int scheduleId, String userToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            return shardedQueueRepository.getRank(keys, userToken);
+        }
+        if (queueProperties.isSortedSet()) {
+            return sortedSetQueueRepository.getRank(keys.waiting(), userToken);
+        }
+        return null;
+    }
+
+    // 그룹 리스트, sorted set 대기열은 논블로킹 클라이언트로 처리하고 sharded 대기열은 기본 구현(boundedElastic)을 쓴다
+    @Override
+    public Mono<QueueEntry> enterReactive(int scheduleId, String userToken, int maxQueueSize, int groupSize,
+                                          Duration readyTtl) {
+        if (queueProperties.isSharded()) {
+            return QueueStore.super.enterReactive(scheduleId, userToken, maxQueueSize, groupSize, readyTtl);
+        }
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSortedSet()) {
+            return reactiveQueueRepository.enterSortedSetQueue(keys.size(), keys.waiting(), keys.entries(),
+                    keys.readyPrefix(), userToken, maxQueueSize, readyTtl);
+        }
+        return reactiveQueueRepository.enterQueue(keys.size(), keys.currentGroup(), keys.entries(),
+                keys.groupPrefix(), keys.readyPrefix(), userToken, maxQueueSize, groupSize, readyTtl);
+    }
+
+    @Override
+    public Mono<Boolean> isReadyReactive(int scheduleId, String userToken) {
+        if (queueProperties.isSharded()) {
+            return QueueStore.super.isReadyReactive(scheduleId, userToken);
+        }
+        return reactiveQueueRepository.isReady(QueueKeys.of(scheduleId).readyPrefix() + userToken);
+    }
+
+    @Override
+    public Mono<Long> getRankReactive(int scheduleId, String userToken) {
+        if (queueProperties.isSharded()) {
+            return QueueStore.super.getRankReactive(scheduleId, userToken);
+        }
+        if (queueProperties.isSortedSet()) {
+            return reactiveQueueRepository.getRank(QueueKeys.of(scheduleId).waiting(), userToken);
+        }
+        return Mono.empty();
+    }
+
+    @Override
+    public List<Long> getRanks(int scheduleId, List<String> userTokens) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            return shardedQueueRepository.getRanks(keys, userTokens);
+        }
+        if (queueProperties.isSortedSet()) {
+            return sortedSetQueueRepository.getRanks(keys.waiting(), userTokens);
+        }
+        return Collections.nCopies(userTokens.size(), null);
+    }
+
+    // 그룹 리스트 방식은 입장 처리 그룹과 현재 그룹 사이의 그룹이 모두 가득 차 있으므로 양 끝 그룹만 센다
+    @Override
+    public long getWaitingCount(int scheduleId, int groupSize) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            return shardedQueueRepository.getSize(keys);
+        }
+        if (queueProperties.isSortedSet()) {
+            return countOf(sortedSetQueueRepository.getSize(keys.waiting()));
+        }
+
+        int admissionGroup = groupOf(queueRepository.getValue(keys.admissionGroup()));
+        int currentGroup = groupOf(queueRepository.getValue(keys.currentGroup()));
+        long waiting = countOf(queueRepository.getListLength(keys.groupPrefix() + admissionGroup));
+        if (currentGroup > admissionGroup) {
+            waiting += (long) (currentGroup - admissionGroup - 1) * groupSize;
+            waiting += countOf(queueRepository.getListLength(keys.groupPrefix() + currentGroup));
+        }
+        return waiting;
+    }
+
+    @Override
+    public void recordHeartbeats(int scheduleId, Collection<String> userTokens, long nowMillis) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            shardedQueueRepository.recordHeartbeats(keys, userTokens, nowMillis);
+        } else {
+            heartbeatRepository.recordHeartbeats(keys.heartbeats(), userTokens, nowMillis);
+        }
+    }
+
+    private static int groupOf(Object group) {
+        return group != null ? ((Number) group).intValue() : 1;
+    }
+
+    private static int groupOf(String group) {
+        return group != null ? Integer.parseInt(group) : 1;
+    }
+
+    private static long countOf(Long count) {
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public int availableSessions(int scheduleId, int maxActiveSessions, long nowMillis) {
+        return activeSessionRepository.availableSessions(QueueKeys.of(scheduleId).active(), maxActiveSessions, nowMillis);
+    }
+
+    @Override
+    public void registerSessions(int scheduleId, List<String> userTokens, long expiresAtMillis) {
+        activeSessionRepository.register(QueueKeys.of(scheduleId).active(), userTokens, expiresAtMillis);
+    }
+
+    @Override
+    public boolean releaseSession(int scheduleId, String userToken) {
+        QueueKeys keys = QueueKeys.of(scheduleId);
+        if (queueProperties.isSharded()) {
+            // 세션은 주 노드, 준비 상태는 토큰의 샤드에 있으므로 세션을 지운 뒤 샤드의 준비 상태를 지운다
+            if (!activeSessionRepository.release(keys.active(), userToken)) {
+                return false;
+            }
+            shardedQueueRepository.clearReady(keys, userToken);
+            return true;
+        }
+        return activeSessionRepository.release(keys.active(), keys.readyPrefix() + userToken, userToken);
+    }
+}
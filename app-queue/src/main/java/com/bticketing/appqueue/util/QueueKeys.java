@@ -0,0 +1,138 @@
+package com.bticketing.appqueue.util;
+
+import java.util.List;
+
+// 공연 회차(scheduleId)별 대기열 키
+// 회차마다 카운터, 그룹, 입장 상태를 따로 두어 동시에 열린 회차끼리 키와 락을 공유하지 않는다
+// {scheduleId} hash tag 로 같은 회차의 키를 한 슬롯에 모으지만 Redis Cluster 는 지원하지 않는다
+// 여러 스크립트가 그룹 리스트, 준비 상태 키를 KEYS 로 받지 않고 ARGV 의 prefix 로 만들어 쓰기 때문이며,
+// 지원하는 구성은 단일 주 노드(읽기 전용 복제 노드 포함)와 sharded 백엔드의 독립된 노드들이다
+public final class QueueKeys {
+
+    // 입장 처리 대상 회차 목록 (회차 번호 set)
+    public static final String ACTIVE_EVENTS_KEY = "queue:active-events";
+
+    // 판매가 끝나 키를 회수 중인 회차 목록 (회차 번호 set)
+    public static final String CLOSED_EVENTS_KEY = "queue:closed-events";
+
+    private final int scheduleId;
+    private final String prefix;
+
+    private QueueKeys(int scheduleId) {
+        this.scheduleId = scheduleId;
+        this.prefix = "queue:{" + scheduleId + "}:";
+    }
+
+    public static QueueKeys of(int scheduleId) {
+        return new QueueKeys(scheduleId);
+    }
+
+    public int getScheduleId() {
+        return scheduleId;
+    }
+
+    // 진입 순번 카운터
+    public String size() {
+        return prefix + "size";
+    }
+
+    // 사용자가 추가되고 있는 그룹 번호
+    public String currentGroup() {
+        return prefix + "currentGroup";
+    }
+
+    // 입장 처리 중인 그룹 번호
+    public String admissionGroup() {
+        return prefix + "admissionGroup";
+    }
+
+    public String groupPrefix() {
+        return prefix + "group-";
+    }
+
+    public String readyPrefix() {
+        return prefix + "userReady-";
+    }
+
+    // 진입 기록 (토큰 -> 순번, 중복 진입 확인용)
+    public String entries() {
+        return prefix + "entries";
+    }
+
+    // 대기 중인 사용자의 마지막 생존 신호 (토큰 -> 시각(ms), 입장 처리 시 이탈 판단용)
+    public String heartbeats() {
+        return prefix + "heartbeats";
+    }
+
+    // sorted set 대기열
+    public String waiting() {
+        return prefix + "waiting";
+    }
+
+    // 입장 처리된 사용자 세션 (토큰 -> 만료 시각(ms) sorted set)
+    public String active() {
+        return prefix + "active";
+    }
+
+    public String admittedWatermark() {
+        return prefix + "admittedWatermark";
+    }
+
+    // 입장 처리 리스 (보유 노드 ID, TTL 이 지나면 다른 노드가 가져갈 수 있다)
+    public String drainLease() {
+        return prefix + "drain:lease";
+    }
+
+    // 입장 처리 펜싱 토큰 (리스를 새로 가져갈 때마다 증가)
+    public String drainFence() {
+        return prefix + "drain:fence";
+    }
+
+    // 판매 회차 번호 (판매를 다시 열 때마다 증가, 워터마크 토큰에 서명되어 이전 판매의 토큰을 거부한다)
+    public String saleEpoch() {
+        return prefix + "sale:epoch";
+    }
+
+    // 추첨 방식 회차의 판매 시작 전 진입자 (순번 없는 set)
+    public String lotteryPool() {
+        return prefix + "lottery:pool";
+    }
+
+    // 추첨 완료 표시 (값은 순번을 섞는 데 쓴 seed)
+    public String lotteryDrawn() {
+        return prefix + "lottery:drawn";
+    }
+
+    // 추첨 진행 상태 (seed 와 추첨 대상 SSCAN 커서 hash, 추첨을 나누어 처리하는 동안만 존재)
+    public String lotteryDrawing() {
+        return prefix + "lottery:drawing";
+    }
+
+    // 추첨 순서 (추첨 대상을 seed 로 정한 점수 순으로 둔 sorted set, 앞에서부터 순번을 배정한다)
+    public String lotteryOrder() {
+        return prefix + "lottery:order";
+    }
+
+    // 추첨 중 진입자 (추첨 대상을 모두 배정한 뒤 도착 순서대로 배정하는 list)
+    public String lotteryLate() {
+        return prefix + "lottery:late";
+    }
+
+    // 그룹 락 방식 진입용 락 키 prefix
+    public String groupLockPrefix() {
+        return prefix + "lock:group";
+    }
+
+    // 판매 종료 표시 (값은 종료 시각(ms), 키 회수가 끝나면 'reclaimed', 다시 열면 지운다)
+    public String closed() {
+        return prefix + "closed";
+    }
+
+    // 회차 상태 키 (사용자별 키, 그룹 리스트, 판매 종료 표시와 펜싱 토큰, 판매 회차 번호 제외)
+    // 펜싱 토큰과 판매 회차 번호는 판매를 다시 열어도 증가만 해야 하므로 지우지 않는다
+    public List<String> stateKeys() {
+        return List.of(size(), currentGroup(), admissionGroup(), entries(), heartbeats(), waiting(), active(),
+                admittedWatermark(), lotteryPool(), lotteryDrawn(), lotteryDrawing(), lotteryOrder(), lotteryLate(),
+                drainLease());
+    }
+}
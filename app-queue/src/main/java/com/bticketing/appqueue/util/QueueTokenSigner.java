@@ -0,0 +1,89 @@
+package com.bticketing.appqueue.util;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+// 대기열 순번을 담은 서명 토큰 (형식: w.<회차>.<판매 회차 번호>.<순번>.<HMAC-SHA256 앞 16바이트>)
+// 토큰만으로 순번을 검증할 수 있어 사용자별 Redis 키가 필요 없다
+// 판매를 다시 열면 순번이 처음부터 다시 발급되므로, 판매 회차 번호가 다른 토큰은 같은 순번이라도 거부한다
+@Component
+public class QueueTokenSigner {
+
+    private static final String TOKEN_PREFIX = "w.";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+
+    private final SecretKeySpec secretKey;
+    private final ThreadLocal<Mac> macHolder;
+
+    public QueueTokenSigner(QueueProperties queueProperties) {
+        String tokenSecret = queueProperties.getWatermark().getTokenSecret();
+        byte[] secret;
+        if (tokenSecret != null && !tokenSecret.isBlank()) {
+            secret = tokenSecret.getBytes(StandardCharsets.UTF_8);
+        } else if (queueProperties.isWatermark()) {
+            // 알려진 기본 키로 서명하면 누구나 앞 순번 토큰을 만들 수 있으므로 기동하지 않는다
+            throw new IllegalStateException("watermark 백엔드는 토큰 서명 키(queue.watermark.token-secret)가 필요합니다.");
+        } else {
+            // 워터마크 방식이 아니면 토큰을 발급하지 않으므로 노드마다 임의 키를 쓴다
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        }
+        this.secretKey = new SecretKeySpec(secret, ALGORITHM);
+        this.macHolder = ThreadLocal.withInitial(this::createMac);
+    }
+
+    public String sign(int scheduleId, long epoch, long sequence) {
+        String payload = scheduleId + "." + epoch + "." + sequence;
+        return TOKEN_PREFIX + payload + "." + signature(payload);
+    }
+
+    // 해당 회차의 현재 판매에서 발급한 토큰이고 서명이 올바르면 순번을,
+    // 워터마크 토큰이 아니거나 이전 판매의 토큰이거나 위조된 토큰이면 -1 을 반환
+    public long verify(int scheduleId, long epoch, String userToken) {
+        String expectedPrefix = TOKEN_PREFIX + scheduleId + "." + epoch + ".";
+        if (userToken == null || !userToken.startsWith(expectedPrefix)) {
+            return -1;
+        }
+        int separator = userToken.indexOf('.', expectedPrefix.length());
+        if (separator < 0) {
+            return -1;
+        }
+
+        long sequence;
+        try {
+            sequence = Long.parseLong(userToken.substring(expectedPrefix.length(), separator));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        String payload = scheduleId + "." + epoch + "." + sequence;
+        byte[] expected = signature(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = userToken.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? sequence : -1;
+    }
+
+    private String signature(String payload) {
+        byte[] digest = macHolder.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, SIGNATURE_BYTES));
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("대기열 토큰 서명 초기화에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- 회차 입장 처리 리스 획득/갱신: 리스가 비어 있으면 가져가고, 이미 이 노드가 가지고 있으면 만료 시각만 늘린다
+-- 새로 가져갈 때만 펜싱 토큰을 올려, 리스를 잃은 이전 보유 노드의 늦은 입장 처리 쓰기가 거부되도록 한다
+-- KEYS[1] = 리스 (보유 노드 ID), KEYS[2] = 펜싱 토큰 카운터
+-- ARGV[1] = 노드 ID, ARGV[2] = 리스 TTL(ms)
+-- 반환값 = 펜싱 토큰 (다른 노드가 보유 중이면 0)
+
+local holder = redis.call('GET', KEYS[1])
+if holder and holder ~= ARGV[1] then
+    return 0
+end
+
+if holder then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    local fence = redis.call('GET', KEYS[2])
+    if fence then
+        return tonumber(fence)
+    end
+else
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+end
+return redis.call('INCR', KEYS[2])
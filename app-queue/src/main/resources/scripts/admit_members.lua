@@ -0,0 +1,27 @@
+-- 샤드 대기열 입장 처리: 병합 결과로 선택된 토큰을 대기열에서 제거하고 준비 상태 저장
+-- 마지막 생존 신호가 기준 시각보다 오래된 토큰은 입장시키지 않고 제거만 한다
+-- KEYS[1] = 샤드 대기열 sorted set, KEYS[2] = 샤드 생존 신호 hash, KEYS[3] = 샤드 진입 기록 hash
+-- ARGV[1] = 준비 상태 TTL(초), ARGV[2] = 준비 상태 키 prefix, ARGV[3] = 이탈 판단 기준 시각(ms, 0 이면 확인하지 않음)
+-- ARGV[4..] = 입장시킬 토큰
+-- 반환값 = { 제거된 토큰 수, 실제로 입장한 토큰... } (다른 노드가 먼저 입장시킨 토큰은 제외)
+
+local staleBefore = tonumber(ARGV[3])
+local result = { 0 }
+
+for i = 4, #ARGV do
+    local token = ARGV[i]
+    if redis.call('ZREM', KEYS[1], token) == 1 then
+        local lastSeen = staleBefore > 0 and redis.call('HGET', KEYS[2], token)
+        if lastSeen and tonumber(lastSeen) < staleBefore then
+            -- 다시 접속하면 새로 줄을 설 수 있도록 진입 기록을 지운다
+            redis.call('HDEL', KEYS[3], token)
+            result[1] = result[1] + 1
+        else
+            redis.call('SET', ARGV[2] .. token, 'true', 'EX', ARGV[1])
+            result[#result + 1] = token
+        end
+        redis.call('HDEL', KEYS[2], token)
+    end
+end
+
+return result
@@ -0,0 +1,20 @@
+-- 워터마크 입장 처리: 발급된 순번을 넘지 않는 범위에서 워터마크를 입장 인원만큼 올린다
+-- KEYS[1] = 순번 카운터, KEYS[2] = 입장 워터마크, KEYS[3] = 입장 처리 펜싱 토큰
+-- ARGV[1] = 최소 워터마크 (즉시 입장 구간), ARGV[2] = 입장 인원, ARGV[3] = 호출 노드의 펜싱 토큰 (0 이면 확인하지 않음)
+-- 반환값 = { 새 워터마크, 실제 입장 인원 } (펜싱 토큰이 현재 값과 다르면 { -1 })
+
+local fence = tonumber(ARGV[3])
+if fence > 0 and tonumber(redis.call('GET', KEYS[3]) or '0') ~= fence then
+    return { -1 }
+end
+
+local issued = tonumber(redis.call('GET', KEYS[1]) or '0')
+local current = math.max(tonumber(redis.call('GET', KEYS[2]) or '0'), tonumber(ARGV[1]))
+local nextWatermark = math.min(issued, current + tonumber(ARGV[2]))
+
+if nextWatermark <= current then
+    return { current, 0 }
+end
+
+redis.call('SET', KEYS[2], nextWatermark)
+return { nextWatermark, nextWatermark - current }
@@ -0,0 +1,13 @@
+-- 입장 세션 여유 확인: 만료된 세션을 정리하고 남은 입장 가능 인원을 반환
+-- KEYS[1] = 입장 세션 sorted set (토큰 -> 만료 시각(ms))
+-- ARGV[1] = 현재 시각(ms), ARGV[2] = 최대 입장 세션 수
+-- 반환값 = { 입장 가능 인원, 이번에 만료 처리된 세션 수 }
+
+local expired = redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+local available = tonumber(ARGV[2]) - redis.call('ZCARD', KEYS[1])
+
+if available < 0 then
+    available = 0
+end
+
+return { available, expired }
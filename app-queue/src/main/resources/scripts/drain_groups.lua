@@ -0,0 +1,69 @@
+-- 그룹 대기열 입장 처리: 앞선 그룹부터 최대 N명을 꺼내고 준비 상태 저장, 입장 처리 그룹 이동까지 한 번의 호출로 처리
+-- 마지막 생존 신호가 기준 시각보다 오래된 토큰은 입장시키지 않고 대기열에서 제거하며, 그 자리는 다음 사용자로 채운다
+-- KEYS[1] = 입장 처리 중인 그룹 번호, KEYS[2] = 사용자가 추가되고 있는 현재 그룹 번호
+-- KEYS[3] = 생존 신호 hash (토큰 -> 마지막 신호 시각(ms)), KEYS[4] = 진입 기록 hash, KEYS[5] = 입장 처리 펜싱 토큰
+-- ARGV[1] = 최대 입장 인원, ARGV[2] = 준비 상태 TTL(초), ARGV[3] = 그룹 키 prefix, ARGV[4] = 준비 상태 키 prefix
+-- ARGV[5] = 이탈 판단 기준 시각(ms, 0 이면 확인하지 않음), ARGV[6] = 호출 노드의 펜싱 토큰 (0 이면 확인하지 않음)
+-- 반환값 = { 처리 후 입장 처리 그룹 번호, 제거된 토큰 수, 입장한 토큰... } (펜싱 토큰이 현재 값과 다르면 { -1 })
+
+local fence = tonumber(ARGV[6])
+if fence > 0 and tonumber(redis.call('GET', KEYS[5]) or '0') ~= fence then
+    return { -1 }
+end
+
+local remaining = tonumber(ARGV[1])
+local staleBefore = tonumber(ARGV[5])
+local admissionGroup = tonumber(redis.call('GET', KEYS[1]) or '1')
+local currentGroup = tonumber(redis.call('GET', KEYS[2]) or '1')
+local evicted = 0
+local result = { 0, 0 }
+
+-- 생존 신호가 아직 기록되지 않은 토큰은 이탈로 보지 않는다
+local function isStale(token)
+    if staleBefore <= 0 then
+        return false
+    end
+    local lastSeen = redis.call('HGET', KEYS[3], token)
+    return lastSeen ~= false and tonumber(lastSeen) < staleBefore
+end
+
+while remaining > 0 do
+    local groupKey = ARGV[3] .. admissionGroup
+    local tokens = redis.call('LRANGE', groupKey, 0, remaining - 1)
+
+    if #tokens > 0 then
+        redis.call('LTRIM', groupKey, #tokens, -1)
+        for _, encoded in ipairs(tokens) do
+            -- 그룹 리스트의 토큰은 RedisTemplate 의 JSON 직렬화 형식으로 저장되어 있다
+            local token = cjson.decode(encoded)
+            if isStale(token) then
+                -- 다시 접속하면 새로 줄을 설 수 있도록 진입 기록도 지운다
+                redis.call('HDEL', KEYS[4], token)
+                evicted = evicted + 1
+            else
+                redis.call('SET', ARGV[4] .. token, 'true', 'EX', ARGV[2])
+                result[#result + 1] = token
+                remaining = remaining - 1
+            end
+            redis.call('HDEL', KEYS[3], token)
+        end
+    end
+
+    if remaining == 0 then
+        break
+    end
+    -- 제거된 토큰이 있었으면 같은 그룹에서 더 꺼내고, 그룹을 모두 비웠을 때만 다음 그룹으로 넘어간다
+    if redis.call('LLEN', groupKey) == 0 then
+        -- 아직 사용자가 추가되고 있는 그룹이면 다음 주기에 이어서 처리
+        if admissionGroup >= currentGroup then
+            break
+        end
+        -- 채우기가 끝난 그룹을 모두 비웠으므로 다음 그룹으로 이동
+        admissionGroup = admissionGroup + 1
+        redis.call('SET', KEYS[1], tostring(admissionGroup))
+    end
+end
+
+result[1] = admissionGroup
+result[2] = evicted
+return result
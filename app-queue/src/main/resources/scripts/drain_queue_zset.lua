@@ -0,0 +1,49 @@
+-- sorted set 대기열 입장 처리: 순번이 앞선 사용자부터 최대 N명을 꺼내고 준비 상태 저장까지 한 번의 호출로 처리
+-- 마지막 생존 신호가 기준 시각보다 오래된 토큰은 입장시키지 않고 제거하며, 그 자리는 다음 사용자로 채운다
+-- KEYS[1] = 대기열 sorted set, KEYS[2] = 생존 신호 hash (토큰 -> 마지막 신호 시각(ms)), KEYS[3] = 진입 기록 hash
+-- KEYS[4] = 입장 처리 펜싱 토큰
+-- ARGV[1] = 최대 입장 인원, ARGV[2] = 준비 상태 TTL(초), ARGV[3] = 준비 상태 키 prefix
+-- ARGV[4] = 이탈 판단 기준 시각(ms, 0 이면 확인하지 않음), ARGV[5] = 호출 노드의 펜싱 토큰 (0 이면 확인하지 않음)
+-- 반환값 = { 제거된 토큰 수, 입장한 토큰... } (펜싱 토큰이 현재 값과 다르면 { -1 })
+
+local fence = tonumber(ARGV[5])
+if fence > 0 and tonumber(redis.call('GET', KEYS[4]) or '0') ~= fence then
+    return { -1 }
+end
+
+local remaining = tonumber(ARGV[1])
+local staleBefore = tonumber(ARGV[4])
+local result = { 0 }
+
+-- 생존 신호가 아직 기록되지 않은 토큰은 이탈로 보지 않는다
+local function isStale(token)
+    if staleBefore <= 0 then
+        return false
+    end
+    local lastSeen = redis.call('HGET', KEYS[2], token)
+    return lastSeen ~= false and tonumber(lastSeen) < staleBefore
+end
+
+while remaining > 0 do
+    local popped = redis.call('ZPOPMIN', KEYS[1], remaining)
+    if #popped == 0 then
+        break
+    end
+
+    -- ZPOPMIN 결과는 { member, score, member, score, ... } 형태
+    for i = 1, #popped, 2 do
+        local token = popped[i]
+        if isStale(token) then
+            -- 다시 접속하면 새로 줄을 설 수 있도록 진입 기록을 지운다
+            redis.call('HDEL', KEYS[3], token)
+            result[1] = result[1] + 1
+        else
+            redis.call('SET', ARGV[3] .. token, 'true', 'EX', ARGV[2])
+            result[#result + 1] = token
+            remaining = remaining - 1
+        end
+        redis.call('HDEL', KEYS[2], token)
+    end
+end
+
+return result
@@ -0,0 +1,114 @@
+-- 추첨 방식 회차의 순번 배정 (그룹 리스트 대기열): 판매 시작 전 모아 둔 진입자를 seed 로 정한 순서로 줄 세운다
+-- 한 번의 호출은 최대 ARGV[8] 명만 처리하고 진행 위치를 남기므로, 진입자가 많아도 Redis 를 오래 막지 않는다
+--   1) 추첨 대상 set 을 SSCAN 으로 나누어 읽어 sha1(seed:토큰) 점수로 추첨 순서 sorted set 에 옮긴다 (점수 순서가 곧 추첨 순서)
+--   2) 추첨 순서 앞에서부터 ZPOPMIN 으로 꺼내 순번을 배정한다
+--   3) 추첨 중에 들어온 진입자(enter_pool.lua)를 도착 순서대로 배정하고, 모두 비면 추첨 완료 표시를 남긴다
+-- 순번 이후의 처리(즉시 입장, 그룹 배정, 진입 기록)는 enter_queue.lua 와 같다 (준비 상태는 즉시 입장한 토큰만 저장)
+-- KEYS[1] = 추첨 대상 set, KEYS[2] = 추첨 완료 표시 (seed), KEYS[3] = 대기열 크기 카운터, KEYS[4] = 현재 그룹 번호
+-- KEYS[5] = 진입 기록 hash, KEYS[6] = 입장 처리 펜싱 토큰, KEYS[7] = 추첨 진행 상태 hash (seed, SSCAN 커서)
+-- KEYS[8] = 추첨 순서 sorted set, KEYS[9] = 추첨 중 진입 list
+-- ARGV[1] = seed (첫 호출에만 사용), ARGV[2] = 최대 즉시 입장 인원, ARGV[3] = 그룹 크기, ARGV[4] = 준비 상태 TTL(초)
+-- ARGV[5] = 그룹 키 prefix, ARGV[6] = 준비 상태 키 prefix, ARGV[7] = 호출 노드의 펜싱 토큰 (0 이면 확인하지 않음)
+-- ARGV[8] = 한 번에 처리할 최대 인원
+-- 반환값 = { 이번에 순번을 배정한 인원, 추첨이 끝났으면 1 아니면 0, 즉시 입장한 토큰... }
+--          (이미 추첨했으면 { 0, 1 }, 펜싱 토큰이 현재 값과 다르면 { -1 })
+
+local fence = tonumber(ARGV[7])
+if fence > 0 and tonumber(redis.call('GET', KEYS[6]) or '0') ~= fence then
+    return { -1 }
+end
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return { 0, 1 }
+end
+local seed = redis.call('HGET', KEYS[7], 'seed')
+if not seed then
+    seed = ARGV[1]
+    redis.call('HSET', KEYS[7], 'seed', seed, 'cursor', '0')
+end
+
+local budget = tonumber(ARGV[8])
+local work = 0
+local result = { 0, 0 }
+
+-- 1) 점수 매기기 (SSCAN 은 순회 중 set 이 바뀌지 않으면 모든 원소를 한 번 이상 돌려주고, ZADD 는 중복을 흡수한다)
+local cursor = redis.call('HGET', KEYS[7], 'cursor')
+while cursor ~= 'done' and work < budget do
+    local scan = redis.call('SSCAN', KEYS[1], cursor, 'COUNT', budget - work)
+    for _, token in ipairs(scan[2]) do
+        local score = tonumber(string.sub(redis.sha1hex(seed .. ':' .. token), 1, 13), 16)
+        redis.call('ZADD', KEYS[8], score, token)
+    end
+    work = work + #scan[2] + 1
+    cursor = scan[1]
+    if cursor == '0' then
+        cursor = 'done'
+        redis.call('DEL', KEYS[1])
+    end
+end
+redis.call('HSET', KEYS[7], 'cursor', cursor)
+if cursor ~= 'done' then
+    return result
+end
+
+local maxImmediate = tonumber(ARGV[2])
+local groupSize = tonumber(ARGV[3])
+local group = tonumber(redis.call('GET', KEYS[4]) or '1')
+local groupLength = redis.call('LLEN', ARGV[5] .. group)
+
+local function assign(token)
+    -- 추첨 전에 일반 진입으로 이미 줄을 섰거나 추첨 중에 다시 진입한 토큰은 건너뛴다
+    if redis.call('HEXISTS', KEYS[5], token) == 1 then
+        return
+    end
+    local sequence = redis.call('INCR', KEYS[3])
+    if sequence < maxImmediate then
+        redis.call('SET', ARGV[6] .. token, 'true', 'EX', ARGV[4])
+        redis.call('HSET', KEYS[5], token, sequence .. ':0')
+        result[#result + 1] = token
+    else
+        if groupLength >= groupSize then
+            group = group + 1
+            groupLength = 0
+        end
+        -- RedisTemplate 의 JSON 직렬화와 호환되도록 토큰을 JSON 문자열로 저장
+        redis.call('RPUSH', ARGV[5] .. group, cjson.encode(token))
+        redis.call('HSET', KEYS[5], token, sequence .. ':' .. group)
+        groupLength = groupLength + 1
+    end
+    result[1] = result[1] + 1
+end
+
+-- 2) 추첨 순서대로 배정
+while work < budget do
+    local popped = redis.call('ZPOPMIN', KEYS[8], budget - work)
+    if #popped == 0 then
+        break
+    end
+    for i = 1, #popped, 2 do
+        assign(popped[i])
+    end
+    work = work + #popped / 2
+end
+
+-- 3) 추첨 중 진입자를 도착 순서대로 배정 (추첨 대상을 모두 배정한 뒤에만)
+if redis.call('EXISTS', KEYS[8]) == 0 then
+    while work < budget do
+        local late = redis.call('LRANGE', KEYS[9], 0, budget - work - 1)
+        if #late == 0 then
+            break
+        end
+        redis.call('LTRIM', KEYS[9], #late, -1)
+        for _, token in ipairs(late) do
+            assign(token)
+        end
+        work = work + #late
+    end
+    if redis.call('EXISTS', KEYS[9]) == 0 then
+        redis.call('SET', KEYS[2], seed)
+        redis.call('DEL', KEYS[7])
+        result[2] = 1
+    end
+end
+
+redis.call('SET', KEYS[4], tostring(group))
+return result
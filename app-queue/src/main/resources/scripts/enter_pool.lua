@@ -0,0 +1,15 @@
+-- 추첨 방식 회차의 판매 시작 전 진입: 순번 없이 추첨 대상 set 에만 넣는다 (중복 진입은 set 이 흡수)
+-- 추첨이 진행 중이면 추첨 대상 뒤에 도착 순서대로 줄 세우도록 추첨 중 진입 list 에 넣는다
+-- KEYS[1] = 추첨 대상 set, KEYS[2] = 추첨 완료 표시, KEYS[3] = 추첨 진행 상태 hash, KEYS[4] = 추첨 중 진입 list
+-- ARGV[1] = userToken
+-- 반환값 = 추첨 대상에 넣었으면 1, 이미 추첨이 끝났으면 0 (호출한 쪽이 일반 진입으로 처리)
+
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return 0
+end
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    redis.call('RPUSH', KEYS[4], ARGV[1])
+    return 1
+end
+redis.call('SADD', KEYS[1], ARGV[1])
+return 1
@@ -0,0 +1,37 @@
+-- 대기열 진입: 중복 확인, 순번 발급, 그룹 배정, 그룹 전환을 한 번의 호출로 처리
+-- 준비 상태는 즉시 입장일 때만 저장한다 (그룹에 들어간 사용자는 입장 처리(drain_groups.lua) 때 저장된다)
+-- KEYS[1] = 대기열 크기 카운터, KEYS[2] = 현재 그룹 번호, KEYS[3] = 진입 기록 hash (토큰 -> "순번:그룹")
+-- ARGV[1] = userToken, ARGV[2] = 최대 즉시 입장 인원, ARGV[3] = 그룹 크기
+-- ARGV[4] = 준비 상태 TTL(초), ARGV[5] = 그룹 키 prefix, ARGV[6] = 준비 상태 키 prefix
+-- 반환값 = { 순번, 배정된 그룹 번호 (즉시 입장이면 0), 중복 진입이면 1 아니면 0 }
+
+-- 이미 진입한 토큰이면 순번을 새로 발급하지 않고 기존 순번과 그룹을 반환
+local existing = redis.call('HGET', KEYS[3], ARGV[1])
+if existing then
+    local separator = string.find(existing, ':', 1, true)
+    return { tonumber(string.sub(existing, 1, separator - 1)), tonumber(string.sub(existing, separator + 1)), 1 }
+end
+
+local sequence = redis.call('INCR', KEYS[1])
+local readyKey = ARGV[6] .. ARGV[1]
+
+if sequence < tonumber(ARGV[2]) then
+    redis.call('SET', readyKey, 'true', 'EX', ARGV[4])
+    redis.call('HSET', KEYS[3], ARGV[1], sequence .. ':0')
+    return { sequence, 0, 0 }
+end
+
+local group = tonumber(redis.call('GET', KEYS[2]) or '1')
+local groupKey = ARGV[5] .. group
+
+if redis.call('LLEN', groupKey) >= tonumber(ARGV[3]) then
+    group = group + 1
+    redis.call('SET', KEYS[2], tostring(group))
+    groupKey = ARGV[5] .. group
+end
+
+-- RedisTemplate 의 JSON 직렬화와 호환되도록 토큰을 JSON 문자열로 저장
+redis.call('RPUSH', groupKey, cjson.encode(ARGV[1]))
+redis.call('HSET', KEYS[3], ARGV[1], sequence .. ':' .. group)
+
+return { sequence, group, 0 }
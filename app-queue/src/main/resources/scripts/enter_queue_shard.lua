@@ -0,0 +1,24 @@
+-- 샤드 대기열 진입: 중복 확인 후 샤드 순번 발급, 도착 시각을 score 로 sorted set 에 추가
+-- KEYS[1] = 샤드 대기열 크기 카운터, KEYS[2] = 샤드 대기열 sorted set, KEYS[3] = 샤드 진입 기록 hash (토큰 -> 순번)
+-- ARGV[1] = userToken, ARGV[2] = 샤드별 즉시 입장 인원, ARGV[3] = 준비 상태 TTL(초)
+-- ARGV[4] = 준비 상태 키 prefix, ARGV[5] = 도착 시각(마이크로초)
+-- 반환값 = { 샤드 순번, 즉시 입장(또는 이미 입장)이면 1 아니면 0, 중복 진입이면 1 아니면 0 }
+
+-- 같은 토큰은 항상 같은 샤드로 오므로 샤드 안에서만 확인하면 된다
+local existing = redis.call('HGET', KEYS[3], ARGV[1])
+if existing then
+    local waiting = redis.call('ZSCORE', KEYS[2], ARGV[1])
+    return { tonumber(existing), waiting and 0 or 1, 1 }
+end
+
+local sequence = redis.call('INCR', KEYS[1])
+redis.call('HSET', KEYS[3], ARGV[1], sequence)
+
+if sequence <= tonumber(ARGV[2]) then
+    redis.call('SET', ARGV[4] .. ARGV[1], 'true', 'EX', ARGV[3])
+    return { sequence, 1, 0 }
+end
+
+redis.call('ZADD', KEYS[2], 'NX', ARGV[5], ARGV[1])
+
+return { sequence, 0, 0 }
@@ -0,0 +1,22 @@
+-- sorted set 대기열 진입: 중복 확인 후 순번 발급, 순번을 score 로 추가하고 현재 순위를 반환
+-- KEYS[1] = 대기열 크기 카운터, KEYS[2] = 대기열 sorted set, KEYS[3] = 진입 기록 hash (토큰 -> 순번)
+-- ARGV[1] = userToken, ARGV[2] = 최대 즉시 입장 인원, ARGV[3] = 준비 상태 TTL(초), ARGV[4] = 준비 상태 키 prefix
+-- 반환값 = { 순번, 순위(0부터 시작, 즉시 입장 또는 이미 입장했으면 -1), 중복 진입이면 1 아니면 0 }
+
+-- 이미 진입한 토큰이면 순번을 새로 발급하지 않고 현재 순위를 반환 (대기열에 없으면 이미 입장한 사용자)
+local existing = redis.call('HGET', KEYS[3], ARGV[1])
+if existing then
+    return { tonumber(existing), redis.call('ZRANK', KEYS[2], ARGV[1]) or -1, 1 }
+end
+
+local sequence = redis.call('INCR', KEYS[1])
+redis.call('HSET', KEYS[3], ARGV[1], sequence)
+
+if sequence < tonumber(ARGV[2]) then
+    redis.call('SET', ARGV[4] .. ARGV[1], 'true', 'EX', ARGV[3])
+    return { sequence, -1, 0 }
+end
+
+redis.call('ZADD', KEYS[2], 'NX', sequence, ARGV[1])
+
+return { sequence, redis.call('ZRANK', KEYS[2], ARGV[1]), 0 }
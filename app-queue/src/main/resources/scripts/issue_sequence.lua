@@ -0,0 +1,8 @@
+-- 워터마크 방식 순번 발급: 순번과 함께 현재 판매 회차 번호를 읽어 토큰에 서명할 값을 한 번에 돌려준다
+-- KEYS[1] = 진입 순번 카운터, KEYS[2] = 판매 회차 번호
+-- 반환값 = { 순번, 판매 회차 번호 (판매를 다시 연 적이 없으면 0) }
+
+local sequence = redis.call('INCR', KEYS[1])
+local epoch = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+return { sequence, epoch }
@@ -0,0 +1,9 @@
+-- 키마다 MEMORY USAGE (한 번의 호출로 회차 키의 메모리 사용량을 모은다)
+-- KEYS = 조회할 키 (모두 같은 회차 키)
+-- 반환값 = 키 순서대로 사용량(byte), 없는 키는 -1
+
+local usages = {}
+for i = 1, #KEYS do
+    usages[i] = redis.call('MEMORY', 'USAGE', KEYS[i]) or -1
+end
+return usages
@@ -0,0 +1,26 @@
+-- 회차 판매 시작: 이전 판매에서 남은 카운터와 대기열 키를 한 번에 초기화
+-- 판매를 닫은 적이 없는 회차(처음 여는 회차, 이미 열려 있는 판매)는 건드리지 않는다
+-- 순번 카운터가 처음부터 다시 발급되므로 판매 회차 번호를 올려 이전 판매에서 받은 워터마크 토큰을 무효로 만든다
+-- KEYS[1] = 판매 종료 표시, KEYS[2] = 입장 처리 중인 그룹 번호, KEYS[3] = 현재 그룹 번호, KEYS[4] = 판매 회차 번호
+-- KEYS[5..] = 회차 상태 키
+-- ARGV[1] = 그룹 키 prefix
+-- 반환값 = 1 (열림), 0 (판매 종료 후 키 회수 중)
+
+local closed = redis.call('GET', KEYS[1])
+if not closed then
+    return 1
+end
+if closed ~= 'reclaimed' then
+    return 0
+end
+
+-- 회수가 끝난 뒤 종료 소식을 받기 전의 노드가 남긴 키까지 지운다 (카운터는 키가 없으면 초기값으로 읽힌다)
+local group = tonumber(redis.call('GET', KEYS[2]) or '1')
+local currentGroup = tonumber(redis.call('GET', KEYS[3]) or '1')
+for g = group, currentGroup do
+    redis.call('UNLINK', ARGV[1] .. g)
+end
+redis.call('UNLINK', unpack(KEYS, 5))
+redis.call('INCR', KEYS[4])
+redis.call('UNLINK', KEYS[1])
+return 1
@@ -0,0 +1,58 @@
+-- 판매가 끝난 회차의 키를 조금씩 회수 (UNLINK 로 지우므로 큰 리스트, hash 의 메모리 해제는 Redis 백그라운드 스레드가 한다)
+-- 한 번에 최대 ARGV[1] 개만 지워 대기 인원이 많은 회차도 Redis 를 오래 막지 않는다
+-- 순서: 남은 그룹 리스트와 그룹 락 -> 진입 기록의 토큰별 준비 상태 키 -> 회차 상태 키
+-- 판매 종료 표시는 다시 열 때까지 남겨 값만 'reclaimed' 로 바꾼다 (펜싱 토큰도 증가만 해야 하므로 남긴다)
+-- KEYS[1] = 판매 종료 표시, KEYS[2] = 입장 처리 펜싱 토큰, KEYS[3] = 진입 기록 hash
+-- KEYS[4] = 입장 처리 중인 그룹 번호, KEYS[5] = 현재 그룹 번호, KEYS[6..] = 마지막에 지울 회차 상태 키
+-- ARGV[1] = 한 번에 지울 최대 키 수, ARGV[2] = 그룹 키 prefix, ARGV[3] = 그룹 락 키 prefix, ARGV[4] = 준비 상태 키 prefix
+-- ARGV[5] = 호출 노드의 펜싱 토큰 (0 이면 확인하지 않음)
+-- 반환값 = { 지운 키 수, 회수가 끝났으면 1 아니면 0 } (펜싱 토큰이 현재 값과 다르면 { -1 }, 회수할 것이 없으면 { -2 })
+
+local fence = tonumber(ARGV[5])
+if fence > 0 and tonumber(redis.call('GET', KEYS[2]) or '0') ~= fence then
+    return { -1 }
+end
+local closed = redis.call('GET', KEYS[1])
+if not closed or closed == 'reclaimed' then
+    return { -2 }
+end
+
+local budget = tonumber(ARGV[1])
+local work = 0
+local reclaimed = 0
+
+-- 입장 처리되지 않고 남은 그룹 (입장 처리가 끝난 그룹 리스트는 LTRIM 으로 비워지면서 이미 삭제되었다)
+local group = tonumber(redis.call('GET', KEYS[4]) or '1')
+local currentGroup = tonumber(redis.call('GET', KEYS[5]) or '1')
+while group <= currentGroup and work < budget do
+    reclaimed = reclaimed + redis.call('UNLINK', ARGV[2] .. group, ARGV[3] .. '-' .. group)
+    group = group + 1
+    work = work + 1
+end
+-- 다음 호출이 지운 그룹을 다시 확인하지 않도록 진행 위치를 남긴다
+redis.call('SET', KEYS[4], group)
+if group <= currentGroup then
+    return { reclaimed, 0 }
+end
+
+-- 진입 기록에 남은 토큰의 준비 상태 키 (지운 토큰은 진입 기록에서도 빼므로 다음 호출은 처음부터 다시 훑는다)
+local cursor = '0'
+repeat
+    local page = redis.call('HSCAN', KEYS[3], cursor, 'COUNT', math.max(1, budget - work))
+    cursor = page[1]
+    local fields = page[2]
+    for i = 1, #fields, 2 do
+        reclaimed = reclaimed + redis.call('UNLINK', ARGV[4] .. fields[i])
+        redis.call('HDEL', KEYS[3], fields[i])
+        work = work + 1
+    end
+    -- 빈 구간만 훑는 경우에도 호출 한 번을 작업량으로 센다
+    work = work + 1
+until cursor == '0' or work >= budget
+if redis.call('HLEN', KEYS[3]) > 0 then
+    return { reclaimed, 0 }
+end
+
+reclaimed = reclaimed + redis.call('UNLINK', unpack(KEYS, 6))
+redis.call('SET', KEYS[1], 'reclaimed')
+return { reclaimed, 1 }
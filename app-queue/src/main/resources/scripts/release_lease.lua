@@ -0,0 +1,9 @@
+-- 회차 입장 처리 리스 반납: 이 노드가 보유 중일 때만 지운다 (만료 후 다른 노드가 가져간 리스는 건드리지 않음)
+-- KEYS[1] = 리스 (보유 노드 ID)
+-- ARGV[1] = 노드 ID
+-- 반환값 = 반납 여부 (1/0)
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
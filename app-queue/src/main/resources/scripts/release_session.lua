@@ -0,0 +1,11 @@
+-- 입장 세션 종료: 세션을 지우면서 준비 상태도 함께 지워 반납한 토큰으로 다시 입장하지 못하게 한다
+-- KEYS[1] = 입장 세션 sorted set, KEYS[2] = 준비 상태 키
+-- ARGV[1] = 사용자 토큰
+-- 반환값 = 세션이 있었으면 1, 없었으면 0
+
+local removed = redis.call('ZREM', KEYS[1], ARGV[1])
+if removed == 1 then
+    redis.call('DEL', KEYS[2])
+end
+
+return removed
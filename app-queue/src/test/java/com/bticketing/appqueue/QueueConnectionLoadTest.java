@@ -0,0 +1,132 @@
+package com.bticketing.appqueue;
+
+import com.bticketing.bticketingQueueApplication;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 서블릿 스택과 reactive 프로필을 차례로 띄워 같은 수의 동시 연결로 진입 후 상태 조회를 반복하고
+// 처리량, p99, 실패 수, 최대 스레드 수를 비교한다 (QueueLoadTest 와 같이 redis-queue 에 연결되는 Redis 가 필요하다)
+// 연결 수는 -Dqueue.load.connections 로 바꿀 수 있다 (클라이언트와 서버가 같은 JVM 이라 파일 디스크립터가 연결 수의 두 배 필요)
+class QueueConnectionLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueConnectionLoadTest.class);
+
+    private static final int CONNECTIONS = Integer.getInteger("queue.load.connections", 10_000);
+    private static final int STATUS_POLLS = 3;
+    private static final int SCHEDULE_ID = 1;
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    @DisplayName("동시 연결 비교 - 서블릿 스택 vs reactive 프로필 (처리량, p99, 실패, 최대 스레드 수)")
+    void compareServletWithReactive() {
+        ConnectionLoadResult servletResult = runConnectionLoad();
+        ConnectionLoadResult reactiveResult = runConnectionLoad("reactive");
+
+        logger.info("[서블릿] 연결: {}, 처리량(requests/sec): {}, p99(ms): {}, 실패: {}, 최대 스레드: {}", CONNECTIONS,
+                String.format("%.1f", servletResult.requestsPerSecond()), String.format("%.2f", servletResult.p99Millis()),
+                servletResult.errors(), servletResult.peakThreads());
+        logger.info("[reactive] 연결: {}, 처리량(requests/sec): {}, p99(ms): {}, 실패: {}, 최대 스레드: {}", CONNECTIONS,
+                String.format("%.1f", reactiveResult.requestsPerSecond()), String.format("%.2f", reactiveResult.p99Millis()),
+                reactiveResult.errors(), reactiveResult.peakThreads());
+
+        assertEquals(0, reactiveResult.errors(), "reactive 프로필에서 실패한 요청이 있습니다.");
+        // 서블릿 스택은 요청 처리 스레드가 동시 연결을 따라 늘고, reactive 스택은 이벤트 루프 수로 고정된다
+        assertTrue(reactiveResult.peakThreads() < servletResult.peakThreads(),
+                "reactive 프로필의 최대 스레드 수가 서블릿 스택보다 적지 않습니다.");
+    }
+
+    // 연결마다 토큰 하나로 진입한 뒤 상태를 STATUS_POLLS 회 조회한다 (모든 연결을 동시에 연다)
+    // 측정마다 대기열 키를 초기화하여 두 스택이 같은 조건(즉시 입장 이후 대기열 배정)에서 비교되도록 한다
+    private ConnectionLoadResult runConnectionLoad(String... profiles) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(bticketingQueueApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0", "--queue.admission.enabled=false", "--queue.reclaim.enabled=false")) {
+            context.getBean(StringRedisTemplate.class).execute(connection -> {
+                connection.serverCommands().flushDb();
+                return null;
+            }, true);
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+
+            ConnectionProvider connectionProvider = ConnectionProvider.builder("queue-load")
+                    .maxConnections(CONNECTIONS)
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            HttpClient client = HttpClient.create(connectionProvider)
+                    .baseUrl("http://localhost:" + port)
+                    .responseTimeout(RESPONSE_TIMEOUT);
+
+            int totalRequests = CONNECTIONS * (1 + STATUS_POLLS);
+            long[] latencies = new long[totalRequests];
+            AtomicInteger recorded = new AtomicInteger(0);
+            AtomicInteger errorCount = new AtomicInteger(0);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long startTime = System.nanoTime();
+            Flux.range(0, CONNECTIONS)
+                    .flatMap(i -> {
+                        String userToken = "load-" + i;
+                        Mono<Void> entry = request(client, "/queue?scheduleId=" + SCHEDULE_ID + "&userToken=" + userToken,
+                                latencies, recorded, errorCount);
+                        Mono<Void> status = request(client,
+                                "/queue/status?scheduleId=" + SCHEDULE_ID + "&userToken=" + userToken,
+                                latencies, recorded, errorCount);
+                        return entry.then(status.repeat(STATUS_POLLS - 1).then());
+                    }, CONNECTIONS)
+                    .blockLast();
+            long elapsed = System.nanoTime() - startTime;
+            int peakThreads = threads.getPeakThreadCount();
+            connectionProvider.dispose();
+
+            long[] measured = Arrays.copyOf(latencies, recorded.get());
+            Arrays.sort(measured);
+            double p99Millis = measured.length > 0
+                    ? measured[(int) Math.ceil(measured.length * 0.99) - 1] / 1_000_000.0
+                    : 0;
+            double requestsPerSecond = totalRequests / (elapsed / 1_000_000_000.0);
+            return new ConnectionLoadResult(requestsPerSecond, p99Millis, errorCount.get(), peakThreads);
+        }
+    }
+
+    // 200 이외의 응답, 연결 실패, 응답 시간 초과는 실패로 센다
+    private Mono<Void> request(HttpClient client, String uri, long[] latencies, AtomicInteger recorded,
+                               AtomicInteger errorCount) {
+        return Mono.defer(() -> {
+            long begin = System.nanoTime();
+            return client.get()
+                    .uri(uri)
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status())))
+                    .doOnNext(status -> {
+                        if (!HttpResponseStatus.OK.equals(status)) {
+                            errorCount.incrementAndGet();
+                        }
+                    })
+                    .doOnError(e -> errorCount.incrementAndGet())
+                    .doFinally(signal -> latencies[recorded.getAndIncrement()] = System.nanoTime() - begin)
+                    .onErrorResume(e -> Mono.empty())
+                    .then();
+        });
+    }
+
+    private record ConnectionLoadResult(double requestsPerSecond, double p99Millis, int errors, int peakThreads) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.bticketing.appqueue;
 
+import com.bticketing.appqueue.dto.QueueStatus;
 import com.bticketing.appqueue.service.QueueService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class QueueIntegrationTest {
 
+    private static final int SCHEDULE_ID = 1;
+
     @Autowired
     private QueueService queueService;
 
@@ -24,7 +27,7 @@ class QueueIntegrationTest {
     void setUp() {
         // 대기열 초기화
         for (int i = 0; i < 500; i++) {
-            queueService.handleUserEntry("dummyUser" + i);
+            queueService.handleUserEntry(SCHEDULE_ID, "dummyUser" + i);
         }
     }
 
@@ -32,18 +35,19 @@ class QueueIntegrationTest {
     void testPollingAPI_UserInQueue() {
         // Given: 새로운 사용자 추가
         String userToken = "testToken";
-        queueService.handleUserEntry(userToken);
+        queueService.handleUserEntry(SCHEDULE_ID, userToken);
 
         // When: Polling API 호출
         String statusUrl = UriComponentsBuilder.fromPath("/queue/status")
+                .queryParam("scheduleId", SCHEDULE_ID)
                 .queryParam("userToken", userToken)
                 .build()
                 .toUriString();
 
-        ResponseEntity<String> response = restTemplate.getForEntity(statusUrl, String.class);
+        ResponseEntity<QueueStatus> response = restTemplate.getForEntity(statusUrl, QueueStatus.class);
 
         // Then: 사용자 상태가 "inQueue"로 반환되는지 확인
-        assertEquals("inQueue", response.getBody());
+        assertEquals("inQueue", response.getBody().getStatus());
     }
 
     @Test
@@ -53,13 +57,14 @@ class QueueIntegrationTest {
 
         // When: Polling API 호출
         String statusUrl = UriComponentsBuilder.fromPath("/queue/status")
+                .queryParam("scheduleId", SCHEDULE_ID)
                 .queryParam("userToken", userToken)
                 .build()
                 .toUriString();
 
-        ResponseEntity<String> response = restTemplate.getForEntity(statusUrl, String.class);
+        ResponseEntity<QueueStatus> response = restTemplate.getForEntity(statusUrl, QueueStatus.class);
 
         // Then: 사용자 상태가 "/seats/sections"로 반환되는지 확인
-        assertEquals("/seats/sections", response.getBody());
+        assertEquals("/seats/sections", response.getBody().getStatus());
     }
 }
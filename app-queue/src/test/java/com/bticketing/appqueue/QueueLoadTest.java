@@ -1,14 +1,21 @@
 package com.bticketing.appqueue;
 
 import com.bticketing.appqueue.service.QueueService;
+import com.bticketing.appqueue.util.QueueKeys;
+import com.bticketing.appqueue.util.TokenUtil;
 import org.junit.jupiter.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -20,8 +27,14 @@ class QueueLoadTest {
     @Autowired
     private QueueService queueService;
 
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
     private static final int TOTAL_USERS = 2000;
     private static final int THREAD_POOL_SIZE = 100;
+    private static final int DRAIN_REPEAT = 5;
+    private static final int SCHEDULE_ID = 1;
+    private static final String GROUP_KEY = QueueKeys.of(SCHEDULE_ID).groupPrefix() + 1;
     private ExecutorService executorService;
 
     @BeforeEach
@@ -58,7 +71,7 @@ class QueueLoadTest {
             executorService.submit(() -> {
                 try {
                     // 처음 요청에서 토큰을 생성하고 저장
-                    String response = queueService.handleUserEntry(null);
+                    String response = queueService.handleUserEntry(SCHEDULE_ID, null);
                     String userToken = response.startsWith("addedToQueue?userToken=")
                             ? response.split("=")[1]
                             : null;
@@ -68,7 +81,7 @@ class QueueLoadTest {
                     }
 
                     // 생성된 토큰으로 두 번째 요청 테스트
-                    String statusResponse = queueService.handleUserEntry(userTokens.get(userId));
+                    String statusResponse = queueService.handleUserEntry(SCHEDULE_ID, userTokens.get(userId));
 
                     if ("/seats/sections".equals(statusResponse) || statusResponse.startsWith("addedToQueue?userToken=")) {
                         successCount.incrementAndGet();
@@ -117,7 +130,7 @@ class QueueLoadTest {
         for (int i = 0; i < totalGroups; i++) {
             executorService.submit(() -> {
                 try {
-                    queueService.processQueueGroup();
+                    queueService.processQueueGroup(SCHEDULE_ID);
                     processedGroups.incrementAndGet();
                 } catch (Exception e) {
                     System.err.println("processQueueGroup 오류: " + e.getMessage());
@@ -134,4 +147,107 @@ class QueueLoadTest {
         // 모든 그룹이 정상적으로 처리되었는지 검증
         assertTrue(processedGroups.get() == totalGroups, "모든 그룹이 처리되지 않았습니다.");
     }
+
+    @Test
+    @DisplayName("진입 경로 비교 - 그룹 락 방식 vs Lua 스크립트 방식 (처리량, p99)")
+    void compareLockEntryWithScriptEntry() throws InterruptedException {
+        EntryLoadResult lockResult = runEntryLoad(token -> queueService.handleUserEntryWithLock(SCHEDULE_ID, token));
+        EntryLoadResult scriptResult = runEntryLoad(token -> queueService.handleUserEntry(SCHEDULE_ID, token));
+
+        logger.info("[락 방식] 처리량(entries/sec): {}, p99(ms): {}, 실패: {}",
+                String.format("%.1f", lockResult.entriesPerSecond()), String.format("%.2f", lockResult.p99Millis()), lockResult.errors());
+        logger.info("[스크립트 방식] 처리량(entries/sec): {}, p99(ms): {}, 실패: {}",
+                String.format("%.1f", scriptResult.entriesPerSecond()), String.format("%.2f", scriptResult.p99Millis()), scriptResult.errors());
+
+        // 스크립트 방식은 락을 사용하지 않으므로 "error" 응답이 없어야 한다
+        assertTrue(scriptResult.errors() == 0, "스크립트 방식에서 실패한 요청이 있습니다.");
+    }
+
+    // 템플릿이 연결을 빌려 쓰고 돌려주도록 execute 안에서 비운다 (측정마다 연결이 새지 않도록)
+    private void flushDb() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+    }
+
+    // 매 측정마다 대기열 키를 초기화하여 두 방식이 같은 조건(즉시 입장 1000명 이후 그룹 배정)에서 비교되도록 한다
+    private EntryLoadResult runEntryLoad(Function<String, String> entry) throws InterruptedException {
+        flushDb();
+
+        CountDownLatch latch = new CountDownLatch(TOTAL_USERS);
+        AtomicInteger errorCount = new AtomicInteger(0);
+        long[] latencies = new long[TOTAL_USERS];
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < TOTAL_USERS; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                long begin = System.nanoTime();
+                try {
+                    String response = entry.apply(null);
+                    if ("error".equals(response)) {
+                        errorCount.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    errorCount.incrementAndGet();
+                } finally {
+                    latencies[index] = System.nanoTime() - begin;
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - startTime;
+
+        Arrays.sort(latencies);
+        double p99Millis = latencies[(int) Math.ceil(TOTAL_USERS * 0.99) - 1] / 1_000_000.0;
+        double entriesPerSecond = TOTAL_USERS / (elapsed / 1_000_000_000.0);
+        return new EntryLoadResult(entriesPerSecond, p99Millis, errorCount.get());
+    }
+
+    @Test
+    @DisplayName("입장 처리 비교 - LRANGE/LTRIM + 개별 SET 방식 vs drain 스크립트 방식 (120명, 1,000명, 10,000명)")
+    void compareDrainLatency() {
+        for (int batchSize : new int[]{120, 1_000, 10_000}) {
+            double legacyMillis = measureDrain(batchSize, () -> drainWithSeparateCommands(batchSize));
+            double scriptMillis = measureDrain(batchSize, () -> queueService.processQueueGroup(SCHEDULE_ID, batchSize));
+
+            logger.info("[{}명] 개별 명령 방식(ms): {}, 스크립트 방식(ms): {}", batchSize,
+                    String.format("%.2f", legacyMillis), String.format("%.2f", scriptMillis));
+        }
+    }
+
+    // 그룹 1에 batchSize 명을 채운 뒤 한 번 비우는 시간을 측정하고 DRAIN_REPEAT 회의 중앙값을 반환
+    private double measureDrain(int batchSize, Runnable drain) {
+        double[] elapsedMillis = new double[DRAIN_REPEAT];
+        for (int i = 0; i < DRAIN_REPEAT; i++) {
+            flushDb();
+            Object[] tokens = new Object[batchSize];
+            for (int j = 0; j < batchSize; j++) {
+                tokens[j] = TokenUtil.generateUserToken();
+            }
+            redisTemplate.opsForList().rightPushAll(GROUP_KEY, tokens);
+
+            long begin = System.nanoTime();
+            drain.run();
+            elapsedMillis[i] = (System.nanoTime() - begin) / 1_000_000.0;
+
+            assertTrue(Boolean.FALSE.equals(redisTemplate.hasKey(GROUP_KEY)), "그룹이 모두 비워지지 않았습니다.");
+        }
+        Arrays.sort(elapsedMillis);
+        return elapsedMillis[DRAIN_REPEAT / 2];
+    }
+
+    // 기존 입장 처리 방식: LRANGE/LTRIM 두 번의 호출 후 사용자마다 SET 한 번씩
+    private void drainWithSeparateCommands(int batchSize) {
+        List<Object> tokens = redisTemplate.opsForList().range(GROUP_KEY, 0, batchSize - 1);
+        redisTemplate.opsForList().trim(GROUP_KEY, batchSize, -1);
+        for (Object token : tokens) {
+            redisTemplate.opsForValue().set(QueueKeys.of(SCHEDULE_ID).readyPrefix() + token, true, Duration.ofMinutes(10));
+        }
+    }
+
+    private record EntryLoadResult(double entriesPerSecond, double p99Millis, int errors) {
+    }
 }
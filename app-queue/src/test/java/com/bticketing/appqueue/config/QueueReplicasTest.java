@@ -0,0 +1,55 @@
+package com.bticketing.appqueue.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// 연결은 처음 사용할 때 맺어지므로 실제 Redis 없이 조회 종류별 연결 선택만 확인한다
+// 로컬 주/복제 노드 쌍(docker-compose 의 redis-queue, redis-queue-replica)으로 띄우면 같은 설정으로 복제 노드에서 읽는다
+class QueueReplicasTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> primaryTemplate = mock(RedisTemplate.class);
+    private final StringRedisTemplate primaryStringTemplate = mock(StringRedisTemplate.class);
+
+    @Test
+    void testWithoutReplicaNodesEveryReadGoesToPrimary() {
+        QueueReplicas replicas = QueueReplicas.connect("localhost", 6379, new QueueProperties.Replica(),
+                primaryTemplate, primaryStringTemplate);
+
+        assertFalse(replicas.readsFromReplica(QueueProperties.ReadClass.READINESS));
+        assertSame(primaryTemplate, replicas.template(QueueProperties.ReadClass.READINESS));
+        assertSame(primaryStringTemplate, replicas.stringTemplate(QueueProperties.ReadClass.RANK));
+    }
+
+    @Test
+    void testOnlyDesignatedReadClassesGoToReplica() {
+        QueueProperties.Replica replica = new QueueProperties.Replica();
+        replica.setNodes(List.of("localhost:6381"));
+        replica.setReads(EnumSet.of(QueueProperties.ReadClass.RANK));
+
+        QueueReplicas replicas = QueueReplicas.connect("localhost", 6379, replica, primaryTemplate, primaryStringTemplate);
+        try {
+            assertSame(primaryTemplate, replicas.template(QueueProperties.ReadClass.READINESS));
+            assertTrue(replicas.readsFromReplica(QueueProperties.ReadClass.RANK));
+            assertNotSame(primaryStringTemplate, replicas.stringTemplate(QueueProperties.ReadClass.RANK));
+        } finally {
+            replicas.destroy();
+        }
+    }
+
+    @Test
+    void testRejectsMalformedNode() {
+        QueueProperties.Replica replica = new QueueProperties.Replica();
+        replica.setNodes(List.of("localhost"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> QueueReplicas.connect("localhost", 6379, replica, primaryTemplate, primaryStringTemplate));
+    }
+}
@@ -0,0 +1,79 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.config.QueueReplicas;
+import com.bticketing.appqueue.config.RedisConfig;
+import com.bticketing.appqueue.dto.GroupDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.util.QueueKeys;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로컬 Redis 호환 서버(jedis-mock)에서 그룹 리스트 대기열 스크립트의 실제 직렬화 결과를 확인한다
+class QueueRepositoryTest {
+
+    private static final QueueKeys KEYS = QueueKeys.of(1);
+    private static final Duration READY_TTL = Duration.ofMinutes(10);
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private QueueRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer();
+        server.start();
+        connectionFactory = new LettuceConnectionFactory(server.getHost(), server.getBindPort());
+        connectionFactory.afterPropertiesSet();
+
+        RedisTemplate<String, Object> redisTemplate = RedisConfig.jsonTemplate(connectionFactory);
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        QueueReplicas queueReplicas = QueueReplicas.connect(server.getHost(), server.getBindPort(),
+                new QueueProperties().getReplica(), redisTemplate, stringRedisTemplate);
+        repository = new QueueRepository(redisTemplate, queueReplicas);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("입장 처리된 토큰은 진입한 토큰 문자열 그대로 반환된다")
+    void testDrainGroupsReturnsEnteredTokens() {
+        List<String> tokens = List.of("token-a", "token-b", "token-c");
+        for (String token : tokens) {
+            // 최대 즉시 입장 인원이 1 이므로 모두 그룹 대기열에 들어간다
+            assertFalse(enter(token).isImmediate());
+        }
+
+        GroupDrain drain = repository.drainGroups(KEYS.admissionGroup(), KEYS.currentGroup(), KEYS.heartbeats(),
+                KEYS.entries(), KEYS.drainFence(), KEYS.groupPrefix(), KEYS.readyPrefix(), 2, READY_TTL, 0, 0);
+
+        assertEquals(List.of("token-a", "token-b"), drain.getUserTokens());
+        assertEquals(Boolean.TRUE, repository.getValue(KEYS.readyPrefix() + "token-a"));
+        // 그룹에 들어간 사용자는 입장 처리되기 전까지 준비 상태가 아니다
+        assertNull(repository.getValue(KEYS.readyPrefix() + "token-c"));
+        assertEquals(List.of("token-c"), repository.drainGroups(KEYS.admissionGroup(), KEYS.currentGroup(),
+                KEYS.heartbeats(), KEYS.entries(), KEYS.drainFence(), KEYS.groupPrefix(), KEYS.readyPrefix(), 2,
+                READY_TTL, 0, 0).getUserTokens());
+    }
+
+    private QueueEntry enter(String token) {
+        return repository.enterQueue(KEYS.size(), KEYS.currentGroup(), KEYS.entries(), KEYS.groupPrefix(),
+                KEYS.readyPrefix(), token, 1, 120, READY_TTL);
+    }
+}
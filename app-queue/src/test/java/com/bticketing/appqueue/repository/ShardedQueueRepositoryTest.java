@@ -0,0 +1,203 @@
+package com.bticketing.appqueue.repository;
+
+import com.bticketing.appqueue.config.QueueShards;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.util.QueueKeys;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 개의 로컬 Redis 호환 서버(jedis-mock)를 샤드로 사용하는 테스트
+class ShardedQueueRepositoryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedQueueRepositoryTest.class);
+
+    private static final QueueKeys KEYS = QueueKeys.of(1);
+    private static final Duration READY_TTL = Duration.ofMinutes(10);
+
+    private final List<RedisServer> servers = new ArrayList<>();
+    private final List<QueueShards> shardsToClose = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        shardsToClose.forEach(QueueShards::destroy);
+        for (RedisServer server : servers) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("샤드에 나뉘어 들어간 사용자를 전체 도착 순서대로 입장 처리한다")
+    void testDrainMergesShardsByArrivalOrder() {
+        ShardedQueueRepository repository = new ShardedQueueRepository(startShards(3));
+        List<String> arrivals = enter(repository, 300);
+
+        List<String> admitted = repository.drainFront(KEYS, 100, READY_TTL, 0).getUserTokens();
+
+        assertEquals(new HashSet<>(arrivals.subList(0, 100)), new HashSet<>(admitted));
+        assertTrue(repository.isReady(KEYS, arrivals.get(99)));
+        assertFalse(repository.isReady(KEYS, arrivals.get(100)));
+        assertEquals(0L, repository.getRank(KEYS, arrivals.get(100)));
+        assertEquals(49L, repository.getRank(KEYS, arrivals.get(149)));
+        assertNull(repository.getRank(KEYS, arrivals.get(0)));
+    }
+
+    @Test
+    @DisplayName("재진입한 사용자는 처음 도착한 순서를 유지한다")
+    void testReentryKeepsArrivalOrder() {
+        ShardedQueueRepository repository = new ShardedQueueRepository(startShards(2));
+        List<String> arrivals = enter(repository, 50);
+
+        QueueEntry reentry = repository.enterQueue(KEYS, arrivals.get(10), 1, READY_TTL);
+
+        assertTrue(reentry.isDuplicate());
+        assertFalse(reentry.isImmediate());
+        assertEquals(10L, repository.getRank(KEYS, arrivals.get(10)));
+
+        // 입장 처리된 뒤 다시 진입하면 대기열에 다시 들어가지 않는다
+        repository.drainFront(KEYS, 11, READY_TTL, 0);
+        QueueEntry afterAdmission = repository.enterQueue(KEYS, arrivals.get(10), 1, READY_TTL);
+        assertTrue(afterAdmission.isDuplicate());
+        assertTrue(afterAdmission.isImmediate());
+        assertNull(repository.getRank(KEYS, arrivals.get(10)));
+    }
+
+    @Test
+    @DisplayName("생존 신호가 끊긴 사용자는 입장시키지 않고 제거하며 다시 진입하면 뒤에 선다")
+    void testDrainEvictsStaleWaiters() {
+        ShardedQueueRepository repository = new ShardedQueueRepository(startShards(2));
+        List<String> arrivals = enter(repository, 10);
+        long now = System.currentTimeMillis();
+        repository.recordHeartbeats(KEYS, arrivals.subList(0, 3), now - 60_000);
+        repository.recordHeartbeats(KEYS, arrivals.subList(3, 10), now);
+
+        QueueDrain drain = repository.drainFront(KEYS, 5, READY_TTL, now - 30_000);
+
+        assertEquals(3, drain.getEvicted());
+        assertEquals(new HashSet<>(arrivals.subList(3, 5)), new HashSet<>(drain.getUserTokens()));
+        assertFalse(repository.isReady(KEYS, arrivals.get(0)));
+
+        QueueEntry reentry = repository.enterQueue(KEYS, arrivals.get(0), 1, READY_TTL);
+        assertFalse(reentry.isDuplicate());
+        assertEquals(5L, repository.getRank(KEYS, arrivals.get(0)));
+    }
+
+    @Test
+    @DisplayName("다른 샤드에 같은 도착 시각으로 들어간 사용자는 샤드 번호 순으로 한 번씩만 앞에 센다")
+    void testRanksBreakArrivalTiesByShard() {
+        QueueShards shards = startShards(3);
+        ShardedQueueRepository repository = new ShardedQueueRepository(shards);
+        // 샤드마다 토큰 하나씩 같은 도착 시각으로, 2번 샤드에는 더 먼저 도착한 토큰 하나를 더 둔다
+        List<String> tied = new ArrayList<>();
+        String earlier = null;
+        for (int i = 0; tied.size() < 3 || earlier == null; i++) {
+            String userToken = "tie-" + i;
+            int shard = repository.shardOf(userToken);
+            if (shard == tied.size()) {
+                tied.add(userToken);
+                shards.get(shard).opsForZSet().add(KEYS.waiting(), userToken, 1_000_000);
+            } else if (shard == 2 && earlier == null) {
+                earlier = userToken;
+                shards.get(shard).opsForZSet().add(KEYS.waiting(), userToken, 999_999);
+            }
+        }
+
+        List<Long> ranks = repository.getRanks(KEYS, List.of(tied.get(2), earlier, "missing", tied.get(0), tied.get(1)));
+
+        assertEquals(Arrays.asList(3L, 0L, null, 1L, 2L), ranks);
+        assertEquals(2L, repository.getRank(KEYS, tied.get(1)));
+        List<String> admitted = repository.drainFront(KEYS, 3, READY_TTL, 0).getUserTokens();
+        assertEquals(new HashSet<>(List.of(earlier, tied.get(0), tied.get(1))), new HashSet<>(admitted));
+    }
+
+    @Test
+    @DisplayName("샤드당 즉시 입장 인원을 넘기 전까지는 대기 없이 입장한다")
+    void testImmediateEntryPerShard() {
+        ShardedQueueRepository repository = new ShardedQueueRepository(startShards(2));
+
+        QueueEntry entry = repository.enterQueue(KEYS, "token", 11, READY_TTL);
+
+        assertTrue(entry.isImmediate());
+        assertTrue(repository.isReady(KEYS, "token"));
+    }
+
+    @Test
+    @DisplayName("세션을 종료한 토큰은 자신이 속한 샤드에서 준비 상태가 지워진다")
+    void testClearReadyOnTokenShard() {
+        ShardedQueueRepository repository = new ShardedQueueRepository(startShards(3));
+        List<String> tokens = List.of("token-a", "token-b", "token-c");
+        tokens.forEach(token -> assertTrue(repository.enterQueue(KEYS, token, 100, READY_TTL).isImmediate()));
+
+        repository.clearReady(KEYS, "token-b");
+
+        assertFalse(repository.isReady(KEYS, "token-b"));
+        assertTrue(repository.isReady(KEYS, "token-a"));
+        assertTrue(repository.isReady(KEYS, "token-c"));
+    }
+
+    @Test
+    @DisplayName("샤드 수에 따른 진입 처리량 비교 (1, 2, 4개)")
+    void compareEntryThroughputByShardCount() throws InterruptedException {
+        for (int shardCount : new int[]{1, 2, 4}) {
+            ShardedQueueRepository repository = new ShardedQueueRepository(startShards(shardCount));
+            int totalEntries = 4_000;
+
+            ExecutorService executorService = Executors.newFixedThreadPool(32);
+            long begin = System.nanoTime();
+            for (int i = 0; i < totalEntries; i++) {
+                String userToken = "user-" + shardCount + "-" + i;
+                executorService.submit(() -> repository.enterQueue(KEYS, userToken, 1, READY_TTL));
+            }
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+            double elapsedSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+            logger.info("[샤드 {}개] 진입 처리량(entries/sec): {}", shardCount,
+                    String.format("%.1f", totalEntries / elapsedSeconds));
+        }
+    }
+
+    // 도착 순서대로 토큰을 반환 (즉시 입장 없이 모두 대기열에 들어가도록 즉시 입장 인원은 0)
+    private List<String> enter(ShardedQueueRepository repository, int count) {
+        List<String> arrivals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String userToken = "user-" + i;
+            assertFalse(repository.enterQueue(KEYS, userToken, 1, READY_TTL).isImmediate());
+            arrivals.add(userToken);
+        }
+        return arrivals;
+    }
+
+    private QueueShards startShards(int count) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            try {
+                RedisServer server = RedisServer.newRedisServer();
+                server.start();
+                servers.add(server);
+                nodes.add(server.getHost() + ":" + server.getBindPort());
+            } catch (IOException e) {
+                throw new IllegalStateException("테스트용 Redis 서버를 시작하지 못했습니다.", e);
+            }
+        }
+        QueueShards shards = QueueShards.connect(nodes);
+        shardsToClose.add(shards);
+        return shards;
+    }
+}
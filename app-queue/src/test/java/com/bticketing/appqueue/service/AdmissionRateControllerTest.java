@@ -0,0 +1,83 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.CapacitySignal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionRateControllerTest {
+
+    private static final int HOLD_TICKS = 10; // 입장한 사용자가 좌석을 선점하는 기간 (주기 수)
+
+    @Test
+    @DisplayName("수용 한도가 500 → 200 → 800으로 바뀌어도 선점 수가 목표를 따라간다")
+    void testTracksChangingCapacityTarget() {
+        AdmissionRateController controller = new AdmissionRateController(new QueueProperties.Admission());
+        Deque<Integer> admittedPerTick = new ArrayDeque<>();
+        long[] holdsPerTick = new long[300];
+
+        long activeHolds = 0;
+        for (int tick = 0; tick < 300; tick++) {
+            long target = tick < 100 ? 500 : tick < 200 ? 200 : 800;
+            int batch = controller.nextBatchSize(new CapacitySignal(activeHolds, target, selectLatency(activeHolds, target)));
+
+            // 가상의 app-main: 입장한 사용자는 HOLD_TICKS 동안 좌석을 선점한 뒤 해제
+            admittedPerTick.addLast(batch);
+            activeHolds += batch;
+            if (admittedPerTick.size() > HOLD_TICKS) {
+                activeHolds -= admittedPerTick.removeFirst();
+            }
+            holdsPerTick[tick] = activeHolds;
+        }
+
+        // 각 구간 후반부에는 목표 근처에서 안정되어야 하고, 목표를 크게 넘지 않아야 한다
+        assertTracks(holdsPerTick, 50, 100, 500);
+        assertTracks(holdsPerTick, 150, 200, 200);
+        assertTracks(holdsPerTick, 250, 300, 800);
+    }
+
+    @Test
+    @DisplayName("좌석 선택 지연이 목표를 넘으면 입장 인원을 줄인다")
+    void testBacksOffWhenSelectLatencyIsHigh() {
+        AdmissionRateController normal = new AdmissionRateController(new QueueProperties.Admission());
+        AdmissionRateController slow = new AdmissionRateController(new QueueProperties.Admission());
+
+        int normalBatch = normal.nextBatchSize(new CapacitySignal(0, 1000, 50));
+        int slowBatch = slow.nextBatchSize(new CapacitySignal(0, 1000, 800));
+
+        assertTrue(slowBatch < normalBatch, "지연이 높을 때 입장 인원이 줄어들지 않았습니다.");
+    }
+
+    @Test
+    @DisplayName("수용 한도에 도달하면 입장시키지 않고, 신호가 없으면 기본 배치 크기를 사용한다")
+    void testStopsAtCapacityAndFallsBackWithoutSignal() {
+        AdmissionRateController controller = new AdmissionRateController(new QueueProperties.Admission());
+
+        assertEquals(0, controller.nextBatchSize(new CapacitySignal(1000, 1000, 50)));
+        assertEquals(120, controller.nextBatchSize(null));
+    }
+
+    // 선점 수가 한도에 가까워질수록 좌석 선택 지연이 늘어나는 가상의 app-main
+    private double selectLatency(long activeHolds, long maxActiveHolds) {
+        double load = (double) activeHolds / maxActiveHolds;
+        return 20 + 80 * load * load;
+    }
+
+    private void assertTracks(long[] holdsPerTick, int from, int to, long target) {
+        long sum = 0;
+        long max = 0;
+        for (int tick = from; tick < to; tick++) {
+            sum += holdsPerTick[tick];
+            max = Math.max(max, holdsPerTick[tick]);
+        }
+        double average = (double) sum / (to - from);
+
+        assertEquals(target, average, target * 0.1, "선점 수 평균이 목표에서 벗어났습니다. 구간=" + from + "~" + to);
+        assertTrue(max <= target * 1.15, "선점 수가 목표를 크게 초과했습니다. 구간=" + from + "~" + to + ", 최대=" + max);
+    }
+}
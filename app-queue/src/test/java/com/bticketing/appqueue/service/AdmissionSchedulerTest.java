@@ -0,0 +1,126 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.client.CapacityClient;
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissionSchedulerTest {
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private CapacityClient capacityClient;
+
+    @Mock
+    private DrainLeases drainLeases;
+
+    private AdmissionScheduler admissionScheduler;
+
+    // 회차별 남은 대기자 수와 입장 인원
+    private final Map<Integer, Integer> waiting = new HashMap<>();
+    private final Map<Integer, Integer> admitted = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        admissionScheduler = new AdmissionScheduler(queueService, capacityClient, drainLeases, new QueueProperties());
+
+        // 가상의 대기열: 요청한 인원과 남은 대기자 중 작은 쪽만큼 입장
+        when(queueService.processQueueGroup(anyInt(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            int scheduleId = invocation.getArgument(0);
+            int quota = invocation.getArgument(1);
+            int count = Math.min(quota, waiting.getOrDefault(scheduleId, 0));
+            waiting.merge(scheduleId, -count, Integer::sum);
+            admitted.merge(scheduleId, count, Integer::sum);
+            return count;
+        });
+    }
+
+    @Test
+    @DisplayName("대기자가 몰린 회차가 있어도 다른 회차는 공평한 몫을 받는다")
+    void testHotEventDoesNotStarveOthers() {
+        waiting.put(1, 100_000);
+        waiting.put(2, 100_000);
+        waiting.put(3, 100_000);
+
+        int total = admissionScheduler.admitFairly(leases(1, 2, 3), 300);
+
+        assertEquals(300, total);
+        assertEquals(100, admitted.get(1));
+        assertEquals(100, admitted.get(2));
+        assertEquals(100, admitted.get(3));
+    }
+
+    @Test
+    @DisplayName("대기자가 몫보다 적은 회차의 남은 인원은 다른 회차에 다시 배분된다")
+    void testUnusedShareIsRedistributed() {
+        waiting.put(1, 100_000);
+        waiting.put(2, 10);
+
+        int total = admissionScheduler.admitFairly(leases(1, 2), 200);
+
+        assertEquals(200, total);
+        assertEquals(190, admitted.get(1));
+        assertEquals(10, admitted.get(2));
+    }
+
+    @Test
+    @DisplayName("대기자가 모두 입장하면 배정 인원보다 적게 입장한다")
+    void testStopsWhenAllEventsAreDrained() {
+        waiting.put(1, 30);
+        waiting.put(2, 20);
+
+        int total = admissionScheduler.admitFairly(leases(1, 2), 500);
+
+        assertEquals(50, total);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 리스를 가진 회차는 입장 처리하지 않는다")
+    void testAdmitsOnlyEventsWithLease() {
+        waiting.put(1, 100_000);
+        waiting.put(2, 100_000);
+        when(queueService.getActiveEvents()).thenReturn(Set.of(1, 2));
+        when(drainLeases.acquire(1)).thenReturn(7L);
+        when(drainLeases.acquire(2)).thenReturn(0L);
+
+        admissionScheduler.admit();
+
+        assertEquals(120, admitted.get(1));
+        assertNull(admitted.get(2));
+        verify(queueService, times(1)).processQueueGroup(1, 120, 7L);
+    }
+
+    @Test
+    @DisplayName("리스를 잃은 뒤의 입장 처리가 거부되면 보유 리스에서 제외한다")
+    void testStaleFencingTokenRevokesLease() {
+        when(queueService.processQueueGroup(1, 120, 7L))
+                .thenThrow(new StaleFencingTokenException("입장 처리 리스를 다른 노드가 가져갔습니다."));
+
+        int total = admissionScheduler.admitFairly(leases(1), 120);
+
+        assertEquals(0, total);
+        verify(drainLeases, times(1)).revoke(1, 7L);
+    }
+
+    private Map<Integer, Long> leases(int... scheduleIds) {
+        Map<Integer, Long> fencingTokens = new HashMap<>();
+        for (int scheduleId : scheduleIds) {
+            fencingTokens.put(scheduleId, 7L);
+        }
+        return fencingTokens;
+    }
+}
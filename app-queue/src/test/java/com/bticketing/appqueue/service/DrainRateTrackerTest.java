@@ -0,0 +1,49 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrainRateTrackerTest {
+
+    private static final int SCHEDULE_ID = 1;
+
+    private final DrainRateTracker drainRateTracker = new DrainRateTracker(new QueueProperties(), Clock.systemUTC());
+
+    @Test
+    void testRateFollowsAdmissions() {
+        assertEquals(0, drainRateTracker.admittedPerSecond(SCHEDULE_ID, 0));
+
+        // 첫 입장 처리는 기준 시각으로만 쓰이고 두 번째부터 속도를 계산한다
+        drainRateTracker.recordAdmitted(SCHEDULE_ID, 120, 1_000);
+        drainRateTracker.recordAdmitted(SCHEDULE_ID, 120, 2_000);
+        assertEquals(120, drainRateTracker.admittedPerSecond(SCHEDULE_ID, 2_000), 0.001);
+
+        // 속도가 바뀌면 이동 평균이 점차 따라간다
+        for (long now = 3_000; now <= 60_000; now += 1_000) {
+            drainRateTracker.recordAdmitted(SCHEDULE_ID, 240, now);
+        }
+        assertEquals(240, drainRateTracker.admittedPerSecond(SCHEDULE_ID, 60_000), 1);
+    }
+
+    @Test
+    void testRateDecaysWhileIdle() {
+        drainRateTracker.recordAdmitted(SCHEDULE_ID, 100, 1_000);
+        drainRateTracker.recordAdmitted(SCHEDULE_ID, 100, 2_000);
+
+        assertEquals(100, drainRateTracker.admittedPerSecond(SCHEDULE_ID, 3_000), 0.001);
+        assertTrue(drainRateTracker.admittedPerSecond(SCHEDULE_ID, 60_000) < 1);
+    }
+
+    @Test
+    void testWatermarkAdvanceIsCountedAsAdmissions() {
+        drainRateTracker.recordWatermark(SCHEDULE_ID, 1_999, 1_000);
+        drainRateTracker.recordWatermark(SCHEDULE_ID, 2_199, 2_000);
+        drainRateTracker.recordWatermark(SCHEDULE_ID, 2_399, 3_000);
+
+        assertEquals(200, drainRateTracker.admittedPerSecond(SCHEDULE_ID, 3_000), 0.001);
+    }
+}
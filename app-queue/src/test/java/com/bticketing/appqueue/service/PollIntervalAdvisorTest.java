@@ -0,0 +1,131 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.store.InMemoryQueueStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollIntervalAdvisorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollIntervalAdvisorTest.class);
+
+    private static final int SCHEDULE_ID = 1;
+    private static final int ADMITTED_PER_SECOND = 200;
+    private static final int LOTTERY_SCHEDULE_ID = 2;
+    private static final OffsetDateTime OPENS_AT = OffsetDateTime.parse("2026-11-01T20:00:00+09:00");
+
+    // 재생 테스트는 조회를 수백만 번 하므로 mock 대신 고정 속도를 돌려주는 추적기를 쓴다
+    private double ratePerSecond = ADMITTED_PER_SECOND;
+
+    private PollIntervalAdvisor pollIntervalAdvisor;
+
+    @BeforeEach
+    void setUp() {
+        DrainRateTracker drainRateTracker = new DrainRateTracker(new QueueProperties(), Clock.systemUTC()) {
+            @Override
+            public double admittedPerSecond(int scheduleId, long nowMillis) {
+                return ratePerSecond;
+            }
+        };
+        QueueProperties queueProperties = new QueueProperties();
+        QueueProperties.Window window = new QueueProperties.Window();
+        window.setScheduleId(LOTTERY_SCHEDULE_ID);
+        window.setOpensAt(OPENS_AT);
+        queueProperties.getLottery().getWindows().add(window);
+        LotteryGate lotteryGate = new LotteryGate(new InMemoryQueueStore(16), queueProperties);
+        pollIntervalAdvisor = new PollIntervalAdvisor(drainRateTracker, lotteryGate, queueProperties, Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("추첨 대기자는 시작 전에는 최대 주기로, 시작 직후에는 흩어진 시각에 조회한다")
+    void testPoolDelaySpreadsPollsAfterOpen() {
+        long opensAtMillis = OPENS_AT.toInstant().toEpochMilli();
+
+        // 시작까지 한참 남았으면 생존 신호 기준 안의 최대 주기
+        assertEquals(20000, pollIntervalAdvisor.nextPoolPollDelayMillis(LOTTERY_SCHEDULE_ID, opensAtMillis - 600_000, 0));
+        // 시작이 가까우면 시작 시각 이후 흩기 구간(기본 10초) 안의 무작위 시각
+        assertEquals(5000, pollIntervalAdvisor.nextPoolPollDelayMillis(LOTTERY_SCHEDULE_ID, opensAtMillis - 5000, 0));
+        assertEquals(15000, pollIntervalAdvisor.nextPoolPollDelayMillis(LOTTERY_SCHEDULE_ID, opensAtMillis - 5000, 1));
+        // 시작 시각이 지났는데 아직 추첨 전이면 흩기 구간 안에서 다시 조회
+        assertEquals(5000, pollIntervalAdvisor.nextPoolPollDelayMillis(LOTTERY_SCHEDULE_ID, opensAtMillis + 60_000, 0.5));
+        assertEquals(1000, pollIntervalAdvisor.nextPoolPollDelayMillis(LOTTERY_SCHEDULE_ID, opensAtMillis, 0));
+    }
+
+    @Test
+    @DisplayName("권장 지연은 예상 대기 시간에 비례하고 최소/최대 주기 안에 머문다")
+    void testDelayFollowsExpectedWait() {
+        // 앞에 1000명, 초당 200명이면 예상 대기 5초 -> 절반인 2.5초
+        assertEquals(2500, pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, 1000L, 0));
+        assertEquals(1000, pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, 10L, 0));
+        // 생존 신호 기준(30초)의 2/3 를 넘지 않는다
+        assertEquals(20000, pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, 1_000_000L, 0));
+        // 무작위 흔들림은 지연을 줄이기만 한다
+        assertEquals(16000, pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, 1_000_000L, 1));
+        // 순위를 모르면 최소 주기
+        assertEquals(1000, pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, null, 0));
+    }
+
+    @Test
+    @DisplayName("입장 처리 속도를 모르면 입장 처리 설정으로 추정한다")
+    void testFallsBackToConfiguredRate() {
+        ratePerSecond = 0;
+
+        // 기본 설정은 1초마다 120명
+        assertEquals(5000, pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, 1200L, 0));
+    }
+
+    // 가상의 대기열 재생: 1초마다 200명씩 입장하는 10만 명 대기열에서
+    // 1초 고정 주기 조회와 권장 지연을 따르는 조회의 전체 요청 수, 입장 확인 지연을 비교한다
+    @Test
+    @DisplayName("권장 지연을 따르면 조회 요청이 한 자릿수 이상 줄고 입장 확인은 늦어지지 않는다")
+    void testReplayCutsPollVolume() {
+        int users = 100_000;
+        Random random = new Random(42);
+
+        long fixedPolls = 0;
+        long hintedPolls = 0;
+        long farFixedPolls = 0;
+        long farHintedPolls = 0;
+        long maxDetectionLagMillis = 0;
+
+        for (int ahead = 0; ahead < users; ahead++) {
+            // 입장 처리 주기마다 앞에서 200명씩 입장한다
+            long admittedAtMillis = (ahead / ADMITTED_PER_SECOND + 1) * 1000L;
+            long fixed = admittedAtMillis / 1000;
+
+            long nowMillis = 0;
+            long polls = 0;
+            while (true) {
+                polls++;
+                if (nowMillis >= admittedAtMillis) {
+                    maxDetectionLagMillis = Math.max(maxDetectionLagMillis, nowMillis - admittedAtMillis);
+                    break;
+                }
+                long remaining = ahead - (nowMillis / 1000) * ADMITTED_PER_SECOND;
+                nowMillis += pollIntervalAdvisor.nextPollDelayMillis(SCHEDULE_ID, remaining, random.nextDouble());
+            }
+
+            fixedPolls += fixed;
+            hintedPolls += polls;
+            if (ahead >= users * 9 / 10) {
+                farFixedPolls += fixed;
+                farHintedPolls += polls;
+            }
+        }
+
+        logger.info("[조회 주기 권장] 고정 주기 {}회, 권장 지연 {}회 ({}배 감소), 뒤쪽 10% 는 {}배 감소, 최대 입장 확인 지연 {} ms",
+                fixedPolls, hintedPolls, fixedPolls / hintedPolls, farFixedPolls / farHintedPolls, maxDetectionLagMillis);
+        assertTrue(hintedPolls * 10 <= fixedPolls);
+        assertTrue(farHintedPolls * 10 <= farFixedPolls);
+        assertTrue(maxDetectionLagMillis <= 1000);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.dto.BacklogStats;
+import com.bticketing.appqueue.dto.EventBacklog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class QueueMetricsTest {
+
+    @Test
+    @DisplayName("요청 경로의 지표 기록은 반복해도 객체를 할당하지 않는다")
+    void testHotPathRecordingDoesNotAllocate() {
+        QueueMetrics metrics = new QueueMetrics(new SimpleMeterRegistry());
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemoryEnabled());
+
+        // JIT 컴파일 전 해석 단계의 할당은 제외한다
+        recordHotPath(metrics, 200_000);
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        recordHotPath(metrics, 100_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // 측정 자체의 할당 몇 개만 허용한다 (기록마다 할당하면 수 MB)
+        assertTrue(allocated < 16 * 1024, "할당량: " + allocated + " bytes");
+    }
+
+    @Test
+    void testBacklogGaugesFollowActiveEvents() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueueMetrics metrics = new QueueMetrics(registry);
+
+        metrics.updateBacklog(new BacklogStats(30, 5, 6L, List.of(
+                new EventBacklog(1, 20, 4, 5L), new EventBacklog(2, 10, 1, 10L))));
+        assertEquals(20, registry.get("queue.backlog.waiting").tag("scheduleId", "1").gauge().value());
+
+        // 닫힌 회차는 지표에서 빠진다
+        metrics.updateBacklog(new BacklogStats(10, 1, 10L, List.of(new EventBacklog(2, 10, 1, 10L))));
+        assertNull(registry.find("queue.backlog.waiting").tag("scheduleId", "1").gauge());
+    }
+
+    private static void recordHotPath(QueueMetrics metrics, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            metrics.recordStage(QueueMetrics.Stage.ENTER, start);
+            metrics.recordEntry(QueueMetrics.EntryResult.QUEUED);
+            metrics.recordLockAttempt();
+            metrics.recordLockResult(true, i & 3);
+            metrics.recordDrain(i & 127, 0, start);
+        }
+    }
+}
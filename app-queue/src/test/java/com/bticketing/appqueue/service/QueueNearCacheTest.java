@@ -0,0 +1,59 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueNearCacheTest {
+
+    private static final int SCHEDULE_ID = 1;
+
+    @Test
+    void testCurrentGroup_MissUntilLoadedThenHitUntilTtl() {
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.getNearCache().setCurrentGroupTtlMs(60_000);
+        QueueNearCache queueNearCache = new QueueNearCache(queueProperties);
+
+        assertNull(queueNearCache.getCurrentGroup(SCHEDULE_ID));
+        queueNearCache.refreshCurrentGroup(SCHEDULE_ID, 3);
+
+        assertEquals(3, queueNearCache.getCurrentGroup(SCHEDULE_ID));
+        assertEquals(1, queueNearCache.stats().getCurrentGroupHits());
+        assertEquals(1, queueNearCache.stats().getCurrentGroupMisses());
+    }
+
+    @Test
+    void testCurrentGroup_NeverMovesBackwards() {
+        QueueNearCache queueNearCache = new QueueNearCache(new QueueProperties());
+
+        assertTrue(queueNearCache.advanceCurrentGroup(SCHEDULE_ID, 5));
+        assertFalse(queueNearCache.advanceCurrentGroup(SCHEDULE_ID, 4));
+        assertEquals(5, queueNearCache.refreshCurrentGroup(SCHEDULE_ID, 2));
+    }
+
+    @Test
+    void testOnMessage_AppliesBroadcastsFromOtherNodes() {
+        QueueNearCache queueNearCache = new QueueNearCache(new QueueProperties());
+
+        String tokens = String.join(AdmissionPublisher.TOKEN_DELIMITER, "token1", "token2");
+        queueNearCache.onMessage(message(AdmissionPublisher.ADMISSION_CHANNEL,
+                AdmissionPublisher.message(SCHEDULE_ID, tokens)), null);
+        queueNearCache.onMessage(message(AdmissionPublisher.CURRENT_GROUP_CHANNEL,
+                AdmissionPublisher.message(SCHEDULE_ID, "7")), null);
+
+        assertEquals(Boolean.TRUE, queueNearCache.getReadiness(SCHEDULE_ID, "token1"));
+        assertEquals(Boolean.TRUE, queueNearCache.getReadiness(SCHEDULE_ID, "token2"));
+        assertNull(queueNearCache.getReadiness(SCHEDULE_ID, "token3"));
+        assertEquals(7, queueNearCache.getCurrentGroup(SCHEDULE_ID));
+        assertNull(queueNearCache.getReadiness(2, "token1"));
+        assertNull(queueNearCache.getCurrentGroup(2));
+    }
+
+    private DefaultMessage message(String channel, String body) {
+        return new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.bticketing.appqueue.service;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.QueueStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueueNotificationServiceTest {
+
+    private static final int SCHEDULE_ID = 1;
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private QueueHeartbeats queueHeartbeats;
+
+    private QueueNotificationService queueNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        queueNotificationService = new QueueNotificationService(queueService, new QueueProperties(), queueHeartbeats);
+    }
+
+    @Test
+    void testSubscribe_WaitingUserStaysSubscribed() {
+        when(queueService.getQueueStatus(SCHEDULE_ID, "waitingUser")).thenReturn(QueueStatus.inQueue(10L));
+
+        SseEmitter emitter = queueNotificationService.subscribe(SCHEDULE_ID, "waitingUser");
+
+        assertNotNull(emitter);
+        assertEquals(1, queueNotificationService.getSubscriberCount());
+    }
+
+    @Test
+    void testRecordSubscriberHeartbeats_OpenConnectionCountsAsAlive() {
+        when(queueService.getQueueStatus(SCHEDULE_ID, "waitingUser")).thenReturn(QueueStatus.inQueue(10L));
+        queueNotificationService.subscribe(SCHEDULE_ID, "waitingUser");
+
+        queueNotificationService.recordSubscriberHeartbeats();
+
+        verify(queueHeartbeats, times(1)).record(SCHEDULE_ID, "waitingUser");
+    }
+
+    @Test
+    void testSubscribe_AlreadyAdmittedUserIsNotifiedImmediately() {
+        when(queueService.getQueueStatus(SCHEDULE_ID, "readyUser")).thenReturn(QueueStatus.ready());
+
+        queueNotificationService.subscribe(SCHEDULE_ID, "readyUser");
+
+        assertEquals(0, queueNotificationService.getSubscriberCount());
+    }
+
+    @Test
+    void testOnMessage_AdmissionBroadcastReleasesLocalSubscribers() {
+        when(queueService.getQueueStatus(anyInt(), anyString())).thenReturn(QueueStatus.inQueue(10L));
+        queueNotificationService.subscribe(SCHEDULE_ID, "user1");
+        queueNotificationService.subscribe(SCHEDULE_ID, "user2");
+        queueNotificationService.subscribe(SCHEDULE_ID, "user3");
+
+        // 다른 노드에서 발행한 입장 처리 메시지 (이 노드에 없는 토큰도 포함)
+        String body = AdmissionPublisher.message(SCHEDULE_ID,
+                String.join(AdmissionPublisher.TOKEN_DELIMITER, "user1", "user3", "otherNodeUser"));
+        queueNotificationService.onMessage(new DefaultMessage(
+                AdmissionPublisher.ADMISSION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(1, queueNotificationService.getSubscriberCount());
+    }
+
+    @Test
+    void testOnMessage_AdmissionOfOtherEventKeepsSubscribers() {
+        when(queueService.getQueueStatus(anyInt(), anyString())).thenReturn(QueueStatus.inQueue(10L));
+        queueNotificationService.subscribe(SCHEDULE_ID, "user1");
+
+        // 같은 토큰이라도 다른 회차의 입장 처리는 이 회차 구독자에게 영향을 주지 않는다
+        queueNotificationService.onMessage(new DefaultMessage(
+                AdmissionPublisher.ADMISSION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                AdmissionPublisher.message(2, "user1").getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(1, queueNotificationService.getSubscriberCount());
+    }
+
+    @Test
+    void testPushPositions_WatermarkUsesRanksWithoutStatusQueries() {
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+        queueNotificationService = new QueueNotificationService(queueService, queueProperties, queueHeartbeats);
+        when(queueService.getQueueStatus(SCHEDULE_ID, "waitingUser")).thenReturn(QueueStatus.inQueue(10L));
+        queueNotificationService.subscribe(SCHEDULE_ID, "waitingUser");
+        when(queueService.getWaitingRanks(SCHEDULE_ID, List.of("waitingUser"))).thenReturn(List.of(8L));
+        when(queueService.waitingStatus(SCHEDULE_ID, 8L)).thenReturn(QueueStatus.inQueue(8L));
+
+        queueNotificationService.pushPositions();
+
+        // 주기 전송은 상태 조회(지표, 생존 신호 기록)를 거치지 않는다 (구독 시 한 번만 조회)
+        verify(queueService, times(1)).getQueueStatus(anyInt(), anyString());
+        verify(queueService, times(1)).waitingStatus(SCHEDULE_ID, 8L);
+    }
+}
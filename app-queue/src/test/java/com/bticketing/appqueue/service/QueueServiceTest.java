@@ -1,25 +1,83 @@
 package com.bticketing.appqueue.service;
 
-import com.bticketing.appqueue.util.RedisUtil;
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.BacklogStats;
+import com.bticketing.appqueue.dto.EventBacklog;
+import com.bticketing.appqueue.dto.QueueStatus;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import com.bticketing.appqueue.repository.QueueRepository;
+import com.bticketing.appqueue.repository.WatermarkRepository;
+import com.bticketing.appqueue.store.InMemoryQueueStore;
+import com.bticketing.appqueue.util.QueueTokenSigner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.redis.core.ListOperations;
-import org.springframework.data.redis.core.RedisOperations;
-import org.springframework.data.redis.core.SessionCallback;
+import org.mockito.Spy;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+// 대기열 저장은 JVM 내 저장소로 처리한다 (Redis 저장 구조별 호출은 RedisQueueStoreTest 에서 확인)
 class QueueServiceTest {
 
+    private static final int SCHEDULE_ID = 1;
+    private static final int IMMEDIATE_ENTRIES = 999; // 순번 1~999 는 즉시 입장
+    private static final int PRE_OPEN_LOTTERY_ID = 5;  // 판매 시작 전인 추첨 방식 회차
+    private static final int OPENED_LOTTERY_ID = 6;    // 판매 시작 시각이 지났고 아직 추첨 전인 추첨 방식 회차
+
+    @Spy
+    private InMemoryQueueStore queueStore = new InMemoryQueueStore(4096);
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    @Mock
+    private WatermarkRepository watermarkRepository;
+
+    @Mock
+    private AdmissionPublisher admissionPublisher;
+
+    @Mock
+    private QueueHeartbeats queueHeartbeats;
+
+    @Mock
+    private DrainLeases drainLeases;
+
+    private final DrainRateTracker drainRateTracker = new DrainRateTracker(new QueueProperties(), Clock.systemUTC());
+
+    @Spy
+    private WaitTimeEstimator waitTimeEstimator = new WaitTimeEstimator(drainRateTracker);
+
+    @Spy
+    private QueueTokenSigner queueTokenSigner = new QueueTokenSigner(new QueueProperties());
+
+    @Spy
+    private QueueProperties queueProperties = new QueueProperties();
+
+    @Spy
+    private QueueNearCache queueNearCache = new QueueNearCache(new QueueProperties());
+
+    @Spy
+    private LotteryGate lotteryGate = new LotteryGate(queueStore, lotteryProperties());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private QueueMetrics queueMetrics = new QueueMetrics(meterRegistry);
+
     @Mock
-    private RedisUtil redisUtil;
+    private Clock clock;
 
     @InjectMocks
     private QueueService queueService;
@@ -27,70 +85,484 @@ class QueueServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(clock.millis()).thenAnswer(invocation -> System.currentTimeMillis());
     }
 
     @Test
     void testHandleUserEntry_RedirectImmediately() {
-        when(redisUtil.incrementValue("userQueue-size")).thenReturn(499L);
-        when(redisUtil.acquireLock(anyString(), any(Duration.class))).thenReturn(true);
-
-        String response = queueService.handleUserEntry("testToken");
+        String response = queueService.handleUserEntry(SCHEDULE_ID, "testToken");
 
         assertEquals("/seats/sections", response);
-        verify(redisUtil, times(1)).setValueWithTTL(anyString(), eq(true), any());
+        assertTrue(queueService.isUserReadyToRedirect(SCHEDULE_ID, "testToken"));
+        verify(queueRepository, never()).acquireLock(anyString(), any(Duration.class));
     }
 
     @Test
     void testHandleUserEntry_AddedToQueue() {
-        when(redisUtil.incrementValue("userQueue-size")).thenReturn(501L);
-        when(redisUtil.acquireLock(anyString(), any(Duration.class))).thenReturn(true);
-        when(redisUtil.getValue("currentGroup")).thenReturn(1);
-        when(redisUtil.getListLength("group-1")).thenReturn(199L);
+        fillImmediateEntries(SCHEDULE_ID);
 
-        // 수정된 부분: 반환 값이 없는 메서드 Mock 설정
-        doNothing().when(redisUtil).rightPushToList("group-1", "testToken");
+        String response = queueService.handleUserEntry(SCHEDULE_ID, "testToken");
 
-        String response = queueService.handleUserEntry("testToken");
+        // 저장소 호출 한 번으로 처리되며 락이나 개별 명령은 호출되지 않아야 한다
+        assertEquals("addedToQueue?userToken=testToken", response);
+        assertEquals(1L, queueService.getQueueStatus(SCHEDULE_ID, "testToken").getPosition());
+        verifyNoInteractions(queueRepository);
+    }
 
-        assertEquals("addedToQueue", response);
-        verify(redisUtil, times(1)).rightPushToList("group-1", "testToken");
-        verify(redisUtil, times(1)).setValueWithTTL(startsWith("userReady-"), eq(true), any());
+    @Test
+    void testHandleUserEntryReactive_MatchesBlockingEntry() {
+        assertEquals("/seats/sections", queueService.handleUserEntryReactive(2, "immediate").block());
+        assertTrue(queueService.isUserReadyToRedirect(2, "immediate"));
+        fillImmediateEntries(SCHEDULE_ID);
+
+        assertEquals("addedToQueue?userToken=testToken",
+                queueService.handleUserEntryReactive(SCHEDULE_ID, "testToken").block());
+        // 같은 토큰의 재진입은 순번을 새로 받지 않는다
+        assertEquals("addedToQueue?userToken=testToken",
+                queueService.handleUserEntryReactive(SCHEDULE_ID, "testToken").block());
+        assertEquals(1L, queueService.getQueueStatus(SCHEDULE_ID, "testToken").getPosition());
+        verifyNoInteractions(queueRepository);
+    }
+
+    @Test
+    void testGetQueueStatusReactive_MatchesBlockingStatus() {
+        fillImmediateEntries(SCHEDULE_ID);
+        queueService.handleUserEntry(SCHEDULE_ID, "waitingToken");
+
+        assertEquals(QueueStatus.REDIRECT_URL,
+                queueService.getQueueStatusReactive(SCHEDULE_ID, "immediate1").block().getStatus());
+        QueueStatus waiting = queueService.getQueueStatusReactive(SCHEDULE_ID, "waitingToken").block();
+        assertEquals(QueueStatus.IN_QUEUE, waiting.getStatus());
+        assertEquals(queueService.getQueueStatus(SCHEDULE_ID, "waitingToken").getPosition(), waiting.getPosition());
+    }
+
+    @Test
+    void testHandleUserEntryWithLock_AddedToQueue() {
+        when(queueRepository.incrementValue("queue:{1}:size")).thenReturn(1501L);
+        when(queueRepository.acquireLock(anyString(), any(Duration.class))).thenReturn(true);
+        when(queueRepository.getValue("queue:{1}:currentGroup")).thenReturn(1);
+        when(queueRepository.getListLength("queue:{1}:group-1")).thenReturn(99L);
+
+        String response = queueService.handleUserEntryWithLock(SCHEDULE_ID, "testToken");
+
+        assertEquals("addedToQueue?userToken=testToken", response);
+        verify(queueRepository, times(1)).pushToList("queue:{1}:group-1", "testToken");
+        verify(queueRepository, times(1)).releaseLock("queue:{1}:lock:group-1");
+        assertEquals(1, meterRegistry.get("queue.stage").tag("stage", "rpush").timer().count());
+        assertEquals(1.0, meterRegistry.get("queue.lock.attempts").counter().count());
+    }
+
+    @Test
+    void testHandleUserEntryWithLock_LockFailureIsCounted() {
+        when(queueRepository.incrementValue("queue:{1}:size")).thenReturn(1501L);
+        when(queueRepository.acquireLock(anyString(), any(Duration.class))).thenReturn(false);
+        when(queueRepository.getValue("queue:{1}:currentGroup")).thenReturn(1);
+
+        assertEquals("error", queueService.handleUserEntryWithLock(SCHEDULE_ID, "testToken"));
+
+        assertEquals(5.0, meterRegistry.get("queue.lock.attempts").counter().count());
+        assertEquals(1.0, meterRegistry.get("queue.lock.failures").counter().count());
+        assertEquals(1.0, meterRegistry.get("queue.entries").tag("result", "error").counter().count());
+        verify(queueRepository, never()).pushToList(anyString(), any());
     }
 
     @Test
     void testProcessQueueGroup() {
-        // Mock 설정
-        when(redisUtil.acquireLock(anyString(), any(Duration.class))).thenReturn(true);
-        when(redisUtil.getValue("currentGroup")).thenReturn(1);
-        when(redisUtil.getValue("group-1:size")).thenReturn(200L);
-        when(redisUtil.incrementValue("group-1:size")).thenReturn(200L);
+        fillImmediateEntries(SCHEDULE_ID);
+        List<String> userTokens = enterWaiting(SCHEDULE_ID, "token", 3);
+
+        queueService.processQueueGroup(SCHEDULE_ID);
+
+        verify(admissionPublisher, times(1)).publishAdmitted(SCHEDULE_ID, userTokens);
+        assertTrue(queueService.isUserReadyToRedirect(SCHEDULE_ID, "token1"));
+    }
+
+    @Test
+    void testProcessQueueGroup_NothingToAdmit() {
+        assertEquals(0, queueService.processQueueGroup(SCHEDULE_ID, 200));
+    }
+
+    @Test
+    void testProcessQueueGroup_AdmitsInArrivalOrderUpToBatchSize() {
+        fillImmediateEntries(SCHEDULE_ID);
+        List<String> userTokens = enterWaiting(SCHEDULE_ID, "token", 5);
+
+        assertEquals(2, queueService.processQueueGroup(SCHEDULE_ID, 2));
+
+        verify(admissionPublisher, times(1)).publishAdmitted(SCHEDULE_ID, userTokens.subList(0, 2));
+        assertEquals(0L, queueService.getQueueStatus(SCHEDULE_ID, "token3").getAhead());
+    }
+
+    @Test
+    void testIsUserReadyToRedirect_RepeatedPollsHitNearCache() {
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, "testToken"));
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, "testToken"));
+
+        // 다른 노드의 입장 처리 메시지를 받으면 저장소 조회 없이 바로 입장 가능으로 바뀐다
+        queueNearCache.markAdmitted(SCHEDULE_ID, List.of("testToken"));
+        assertTrue(queueService.isUserReadyToRedirect(SCHEDULE_ID, "testToken"));
+
+        verify(queueStore, times(1)).isReady(SCHEDULE_ID, "testToken");
+        assertEquals(2, queueService.getNearCacheStats().getReadinessHits());
+        assertEquals(1, queueService.getNearCacheStats().getReadinessMisses());
+    }
 
-        // 사용자 토큰 리스트 반환 설정
-        List<String> userTokens = List.of("token1", "token2", "token3");
-        when(redisUtil.leftPopMultipleFromList("group-1", 200)).thenReturn(userTokens);
+    @Test
+    void testGetQueueStatus_ReturnsPosition() {
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 42);
+
+        QueueStatus status = queueService.getQueueStatus(SCHEDULE_ID, "token42");
+
+        assertEquals(QueueStatus.IN_QUEUE, status.getStatus());
+        assertEquals(42L, status.getPosition());
+        assertEquals(41L, status.getAhead());
+    }
 
-        // setMultipleValues() Mock 설정
-        doAnswer(invocation -> {
-            List<String> tokens = invocation.getArgument(0);
-            tokens.forEach(token -> redisUtil.setValueWithTTL("userReady-" + token, true, Duration.ofMinutes(10)));
-            return null;
-        }).when(redisUtil).setMultipleValues(anyList(), eq(true), any());
+    @Test
+    void testHandleUserEntry_WatermarkIssuesSignedSequenceWithoutPerUserKeys() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+        when(watermarkRepository.nextSequence("queue:{1}:size", "queue:{1}:sale:epoch")).thenReturn(List.of(1500L, 0L));
 
-        // 테스트 실행
-        queueService.processQueueGroup();
+        String response = queueService.handleUserEntry(SCHEDULE_ID, null);
 
-        // 검증
-        verify(redisUtil, times(1)).setMultipleValues(eq(userTokens), eq(true), any());
-        verify(redisUtil, times(3)).setValueWithTTL(startsWith("userReady-"), eq(true), any());
-        verify(redisUtil, times(1)).setValue("currentGroup", 2);
+        assertEquals("addedToQueue?userToken=" + queueTokenSigner.sign(SCHEDULE_ID, 0L, 1500L), response);
+        verify(queueRepository, never()).setValueWithTTL(anyString(), any(), any());
+        verify(queueStore, never()).enter(anyInt(), anyString(), anyInt(), anyInt(), any(Duration.class));
     }
 
     @Test
-    void testIsUserReadyToRedirect() {
-        when(redisUtil.getValue("userReady-testToken")).thenReturn(true);
+    void testWatermarkBackendRequiresTokenSecret() {
+        QueueProperties watermarkProperties = new QueueProperties();
+        watermarkProperties.setBackend(QueueProperties.Backend.WATERMARK);
+
+        assertThrows(IllegalStateException.class, () -> new QueueTokenSigner(watermarkProperties));
+        watermarkProperties.getWatermark().setTokenSecret("test-secret");
+        assertDoesNotThrow(() -> new QueueTokenSigner(watermarkProperties));
+    }
+
+    @Test
+    void testHandleUserEntry_WatermarkTokenFromOtherEventGetsNewSequence() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+        when(watermarkRepository.nextSequence("queue:{1}:size", "queue:{1}:sale:epoch")).thenReturn(List.of(1200L, 0L));
+
+        // 다른 회차(2)에서 발급받은 토큰으로는 이 회차의 순번을 이어받을 수 없다
+        String response = queueService.handleUserEntry(SCHEDULE_ID, queueTokenSigner.sign(2, 0L, 1001L));
+
+        assertEquals("addedToQueue?userToken=" + queueTokenSigner.sign(SCHEDULE_ID, 0L, 1200L), response);
+    }
+
+    @Test
+    void testHandleUserEntry_WatermarkTokenFromPreviousSaleGetsNewSequence() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+        when(watermarkRepository.getEpoch("queue:{1}:sale:epoch")).thenReturn(1L);
+        when(watermarkRepository.nextSequence("queue:{1}:size", "queue:{1}:sale:epoch")).thenReturn(List.of(1200L, 1L));
+
+        // 판매를 다시 열기 전에 받은 토큰은 같은 순번이라도 입장할 수 없고 새 순번을 받는다
+        String previousToken = queueTokenSigner.sign(SCHEDULE_ID, 0L, 1L);
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, previousToken));
+
+        String response = queueService.handleUserEntry(SCHEDULE_ID, previousToken);
+
+        assertEquals("addedToQueue?userToken=" + queueTokenSigner.sign(SCHEDULE_ID, 1L, 1200L), response);
+    }
+
+    @Test
+    void testHandleUserEntry_EventsAreSeparateAndRegisterOncePerNode() {
+        fillImmediateEntries(1);
+
+        queueService.handleUserEntry(1, "token1");
+        queueService.handleUserEntry(1, "token2");
+        // 회차 2는 순번을 따로 발급하므로 즉시 입장한다
+        assertEquals("/seats/sections", queueService.handleUserEntry(2, "token3"));
+
+        verify(queueStore, times(1)).registerEvent(1);
+        verify(queueStore, times(1)).registerEvent(2);
+        assertEquals(Set.of(1, 2), queueService.getActiveEvents());
+    }
+
+    @Test
+    void testHandleUserEntry_WatermarkReentryKeepsSequence() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+        String userToken = queueTokenSigner.sign(SCHEDULE_ID, 0L, 1500L);
+
+        String response = queueService.handleUserEntry(SCHEDULE_ID, userToken);
+
+        assertEquals("addedToQueue?userToken=" + userToken, response);
+        verify(watermarkRepository, never()).nextSequence(anyString(), anyString());
+    }
+
+    @Test
+    void testProcessQueueGroup_WatermarkAdvancesSingleCounter() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+        when(watermarkRepository.advanceWatermark("queue:{1}:size", "queue:{1}:admittedWatermark",
+                "queue:{1}:drain:fence", 999L, 120, 0L))
+                .thenReturn(List.of(1119L, 120L));
+
+        int admitted = queueService.processQueueGroup(SCHEDULE_ID, 120);
+
+        assertEquals(120, admitted);
+        verify(admissionPublisher, times(1)).publishWatermark(SCHEDULE_ID, 1119L);
+        verifyNoInteractions(queueRepository);
 
-        boolean isReady = queueService.isUserReadyToRedirect("testToken");
+        // 입장 여부는 저장소 조회 없이 토큰 순번과 로컬 워터마크로 판단
+        assertTrue(queueService.isUserReadyToRedirect(SCHEDULE_ID, queueTokenSigner.sign(SCHEDULE_ID, 0L, 1119L)));
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, queueTokenSigner.sign(SCHEDULE_ID, 0L, 1120L)));
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, "w.1.0.1000.forgedSignature"));
+        assertEquals(2L, queueService.getQueueStatus(SCHEDULE_ID, queueTokenSigner.sign(SCHEDULE_ID, 0L, 1121L)).getPosition());
+        verify(queueStore, never()).isReady(anyInt(), anyString());
+    }
+
+    @Test
+    void testGetWaitingRanks_WatermarkUsesTokenSequenceOnly() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+
+        // 로컬 워터마크는 즉시 입장 순번(999)까지이며, 이미 입장했거나 위조된 토큰은 순위가 없다
+        List<Long> ranks = queueService.getWaitingRanks(SCHEDULE_ID, List.of(
+                queueTokenSigner.sign(SCHEDULE_ID, 0L, 1000L), queueTokenSigner.sign(SCHEDULE_ID, 0L, 1005L),
+                queueTokenSigner.sign(SCHEDULE_ID, 0L, 10L), "w.1.0.1000.forgedSignature"));
+
+        assertEquals(Arrays.asList(0L, 5L, null, null), ranks);
+        verify(queueStore, never()).getRanks(anyInt(), anyList());
+        verifyNoInteractions(queueHeartbeats);
+    }
+
+    @Test
+    void testHandleUserEntry_DuplicateEntryKeepsPositionAndIsCounted() {
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 4);
+
+        queueService.handleUserEntry(SCHEDULE_ID, "testToken");
+        String response = queueService.handleUserEntry(SCHEDULE_ID, "testToken");
+
+        assertEquals("addedToQueue?userToken=testToken", response);
+        assertEquals(5L, queueService.getQueueStatus(SCHEDULE_ID, "testToken").getPosition());
+        assertEquals(IMMEDIATE_ENTRIES + 6, queueService.getEntryStats().getEntries());
+        assertEquals(1, queueService.getEntryStats().getDuplicateEntries());
+    }
+
+    @Test
+    void testHandleUserEntry_WatermarkReentryIsCountedAsDuplicate() {
+        queueProperties.setBackend(QueueProperties.Backend.WATERMARK);
+
+        queueService.handleUserEntry(SCHEDULE_ID, queueTokenSigner.sign(SCHEDULE_ID, 0L, 1500L));
+
+        assertEquals(1, queueService.getEntryStats().getDuplicateEntries());
+    }
+
+    @Test
+    void testProcessQueueGroup_AdmitsOnlyUpToActiveSessionBudget() {
+        // 즉시 입장한 999명이 세션을 차지하므로 2명만 더 입장할 수 있다
+        queueProperties.getAdmission().setMaxActiveSessions(IMMEDIATE_ENTRIES + 2);
+        fillImmediateEntries(SCHEDULE_ID);
+        List<String> userTokens = enterWaiting(SCHEDULE_ID, "token", 5);
+
+        assertEquals(2, queueService.processQueueGroup(SCHEDULE_ID, 120));
+        assertEquals(0, queueService.processQueueGroup(SCHEDULE_ID, 120));
+
+        verify(admissionPublisher, times(1)).publishAdmitted(SCHEDULE_ID, userTokens.subList(0, 2));
+    }
+
+    @Test
+    void testReleaseSession_HandsFreedSessionToNextWaiter() {
+        queueProperties.getAdmission().setMaxActiveSessions(IMMEDIATE_ENTRIES);
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 2);
+        long fencingToken = queueStore.acquireDrainLease(SCHEDULE_ID, "node-1", Duration.ofSeconds(5));
+        when(drainLeases.heldToken(SCHEDULE_ID)).thenReturn(fencingToken);
+
+        assertTrue(queueService.releaseSession(SCHEDULE_ID, "immediate1"));
+
+        verify(admissionPublisher, times(1)).publishAdmitted(SCHEDULE_ID, List.of("token1"));
+        assertTrue(queueService.isUserReadyToRedirect(SCHEDULE_ID, "token1"));
+    }
+
+    @Test
+    void testReleaseSession_WithoutLeaseLeavesRefillToLeader() {
+        queueProperties.getAdmission().setMaxActiveSessions(IMMEDIATE_ENTRIES);
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 2);
+
+        assertTrue(queueService.releaseSession(SCHEDULE_ID, "immediate1"));
+
+        verify(queueStore, never()).drain(anyInt(), anyInt(), any(Duration.class), anyLong(), anyLong());
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, "token1"));
+        // 반납한 토큰으로는 다시 입장할 수 없다
+        assertFalse(queueService.isUserReadyToRedirect(SCHEDULE_ID, "immediate1"));
+    }
+
+    @Test
+    void testProcessQueueGroup_StaleFencingTokenIsRejected() {
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 2);
+        long staleToken = queueStore.acquireDrainLease(SCHEDULE_ID, "node-1", Duration.ZERO);
+        long currentToken = queueStore.acquireDrainLease(SCHEDULE_ID, "node-2", Duration.ofSeconds(5));
+
+        assertThrows(StaleFencingTokenException.class,
+                () -> queueService.processQueueGroup(SCHEDULE_ID, 120, staleToken));
+        assertEquals(2, queueService.processQueueGroup(SCHEDULE_ID, 120, currentToken));
+        verify(admissionPublisher, times(1)).publishAdmitted(SCHEDULE_ID, List.of("token1", "token2"));
+    }
+
+    @Test
+    void testReleaseSession_UnknownSessionDoesNotAdmit() {
+        queueProperties.getAdmission().setMaxActiveSessions(3000);
+
+        assertFalse(queueService.releaseSession(SCHEDULE_ID, "unknownUser"));
+
+        verify(queueStore, never()).availableSessions(anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testProcessQueueGroup_StaleWaitersAreEvictedAndCounted() {
+        long now = System.currentTimeMillis();
+        when(queueHeartbeats.staleBeforeMillis()).thenReturn(now - 30_000);
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 5);
+        queueStore.recordHeartbeats(SCHEDULE_ID, List.of("token2"), now - 60_000);
+
+        assertEquals(4, queueService.processQueueGroup(SCHEDULE_ID, 120));
+
+        verify(admissionPublisher, times(1)).publishAdmitted(SCHEDULE_ID, List.of("token1", "token3", "token4", "token5"));
+        assertEquals(4, queueService.getEvictionStats().getAdmitted());
+        assertEquals(1, queueService.getEvictionStats().getEvicted());
+        assertEquals(0.25, queueService.getEvictionStats().getEvictedRatio());
+    }
+
+    @Test
+    void testGetQueueStatus_WaitingPollRecordsHeartbeatWithoutStoreWrite() {
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 1);
+
+        queueService.getQueueStatus(SCHEDULE_ID, "token1");
+
+        verify(queueHeartbeats, atLeastOnce()).record(SCHEDULE_ID, "token1");
+        verify(queueStore, never()).recordHeartbeats(anyInt(), anyCollection(), anyLong());
+    }
+
+    @Test
+    void testGetQueueStatus_IncludesEtaFromDrainRate() {
+        fillImmediateEntries(SCHEDULE_ID);
+        enterWaiting(SCHEDULE_ID, "token", 3);
+        assertNull(queueService.getQueueStatus(SCHEDULE_ID, "token3").getEtaSeconds());
+
+        recordDrainRate(SCHEDULE_ID, 2);
+
+        // 앞에 2명, 본인까지 3명을 초당 2명씩 입장시키면 2초
+        QueueStatus status = queueService.getQueueStatus(SCHEDULE_ID, "token3");
+        assertEquals(2L, status.getAhead());
+        assertEquals(2L, status.getEtaSeconds());
+    }
+
+    @Test
+    void testGetBacklogStats_SumsEventsAndKeepsSlowestEta() {
+        fillImmediateEntries(1);
+        fillImmediateEntries(2);
+        enterWaiting(1, "token", 250);
+        enterWaiting(2, "token", 30);
+        recordDrainRate(1, 100);
+        recordDrainRate(2, 10);
+
+        BacklogStats stats = queueService.getBacklogStats();
+
+        assertEquals(280, stats.getWaiting());
+        assertEquals(110, stats.getAdmittedPerSecond(), 0.001);
+        assertEquals(3L, stats.getDrainEtaSeconds());
+        assertEquals(List.of(1, 2), stats.getEvents().stream().map(EventBacklog::getScheduleId).toList());
+        assertEquals(250, stats.getEvents().get(0).getWaiting());
+    }
+
+    @Test
+    void testHandleUserEntry_PreOpenLotteryPoolsWithoutSequence() {
+        String response = queueService.handleUserEntry(PRE_OPEN_LOTTERY_ID, "early");
+
+        assertEquals("addedToPool?userToken=early", response);
+        assertTrue(queueService.getQueueStatus(PRE_OPEN_LOTTERY_ID, "early").isInPool());
+        assertEquals(0, queueService.drawLotteryIfDue(PRE_OPEN_LOTTERY_ID, 0L));
+        verify(queueStore, never()).enter(anyInt(), anyString(), anyInt(), anyInt(), any(Duration.class));
+    }
+
+    @Test
+    void testDrawLotteryIfDue_AssignsPositionsOnceAndLaterEntriesQueueBehind() {
+        List<String> pooled = new ArrayList<>();
+        for (int i = 1; i <= IMMEDIATE_ENTRIES + 5; i++) {
+            assertEquals("addedToPool?userToken=pooled" + i, queueService.handleUserEntry(OPENED_LOTTERY_ID, "pooled" + i));
+            pooled.add("pooled" + i);
+        }
+
+        assertEquals(IMMEDIATE_ENTRIES + 5, queueService.drawLotteryIfDue(OPENED_LOTTERY_ID, 0L));
+        assertEquals(0, queueService.drawLotteryIfDue(OPENED_LOTTERY_ID, 0L));
+
+        // 앞의 999명은 즉시 입장하고 나머지 5명은 무작위 순서로 1~5번째에 선다
+        verify(admissionPublisher, times(1)).publishAdmitted(eq(OPENED_LOTTERY_ID), argThat(tokens -> tokens.size() == IMMEDIATE_ENTRIES));
+        List<Long> positions = pooled.stream()
+                .map(userToken -> queueService.getQueueStatus(OPENED_LOTTERY_ID, userToken).getPosition())
+                .filter(position -> position != null)
+                .sorted()
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), positions);
+
+        // 추첨 이후의 진입은 추첨 대상 뒤에 선다
+        assertEquals("addedToQueue?userToken=late", queueService.handleUserEntry(OPENED_LOTTERY_ID, "late"));
+        assertEquals(6L, queueService.getQueueStatus(OPENED_LOTTERY_ID, "late").getPosition());
+    }
+
+    @Test
+    void testHandleUserEntry_ClosedSaleRejectsUntilReopened() {
+        fillImmediateEntries(SCHEDULE_ID);
+        queueService.handleUserEntry(SCHEDULE_ID, "waiting");
+
+        queueStore.closeEvent(SCHEDULE_ID);
+        queueService.onSaleClosed(SCHEDULE_ID);
+
+        assertEquals("saleClosed", queueService.handleUserEntry(SCHEDULE_ID, "late"));
+        assertFalse(queueService.getActiveEvents().contains(SCHEDULE_ID));
+        assertFalse(queueStore.openEvent(SCHEDULE_ID));
+
+        // 회수가 끝나고 다시 열면 순번이 처음부터 다시 발급되어 즉시 입장한다
+        assertTrue(queueStore.reclaim(SCHEDULE_ID, 1000, 0L).isDone());
+        assertTrue(queueStore.openEvent(SCHEDULE_ID));
+        queueService.onSaleOpened(SCHEDULE_ID);
+
+        assertEquals("/seats/sections", queueService.handleUserEntry(SCHEDULE_ID, "late"));
+        assertNull(queueService.getQueueStatus(SCHEDULE_ID, "waiting").getPosition());
+    }
+
+    private static QueueProperties lotteryProperties() {
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.getLottery().getWindows().add(window(PRE_OPEN_LOTTERY_ID, OffsetDateTime.now().plusDays(1)));
+        queueProperties.getLottery().getWindows().add(window(OPENED_LOTTERY_ID, OffsetDateTime.now().minusMinutes(1)));
+        return queueProperties;
+    }
+
+    private static QueueProperties.Window window(int scheduleId, OffsetDateTime opensAt) {
+        QueueProperties.Window window = new QueueProperties.Window();
+        window.setScheduleId(scheduleId);
+        window.setOpensAt(opensAt);
+        return window;
+    }
+
+    // 1초 간격의 입장 처리 두 번으로 입장 처리 속도를 정한다
+    private void recordDrainRate(int scheduleId, int admittedPerSecond) {
+        long now = System.currentTimeMillis();
+        drainRateTracker.recordAdmitted(scheduleId, admittedPerSecond, now - 1000);
+        drainRateTracker.recordAdmitted(scheduleId, admittedPerSecond, now);
+    }
+
+    // 즉시 입장 인원을 모두 채워 이후 진입이 대기열로 가도록 한다
+    private void fillImmediateEntries(int scheduleId) {
+        for (int i = 1; i <= IMMEDIATE_ENTRIES; i++) {
+            assertEquals("/seats/sections", queueService.handleUserEntry(scheduleId, "immediate" + i));
+        }
+    }
 
-        assertTrue(isReady);
+    private List<String> enterWaiting(int scheduleId, String prefix, int count) {
+        List<String> userTokens = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String userToken = prefix + i;
+            assertEquals("addedToQueue?userToken=" + userToken, queueService.handleUserEntry(scheduleId, userToken));
+            userTokens.add(userToken);
+        }
+        return userTokens;
     }
 }
@@ -0,0 +1,279 @@
+package com.bticketing.appqueue.store;
+
+import com.bticketing.appqueue.dto.EventMemory;
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.dto.ReclaimStep;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryQueueStoreTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryQueueStoreTest.class);
+
+    private static final int SCHEDULE_ID = 1;
+    private static final int MAX_QUEUE_SIZE = 3; // 순번 1, 2 는 즉시 입장
+    private static final Duration READY_TTL = Duration.ofMinutes(10);
+
+    @Test
+    @DisplayName("즉시 입장 인원 이후의 사용자는 도착 순서대로 대기하고 입장 처리된다")
+    void testEnterAndDrainInArrivalOrder() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+
+        assertTrue(store.enter(SCHEDULE_ID, "immediate1", MAX_QUEUE_SIZE, 120, READY_TTL).isImmediate());
+        assertTrue(store.enter(SCHEDULE_ID, "immediate2", MAX_QUEUE_SIZE, 120, READY_TTL).isImmediate());
+        QueueEntry first = store.enter(SCHEDULE_ID, "user1", MAX_QUEUE_SIZE, 120, READY_TTL);
+        store.enter(SCHEDULE_ID, "user2", MAX_QUEUE_SIZE, 120, READY_TTL);
+        store.enter(SCHEDULE_ID, "user3", MAX_QUEUE_SIZE, 120, READY_TTL);
+
+        assertFalse(first.isImmediate());
+        assertEquals(1, first.getPosition());
+        assertEquals(2L, store.getRank(SCHEDULE_ID, "user3"));
+        assertTrue(store.isReady(SCHEDULE_ID, "immediate1"));
+
+        QueueDrain drain = store.drain(SCHEDULE_ID, 2, READY_TTL, 0, 0);
+
+        assertEquals(List.of("user1", "user2"), drain.getUserTokens());
+        assertTrue(store.isReady(SCHEDULE_ID, "user2"));
+        assertFalse(store.isReady(SCHEDULE_ID, "user3"));
+        assertEquals(0L, store.getRank(SCHEDULE_ID, "user3"));
+        assertNull(store.getRank(SCHEDULE_ID, "user1"));
+    }
+
+    @Test
+    @DisplayName("재진입하면 기존 순번을 유지하고, 입장 처리된 뒤에는 즉시 입장으로 응답한다")
+    void testReentryKeepsSequence() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+        enterAll(store, "immediate1", "immediate2", "user1", "user2");
+
+        QueueEntry reentry = store.enter(SCHEDULE_ID, "user2", MAX_QUEUE_SIZE, 120, READY_TTL);
+        assertTrue(reentry.isDuplicate());
+        assertEquals(4L, reentry.getSequence());
+        assertEquals(2, reentry.getPosition());
+
+        store.drain(SCHEDULE_ID, 2, READY_TTL, 0, 0);
+        QueueEntry afterAdmission = store.enter(SCHEDULE_ID, "user2", MAX_QUEUE_SIZE, 120, READY_TTL);
+        assertTrue(afterAdmission.isDuplicate());
+        assertTrue(afterAdmission.isImmediate());
+    }
+
+    @Test
+    @DisplayName("생존 신호가 끊긴 사용자는 제거되고 그 자리는 다음 사용자로 채워진다")
+    void testDrainEvictsStaleWaiters() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+        enterAll(store, "immediate1", "immediate2", "user1", "user2", "user3");
+        long now = System.currentTimeMillis();
+        store.recordHeartbeats(SCHEDULE_ID, List.of("user1"), now - 60_000);
+        store.recordHeartbeats(SCHEDULE_ID, List.of("user2", "user3"), now);
+
+        QueueDrain drain = store.drain(SCHEDULE_ID, 2, READY_TTL, now - 30_000, 0);
+
+        assertEquals(List.of("user2", "user3"), drain.getUserTokens());
+        assertEquals(1, drain.getEvicted());
+        // 제거된 사용자는 다시 진입하면 새 순번으로 줄을 선다
+        assertFalse(store.enter(SCHEDULE_ID, "user1", MAX_QUEUE_SIZE, 120, READY_TTL).isDuplicate());
+    }
+
+    @Test
+    @DisplayName("링이 가득 차면 더 이상 순번을 발급하지 않고, 입장 처리로 자리가 비면 다시 받는다")
+    void testRingFullRejectsUntilDrained() {
+        InMemoryQueueStore store = new InMemoryQueueStore(4);
+        enterAll(store, "immediate1", "immediate2", "user1", "user2", "user3", "user4");
+
+        assertThrows(IllegalStateException.class,
+                () -> store.enter(SCHEDULE_ID, "user5", MAX_QUEUE_SIZE, 120, READY_TTL));
+
+        store.drain(SCHEDULE_ID, 1, READY_TTL, 0, 0);
+        QueueEntry entry = store.enter(SCHEDULE_ID, "user5", MAX_QUEUE_SIZE, 120, READY_TTL);
+        assertEquals(4, entry.getPosition());
+        assertEquals(List.of("user2", "user3", "user4", "user5"),
+                store.drain(SCHEDULE_ID, 10, READY_TTL, 0, 0).getUserTokens());
+    }
+
+    @Test
+    @DisplayName("입장 세션은 만료되거나 종료되면 자리를 돌려준다")
+    void testSessionBudget() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+        enterAll(store, "immediate1");
+        long now = System.currentTimeMillis();
+        store.registerSessions(SCHEDULE_ID, List.of("expired"), now - 1);
+        store.registerSessions(SCHEDULE_ID, List.of("active1", "active2"), now + 60_000);
+
+        assertEquals(1, store.availableSessions(SCHEDULE_ID, 3, now));
+        assertTrue(store.releaseSession(SCHEDULE_ID, "active1"));
+        assertFalse(store.releaseSession(SCHEDULE_ID, "active1"));
+        assertEquals(2, store.availableSessions(SCHEDULE_ID, 3, now));
+    }
+
+    @Test
+    @DisplayName("세션을 종료하면 준비 상태도 함께 지워진다")
+    void testReleaseSessionClearsReady() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+        enterAll(store, "immediate1");
+        store.registerSessions(SCHEDULE_ID, List.of("immediate1"), System.currentTimeMillis() + 60_000);
+        assertTrue(store.isReady(SCHEDULE_ID, "immediate1"));
+
+        assertTrue(store.releaseSession(SCHEDULE_ID, "immediate1"));
+        assertFalse(store.isReady(SCHEDULE_ID, "immediate1"));
+    }
+
+    @Test
+    @DisplayName("동시 진입에도 순번이 겹치지 않고 모두 한 번씩 입장 처리된다")
+    void testConcurrentEntriesGetUniqueSequences() throws InterruptedException {
+        InMemoryQueueStore store = new InMemoryQueueStore(1 << 17);
+        int totalEntries = 100_000;
+        Set<Long> sequences = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        long begin = System.nanoTime();
+        for (int i = 0; i < totalEntries; i++) {
+            String userToken = "user" + i;
+            executorService.submit(() -> sequences.add(
+                    store.enter(SCHEDULE_ID, userToken, 1, 120, READY_TTL).getSequence()));
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+        long elapsedNanos = System.nanoTime() - begin;
+
+        assertEquals(totalEntries, sequences.size());
+        assertEquals(totalEntries, store.drain(SCHEDULE_ID, totalEntries, READY_TTL, 0, 0).getUserTokens().size());
+        logger.info("[JVM 내 저장소] 진입 {}건, 건당 평균 {} ns (스레드 16개)", totalEntries, elapsedNanos / totalEntries);
+    }
+
+    @Test
+    @DisplayName("리스가 만료되면 다른 노드가 새 펜싱 토큰으로 이어받고 이전 토큰의 입장 처리는 거부된다")
+    void testDrainLeaseFailover() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+        enterAll(store, "immediate1", "immediate2", "user1");
+
+        long first = store.acquireDrainLease(SCHEDULE_ID, "node-1", Duration.ofSeconds(5));
+        assertEquals(0L, store.acquireDrainLease(SCHEDULE_ID, "node-2", Duration.ofSeconds(5)));
+        assertEquals(first, store.acquireDrainLease(SCHEDULE_ID, "node-1", Duration.ofSeconds(5)));
+
+        store.releaseDrainLease(SCHEDULE_ID, "node-1");
+        long second = store.acquireDrainLease(SCHEDULE_ID, "node-2", Duration.ofSeconds(5));
+
+        assertTrue(second > first);
+        assertThrows(StaleFencingTokenException.class, () -> store.drain(SCHEDULE_ID, 1, READY_TTL, 0, first));
+        assertEquals(List.of("user1"), store.drain(SCHEDULE_ID, 1, READY_TTL, 0, second).getUserTokens());
+    }
+
+    private void enterAll(InMemoryQueueStore store, String... userTokens) {
+        for (String userToken : userTokens) {
+            store.enter(SCHEDULE_ID, userToken, MAX_QUEUE_SIZE, 120, READY_TTL);
+        }
+    }
+
+    @Test
+    @DisplayName("추첨은 같은 진입자와 seed 면 같은 순서를 배정하고, 추첨 후의 진입은 추첨 대상에 넣지 않는다")
+    void testLotteryDrawIsSeededAndClosesPool() {
+        List<List<String>> orders = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            InMemoryQueueStore store = new InMemoryQueueStore(64);
+            // 일반 진입으로 이미 줄을 선 토큰은 추첨에서 건너뛴다
+            store.enter(SCHEDULE_ID, "user3", MAX_QUEUE_SIZE, 120, READY_TTL);
+            for (int i = 1; i <= 20; i++) {
+                assertTrue(store.enterPool(SCHEDULE_ID, "user" + i));
+            }
+
+            LotteryDraw draw = store.drawLottery(SCHEDULE_ID, 42L, MAX_QUEUE_SIZE, 120, READY_TTL, 100, 0L);
+
+            assertEquals(19, draw.getDrawn());
+            assertTrue(draw.isComplete());
+            assertEquals(1, draw.getImmediateTokens().size());
+            assertTrue(store.isLotteryDrawn(SCHEDULE_ID));
+            assertFalse(store.enterPool(SCHEDULE_ID, "late"));
+            assertEquals(0, store.drawLottery(SCHEDULE_ID, 42L, MAX_QUEUE_SIZE, 120, READY_TTL, 100, 0L).getDrawn());
+
+            List<String> order = new ArrayList<>(draw.getImmediateTokens());
+            order.addAll(store.drain(SCHEDULE_ID, 100, READY_TTL, 0L, 0L).getUserTokens());
+            assertEquals(19, order.size());
+            assertFalse(order.contains("user3"));
+            orders.add(order);
+        }
+        assertEquals(orders.get(0), orders.get(1));
+    }
+
+    @Test
+    @DisplayName("추첨은 호출마다 batchSize 명까지 배정하고, 추첨 중 진입자는 추첨 대상 뒤에 도착 순서대로 선다")
+    void testLotteryDrawInBatchesQueuesLateEntriesBehind() {
+        InMemoryQueueStore store = new InMemoryQueueStore(64);
+        for (int i = 1; i <= 10; i++) {
+            assertTrue(store.enterPool(SCHEDULE_ID, "user" + i));
+        }
+
+        LotteryDraw first = store.drawLottery(SCHEDULE_ID, 42L, 1, 120, READY_TTL, 4, 0L);
+        assertEquals(4, first.getDrawn());
+        assertFalse(first.isComplete());
+        assertFalse(store.isLotteryDrawn(SCHEDULE_ID));
+
+        // 추첨 중 진입은 추첨 대상으로 받되, 첫 호출과 다른 seed 는 순서에 영향을 주지 않는다
+        assertTrue(store.enterPool(SCHEDULE_ID, "late1"));
+        assertTrue(store.enterPool(SCHEDULE_ID, "late2"));
+        assertEquals(4, store.drawLottery(SCHEDULE_ID, 7L, 1, 120, READY_TTL, 4, 0L).getDrawn());
+        LotteryDraw last = store.drawLottery(SCHEDULE_ID, 7L, 1, 120, READY_TTL, 4, 0L);
+        assertEquals(4, last.getDrawn());
+        assertTrue(last.isComplete());
+        assertTrue(store.isLotteryDrawn(SCHEDULE_ID));
+
+        List<String> order = store.drain(SCHEDULE_ID, 100, READY_TTL, 0L, 0L).getUserTokens();
+        assertEquals(12, order.size());
+        assertEquals(List.of("late1", "late2"), order.subList(10, 12));
+
+        InMemoryQueueStore single = new InMemoryQueueStore(64);
+        for (int i = 1; i <= 10; i++) {
+            single.enterPool(SCHEDULE_ID, "user" + i);
+        }
+        single.drawLottery(SCHEDULE_ID, 42L, 1, 120, READY_TTL, 100, 0L);
+        assertEquals(order.subList(0, 10), single.drain(SCHEDULE_ID, 100, READY_TTL, 0L, 0L).getUserTokens());
+    }
+
+    @Test
+    @DisplayName("판매를 닫으면 회수가 끝날 때까지 다시 열 수 없고, 다시 열면 순번이 처음부터 발급된다")
+    void testCloseReclaimAndReopenResetsSequence() {
+        InMemoryQueueStore store = new InMemoryQueueStore(16);
+        assertTrue(store.openEvent(SCHEDULE_ID));
+        enterAll(store, "immediate1", "immediate2", "user1", "user2");
+        long fencingToken = store.acquireDrainLease(SCHEDULE_ID, "node-1", Duration.ofSeconds(5));
+
+        store.closeEvent(SCHEDULE_ID);
+
+        assertEquals(Set.of(SCHEDULE_ID), store.getClosedEvents());
+        assertFalse(store.getActiveEvents().contains(SCHEDULE_ID));
+        assertFalse(store.openEvent(SCHEDULE_ID));
+        EventMemory memory = store.getMemoryUsage(SCHEDULE_ID, 10);
+        assertTrue(memory.isClosed());
+        assertTrue(memory.getKeys() >= 4);
+        assertNull(memory.getBytes());
+
+        assertThrows(StaleFencingTokenException.class, () -> store.reclaim(SCHEDULE_ID, 100, fencingToken + 1));
+        ReclaimStep step = store.reclaim(SCHEDULE_ID, 100, fencingToken);
+
+        assertTrue(step.isDone());
+        assertEquals(4, step.getReclaimedKeys());
+        assertTrue(store.getClosedEvents().isEmpty());
+        assertTrue(store.isClosed(SCHEDULE_ID));
+
+        assertTrue(store.openEvent(SCHEDULE_ID));
+        assertFalse(store.isClosed(SCHEDULE_ID));
+        assertTrue(store.getActiveEvents().contains(SCHEDULE_ID));
+        assertEquals(1L, store.enter(SCHEDULE_ID, "user1", MAX_QUEUE_SIZE, 120, READY_TTL).getSequence());
+        // 펜싱 토큰은 판매를 다시 열어도 증가만 한다
+        assertTrue(store.acquireDrainLease(SCHEDULE_ID, "node-2", Duration.ofSeconds(5)) > fencingToken);
+    }
+}
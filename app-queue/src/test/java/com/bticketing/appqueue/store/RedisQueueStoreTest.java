@@ -0,0 +1,290 @@
+package com.bticketing.appqueue.store;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.EventMemory;
+import com.bticketing.appqueue.dto.GroupDrain;
+import com.bticketing.appqueue.dto.LotteryDraw;
+import com.bticketing.appqueue.dto.QueueDrain;
+import com.bticketing.appqueue.dto.QueueEntry;
+import com.bticketing.appqueue.dto.ReclaimStep;
+import com.bticketing.appqueue.exception.StaleFencingTokenException;
+import com.bticketing.appqueue.repository.ActiveSessionRepository;
+import com.bticketing.appqueue.repository.DrainLeaseRepository;
+import com.bticketing.appqueue.repository.EventLifecycleRepository;
+import com.bticketing.appqueue.repository.HeartbeatRepository;
+import com.bticketing.appqueue.repository.LotteryRepository;
+import com.bticketing.appqueue.repository.QueueRepository;
+import com.bticketing.appqueue.repository.ReactiveQueueRepository;
+import com.bticketing.appqueue.repository.ShardedQueueRepository;
+import com.bticketing.appqueue.repository.SortedSetQueueRepository;
+import com.bticketing.appqueue.util.QueueKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RedisQueueStoreTest {
+
+    private static final int SCHEDULE_ID = 1;
+    private static final Duration READY_TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    @Mock
+    private SortedSetQueueRepository sortedSetQueueRepository;
+
+    @Mock
+    private ShardedQueueRepository shardedQueueRepository;
+
+    @Mock
+    private HeartbeatRepository heartbeatRepository;
+
+    @Mock
+    private ActiveSessionRepository activeSessionRepository;
+
+    @Mock
+    private DrainLeaseRepository drainLeaseRepository;
+
+    @Mock
+    private LotteryRepository lotteryRepository;
+
+    @Mock
+    private EventLifecycleRepository eventLifecycleRepository;
+
+    @Mock
+    private ReactiveQueueRepository reactiveQueueRepository;
+
+    @Spy
+    private QueueProperties queueProperties = new QueueProperties();
+
+    @InjectMocks
+    private RedisQueueStore queueStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testEnter_ListUsesPerEventKeysInSingleScript() {
+        when(queueRepository.enterQueue(anyString(), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyInt(), anyInt(), any(Duration.class)))
+                .thenReturn(new QueueEntry("token", 1501L, 5, 0, false, false));
+
+        queueStore.enter(1, "token1", 1000, 120, READY_TTL);
+        queueStore.enter(2, "token2", 1000, 120, READY_TTL);
+
+        verify(queueRepository, times(1)).enterQueue("queue:{1}:size", "queue:{1}:currentGroup", "queue:{1}:entries",
+                "queue:{1}:group-", "queue:{1}:userReady-", "token1", 1000, 120, READY_TTL);
+        verify(queueRepository, times(1)).enterQueue("queue:{2}:size", "queue:{2}:currentGroup", "queue:{2}:entries",
+                "queue:{2}:group-", "queue:{2}:userReady-", "token2", 1000, 120, READY_TTL);
+        verify(queueRepository, never()).acquireLock(anyString(), any(Duration.class));
+    }
+
+    @Test
+    void testReleaseSession_ShardedClearsReadyOnTokenShard() {
+        queueProperties.setBackend(QueueProperties.Backend.SHARDED);
+        when(activeSessionRepository.release("queue:{1}:active", "token1")).thenReturn(true);
+
+        assertTrue(queueStore.releaseSession(SCHEDULE_ID, "token1"));
+
+        verify(shardedQueueRepository, times(1))
+                .clearReady(argThat(keys -> keys.getScheduleId() == SCHEDULE_ID), eq("token1"));
+        verify(activeSessionRepository, never()).release(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testDrain_ListPassesHeartbeatEntriesAndFenceKeys() {
+        when(queueRepository.drainGroups("queue:{1}:admissionGroup", "queue:{1}:currentGroup",
+                "queue:{1}:heartbeats", "queue:{1}:entries", "queue:{1}:drain:fence", "queue:{1}:group-",
+                "queue:{1}:userReady-", 120, READY_TTL, 5L, 3L))
+                .thenReturn(new GroupDrain(List.of("token1", "token2"), 3, 1));
+
+        QueueDrain drain = queueStore.drain(SCHEDULE_ID, 120, READY_TTL, 5L, 3L);
+
+        assertEquals(List.of("token1", "token2"), drain.getUserTokens());
+        assertEquals(1, drain.getEvicted());
+        verify(queueRepository, never()).setValueWithTTL(anyString(), any(), any());
+    }
+
+    @Test
+    void testDrawLottery_SortedSetAssignsBatchInSingleScriptWithFence() {
+        queueProperties.setBackend(QueueProperties.Backend.SORTED_SET);
+        when(lotteryRepository.drawIntoSortedSet("queue:{1}:lottery:pool", "queue:{1}:lottery:drawn", "queue:{1}:size",
+                "queue:{1}:waiting", "queue:{1}:entries", "queue:{1}:drain:fence", "queue:{1}:lottery:drawing",
+                "queue:{1}:lottery:order", "queue:{1}:lottery:late", "queue:{1}:userReady-",
+                42L, 1000, READY_TTL, 5000, 3L))
+                .thenReturn(new LotteryDraw(5000, false, List.of("token1")));
+
+        LotteryDraw draw = queueStore.drawLottery(SCHEDULE_ID, 42L, 1000, 120, READY_TTL, 5000, 3L);
+
+        assertEquals(5000, draw.getDrawn());
+        assertFalse(draw.isComplete());
+        verifyNoInteractions(queueRepository, sortedSetQueueRepository);
+    }
+
+    @Test
+    void testDrawLottery_ShardedIsNotSupported() {
+        queueProperties.setBackend(QueueProperties.Backend.SHARDED);
+
+        assertThrows(IllegalStateException.class,
+                () -> queueStore.drawLottery(SCHEDULE_ID, 42L, 1000, 120, READY_TTL, 5000, 3L));
+        verifyNoInteractions(lotteryRepository);
+    }
+
+    @Test
+    void testDrain_SortedSetPopsWithoutLock() {
+        queueProperties.setBackend(QueueProperties.Backend.SORTED_SET);
+        when(sortedSetQueueRepository.drainFront("queue:{1}:waiting", "queue:{1}:heartbeats", "queue:{1}:entries",
+                "queue:{1}:drain:fence", "queue:{1}:userReady-", 120, READY_TTL, 0L, 3L))
+                .thenReturn(new QueueDrain(List.of("token1", "token2"), 0));
+
+        assertEquals(List.of("token1", "token2"), queueStore.drain(SCHEDULE_ID, 120, READY_TTL, 0L, 3L).getUserTokens());
+        verifyNoInteractions(queueRepository);
+    }
+
+    @Test
+    void testDrain_ShardedMergesShards() {
+        queueProperties.setBackend(QueueProperties.Backend.SHARDED);
+        when(shardedQueueRepository.drainFront(any(QueueKeys.class), eq(120), eq(READY_TTL), eq(0L)))
+                .thenReturn(new QueueDrain(List.of("token1", "token2"), 0));
+
+        when(drainLeaseRepository.getFencingToken("queue:{1}:drain:fence")).thenReturn(3L);
+
+        assertEquals(2, queueStore.drain(SCHEDULE_ID, 120, READY_TTL, 0L, 3L).getUserTokens().size());
+        verifyNoInteractions(queueRepository, sortedSetQueueRepository);
+    }
+
+    @Test
+    void testDrain_ShardedRejectsStaleFencingToken() {
+        queueProperties.setBackend(QueueProperties.Backend.SHARDED);
+        when(drainLeaseRepository.getFencingToken("queue:{1}:drain:fence")).thenReturn(4L);
+
+        assertThrows(StaleFencingTokenException.class, () -> queueStore.drain(SCHEDULE_ID, 120, READY_TTL, 0L, 3L));
+        verifyNoInteractions(shardedQueueRepository);
+    }
+
+    @Test
+    void testAcquireDrainLease_UsesPerEventLeaseAndFenceKeys() {
+        when(drainLeaseRepository.acquire("queue:{1}:drain:lease", "queue:{1}:drain:fence", "node-1",
+                Duration.ofSeconds(5))).thenReturn(3L);
+
+        assertEquals(3L, queueStore.acquireDrainLease(SCHEDULE_ID, "node-1", Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testRanks_ListBackendHasNoRanks() {
+        assertNull(queueStore.getRank(SCHEDULE_ID, "token"));
+        assertEquals(2, queueStore.getRanks(SCHEDULE_ID, List.of("token1", "token2")).size());
+        verifyNoInteractions(sortedSetQueueRepository, shardedQueueRepository);
+    }
+
+    @Test
+    void testWaitingCount_ListCountsOnlyEdgeGroups() {
+        when(queueRepository.getValue("queue:{1}:admissionGroup")).thenReturn(3);
+        when(queueRepository.getValue("queue:{1}:currentGroup")).thenReturn(6);
+        when(queueRepository.getListLength("queue:{1}:group-3")).thenReturn(40L);
+        when(queueRepository.getListLength("queue:{1}:group-6")).thenReturn(7L);
+
+        // 4, 5 그룹은 가득 차 있다
+        assertEquals(40 + 2 * 120 + 7, queueStore.getWaitingCount(SCHEDULE_ID, 120));
+        verify(queueRepository, never()).getListLength("queue:{1}:group-4");
+    }
+
+    @Test
+    void testIsReady_ReadsReadyKey() {
+        when(queueRepository.getValue("queue:{1}:userReady-token", QueueProperties.ReadClass.READINESS)).thenReturn(true);
+
+        assertTrue(queueStore.isReady(SCHEDULE_ID, "token"));
+    }
+
+    @Test
+    void testEnterReactive_SortedSetUsesNonBlockingRepository() {
+        queueProperties.setBackend(QueueProperties.Backend.SORTED_SET);
+        when(reactiveQueueRepository.enterSortedSetQueue("queue:{1}:size", "queue:{1}:waiting", "queue:{1}:entries",
+                "queue:{1}:userReady-", "token", 1000, READY_TTL))
+                .thenReturn(Mono.just(new QueueEntry("token", 1501L, 0, 500, false, false)));
+
+        assertEquals(500, queueStore.enterReactive(SCHEDULE_ID, "token", 1000, 120, READY_TTL).block().getPosition());
+        verifyNoInteractions(queueRepository, sortedSetQueueRepository);
+    }
+
+    @Test
+    void testReactiveReads_ListBackendReadsReadyKeyAndHasNoRank() {
+        when(reactiveQueueRepository.isReady("queue:{1}:userReady-token")).thenReturn(Mono.just(true));
+
+        assertTrue(queueStore.isReadyReactive(SCHEDULE_ID, "token").block());
+        assertNull(queueStore.getRankReactive(SCHEDULE_ID, "token").block());
+        verifyNoInteractions(queueRepository);
+    }
+
+    @Test
+    void testOpenEvent_RegistersOnlyAfterReclaim() {
+        when(eventLifecycleRepository.open(any(QueueKeys.class))).thenReturn(false, true);
+
+        assertFalse(queueStore.openEvent(SCHEDULE_ID));
+        verify(queueRepository, never()).addToSet(anyString(), any());
+
+        assertTrue(queueStore.openEvent(SCHEDULE_ID));
+        verify(queueRepository, times(1)).addToSet(QueueKeys.ACTIVE_EVENTS_KEY, SCHEDULE_ID);
+    }
+
+    @Test
+    void testReclaim_RemovesClosedEventOnlyWhenDone() {
+        when(eventLifecycleRepository.reclaim(any(QueueKeys.class), eq(1000), eq(3L)))
+                .thenReturn(new ReclaimStep(1000, false), new ReclaimStep(12, true));
+
+        assertFalse(queueStore.reclaim(SCHEDULE_ID, 1000, 3L).isDone());
+        verify(eventLifecycleRepository, never()).removeClosedEvent(anyInt());
+
+        assertTrue(queueStore.reclaim(SCHEDULE_ID, 1000, 3L).isDone());
+        verify(eventLifecycleRepository, times(1)).removeClosedEvent(SCHEDULE_ID);
+        verifyNoInteractions(shardedQueueRepository);
+    }
+
+    @Test
+    void testReclaim_ShardedUnlinksShardKeysWhenDone() {
+        queueProperties.setBackend(QueueProperties.Backend.SHARDED);
+        when(eventLifecycleRepository.reclaim(any(QueueKeys.class), eq(1000), eq(3L))).thenReturn(new ReclaimStep(5, true));
+        when(shardedQueueRepository.unlinkEventKeys(any(QueueKeys.class))).thenReturn(8L);
+
+        assertEquals(13, queueStore.reclaim(SCHEDULE_ID, 1000, 3L).getReclaimedKeys());
+        verify(eventLifecycleRepository, times(1)).removeClosedEvent(SCHEDULE_ID);
+    }
+
+    @Test
+    void testGetMemoryUsage_ExtrapolatesReadyKeysFromSample() {
+        when(eventLifecycleRepository.getValue("queue:{1}:admissionGroup")).thenReturn("4");
+        when(eventLifecycleRepository.getValue("queue:{1}:currentGroup")).thenReturn("5");
+        // 회차 상태 키 중 2개와 남은 그룹 2개만 있다
+        when(eventLifecycleRepository.memoryUsage(argThat(keys -> keys.contains("queue:{1}:group-4"))))
+                .thenAnswer(invocation -> {
+                    List<String> keys = invocation.getArgument(0);
+                    return keys.stream()
+                            .map(key -> key.endsWith("size") || key.endsWith("entries") || key.contains("group-")
+                                    ? 100L : null)
+                            .toList();
+                });
+        when(eventLifecycleRepository.sampleFields("queue:{1}:entries", 4)).thenReturn(List.of("a", "b", "c", "d"));
+        when(eventLifecycleRepository.getHashSize("queue:{1}:entries")).thenReturn(1000L);
+        // 표본 4개 중 3개의 준비 상태 키가 남아 있다
+        when(eventLifecycleRepository.memoryUsage(List.of("queue:{1}:userReady-a", "queue:{1}:userReady-b",
+                "queue:{1}:userReady-c", "queue:{1}:userReady-d"))).thenReturn(Arrays.asList(80L, 80L, 80L, null));
+
+        EventMemory memory = queueStore.getMemoryUsage(SCHEDULE_ID, 4);
+
+        assertEquals(4 + 750, memory.getKeys());
+        assertEquals(400 + 60_000L, memory.getBytes());
+    }
+}
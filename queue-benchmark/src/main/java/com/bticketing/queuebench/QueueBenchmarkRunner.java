@@ -0,0 +1,97 @@
+package com.bticketing.queuebench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// 대기열 핵심 경로 벤치마크를 스레드 수별로 실행하고 처리량, 평균 시간, 할당량을 한 표로 출력
+// 스레드 수마다 JSON 결과를 build/reports/jmh/threads-N.json 에 남긴다
+// 예: ./gradlew :queue-benchmark:jmh -Pinclude=QueueStatus -Pthreads=1,8,64
+public class QueueBenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = QueueBenchmarkRunner.class.getPackageName() + ".Queue.*Benchmark";
+    private static final int[] DEFAULT_THREADS = {1, 8, 64};
+    private static final Path RESULTS_DIR = Path.of("build", "reports", "jmh");
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = DEFAULT_INCLUDE;
+        int[] threadCounts = DEFAULT_THREADS;
+        for (String arg : args) {
+            if (arg.startsWith("--include=")) {
+                include = arg.substring("--include=".length());
+            } else if (arg.startsWith("--threads=")) {
+                threadCounts = Arrays.stream(arg.substring("--threads=".length()).split(","))
+                        .map(String::trim)
+                        .mapToInt(Integer::parseInt)
+                        .toArray();
+            } else {
+                throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+            }
+        }
+
+        Files.createDirectories(RESULTS_DIR);
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(RESULTS_DIR.resolve("threads-" + threads + ".json").toString())
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+        System.out.println(summary(results));
+    }
+
+    private static String summary(Collection<RunResult> results) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%n%-60s %7s %6s %14s %12s %14s %12s%n",
+                "벤치마크", "스레드", "모드", "점수", "단위", "할당(MB/s)", "할당(B/op)"));
+        for (RunResult result : results) {
+            Result<?> primary = result.getPrimaryResult();
+            summary.append(String.format("%-60s %7d %6s %14.3f %12s %14s %12s%n",
+                    label(result),
+                    result.getParams().getThreads(),
+                    result.getParams().getMode().shortLabel(),
+                    primary.getScore(),
+                    primary.getScoreUnit(),
+                    secondary(result, "gc.alloc.rate"),
+                    secondary(result, "gc.alloc.rate.norm")));
+        }
+        return summary.toString();
+    }
+
+    // 클래스.메서드 (파라미터=값, ...)
+    private static String label(RunResult result) {
+        String benchmark = result.getParams().getBenchmark();
+        String[] parts = benchmark.split("\\.");
+        StringBuilder label = new StringBuilder(parts[parts.length - 2]).append('.').append(parts[parts.length - 1]);
+        List<String> params = new ArrayList<>();
+        for (String key : result.getParams().getParamsKeys()) {
+            params.add(key + "=" + result.getParams().getParam(key));
+        }
+        if (!params.isEmpty()) {
+            label.append(" (").append(String.join(", ", params)).append(')');
+        }
+        return label.toString();
+    }
+
+    private static String secondary(RunResult result, String name) {
+        Result<?> secondary = result.getSecondaryResults().get(name);
+        return secondary != null ? String.format("%.1f", secondary.getScore()) : "-";
+    }
+}
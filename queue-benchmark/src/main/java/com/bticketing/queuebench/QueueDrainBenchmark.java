@@ -0,0 +1,69 @@
+package com.bticketing.queuebench;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 입장 처리 (processQueueGroup): 한 그룹(120명)씩 대기열 앞에서 꺼내 준비 상태를 기록하고 입장 알림을 발행한다
+// 회차별 입장 처리는 리스를 가진 노드 하나만 하므로, 스레드마다 다른 회차를 맡아 여러 회차를 동시에 처리하는 상황을 측정한다
+// 대기열이 한 그룹보다 짧아지면 호출 전에 다시 채운다 (채우는 시간은 측정에서 빠진다)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueDrainBenchmark {
+
+    private static final int GROUP_SIZE = 120;
+    private static final int REFILL_GROUPS = 10;
+
+    @Param({"LIST", "SORTED_SET"})
+    public QueueProperties.Backend backend;
+
+    private final AtomicInteger scheduleIds = new AtomicInteger(QueueFixture.SCHEDULE_ID);
+    private QueueFixture fixture;
+
+    @Setup(Level.Trial)
+    public void start() {
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.setBackend(backend);
+        fixture = QueueFixture.start(queueProperties);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Event {
+        private int scheduleId;
+        private int refills;
+        private int waiting;
+
+        @Setup(Level.Trial)
+        public void start(QueueDrainBenchmark benchmark) {
+            scheduleId = benchmark.scheduleIds.getAndIncrement();
+        }
+
+        @Setup(Level.Invocation)
+        public void refill(QueueDrainBenchmark benchmark) {
+            if (waiting >= GROUP_SIZE) {
+                return;
+            }
+            benchmark.fixture.enterUntilQueued(scheduleId, "user-" + scheduleId + "-" + refills++ + "-",
+                    GROUP_SIZE * REFILL_GROUPS);
+            waiting += GROUP_SIZE * REFILL_GROUPS;
+        }
+    }
+
+    @Benchmark
+    public void processQueueGroup(Event event) {
+        fixture.queueService().processQueueGroup(event.scheduleId);
+        event.waiting -= GROUP_SIZE;
+    }
+}
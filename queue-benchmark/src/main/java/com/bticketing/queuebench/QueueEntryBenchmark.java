@@ -0,0 +1,51 @@
+package com.bticketing.queuebench;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 진입 (handleUserEntry): 토큰 발급부터 Lua 스크립트 한 번으로 순번 발급, 그룹 배정까지
+// 측정 반복마다 대기열을 비우고 즉시 입장 인원을 채워, 판매 중 대부분을 차지하는 대기열 진입 경로를 측정한다
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueEntryBenchmark {
+
+    @Param({"LIST", "SORTED_SET"})
+    public QueueProperties.Backend backend;
+
+    private QueueFixture fixture;
+
+    @Setup(Level.Trial)
+    public void start() {
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.setBackend(backend);
+        fixture = QueueFixture.start(queueProperties);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetQueue() {
+        fixture.flushDb();
+        fixture.enterUntilQueued(QueueFixture.SCHEDULE_ID, "warm-", 1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void flushHeartbeats() {
+        fixture.flushHeartbeats();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String handleUserEntry() {
+        return fixture.queueService().handleUserEntry(QueueFixture.SCHEDULE_ID, null);
+    }
+}
@@ -0,0 +1,135 @@
+package com.bticketing.queuebench;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.config.QueueReplicas;
+import com.bticketing.appqueue.config.QueueShards;
+import com.bticketing.appqueue.config.RedisConfig;
+import com.bticketing.appqueue.repository.ActiveSessionRepository;
+import com.bticketing.appqueue.repository.DrainLeaseRepository;
+import com.bticketing.appqueue.repository.EventLifecycleRepository;
+import com.bticketing.appqueue.repository.HeartbeatRepository;
+import com.bticketing.appqueue.repository.LotteryRepository;
+import com.bticketing.appqueue.repository.QueueRepository;
+import com.bticketing.appqueue.repository.ReactiveQueueRepository;
+import com.bticketing.appqueue.repository.ShardedQueueRepository;
+import com.bticketing.appqueue.repository.SortedSetQueueRepository;
+import com.bticketing.appqueue.repository.WatermarkRepository;
+import com.bticketing.appqueue.service.AdmissionPublisher;
+import com.bticketing.appqueue.service.DrainLeases;
+import com.bticketing.appqueue.service.DrainRateTracker;
+import com.bticketing.appqueue.service.LotteryGate;
+import com.bticketing.appqueue.service.QueueHeartbeats;
+import com.bticketing.appqueue.service.QueueMetrics;
+import com.bticketing.appqueue.service.QueueNearCache;
+import com.bticketing.appqueue.service.QueueService;
+import com.bticketing.appqueue.service.WaitTimeEstimator;
+import com.bticketing.appqueue.store.RedisQueueStore;
+import com.bticketing.appqueue.util.QueueTokenSigner;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+
+// 같은 프로세스의 Redis 호환 서버(jedis-mock)에 연결한 app-queue 구성 요소
+// 운영과 같은 Redis 저장소, Lua 스크립트, 직렬화, 근거리 캐시, 지표 기록을 쓰고 스케줄러와 pub/sub 구독만 띄우지 않는다
+// jedis-mock 은 명령을 실제 Redis 보다 느리게 처리하므로 절대값보다 스레드 수, 저장 구조별 상대 비교에 쓴다
+final class QueueFixture implements AutoCloseable {
+
+    static final int SCHEDULE_ID = 1;
+
+    private final RedisServer server;
+    private final LettuceConnectionFactory connectionFactory;
+    private final QueueShards queueShards;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final QueueRepository queueRepository;
+    private final QueueHeartbeats queueHeartbeats;
+    private final QueueService queueService;
+
+    private QueueFixture(QueueProperties queueProperties) throws IOException {
+        this.server = RedisServer.newRedisServer();
+        server.start();
+        this.connectionFactory = new LettuceConnectionFactory(server.getHost(), server.getBindPort());
+        connectionFactory.afterPropertiesSet();
+
+        RedisTemplate<String, Object> redisTemplate = RedisConfig.jsonTemplate(connectionFactory);
+        this.stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        QueueReplicas queueReplicas = QueueReplicas.connect(server.getHost(), server.getBindPort(),
+                queueProperties.getReplica(), redisTemplate, stringRedisTemplate);
+        this.queueShards = QueueShards.connect(List.of());
+        this.queueRepository = new QueueRepository(redisTemplate, queueReplicas);
+
+        RedisQueueStore queueStore = new RedisQueueStore(queueRepository,
+                new SortedSetQueueRepository(stringRedisTemplate, queueReplicas),
+                new ShardedQueueRepository(queueShards),
+                new HeartbeatRepository(stringRedisTemplate),
+                new ActiveSessionRepository(stringRedisTemplate),
+                new DrainLeaseRepository(stringRedisTemplate),
+                new LotteryRepository(stringRedisTemplate),
+                new EventLifecycleRepository(stringRedisTemplate),
+                new ReactiveQueueRepository(new ReactiveStringRedisTemplate(connectionFactory), queueReplicas),
+                queueProperties);
+        Clock clock = Clock.systemUTC();
+        DrainRateTracker drainRateTracker = new DrainRateTracker(queueProperties, clock);
+        this.queueHeartbeats = new QueueHeartbeats(queueStore, queueProperties, clock);
+        this.queueService = new QueueService(queueStore, queueRepository, new WatermarkRepository(stringRedisTemplate),
+                new QueueTokenSigner(queueProperties), queueProperties, new AdmissionPublisher(stringRedisTemplate),
+                new QueueNearCache(queueProperties), queueHeartbeats,
+                new DrainLeases(queueStore, queueProperties), new WaitTimeEstimator(drainRateTracker),
+                new LotteryGate(queueStore, queueProperties), new QueueMetrics(new SimpleMeterRegistry()), clock);
+    }
+
+    static QueueFixture start(QueueProperties queueProperties) {
+        try {
+            return new QueueFixture(queueProperties);
+        } catch (IOException e) {
+            throw new IllegalStateException("벤치마크용 Redis 서버를 시작하지 못했습니다.", e);
+        }
+    }
+
+    QueueService queueService() {
+        return queueService;
+    }
+
+    QueueRepository queueRepository() {
+        return queueRepository;
+    }
+
+    // 스케줄러 대신 모아 둔 생존 신호를 기록한다 (측정 반복 사이에 호출해 노드에 쌓이는 신호가 운영처럼 비워지게 한다)
+    void flushHeartbeats() {
+        queueHeartbeats.flush();
+    }
+
+    // 대기열 키를 모두 지운다 (측정 반복마다 같은 조건에서 시작)
+    void flushDb() {
+        stringRedisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+    }
+
+    // 즉시 입장 인원을 채워 이후 진입이 대기열로 들어가게 하고, 대기열에 들어간 인원이 count 명이 될 때까지 진입시킨다
+    int enterUntilQueued(int scheduleId, String tokenPrefix, int count) {
+        int queued = 0;
+        int entered = 0;
+        while (queued < count) {
+            String response = queueService.handleUserEntry(scheduleId, tokenPrefix + entered++);
+            if (response.startsWith("addedToQueue")) {
+                queued++;
+            }
+        }
+        return entered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        queueShards.destroy();
+        connectionFactory.destroy();
+        server.stop();
+    }
+}
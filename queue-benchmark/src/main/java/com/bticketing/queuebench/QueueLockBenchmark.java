@@ -0,0 +1,74 @@
+package com.bticketing.queuebench;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.util.QueueKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 그룹 락 (acquireLockWithSharding): 락을 잡고 바로 푸는 한 번의 왕복
+// contended=true 는 모든 스레드가 같은 그룹 락을 두고 경쟁하고 (재시도 대기 포함), false 는 스레드마다 다른 그룹 락을 잡는다
+// 스레드별 획득 성공, 실패 횟수를 보조 지표로 함께 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueLockBenchmark {
+
+    private static final String LOCK_KEY_PREFIX = QueueKeys.of(QueueFixture.SCHEDULE_ID).groupLockPrefix();
+    private static final Duration LOCK_DURATION = Duration.ofSeconds(5);
+
+    @Param({"true", "false"})
+    public boolean contended;
+
+    private final AtomicInteger groupIds = new AtomicInteger(1);
+    private QueueFixture fixture;
+
+    @Setup(Level.Trial)
+    public void start() {
+        fixture = QueueFixture.start(new QueueProperties());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LockOutcome {
+        public long acquired;
+        public long failed;
+
+        private int groupId;
+
+        @Setup(Level.Trial)
+        public void start(QueueLockBenchmark benchmark) {
+            groupId = benchmark.contended ? 1 : benchmark.groupIds.getAndIncrement();
+        }
+
+        // 보조 지표는 측정 반복마다 따로 집계한다
+        @Setup(Level.Iteration)
+        public void reset() {
+            acquired = 0;
+            failed = 0;
+        }
+    }
+
+    @Benchmark
+    public boolean acquireLockWithSharding(LockOutcome outcome) {
+        boolean locked = fixture.queueService().acquireLockWithSharding(LOCK_KEY_PREFIX, outcome.groupId, LOCK_DURATION);
+        if (locked) {
+            fixture.queueRepository().releaseLock(LOCK_KEY_PREFIX + "-" + outcome.groupId);
+            outcome.acquired++;
+        } else {
+            outcome.failed++;
+        }
+        return locked;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bticketing.queuebench;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 상태 조회 (isUserReadyToRedirect): 대기자 절반은 입장 처리, 절반은 대기 중인 상태에서 토큰을 돌아가며 조회한다
+// nearCache=false 는 준비 상태 캐시 TTL 을 0 으로 두어 매 조회를 저장소까지 보낸다
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueStatusBenchmark {
+
+    private static final int WAITING_USERS = 10_000;
+
+    @Param({"LIST", "SORTED_SET"})
+    public QueueProperties.Backend backend;
+
+    @Param({"true", "false"})
+    public boolean nearCache;
+
+    private final AtomicInteger threadOffsets = new AtomicInteger();
+    private QueueFixture fixture;
+    private String[] userTokens;
+
+    @Setup(Level.Trial)
+    public void start() {
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.setBackend(backend);
+        if (!nearCache) {
+            queueProperties.getNearCache().setReadinessTtlMs(0);
+        }
+        fixture = QueueFixture.start(queueProperties);
+
+        int entered = fixture.enterUntilQueued(QueueFixture.SCHEDULE_ID, "user-", WAITING_USERS);
+        fixture.queueService().processQueueGroup(QueueFixture.SCHEDULE_ID, WAITING_USERS / 2);
+        userTokens = new String[entered];
+        for (int i = 0; i < entered; i++) {
+            userTokens[i] = "user-" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        fixture.close();
+    }
+
+    // 스레드마다 다른 위치에서 토큰을 돌아가며 조회한다
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        @Setup(Level.Trial)
+        public void start(QueueStatusBenchmark benchmark) {
+            next = benchmark.threadOffsets.getAndIncrement() * 7919;
+        }
+    }
+
+    @Benchmark
+    public boolean isUserReadyToRedirect(Cursor cursor) {
+        String userToken = userTokens[Math.floorMod(cursor.next++, userTokens.length)];
+        return fixture.queueService().isUserReadyToRedirect(QueueFixture.SCHEDULE_ID, userToken);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bticketing.queuesim;
+
+import java.util.SplittableRandom;
+
+// 구간별 초당 도착 인원 ("60:20000,300:2000" 은 60초 동안 초당 2만 명, 이어서 300초 동안 초당 2천 명)
+final class ArrivalCurve {
+
+    private final long[] durationsMillis;
+    private final double[] perSecond;
+
+    private ArrivalCurve(long[] durationsMillis, double[] perSecond) {
+        this.durationsMillis = durationsMillis;
+        this.perSecond = perSecond;
+    }
+
+    static ArrivalCurve parse(String spec) {
+        String[] segments = spec.split(",");
+        long[] durationsMillis = new long[segments.length];
+        double[] perSecond = new double[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            String[] parts = segments[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("도착 곡선 구간은 \"초:초당 인원\" 형식이어야 합니다: " + segments[i]);
+            }
+            durationsMillis[i] = Math.round(Double.parseDouble(parts[0]) * 1000);
+            perSecond[i] = Double.parseDouble(parts[1]);
+            if (durationsMillis[i] <= 0 || perSecond[i] < 0) {
+                throw new IllegalArgumentException("도착 곡선 구간의 길이는 양수, 인원은 0 이상이어야 합니다: " + segments[i]);
+            }
+        }
+        return new ArrivalCurve(durationsMillis, perSecond);
+    }
+
+    long expectedUsers() {
+        double users = 0;
+        for (int i = 0; i < perSecond.length; i++) {
+            users += perSecond[i] * durationsMillis[i] / 1000.0;
+        }
+        return Math.round(users);
+    }
+
+    Arrivals arrivals(SplittableRandom random) {
+        return new Arrivals(random);
+    }
+
+    // 도착 시각을 순서대로 하나씩 만든다 (미리 만들어 두지 않으므로 인원이 많아도 메모리를 쓰지 않는다)
+    final class Arrivals {
+
+        private final SplittableRandom random;
+        private int segment;
+        private double atMillis;
+        private double segmentEndMillis;
+
+        private Arrivals(SplittableRandom random) {
+            this.random = random;
+            this.segmentEndMillis = durationsMillis[0];
+        }
+
+        // 다음 도착 시각 (시작 기준 ms), 곡선이 끝났으면 -1
+        long next() {
+            while (segment < perSecond.length) {
+                if (perSecond[segment] > 0) {
+                    double gapMillis = -Math.log(1 - random.nextDouble()) * 1000 / perSecond[segment];
+                    if (atMillis + gapMillis < segmentEndMillis) {
+                        atMillis += gapMillis;
+                        return (long) atMillis;
+                    }
+                }
+                // 포아송 도착은 기억이 없으므로 다음 구간은 경계에서 새로 시작해도 된다
+                atMillis = segmentEndMillis;
+                if (++segment < perSecond.length) {
+                    segmentEndMillis += durationsMillis[segment];
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.bticketing.queuesim;
+
+import java.util.Arrays;
+
+// 사용자별 다음 이벤트를 long 하나(시각 << 사용자 비트 | 사용자 번호)로 담는 최소 힙
+// 대기자가 수백만 명이어도 이벤트마다 객체를 만들지 않는다 (같은 시각이면 먼저 도착한 사용자부터)
+final class EventHeap {
+
+    private long[] heap = new long[1024];
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long peek() {
+        return heap[0];
+    }
+
+    void add(long event) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= event) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = event;
+    }
+
+    long poll() {
+        long top = heap[0];
+        long last = heap[--size];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return top;
+    }
+}
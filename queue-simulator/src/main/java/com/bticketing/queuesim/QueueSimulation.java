@@ -0,0 +1,384 @@
+package com.bticketing.queuesim;
+
+import com.bticketing.appqueue.client.CapacityClient;
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.appqueue.dto.CapacitySignal;
+import com.bticketing.appqueue.dto.QueueStatus;
+import com.bticketing.appqueue.service.AdmissionPublisher;
+import com.bticketing.appqueue.service.AdmissionScheduler;
+import com.bticketing.appqueue.service.DrainLeases;
+import com.bticketing.appqueue.service.DrainRateTracker;
+import com.bticketing.appqueue.service.LotteryGate;
+import com.bticketing.appqueue.service.PollIntervalAdvisor;
+import com.bticketing.appqueue.service.QueueHeartbeats;
+import com.bticketing.appqueue.service.QueueMetrics;
+import com.bticketing.appqueue.service.QueueNearCache;
+import com.bticketing.appqueue.service.QueueService;
+import com.bticketing.appqueue.service.WaitTimeEstimator;
+import com.bticketing.appqueue.store.InMemoryQueueStore;
+import com.bticketing.appqueue.util.QueueTokenSigner;
+import com.bticketing.queuesim.dto.LatencySummary;
+import com.bticketing.queuesim.dto.SimulationReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// 대기열 이산 사건 시뮬레이션
+// app-queue 의 QueueService, AdmissionScheduler(PI 제어기), PollIntervalAdvisor 와 JVM 내 저장소를 그대로 쓰고
+// 시계만 가상 시계로 바꿔, 실제 시간을 기다리지 않고 다음 이벤트(도착, 상태 조회, app-main 퇴장, 입장 처리 주기, 생존 신호 반영 주기)로 건너뛴다
+// 사용자는 실제 클라이언트처럼 권장 지연(Retry-After)마다 조회하고, 입장을 확인하면 app-main 에 머물다 세션을 반납한다
+// 노드 한 대를 가정하므로 pub/sub 은 같은 JVM 의 구독자에게 바로 전달한다 (워터마크, sharded 백엔드는 지원하지 않음)
+public class QueueSimulation {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueSimulation.class);
+
+    static final String TOKEN_PREFIX = "sim-";
+    // 이벤트 하나를 long 으로 담을 때 사용자 번호에 쓰는 비트 (나머지 40비트는 시각 ms)
+    private static final int USER_BITS = 23;
+    private static final long USER_MASK = (1L << USER_BITS) - 1;
+    private static final long PROGRESS_INTERVAL_MS = 60_000;
+
+    // 사용자 상태
+    private static final byte WAITING = 1;
+    private static final byte IN_APP_MAIN = 2;
+    private static final byte DONE = 3;
+
+    private final SimulationScenario scenario;
+    private final QueueProperties queueProperties;
+    private final int scheduleId;
+    private final long startMillis;
+    private final VirtualClock clock;
+    private final SplittableRandom random;
+    private final SimulatedAppMain appMain;
+    private final QueueService queueService;
+    private final QueueHeartbeats queueHeartbeats;
+    private final PollIntervalAdvisor pollIntervalAdvisor;
+    private final AdmissionScheduler admissionScheduler;
+    private final EventHeap events = new EventHeap();
+
+    // 사용자별 상태 (도착 순서가 사용자 번호, 시각은 시작 기준 ms)
+    private int users;
+    private String[] tokens;
+    private long[] arrivedAt;
+    private long[] abandonAt;
+    private long[] admittedAt;
+    private byte[] states;
+    // 입장을 확인한 사용자의 대기 시간과 확인 지연
+    private long[] admissionLatencies;
+    private long[] noticeDelays;
+
+    private long immediate;
+    private long admitted;
+    private long noticed;
+    private long wastedSlots;
+    private long abandoned;
+    private long reentries;
+    private long failedEntries;
+    private long requests;
+    private long requestSecond = -1;
+    private long requestsInSecond;
+    private long peakRequestsPerSecond;
+
+    public QueueSimulation(SimulationScenario scenario, QueueProperties queueProperties) {
+        if (queueProperties.isWatermark() || queueProperties.isSharded()) {
+            throw new IllegalArgumentException(queueProperties.getBackend() + " 백엔드는 시뮬레이션하지 않습니다.");
+        }
+        if (scenario.getAbandonRatePerMinute() < 0 || scenario.getAbandonRatePerMinute() >= 1) {
+            throw new IllegalArgumentException("분당 이탈 비율은 0 이상 1 미만이어야 합니다: " + scenario.getAbandonRatePerMinute());
+        }
+        // 진입부터 입장 처리까지 JVM 내 저장소로 처리하고, 리스는 이 노드 하나만 가진다
+        queueProperties.setStore(QueueProperties.Store.MEMORY);
+        queueProperties.getLease().setNodeId("simulator");
+
+        this.scenario = scenario;
+        this.queueProperties = queueProperties;
+        this.scheduleId = scenario.getScheduleId();
+        this.startMillis = scenario.getStartAt().toInstant().toEpochMilli();
+        this.clock = new VirtualClock(startMillis);
+        this.random = new SplittableRandom(scenario.getSeed());
+        this.appMain = new SimulatedAppMain(scenario.getAppMain());
+
+        InMemoryQueueStore queueStore = new InMemoryQueueStore(queueProperties, clock);
+        DrainRateTracker drainRateTracker = new DrainRateTracker(queueProperties, clock);
+        QueueNearCache queueNearCache = new QueueNearCache(queueProperties);
+        LotteryGate lotteryGate = new LotteryGate(queueStore, queueProperties);
+        DrainLeases drainLeases = new DrainLeases(queueStore, queueProperties);
+        this.queueHeartbeats = new QueueHeartbeats(queueStore, queueProperties, clock);
+        // 그룹 락 방식 진입과 워터마크 방식은 쓰지 않으므로 Redis 저장소는 넘기지 않는다
+        this.queueService = new QueueService(queueStore, null, null, new QueueTokenSigner(queueProperties),
+                queueProperties, new LocalAdmissionPublisher(queueNearCache, drainRateTracker), queueNearCache,
+                queueHeartbeats, drainLeases, new WaitTimeEstimator(drainRateTracker), lotteryGate,
+                new QueueMetrics(new SimpleMeterRegistry()), clock);
+        this.pollIntervalAdvisor = new PollIntervalAdvisor(drainRateTracker, lotteryGate, queueProperties, clock);
+        this.admissionScheduler = new AdmissionScheduler(queueService, new SimulatedCapacityClient(queueProperties),
+                drainLeases, queueProperties);
+
+        int expectedUsers = (int) Math.min(USER_MASK, ArrivalCurve.parse(scenario.getArrivals()).expectedUsers() + 1024);
+        tokens = new String[expectedUsers];
+        arrivedAt = new long[expectedUsers];
+        abandonAt = new long[expectedUsers];
+        admittedAt = new long[expectedUsers];
+        states = new byte[expectedUsers];
+        admissionLatencies = new long[expectedUsers];
+        noticeDelays = new long[expectedUsers];
+    }
+
+    public SimulationReport run() {
+        long wallStart = System.nanoTime();
+        ArrivalCurve.Arrivals arrivals = ArrivalCurve.parse(scenario.getArrivals()).arrivals(random);
+        long admissionIntervalMs = queueProperties.getAdmission().getIntervalMs();
+        long flushIntervalMs = queueProperties.getHeartbeat().getFlushIntervalMs();
+
+        long nextArrival = arrivals.next();
+        long nextAdmission = admissionIntervalMs;
+        long nextFlush = flushIntervalMs;
+        long nextProgress = PROGRESS_INTERVAL_MS;
+        long now = 0;
+        while (nextArrival >= 0 || !events.isEmpty()) {
+            long nextEvent = events.isEmpty() ? Long.MAX_VALUE : events.peek() >>> USER_BITS;
+            long nextUserEvent = Math.min(nextEvent, nextArrival >= 0 ? nextArrival : Long.MAX_VALUE);
+            // 같은 시각이면 주기 작업을 먼저 한다 (생존 신호 반영 → 입장 처리 → 사용자 이벤트)
+            long next = Math.min(nextUserEvent, Math.min(nextFlush, nextAdmission));
+            if (next > scenario.getMaxDurationMs()) {
+                logger.warn("최대 시뮬레이션 시간 {}ms 가 지나 중단합니다.", scenario.getMaxDurationMs());
+                break;
+            }
+            now = next;
+            clock.advanceTo(startMillis + now);
+
+            if (now == nextFlush) {
+                queueHeartbeats.flush();
+                nextFlush += flushIntervalMs;
+            } else if (now == nextAdmission) {
+                admissionScheduler.admit();
+                nextAdmission += admissionIntervalMs;
+            } else if (now == nextArrival) {
+                enter(arrive(now), now);
+                nextArrival = arrivals.next();
+            } else {
+                int user = (int) (events.poll() & USER_MASK);
+                if (states[user] == WAITING) {
+                    poll(user, now);
+                } else if (states[user] == IN_APP_MAIN) {
+                    finishSession(user);
+                }
+            }
+
+            if (now >= nextProgress) {
+                logger.info("{}분 경과: 도착 {}명, 대기 또는 app-main 사용 중 {}명, 입장 확인 {}명, app-main {}명",
+                        now / 60_000, users, events.size(), noticed, appMain.signal().getActiveHolds());
+                nextProgress += PROGRESS_INTERVAL_MS;
+            }
+        }
+        return report(now, (System.nanoTime() - wallStart) / 1_000_000);
+    }
+
+    // 새 사용자 (떠날 시각은 도착할 때 정한다)
+    private int arrive(long now) {
+        if (users == USER_MASK) {
+            throw new IllegalStateException("시뮬레이션 인원은 최대 " + USER_MASK + "명입니다.");
+        }
+        int user = users++;
+        if (user == tokens.length) {
+            grow();
+        }
+        tokens[user] = TOKEN_PREFIX + user;
+        arrivedAt[user] = now;
+        abandonAt[user] = now + patienceMillis();
+        admittedAt[user] = -1;
+        return user;
+    }
+
+    // 1분마다 abandonRatePerMinute 만큼 떠나는 지수 분포
+    private long patienceMillis() {
+        double rate = scenario.getAbandonRatePerMinute();
+        if (rate == 0) {
+            return Long.MAX_VALUE / 2;
+        }
+        double perMillis = -Math.log(1 - rate) / 60_000;
+        return (long) (-Math.log(1 - random.nextDouble()) / perMillis);
+    }
+
+    // 진입 요청 (GET /queue)
+    private void enter(int user, long now) {
+        countRequest(now);
+        String response;
+        try {
+            response = queueService.handleUserEntry(scheduleId, tokens[user]);
+        } catch (RuntimeException e) {
+            // JVM 내 저장소의 링 용량(queue.memory.ring-capacity)을 넘었다
+            failedEntries++;
+            states[user] = DONE;
+            return;
+        }
+        if (QueueStatus.REDIRECT_URL.equals(response)) {
+            immediate++;
+            onAdmitted(user, now);
+            notice(user, now);
+            return;
+        }
+        if (!response.startsWith("addedTo")) {
+            // 판매 종료
+            failedEntries++;
+            states[user] = DONE;
+            return;
+        }
+        states[user] = WAITING;
+        schedule(user, now + queueProperties.getPoll().getMinIntervalMs());
+    }
+
+    // 상태 조회 (GET /queue/status), 응답의 권장 지연 뒤에 다시 조회한다
+    private void poll(int user, long now) {
+        if (abandonAt[user] <= now) {
+            // 지난 조회 이후 떠났다 (그 사이 입장 처리됐다면 자리가 낭비됐다)
+            states[user] = DONE;
+            if (admittedAt[user] >= 0) {
+                wastedSlots++;
+            } else {
+                abandoned++;
+            }
+            return;
+        }
+        countRequest(now);
+        QueueStatus status = queueService.getQueueStatus(scheduleId, tokens[user]);
+        if (!status.isInQueue() && !status.isInPool()) {
+            notice(user, now);
+            return;
+        }
+        if (status.isInQueue() && status.getAhead() == null) {
+            // 떠나지 않았는데 생존 신호가 끊긴 것으로 보고 제거되었다, 클라이언트처럼 다시 줄을 선다
+            reentries++;
+            enter(user, now);
+            return;
+        }
+        long delayMillis = status.isInPool()
+                ? pollIntervalAdvisor.nextPoolPollDelayMillis(scheduleId, clock.millis(), random.nextDouble())
+                : pollIntervalAdvisor.nextPollDelayMillis(scheduleId, status.getAhead(), random.nextDouble());
+        schedule(user, now + Math.max(1, delayMillis));
+    }
+
+    // 입장 처리 알림 (입장 처리, 세션 반납 직후의 보충 입장, 추첨 즉시 입장)
+    private void onAdmitted(int user, long now) {
+        if (admittedAt[user] < 0) {
+            admittedAt[user] = now;
+            admitted++;
+        }
+    }
+
+    // 사용자가 입장을 확인하고 app-main 으로 넘어간다
+    private void notice(int user, long now) {
+        onAdmitted(user, now);
+        admissionLatencies[(int) noticed] = admittedAt[user] - arrivedAt[user];
+        noticeDelays[(int) noticed] = now - admittedAt[user];
+        noticed++;
+        states[user] = IN_APP_MAIN;
+        schedule(user, now + appMain.enter(random));
+    }
+
+    // 결제를 마치거나 좌석 선택을 포기하고 세션을 반납한다 (app-main 이 호출하는 세션 반납 API)
+    private void finishSession(int user) {
+        appMain.leave();
+        states[user] = DONE;
+        queueService.releaseSession(scheduleId, tokens[user]);
+    }
+
+    private void schedule(int user, long atMillis) {
+        events.add(atMillis << USER_BITS | user);
+    }
+
+    private void countRequest(long now) {
+        requests++;
+        long second = now / 1000;
+        if (second != requestSecond) {
+            requestSecond = second;
+            requestsInSecond = 0;
+        }
+        peakRequestsPerSecond = Math.max(peakRequestsPerSecond, ++requestsInSecond);
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(USER_MASK + 1, tokens.length * 2L);
+        tokens = Arrays.copyOf(tokens, capacity);
+        arrivedAt = Arrays.copyOf(arrivedAt, capacity);
+        abandonAt = Arrays.copyOf(abandonAt, capacity);
+        admittedAt = Arrays.copyOf(admittedAt, capacity);
+        states = Arrays.copyOf(states, capacity);
+        admissionLatencies = Arrays.copyOf(admissionLatencies, capacity);
+        noticeDelays = Arrays.copyOf(noticeDelays, capacity);
+    }
+
+    private static int userOf(String userToken) {
+        return Integer.parseInt(userToken, TOKEN_PREFIX.length(), userToken.length(), 10);
+    }
+
+    private SimulationReport report(long simulatedMillis, long wallMillis) {
+        long stillWaiting = 0;
+        for (int user = 0; user < users; user++) {
+            if (states[user] == WAITING) {
+                stillWaiting++;
+            }
+        }
+        return new SimulationReport(users, immediate, admitted, noticed, wastedSlots, abandoned,
+                queueService.getEvictionStats().getEvicted(), reentries, failedEntries, stillWaiting,
+                requests, peakRequestsPerSecond, appMain.getPeakActiveUsers(),
+                LatencySummary.of(admissionLatencies, (int) noticed), LatencySummary.of(noticeDelays, (int) noticed),
+                simulatedMillis, wallMillis);
+    }
+
+    // pub/sub 대신 이 노드의 구독자(입장 여부 캐시, 입장 처리 속도)에 바로 전달하고 입장 시각을 기록한다
+    private final class LocalAdmissionPublisher extends AdmissionPublisher {
+
+        private final QueueNearCache queueNearCache;
+        private final DrainRateTracker drainRateTracker;
+
+        private LocalAdmissionPublisher(QueueNearCache queueNearCache, DrainRateTracker drainRateTracker) {
+            super(null);
+            this.queueNearCache = queueNearCache;
+            this.drainRateTracker = drainRateTracker;
+        }
+
+        @Override
+        public void publishAdmitted(int scheduleId, List<String> userTokens) {
+            if (userTokens.isEmpty()) {
+                return;
+            }
+            long now = clock.millis();
+            queueNearCache.markAdmitted(scheduleId, userTokens);
+            drainRateTracker.recordAdmitted(scheduleId, userTokens.size(), now);
+            for (String userToken : userTokens) {
+                onAdmitted(userOf(userToken), now - startMillis);
+            }
+        }
+
+        @Override
+        public void publishWatermark(int scheduleId, long watermark) {
+        }
+
+        // 그룹 번호는 이 노드 캐시에 이미 반영되어 있다
+        @Override
+        public void publishCurrentGroup(int scheduleId, int currentGroup) {
+        }
+
+        @Override
+        public void publishSale(int scheduleId, String saleState) {
+        }
+    }
+
+    // /capacity 대신 app-main 모델의 현재 인원을 돌려준다
+    private final class SimulatedCapacityClient extends CapacityClient {
+
+        private SimulatedCapacityClient(QueueProperties queueProperties) {
+            super(new RestTemplateBuilder(), queueProperties);
+        }
+
+        @Override
+        public CapacitySignal fetchCapacity() {
+            return appMain.signal();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bticketing.queuesim;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.queuesim.dto.SimulationReport;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+
+// 판매 설정을 실제 부하 테스트 없이 평가하는 대기열 시뮬레이터
+// app-queue 의 application.yml 을 기본 설정으로 읽고, 인자로 대기열 설정(queue.*)과 시나리오(simulation.*)를 덮어쓴다
+// 예: ./gradlew :queue-simulator:bootRun --args='--simulation.arrivals=60:20000,600:1500 --queue.admission.max-batch-size=500'
+public class QueueSimulatorApplication {
+
+    public static void main(String[] args) throws IOException {
+        MutablePropertySources sources = new MutablePropertySources();
+        sources.addFirst(new SimpleCommandLinePropertySource(args));
+        for (PropertySource<?> source : new YamlPropertySourceLoader()
+                .load("app-queue", new ClassPathResource("application.yml"))) {
+            sources.addLast(source);
+        }
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources),
+                new PropertySourcesPlaceholdersResolver(sources));
+
+        QueueProperties queueProperties = binder.bind("queue", Bindable.ofInstance(new QueueProperties()))
+                .orElseGet(QueueProperties::new);
+        SimulationScenario scenario = binder.bind("simulation", Bindable.ofInstance(new SimulationScenario()))
+                .orElseGet(SimulationScenario::new);
+
+        SimulationReport report = new QueueSimulation(scenario, queueProperties).run();
+        System.out.println(report.format());
+    }
+}
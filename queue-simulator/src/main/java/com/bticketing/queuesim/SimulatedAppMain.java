@@ -0,0 +1,40 @@
+package com.bticketing.queuesim;
+
+import com.bticketing.appqueue.dto.CapacitySignal;
+
+import java.util.SplittableRandom;
+
+// app-main 모델: 입장을 확인한 사용자가 평균 meanSessionMs 동안 좌석 선택과 결제로 자리를 차지한다
+// 좌석 선택 지연은 점유율이 오를수록 대기 행렬처럼 늘어난다 (base / (1 - 점유율), 최대 20배)
+final class SimulatedAppMain {
+
+    private static final double MAX_UTILIZATION = 0.95;
+
+    private final SimulationScenario.AppMain config;
+    private long activeUsers;
+    private long peakActiveUsers;
+
+    SimulatedAppMain(SimulationScenario.AppMain config) {
+        this.config = config;
+    }
+
+    // 입장한 사용자가 머무를 시간 (ms)
+    long enter(SplittableRandom random) {
+        peakActiveUsers = Math.max(peakActiveUsers, ++activeUsers);
+        return Math.max(1, Math.round(-Math.log(1 - random.nextDouble()) * config.getMeanSessionMs()));
+    }
+
+    void leave() {
+        activeUsers--;
+    }
+
+    long getPeakActiveUsers() {
+        return peakActiveUsers;
+    }
+
+    CapacitySignal signal() {
+        double utilization = Math.min(MAX_UTILIZATION, (double) activeUsers / Math.max(1, config.getMaxActiveUsers()));
+        return new CapacitySignal(activeUsers, config.getMaxActiveUsers(),
+                config.getBaseSelectLatencyMs() / (1 - utilization));
+    }
+}
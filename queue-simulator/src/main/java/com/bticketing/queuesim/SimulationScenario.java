@@ -0,0 +1,34 @@
+package com.bticketing.queuesim;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+// 시뮬레이션 입력 (simulation.* 인자로 바꾼다, 대기열 설정은 queue.* 인자로 app-queue 의 application.yml 을 덮어쓴다)
+@Getter
+@Setter
+public class SimulationScenario {
+
+    private int scheduleId = 1;
+
+    // 도착 곡선: "구간 길이(초):초당 도착 인원" 을 쉼표로 잇는다 (구간 안에서는 포아송 도착)
+    // 기본값은 판매 시작 1분에 120만 명, 이후 5분에 60만 명, 10분에 20만 명 (약 200만 명)
+    private String arrivals = "60:20000,300:2000,600:333";
+
+    private double abandonRatePerMinute = 0.05;  // 입장 전 대기자 중 1분마다 떠나는 비율
+    private long seed = 1;                       // 도착, 이탈, 조회 지연, 체류 시간 난수의 seed
+    private OffsetDateTime startAt = OffsetDateTime.parse("2026-11-01T20:00:00+09:00"); // 도착 곡선의 시작 시각 (추첨 회차의 판매 시작 시각과 맞춘다)
+    private long maxDurationMs = 6 * 60 * 60 * 1000L; // 이 시간이 지나도 대기자가 남아 있으면 중단하고 남은 인원을 보고한다
+
+    private AppMain appMain = new AppMain();
+
+    // app-main 수용 모델 (입장 처리 스케줄러가 /capacity 로 받는 값을 여기서 계산한다)
+    @Getter
+    @Setter
+    public static class AppMain {
+        private long maxActiveUsers = 20000;      // 동시에 좌석 선택, 결제를 진행할 수 있는 인원 (maxActiveHolds)
+        private long meanSessionMs = 120_000;     // 입장한 사용자가 app-main 에 머무르는 평균 시간 (지수 분포)
+        private double baseSelectLatencyMs = 80;  // 부하가 없을 때의 좌석 선택 지연
+    }
+}
@@ -0,0 +1,43 @@
+package com.bticketing.queuesim;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// 시뮬레이션 시각 (이벤트를 꺼낼 때마다 앞으로만 옮긴다, 시뮬레이션은 스레드 하나에서 돈다)
+final class VirtualClock extends Clock {
+
+    private long millis;
+
+    VirtualClock(long startMillis) {
+        this.millis = startMillis;
+    }
+
+    void advanceTo(long millis) {
+        if (millis < this.millis) {
+            throw new IllegalStateException("시뮬레이션 시각은 되돌릴 수 없습니다: " + millis + " < " + this.millis);
+        }
+        this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bticketing.queuesim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+// 지연 분포 요약 (ms)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencySummary {
+    private long count;
+    private long p50Millis;
+    private long p90Millis;
+    private long p99Millis;
+    private long maxMillis;
+
+    // values 의 앞 count 개로 계산 (배열은 정렬된다)
+    public static LatencySummary of(long[] values, int count) {
+        if (count == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0);
+        }
+        Arrays.sort(values, 0, count);
+        return new LatencySummary(count, percentile(values, count, 0.5), percentile(values, count, 0.9),
+                percentile(values, count, 0.99), values[count - 1]);
+    }
+
+    private static long percentile(long[] sorted, int count, double quantile) {
+        return sorted[(int) Math.min(count - 1, Math.ceil(quantile * count) - 1)];
+    }
+
+    public String format() {
+        return String.format("p50 %s, p90 %s, p99 %s, 최대 %s",
+                seconds(p50Millis), seconds(p90Millis), seconds(p99Millis), seconds(maxMillis));
+    }
+
+    private static String seconds(long millis) {
+        return String.format("%.1f초", millis / 1000.0);
+    }
+}
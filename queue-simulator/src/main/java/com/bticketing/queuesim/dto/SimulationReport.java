@@ -0,0 +1,45 @@
+package com.bticketing.queuesim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 시뮬레이션 결과
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationReport {
+    private long users;                  // 도착한 사용자
+    private long immediate;              // 진입하자마자 입장한 사용자
+    private long admitted;               // 입장 처리된 사용자 (즉시 입장 포함)
+    private long noticed;                // 입장을 확인하고 app-main 으로 넘어간 사용자
+    private long wastedSlots;            // 입장 처리됐지만 확인하기 전에 떠나 비어 버린 입장 자리
+    private long abandoned;              // 입장 처리 전에 떠난 사용자
+    private long evicted;                // 생존 신호가 끊겨 입장 처리 시 대기열에서 제거된 인원
+    private long reentries;              // 떠나지 않았는데 제거되어 다시 줄을 선 횟수 (조회 주기가 이탈 판단 기준보다 길다)
+    private long failedEntries;          // 진입 실패 (대기열 용량 초과, 판매 종료)
+    private long stillWaiting;           // 최대 시뮬레이션 시간이 지나 중단했을 때 남아 있던 대기자
+    private long requests;               // 진입과 상태 조회 요청 수
+    private long peakRequestsPerSecond;  // 초당 요청 수 최대값
+    private long peakAppMainUsers;       // app-main 동시 사용자 최대값
+    private LatencySummary admissionLatency; // 도착 → 입장 처리 (입장을 확인한 사용자)
+    private LatencySummary noticeDelay;      // 입장 처리 → 사용자가 상태 조회로 확인
+    private long simulatedMillis;        // 마지막 이벤트까지의 시뮬레이션 시간
+    private long wallMillis;             // 실행에 걸린 실제 시간
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("사용자 %,d명 (즉시 입장 %,d명, 진입 실패 %,d명)%n", users, immediate, failedEntries));
+        report.append(String.format("입장 처리 %,d명, 입장 확인 %,d명, 낭비된 입장 자리 %,d명 (%.2f%%)%n",
+                admitted, noticed, wastedSlots, admitted == 0 ? 0 : wastedSlots * 100.0 / admitted));
+        report.append(String.format("입장 전 이탈 %,d명, 생존 신호로 제거 %,d명, 제거 후 재진입 %,d회, 중단 시 대기 중 %,d명%n",
+                abandoned, evicted, reentries, stillWaiting));
+        report.append(String.format("입장 대기 시간: %s%n", admissionLatency.format()));
+        report.append(String.format("입장 확인 지연: %s%n", noticeDelay.format()));
+        report.append(String.format("요청 %,d건 (1인당 %.1f건, 초당 최대 %,d건), app-main 동시 사용자 최대 %,d명%n",
+                requests, users == 0 ? 0 : (double) requests / users, peakRequestsPerSecond, peakAppMainUsers));
+        report.append(String.format("시뮬레이션 시간 %.1f분, 실행 시간 %.1f초",
+                simulatedMillis / 60000.0, wallMillis / 1000.0));
+        return report.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.bticketing.queuesim;
+
+import com.bticketing.appqueue.config.QueueProperties;
+import com.bticketing.queuesim.dto.SimulationReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 실제 판매 규모 대신 수만 명 곡선으로 시뮬레이션 결과의 일관성을 확인한다
+class QueueSimulationTest {
+
+    @Test
+    @DisplayName("도착한 사용자는 모두 입장 확인, 입장 전 이탈, 낭비된 입장 중 하나로 끝난다")
+    void testEveryArrivalIsAccountedFor() {
+        SimulationScenario scenario = scenario("10:3000,50:200");
+        scenario.setAbandonRatePerMinute(0.1);
+        scenario.getAppMain().setMaxActiveUsers(5000);
+
+        SimulationReport report = new QueueSimulation(scenario, new QueueProperties()).run();
+
+        assertTrue(report.getUsers() > 35_000);
+        assertEquals(0, report.getStillWaiting());
+        assertEquals(report.getUsers(), report.getNoticed() + report.getAbandoned() + report.getWastedSlots()
+                + report.getFailedEntries());
+        assertEquals(report.getAdmitted(), report.getNoticed() + report.getWastedSlots());
+        // 떠난 뒤 생존 신호 기준 시간 안에 차례가 온 사용자는 입장 처리되어 자리가 낭비된다
+        assertTrue(report.getWastedSlots() > 0);
+        assertTrue(report.getEvicted() > 0);
+        assertTrue(report.getRequests() > report.getUsers());
+        assertTrue(report.getAdmissionLatency().getP99Millis() >= report.getAdmissionLatency().getP50Millis());
+    }
+
+    @Test
+    @DisplayName("app-main 수용 인원이 적으면 대기 시간이 늘고, 이탈이 없으면 생존 신호로 제거되는 사용자도 없다")
+    void testSmallerAppMainLengthensWait() {
+        SimulationScenario large = scenario("10:1000");
+        SimulationScenario small = scenario("10:1000");
+        small.getAppMain().setMaxActiveUsers(1000);
+
+        SimulationReport fast = new QueueSimulation(large, new QueueProperties()).run();
+        SimulationReport slow = new QueueSimulation(small, new QueueProperties()).run();
+
+        assertTrue(slow.getAdmissionLatency().getP50Millis() > fast.getAdmissionLatency().getP50Millis());
+        // 권장 조회 주기는 이탈 판단 기준의 2/3 를 넘지 않는다
+        assertEquals(0, slow.getEvicted());
+        assertEquals(0, slow.getReentries());
+        assertEquals(slow.getUsers(), slow.getNoticed());
+    }
+
+    private static SimulationScenario scenario(String arrivals) {
+        SimulationScenario scenario = new SimulationScenario();
+        scenario.setArrivals(arrivals);
+        scenario.setAbandonRatePerMinute(0);
+        scenario.getAppMain().setMeanSessionMs(30_000);
+        return scenario;
+    }
+}